@@ -23,7 +23,7 @@ public class JsonRpcException extends RuntimeException {
     this(code, message, null);
   }
 
-  JsonRpcException(int code, String message, String id) {
+  public JsonRpcException(int code, String message, String id) {
     super(message);
     this.code = code;
     this.id = id;
@@ -19,4 +19,17 @@ public interface RequestProcessor {
    * @param runnable runnable to be called for processing of a request
    */
   void process(Runnable runnable);
+
+  /**
+   * Process a runnable interface of a specific request. Implementations may take into account the
+   * endpoint and the method of the request to schedule processing.
+   *
+   * @param endpointId endpoint the request came from
+   * @param method method of the request
+   * @param runnable runnable to be called for processing of a request
+   * @throws JsonRpcException if the request can not be accepted for processing
+   */
+  default void process(String endpointId, String method, Runnable runnable) {
+    process(runnable);
+  }
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+
+/**
+ * Executes tasks of different endpoints with bounded parallelism and a bounded queue. Queued tasks
+ * are grouped by endpoint and endpoints are served in round robin order, so a single endpoint that
+ * submits lots of tasks can not starve the others. Tasks of the same endpoint are started in the
+ * order they were submitted.
+ */
+class FairRequestExecutor {
+  private static final Logger LOG = getLogger(FairRequestExecutor.class);
+
+  private final Executor executor;
+  private final int parallelism;
+  private final int capacity;
+
+  private final Map<String, Deque<Runnable>> queues = new HashMap<>();
+  private final Deque<String> ready = new ArrayDeque<>();
+
+  private int size;
+  private int running;
+
+  /**
+   * @param executor executor that provides threads for the tasks, must not limit the number of
+   *     threads below {@code parallelism}
+   * @param parallelism maximum number of tasks running at the same time
+   * @param capacity maximum number of queued tasks
+   */
+  FairRequestExecutor(Executor executor, int parallelism, int capacity) {
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Queues the task for execution.
+   *
+   * @param endpointId identifier of the endpoint the task belongs to
+   * @param task task to execute
+   * @return {@code false} if the queue is full and the task is rejected
+   */
+  boolean submit(String endpointId, Runnable task) {
+    synchronized (this) {
+      if (size >= capacity) {
+        return false;
+      }
+
+      Deque<Runnable> queue = queues.computeIfAbsent(endpointId, k -> new ArrayDeque<>());
+      if (queue.isEmpty()) {
+        ready.offer(endpointId);
+      }
+      queue.offer(task);
+      size++;
+
+      if (running >= parallelism) {
+        return true;
+      }
+      running++;
+    }
+
+    try {
+      executor.execute(this::work);
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        running--;
+      }
+      throw e;
+    }
+    return true;
+  }
+
+  /** Returns number of queued tasks. */
+  synchronized int size() {
+    return size;
+  }
+
+  private void work() {
+    while (true) {
+      Runnable task;
+      synchronized (this) {
+        String endpointId = ready.poll();
+        if (endpointId == null) {
+          running--;
+          return;
+        }
+
+        Deque<Runnable> queue = queues.get(endpointId);
+        task = queue.poll();
+        size--;
+        if (queue.isEmpty()) {
+          queues.remove(endpointId);
+        } else {
+          ready.offer(endpointId);
+        }
+      }
+      try {
+        task.run();
+      } catch (RuntimeException e) {
+        LOG.error("Error while executing a request processing task", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Collections.singletonList;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcErrorTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMessageReceiver;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestDispatcher;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessor;
+import org.eclipse.che.api.core.jsonrpc.commons.ResponseDispatcher;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageReceiver;
+import org.slf4j.Logger;
+
+/**
+ * Server side alternative of {@link JsonRpcMessageReceiver} which parses each incoming message only
+ * once. The message is read into a JSON tree, batch messages are detected by the root element, each
+ * JSON RPC structure is qualified by its keys and converted to a request or a response without
+ * serializing it back to string. Parameters and results are passed further as JSON elements and are
+ * bound to DTOs only when a handler asks for them.
+ */
+@Singleton
+public class GsonJsonRpcMessageReceiver implements WebSocketMessageReceiver {
+  private static final Logger LOGGER = getLogger(GsonJsonRpcMessageReceiver.class);
+
+  private final RequestDispatcher requestDispatcher;
+  private final ResponseDispatcher responseDispatcher;
+  private final JsonRpcErrorTransmitter errorTransmitter;
+  private final GsonJsonRpcUnmarshaller jsonRpcUnmarshaller;
+  private final RequestProcessor requestProcessor;
+  private final JsonParser jsonParser;
+
+  @Inject
+  public GsonJsonRpcMessageReceiver(
+      RequestDispatcher requestDispatcher,
+      ResponseDispatcher responseDispatcher,
+      JsonRpcErrorTransmitter errorTransmitter,
+      GsonJsonRpcUnmarshaller jsonRpcUnmarshaller,
+      RequestProcessor requestProcessor,
+      JsonParser jsonParser) {
+    this.requestDispatcher = requestDispatcher;
+    this.responseDispatcher = responseDispatcher;
+    this.errorTransmitter = errorTransmitter;
+    this.jsonRpcUnmarshaller = jsonRpcUnmarshaller;
+    this.requestProcessor = requestProcessor;
+    this.jsonParser = jsonParser;
+  }
+
+  @Override
+  public void receive(String endpointId, String message) {
+    checkNotNull(endpointId, "Endpoint ID must not be null");
+    checkArgument(!endpointId.isEmpty(), "Endpoint ID name must not be empty");
+    checkNotNull(message, "Message must not be null");
+    checkArgument(!message.isEmpty(), "Message must not be empty");
+
+    LOGGER.debug("Receiving message: {}, from endpoint: {}", message, endpointId);
+
+    JsonElement root;
+    try {
+      root = jsonParser.parse(message);
+    } catch (JsonParseException e) {
+      LOGGER.debug("Validation failed: {}", e.getMessage(), e);
+      String error = "An error occurred on the server while parsing the JSON text";
+      errorTransmitter.transmit(endpointId, new JsonRpcException(-32700, error));
+      return;
+    }
+
+    Iterable<JsonElement> elements =
+        root.isJsonArray() ? root.getAsJsonArray() : singletonList(root);
+    for (JsonElement element : elements) {
+      if (!element.isJsonObject()) {
+        processError();
+      }
+
+      JsonObject jsonObject = element.getAsJsonObject();
+      if (jsonObject.has("method")) {
+        processRequest(endpointId, jsonObject);
+      } else if (jsonObject.has("error") != jsonObject.has("result")) {
+        processResponse(endpointId, jsonObject);
+      } else {
+        processError();
+      }
+    }
+  }
+
+  private void processError() {
+    String error = "Something wen't wrong during incoming websocket message parsing";
+    IllegalStateException exception = new IllegalStateException(error);
+    LOGGER.error(error, exception);
+    throw exception;
+  }
+
+  private void processResponse(String endpointId, JsonObject jsonObject) {
+    JsonRpcResponse response = jsonRpcUnmarshaller.unmarshalResponse(jsonObject);
+    responseDispatcher.dispatch(endpointId, response);
+  }
+
+  private void processRequest(String endpointId, JsonObject jsonObject) {
+    JsonRpcRequest request = jsonRpcUnmarshaller.unmarshalRequest(jsonObject);
+    try {
+      requestProcessor.process(
+          endpointId, request.getMethod(), () -> dispatchRequest(endpointId, request));
+    } catch (JsonRpcException e) {
+      transmitError(endpointId, request, e);
+    }
+  }
+
+  private void dispatchRequest(String endpointId, JsonRpcRequest request) {
+    try {
+      requestDispatcher.dispatch(endpointId, request);
+    } catch (JsonRpcException e) {
+      transmitError(endpointId, request, e);
+    }
+  }
+
+  private void transmitError(String endpointId, JsonRpcRequest request, JsonRpcException e) {
+    if (request.getId() == null) {
+      errorTransmitter.transmit(endpointId, e);
+    } else {
+      errorTransmitter.transmit(
+          endpointId, new JsonRpcException(e.getCode(), e.getMessage(), request.getId()));
+    }
+  }
+}
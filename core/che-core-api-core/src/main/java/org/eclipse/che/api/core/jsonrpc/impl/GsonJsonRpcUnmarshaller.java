@@ -50,8 +50,16 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     checkNotNull(message, "Message must not be null");
     checkArgument(!message.isEmpty(), "Message must not be empty");
 
-    JsonObject request = jsonParser.parse(message).getAsJsonObject();
+    return unmarshalRequest(jsonParser.parse(message).getAsJsonObject());
+  }
 
+  /**
+   * Creates a request out of an already parsed JSON object
+   *
+   * @param request JSON object
+   * @return JSON RPC request entity
+   */
+  public JsonRpcRequest unmarshalRequest(JsonObject request) {
     String method = getMethod(request);
     String id = getId(request);
     JsonRpcParams params = getParams(request);
@@ -64,8 +72,16 @@ public class GsonJsonRpcUnmarshaller implements JsonRpcUnmarshaller {
     checkNotNull(message, "Message must not be null");
     checkArgument(!message.isEmpty(), "Message must not be empty");
 
-    JsonObject response = jsonParser.parse(message).getAsJsonObject();
+    return unmarshalResponse(jsonParser.parse(message).getAsJsonObject());
+  }
 
+  /**
+   * Creates a response out of an already parsed JSON object
+   *
+   * @param response JSON object
+   * @return JSON RPC response entity
+   */
+  public JsonRpcResponse unmarshalResponse(JsonObject response) {
     String id = getId(response);
     JsonRpcResult result = getResult(response);
     JsonRpcError error = getError(response);
@@ -13,30 +13,103 @@ package org.eclipse.che.api.core.jsonrpc.impl;
 
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
 
+import com.google.common.base.Splitter;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessor;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
 
+/**
+ * Processes incoming requests on bounded pools. Requests are divided into latency sensitive, bulk
+ * and blocking ones by their method names, each class has its own pool and queue, so cheap requests
+ * do not wait behind slow ones. Inside of a class requests of different endpoints are served in
+ * round robin order. If the queue of a class is full the request is rejected with JSON RPC error.
+ * Optionally requests may be processed on virtual threads if JVM supports them.
+ */
 @Singleton
 public class ServerSideRequestProcessor implements RequestProcessor {
+  private static final Logger LOG = getLogger(ServerSideRequestProcessor.class);
+
+  /** JSON RPC error code sent back when a request can not be queued for processing. */
+  public static final int SERVER_BUSY_ERROR_CODE = -32001;
+
+  private static final String UNKNOWN_ENDPOINT = "";
+  private static final String UNKNOWN_METHOD = "";
+
+  @Inject(optional = true)
+  @Named("che.core.jsonrpc.processor.latency_sensitive_pool_size")
+  private int latencySensitivePoolSize = 8;
+
+  @Inject(optional = true)
+  @Named("che.core.jsonrpc.processor.bulk_pool_size")
+  private int bulkPoolSize = 32;
+
+  @Inject(optional = true)
+  @Named("che.core.jsonrpc.processor.blocking_pool_size")
+  private int blockingPoolSize = 16;
+
+  @Inject(optional = true)
+  @Named("che.core.jsonrpc.processor.queue_capacity")
+  private int queueCapacity = 10_000;
+
+  @Inject(optional = true)
+  @Named("che.core.jsonrpc.processor.latency_sensitive_methods")
+  private String latencySensitiveMethods =
+      "track:editor-content-changes,track:editor-file,websocketIdService/getId";
+
+  @Inject(optional = true)
+  @Named("che.core.jsonrpc.processor.blocking_methods")
+  private String blockingMethods = "languageServer/initialize,testing/runTest";
+
+  @Inject(optional = true)
+  @Named("che.core.jsonrpc.processor.virtual_threads")
+  private boolean virtualThreads = false;
+
+  private final Map<String, MethodStatistics> statistics = new ConcurrentHashMap<>();
+
   private ExecutorService executorService;
+  private List<String> latencySensitiveMethodPrefixes;
+  private List<String> blockingMethodPrefixes;
+  private FairRequestExecutor latencySensitiveExecutor;
+  private FairRequestExecutor bulkExecutor;
+  private FairRequestExecutor blockingExecutor;
 
   @PostConstruct
   private void postConstruct() {
-    ThreadFactory factory =
-        new ThreadFactoryBuilder()
-            .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-            .setNameFormat(ServerSideRequestProcessor.class.getSimpleName())
-            .setDaemon(true)
-            .build();
+    executorService = virtualThreads ? newVirtualThreadExecutor() : null;
+    if (executorService == null) {
+      ThreadFactory factory =
+          new ThreadFactoryBuilder()
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setNameFormat(ServerSideRequestProcessor.class.getSimpleName())
+              .setDaemon(true)
+              .build();
+      executorService = newCachedThreadPool(factory);
+    }
+
+    Splitter splitter = Splitter.on(',').trimResults().omitEmptyStrings();
+    latencySensitiveMethodPrefixes = splitter.splitToList(latencySensitiveMethods);
+    blockingMethodPrefixes = splitter.splitToList(blockingMethods);
 
-    executorService = newCachedThreadPool(factory);
+    latencySensitiveExecutor =
+        new FairRequestExecutor(executorService, latencySensitivePoolSize, queueCapacity);
+    bulkExecutor = new FairRequestExecutor(executorService, bulkPoolSize, queueCapacity);
+    blockingExecutor = new FairRequestExecutor(executorService, blockingPoolSize, queueCapacity);
   }
 
   @PreDestroy
@@ -55,6 +128,107 @@ public class ServerSideRequestProcessor implements RequestProcessor {
 
   @Override
   public void process(Runnable runnable) {
-    executorService.execute(runnable);
+    process(UNKNOWN_ENDPOINT, UNKNOWN_METHOD, runnable);
+  }
+
+  @Override
+  public void process(String endpointId, String method, Runnable runnable) {
+    MethodStatistics methodStatistics =
+        statistics.computeIfAbsent(method, k -> new MethodStatistics());
+    long queued = System.nanoTime();
+
+    Runnable task =
+        () -> {
+          long started = System.nanoTime();
+          try {
+            runnable.run();
+          } finally {
+            methodStatistics.processed(started - queued, System.nanoTime() - started);
+          }
+        };
+
+    if (!getExecutor(method).submit(endpointId, task)) {
+      methodStatistics.rejected.increment();
+      LOG.warn("Request '{}' of endpoint '{}' is rejected, the queue is full", method, endpointId);
+      throw new JsonRpcException(
+          SERVER_BUSY_ERROR_CODE, "Server is too busy to process the request, try again later");
+    }
+  }
+
+  /**
+   * Returns processing statistics of the requests of the given method.
+   *
+   * @param method JSON RPC method name
+   * @return statistics or {@code null} if no requests of the method were processed
+   */
+  public MethodStatistics getStatistics(String method) {
+    return statistics.get(method);
+  }
+
+  private FairRequestExecutor getExecutor(String method) {
+    if (matches(method, latencySensitiveMethodPrefixes)) {
+      return latencySensitiveExecutor;
+    }
+    if (matches(method, blockingMethodPrefixes)) {
+      return blockingExecutor;
+    }
+    return bulkExecutor;
+  }
+
+  private static boolean matches(String method, List<String> prefixes) {
+    for (String prefix : prefixes) {
+      if (method.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Creates an executor that starts a virtual thread for each task, returns {@code null} if virtual
+   * threads are not supported by JVM.
+   */
+  private static ExecutorService newVirtualThreadExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      LOG.warn("Virtual threads are not supported by JVM, falling back to platform threads");
+      return null;
+    }
+  }
+
+  /** Queue wait and execution time of the requests of a single method. */
+  public static class MethodStatistics {
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder executionNanos = new LongAdder();
+
+    private void processed(long wait, long execution) {
+      processed.increment();
+      waitNanos.add(wait);
+      executionNanos.add(execution);
+    }
+
+    /** Returns number of processed requests. */
+    public long getProcessed() {
+      return processed.sum();
+    }
+
+    /** Returns number of requests rejected because of full queue. */
+    public long getRejected() {
+      return rejected.sum();
+    }
+
+    /** Returns total time in nanoseconds requests spent in queue. */
+    public long getWaitNanos() {
+      return waitNanos.sum();
+    }
+
+    /** Returns total time in nanoseconds spent on requests processing. */
+    public long getExecutionNanos() {
+      return executionNanos.sum();
+    }
   }
 }
@@ -28,17 +28,25 @@ public class InmemoryRemoteSubscriptionStorage implements RemoteSubscriptionStor
 
   private final Map<String, Set<RemoteSubscriptionContext>> subscriptions =
       new ConcurrentHashMap<>();
+  private final RemoteSubscriptionScopeIndex scopeIndex = new RemoteSubscriptionScopeIndex();
 
   @Override
   public Set<RemoteSubscriptionContext> getByMethod(String method) {
     return subscriptions.getOrDefault(method, Collections.emptySet());
   }
 
+  @Override
+  public Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    return scopeIndex.get(method, scopeKey, scopeValue);
+  }
+
   @Override
   public void addSubscription(String method, RemoteSubscriptionContext remoteSubscriptionContext) {
     subscriptions
         .computeIfAbsent(method, k -> ConcurrentHashMap.newKeySet(1))
         .add(remoteSubscriptionContext);
+    scopeIndex.add(method, remoteSubscriptionContext);
   }
 
   @Override
@@ -46,7 +54,12 @@ public class InmemoryRemoteSubscriptionStorage implements RemoteSubscriptionStor
     subscriptions
         .getOrDefault(method, Collections.emptySet())
         .removeIf(
-            remoteSubscriptionContext ->
-                Objects.equals(remoteSubscriptionContext.getEndpointId(), endpointId));
+            remoteSubscriptionContext -> {
+              if (Objects.equals(remoteSubscriptionContext.getEndpointId(), endpointId)) {
+                scopeIndex.remove(method, remoteSubscriptionContext);
+                return true;
+              }
+              return false;
+            });
   }
 }
@@ -11,28 +11,44 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.stream.Collectors.toList;
+
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.Collection;
 import java.util.Map;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
-import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.dto.EventSubscription;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
 
+/**
+ * Resends events published to {@link EventService} to the subscribed JSON-RPC endpoints.
+ *
+ * <p>Notification about an event is serialized once and the same message is transmitted to all the
+ * subscribers of the event.
+ */
 @Singleton
 public class RemoteSubscriptionManager {
 
   private final EventService eventService;
-  private final RequestTransmitter requestTransmitter;
+  private final JsonRpcMarshaller marshaller;
+  private final WebSocketMessageTransmitter transmitter;
   private final RemoteSubscriptionStorage remoteSubscriptionStorage;
 
   @Inject
   public RemoteSubscriptionManager(
       EventService eventService,
-      RequestTransmitter requestTransmitter,
+      JsonRpcMarshaller marshaller,
+      WebSocketMessageTransmitter transmitter,
       RemoteSubscriptionStorage remoteSubscriptionStorage) {
     this.eventService = eventService;
-    this.requestTransmitter = requestTransmitter;
+    this.marshaller = marshaller;
+    this.transmitter = transmitter;
     this.remoteSubscriptionStorage = remoteSubscriptionStorage;
   }
 
@@ -53,15 +69,46 @@ public class RemoteSubscriptionManager {
         .withBiConsumer(this::consumeUnSubscriptionRequest);
   }
 
+  /**
+   * Resends events of the given type to the subscribers of the method which scopes match the
+   * predicate. All the subscriptions of the method are tested on each event, so {@link
+   * #register(String, Class, String, Function)} is preferable when events are routed by a single
+   * scope entry.
+   */
   public <T> void register(
       String method, Class<T> eventType, BiPredicate<T, Map<String, String>> biPredicate) {
     eventService.subscribe(
         event ->
-            remoteSubscriptionStorage
-                .getByMethod(method)
-                .stream()
-                .filter(context -> biPredicate.test(event, context.getScope()))
-                .forEach(context -> transmit(context.getEndpointId(), method, event)),
+            transmit(
+                method,
+                event,
+                remoteSubscriptionStorage
+                    .getByMethod(method)
+                    .stream()
+                    .filter(context -> biPredicate.test(event, context.getScope()))
+                    .collect(toList())),
+        eventType);
+  }
+
+  /**
+   * Resends events of the given type to the subscribers of the method which scope contains the
+   * entry with the given key and the value provided by the event, e.g. to the subscribers of the
+   * events of particular workspace. Subscribers are looked up by the scope index of {@link
+   * RemoteSubscriptionStorage}.
+   *
+   * @param method method name
+   * @param eventType type of the events
+   * @param scopeKey key of the scope entry, e.g. {@code workspaceId}
+   * @param scopeValue function that provides value of the scope entry for an event
+   */
+  public <T> void register(
+      String method, Class<T> eventType, String scopeKey, Function<T, String> scopeValue) {
+    eventService.subscribe(
+        event ->
+            transmit(
+                method,
+                event,
+                remoteSubscriptionStorage.getByScope(method, scopeKey, scopeValue.apply(event))),
         eventType);
   }
 
@@ -76,12 +123,15 @@ public class RemoteSubscriptionManager {
     remoteSubscriptionStorage.removeSubscription(eventSubscription.getMethod(), endpointId);
   }
 
-  private <T> void transmit(String endpointId, String method, T event) {
-    requestTransmitter
-        .newRequest()
-        .endpointId(endpointId)
-        .methodName(method)
-        .paramsAsDto(event)
-        .sendAndSkipResult();
+  private <T> void transmit(
+      String method, T event, Collection<RemoteSubscriptionContext> subscriptions) {
+    if (subscriptions.isEmpty()) {
+      return;
+    }
+    final String message =
+        marshaller.marshall(new JsonRpcRequest(null, method, new JsonRpcParams(event)));
+    for (RemoteSubscriptionContext subscription : subscriptions) {
+      transmitter.transmit(subscription.getEndpointId(), message);
+    }
   }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of event subscriptions by the entries of their scopes, e.g. all the subscriptions of the
+ * method with scope {@code workspaceId=workspace123}. Used by implementations of {@link
+ * RemoteSubscriptionStorage} to find subscriptions that match an event without iterating over all
+ * the subscriptions of the method.
+ */
+public class RemoteSubscriptionScopeIndex {
+
+  private final Map<String, Map<Entry<String, String>, Set<RemoteSubscriptionContext>>> index =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Returns subscriptions of the given method which scope contains the given entry.
+   *
+   * @param method method name
+   * @param scopeKey scope key
+   * @param scopeValue scope value
+   * @return matching subscriptions, should not be used for modifying operations
+   */
+  public Set<RemoteSubscriptionContext> get(String method, String scopeKey, String scopeValue) {
+    final Map<Entry<String, String>, Set<RemoteSubscriptionContext>> methodIndex =
+        index.get(method);
+    if (methodIndex == null) {
+      return Collections.emptySet();
+    }
+    return methodIndex.getOrDefault(
+        new SimpleImmutableEntry<>(scopeKey, scopeValue), Collections.emptySet());
+  }
+
+  /** Adds the given subscription of the method to the index. */
+  public synchronized void add(String method, RemoteSubscriptionContext context) {
+    add(index.computeIfAbsent(method, k -> new ConcurrentHashMap<>()), context);
+  }
+
+  /** Removes the given subscription of the method from the index. */
+  public synchronized void remove(String method, RemoteSubscriptionContext context) {
+    final Map<Entry<String, String>, Set<RemoteSubscriptionContext>> methodIndex =
+        index.get(method);
+    if (methodIndex == null || context.getScope() == null) {
+      return;
+    }
+    for (Entry<String, String> entry : context.getScope().entrySet()) {
+      final Entry<String, String> key = new SimpleImmutableEntry<>(entry);
+      final Set<RemoteSubscriptionContext> contexts = methodIndex.get(key);
+      if (contexts != null) {
+        contexts.remove(context);
+        if (contexts.isEmpty()) {
+          methodIndex.remove(key);
+        }
+      }
+    }
+    if (methodIndex.isEmpty()) {
+      index.remove(method);
+    }
+  }
+
+  /** Replaces indexed subscriptions of the method with the given ones. */
+  public synchronized void reindex(String method, Collection<RemoteSubscriptionContext> contexts) {
+    if (contexts == null || contexts.isEmpty()) {
+      index.remove(method);
+      return;
+    }
+    final Map<Entry<String, String>, Set<RemoteSubscriptionContext>> methodIndex =
+        new ConcurrentHashMap<>();
+    contexts.forEach(context -> add(methodIndex, context));
+    index.put(method, methodIndex);
+  }
+
+  /** Removes all the subscriptions from the index. */
+  public synchronized void clear() {
+    index.clear();
+  }
+
+  private static void add(
+      Map<Entry<String, String>, Set<RemoteSubscriptionContext>> methodIndex,
+      RemoteSubscriptionContext context) {
+    if (context.getScope() == null) {
+      return;
+    }
+    for (Entry<String, String> entry : context.getScope().entrySet()) {
+      methodIndex
+          .computeIfAbsent(new SimpleImmutableEntry<>(entry), k -> ConcurrentHashMap.newKeySet(1))
+          .add(context);
+    }
+  }
+}
@@ -11,7 +11,9 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Method - based storage of event subscriptions.
@@ -29,6 +31,28 @@ public interface RemoteSubscriptionStorage {
    */
   Set<RemoteSubscriptionContext> getByMethod(String method);
 
+  /**
+   * Returns active subscriptions for the given method which scope contains the given entry.
+   * Implementations are expected to index subscriptions by their scopes, so the lookup does not
+   * depend on the number of subscriptions to the method. The default implementation filters {@link
+   * #getByMethod(String)} result.
+   *
+   * @param method Method name
+   * @param scopeKey key of the scope entry, e.g. {@code workspaceId}
+   * @param scopeValue value of the scope entry
+   * @return active subscriptions to this method with matching scope
+   */
+  default Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    return getByMethod(method)
+        .stream()
+        .filter(
+            context ->
+                context.getScope() != null
+                    && Objects.equals(scopeValue, context.getScope().get(scopeKey)))
+        .collect(Collectors.toSet());
+  }
+
   /**
    * Adds new subscription to the given method subscriptions list
    *
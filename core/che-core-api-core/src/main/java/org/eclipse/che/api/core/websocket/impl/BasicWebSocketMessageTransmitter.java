@@ -13,7 +13,6 @@ package org.eclipse.che.api.core.websocket.impl;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.io.IOException;
 import java.util.Optional;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -22,9 +21,10 @@ import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
 import org.slf4j.Logger;
 
 /**
- * Transmits messages over WEB SOCKET to a specific endpoint or broadcasts them. If WEB SOCKET
- * session is not opened adds messages to re-sender to try to send them when session will be opened
- * again.
+ * Transmits messages over WEB SOCKET to a specific endpoint or broadcasts them. Messages are passed
+ * to the outbound queue of the endpoint maintained by {@link MessagesReSender}, so transmission
+ * does not block on slow endpoints. If WEB SOCKET session is not opened adds messages to re-sender
+ * to try to send them when session will be opened again.
  *
  * @author Dmitry Kuleshov
  */
@@ -43,7 +43,7 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
   }
 
   @Override
-  public synchronized void transmit(String endpointId, String message) {
+  public void transmit(String endpointId, String message) {
     Optional<Session> sessionOptional = registry.get(endpointId);
 
     if (!sessionOptional.isPresent()) {
@@ -57,11 +57,7 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
     } else {
       LOG.debug("Session registered and open, sending message");
 
-      try {
-        sessionOptional.get().getBasicRemote().sendText(message);
-      } catch (IOException e) {
-        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-      }
+      reSender.send(endpointId, sessionOptional.get(), message);
     }
   }
 }
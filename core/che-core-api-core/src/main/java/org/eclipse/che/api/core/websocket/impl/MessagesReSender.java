@@ -11,32 +11,38 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
-import com.google.common.collect.EvictingQueue;
+import static org.slf4j.LoggerFactory.getLogger;
+
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.slf4j.Logger;
 
 /**
- * Instance is responsible for re-sending messages that were not sent during the period when WEB
- * SOCKET session was closed. If session is closed during re-send process it stops and left messages
- * will be re-sent as WEB SOCKET session becomes open again.
+ * Instance is responsible for sending of messages to WEB SOCKET endpoints and re-sending messages
+ * that were not sent during the period when WEB SOCKET session was closed. Each endpoint has its
+ * own bounded outbound queue which is drained asynchronously, so a slow endpoint does not affect
+ * the others. If session is closed during re-send process it stops and left messages will be
+ * re-sent as WEB SOCKET session becomes open again.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
+  private static final Logger LOG = getLogger(MessagesReSender.class);
 
+  /** Maximum number of messages kept for an endpoint which session is closed. */
   private static final int MAX_MESSAGES = 100;
+  /** Maximum number of messages queued for an endpoint which session is open. */
+  private static final int MAX_QUEUED_MESSAGES = 10_000;
 
   private final WebSocketSessionRegistry registry;
 
-  private final Map<String, Queue<DelayedMessage>> delayedMessageRegistry =
-      new ConcurrentHashMap<>();
+  private final Map<String, OutboundMessageQueue> queues = new ConcurrentHashMap<>();
 
   @Inject
   public MessagesReSender(WebSocketSessionRegistry registry) {
@@ -47,24 +53,47 @@ public class MessagesReSender {
   void cleanStaleMessages() {
     long currentTimeMillis = System.currentTimeMillis();
 
-    delayedMessageRegistry
-        .values()
-        .forEach(it -> it.removeIf(m -> currentTimeMillis - m.timeMillis > 60_000));
-
-    delayedMessageRegistry.values().removeIf(Queue::isEmpty);
+    queues.forEach(
+        (endpointId, queue) -> {
+          queue.removeQueuedBefore(currentTimeMillis - 60_000);
+          LOG.debug(
+              "Endpoint: {}, queued: {}, sent: {}, dropped: {}, average send time: {} ns",
+              endpointId,
+              queue.size(),
+              queue.getSent(),
+              queue.getDropped(),
+              queue.getAverageSendTime());
+        });
+
+    queues.keySet().forEach(id -> queues.computeIfPresent(id, (k, q) -> q.isIdle() ? null : q));
   }
 
+  /**
+   * Keeps the message to send it when the session of the endpoint is opened again.
+   *
+   * @param endpointId endpoint identifier
+   * @param message message
+   */
   public void add(String endpointId, String message) {
+    queue(endpointId, message, MAX_MESSAGES);
+  }
 
-    delayedMessageRegistry
-        .computeIfAbsent(endpointId, k -> EvictingQueue.create(MAX_MESSAGES))
-        .offer(new DelayedMessage(message));
+  /**
+   * Queues the message and sends it to the opened session asynchronously, messages of an endpoint
+   * are sent in the order they were queued.
+   *
+   * @param endpointId endpoint identifier
+   * @param session opened session of the endpoint
+   * @param message message
+   */
+  public void send(String endpointId, Session session, String message) {
+    queue(endpointId, message, MAX_QUEUED_MESSAGES).drain(session);
   }
 
   public void resend(String endpointId) {
-    Queue<DelayedMessage> delayedMessages = delayedMessageRegistry.remove(endpointId);
+    OutboundMessageQueue queue = queues.get(endpointId);
 
-    if (delayedMessages == null || delayedMessages.isEmpty()) {
+    if (queue == null || queue.isIdle()) {
       return;
     }
 
@@ -74,33 +103,34 @@ public class MessagesReSender {
       return;
     }
 
-    Queue<DelayedMessage> backingQueue = EvictingQueue.create(delayedMessages.size());
-    while (!delayedMessages.isEmpty()) {
-      backingQueue.offer(delayedMessages.poll());
-    }
-
-    Session session = sessionOptional.get();
-    for (DelayedMessage delayedMessage : backingQueue) {
-      if (session.isOpen()) {
-        session.getAsyncRemote().sendText(delayedMessage.message);
-      } else {
-        delayedMessages.add(delayedMessage);
-      }
-    }
+    queue.drain(sessionOptional.get());
+  }
 
-    if (!delayedMessages.isEmpty()) {
-      delayedMessageRegistry.put(endpointId, delayedMessages);
-    }
+  /** Returns number of messages queued for the endpoint. */
+  public int getQueueSize(String endpointId) {
+    OutboundMessageQueue queue = queues.get(endpointId);
+    return queue == null ? 0 : queue.size();
   }
 
-  private static class DelayedMessage {
+  /** Returns number of messages of the endpoint that were dropped because of queue overflow. */
+  public long getDroppedMessages(String endpointId) {
+    OutboundMessageQueue queue = queues.get(endpointId);
+    return queue == null ? 0 : queue.getDropped();
+  }
 
-    private final long timeMillis;
-    private final String message;
+  /** Returns average time in nanoseconds of sending a message to the endpoint. */
+  public long getAverageSendTime(String endpointId) {
+    OutboundMessageQueue queue = queues.get(endpointId);
+    return queue == null ? 0 : queue.getAverageSendTime();
+  }
 
-    private DelayedMessage(String message) {
-      this.message = message;
-      this.timeMillis = System.currentTimeMillis();
-    }
+  private OutboundMessageQueue queue(String endpointId, String message, int limit) {
+    return queues.compute(
+        endpointId,
+        (k, queue) -> {
+          OutboundMessageQueue result = queue == null ? new OutboundMessageQueue() : queue;
+          result.offer(message, limit);
+          return result;
+        });
   }
 }
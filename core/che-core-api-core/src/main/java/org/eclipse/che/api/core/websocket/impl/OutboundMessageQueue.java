@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import org.slf4j.Logger;
+
+/**
+ * Bounded queue of outbound messages of a single endpoint. Messages are sent one by one with {@link
+ * javax.websocket.RemoteEndpoint.Async}, the next message is sent from the completion callback of
+ * the previous one, so a slow endpoint never blocks the callers and other endpoints. If the queue
+ * is full the oldest message is dropped. If the session is closed messages are kept in the queue
+ * until the session is opened again.
+ */
+class OutboundMessageQueue {
+  private static final Logger LOG = getLogger(OutboundMessageQueue.class);
+
+  private final Deque<Message> messages = new ArrayDeque<>();
+
+  private boolean sending;
+  private Thread sendingThread;
+
+  private long dropped;
+  private long sent;
+  private long sendTimeNanos;
+
+  /**
+   * Adds a message to the end of the queue, if the queue size exceeds the limit the oldest messages
+   * are dropped.
+   */
+  synchronized void offer(String message, int limit) {
+    messages.offer(new Message(message));
+    while (messages.size() > limit) {
+      messages.poll();
+      dropped++;
+    }
+  }
+
+  /** Drops the messages that are queued before the given time. */
+  synchronized void removeQueuedBefore(long timeMillis) {
+    while (!messages.isEmpty() && messages.peek().timeMillis < timeMillis) {
+      messages.poll();
+      dropped++;
+    }
+  }
+
+  /** Returns {@code true} if there is neither queued nor being sent messages. */
+  synchronized boolean isIdle() {
+    return !sending && messages.isEmpty();
+  }
+
+  synchronized int size() {
+    return messages.size();
+  }
+
+  synchronized long getDropped() {
+    return dropped;
+  }
+
+  synchronized long getSent() {
+    return sent;
+  }
+
+  /** Returns average time in nanoseconds spent on sending of a single message. */
+  synchronized long getAverageSendTime() {
+    return sent == 0 ? 0 : sendTimeNanos / sent;
+  }
+
+  /**
+   * Sends queued messages over the session. Returns as soon as the message being sent is not
+   * completed synchronously, sending is continued by the completion callback.
+   */
+  void drain(Session session) {
+    while (true) {
+      Message next;
+      synchronized (this) {
+        if (sending || !session.isOpen()) {
+          return;
+        }
+        next = messages.poll();
+        if (next == null) {
+          return;
+        }
+        sending = true;
+        sendingThread = Thread.currentThread();
+      }
+
+      long start = System.nanoTime();
+      try {
+        session
+            .getAsyncRemote()
+            .sendText(next.text, result -> onComplete(session, next, start, result));
+      } catch (RuntimeException e) {
+        LOG.error("Error while trying to send a message to an async websocket remote endpoint", e);
+        onComplete(session, next, start, new SendResult(e));
+      }
+
+      synchronized (this) {
+        sendingThread = null;
+        if (sending) {
+          return;
+        }
+      }
+    }
+  }
+
+  private void onComplete(Session session, Message message, long start, SendResult result) {
+    synchronized (this) {
+      sending = false;
+      sent++;
+      sendTimeNanos += System.nanoTime() - start;
+
+      if (!result.isOK()) {
+        if (session.isOpen()) {
+          dropped++;
+          LOG.debug("Failed to send a websocket message", result.getException());
+        } else {
+          messages.addFirst(message);
+        }
+      }
+
+      if (Thread.currentThread() == sendingThread) {
+        // completed synchronously, draining loop continues
+        return;
+      }
+    }
+    drain(session);
+  }
+
+  private static class Message {
+    private final long timeMillis;
+    private final String text;
+
+    private Message(String text) {
+      this.text = text;
+      this.timeMillis = System.currentTimeMillis();
+    }
+  }
+}
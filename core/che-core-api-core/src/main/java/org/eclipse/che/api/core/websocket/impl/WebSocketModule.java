@@ -12,7 +12,7 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import com.google.inject.AbstractModule;
-import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMessageReceiver;
+import org.eclipse.che.api.core.jsonrpc.impl.GsonJsonRpcMessageReceiver;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageReceiver;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
 
@@ -21,7 +21,7 @@ public class WebSocketModule extends AbstractModule {
   protected void configure() {
     requestStaticInjection(GuiceInjectorEndpointConfigurator.class);
 
-    bind(WebSocketMessageReceiver.class).to(JsonRpcMessageReceiver.class);
+    bind(WebSocketMessageReceiver.class).to(GsonJsonRpcMessageReceiver.class);
     bind(WebSocketMessageTransmitter.class).to(BasicWebSocketMessageTransmitter.class);
   }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link FairRequestExecutor} */
+public class FairRequestExecutorTest {
+  List<Runnable> workers;
+  List<String> executed;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    workers = new ArrayList<>();
+    executed = new ArrayList<>();
+  }
+
+  @Test
+  public void shouldNotStartMoreWorkersThanParallelism() throws Exception {
+    FairRequestExecutor executor = new FairRequestExecutor(workers::add, 2, 10);
+
+    for (int i = 0; i < 5; i++) {
+      assertTrue(executor.submit("endpoint", task("task-" + i)));
+    }
+
+    assertEquals(workers.size(), 2);
+    assertEquals(executor.size(), 5);
+  }
+
+  @Test
+  public void shouldRejectTaskWhenQueueIsFull() throws Exception {
+    FairRequestExecutor executor = new FairRequestExecutor(workers::add, 1, 2);
+
+    assertTrue(executor.submit("endpoint", task("a")));
+    assertTrue(executor.submit("endpoint", task("b")));
+    assertFalse(executor.submit("endpoint", task("c")));
+
+    workers.get(0).run();
+
+    assertEquals(executed, asList("a", "b"));
+    assertEquals(executor.size(), 0);
+    assertTrue(executor.submit("endpoint", task("c")));
+  }
+
+  @Test
+  public void shouldServeEndpointsInRoundRobinOrder() throws Exception {
+    FairRequestExecutor executor = new FairRequestExecutor(workers::add, 1, 10);
+
+    executor.submit("greedy", task("greedy-1"));
+    executor.submit("greedy", task("greedy-2"));
+    executor.submit("greedy", task("greedy-3"));
+    executor.submit("other", task("other-1"));
+    executor.submit("another", task("another-1"));
+
+    workers.get(0).run();
+
+    assertEquals(executed, asList("greedy-1", "other-1", "another-1", "greedy-2", "greedy-3"));
+  }
+
+  @Test
+  public void shouldContinueProcessingWhenTaskFails() throws Exception {
+    FairRequestExecutor executor = new FairRequestExecutor(workers::add, 1, 10);
+
+    executor.submit(
+        "endpoint",
+        () -> {
+          throw new IllegalStateException("failure");
+        });
+    executor.submit("endpoint", task("next"));
+
+    workers.get(0).run();
+
+    assertEquals(executed, asList("next"));
+    assertEquals(workers.size(), 1);
+  }
+
+  private Runnable task(String name) {
+    return () -> executed.add(name);
+  }
+}
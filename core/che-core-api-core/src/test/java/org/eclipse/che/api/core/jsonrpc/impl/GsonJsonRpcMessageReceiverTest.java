@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.util.List;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcErrorTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestDispatcher;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessor;
+import org.eclipse.che.api.core.jsonrpc.commons.ResponseDispatcher;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link GsonJsonRpcMessageReceiver} */
+@Listeners(MockitoTestNGListener.class)
+public class GsonJsonRpcMessageReceiverTest {
+  static final String ENDPOINT_ID = "endpoint-id";
+  static final String REQUEST =
+      "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"textDocument/didChange\","
+          + "\"params\":{\"uri\":\"file:///a.java\",\"version\":2}}";
+  static final String RESPONSE = "{\"jsonrpc\":\"2.0\",\"id\":\"2\",\"result\":[\"a\",\"b\"]}";
+
+  @Mock RequestDispatcher requestDispatcher;
+  @Mock ResponseDispatcher responseDispatcher;
+  @Mock JsonRpcErrorTransmitter errorTransmitter;
+
+  GsonJsonRpcMessageReceiver receiver;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    JsonParser jsonParser = new JsonParser();
+    receiver =
+        new GsonJsonRpcMessageReceiver(
+            requestDispatcher,
+            responseDispatcher,
+            errorTransmitter,
+            new GsonJsonRpcUnmarshaller(jsonParser),
+            Runnable::run,
+            jsonParser);
+  }
+
+  @Test
+  public void shouldTransmitErrorWhenMessageIsNotValidJson() throws Exception {
+    receiver.receive(ENDPOINT_ID, "{\"id\":");
+
+    verify(errorTransmitter).transmit(eq(ENDPOINT_ID), any(JsonRpcException.class));
+    verify(requestDispatcher, never()).dispatch(any(), any());
+    verify(responseDispatcher, never()).dispatch(any(), any());
+  }
+
+  @Test
+  public void shouldDispatchRequestWithParamsAsJsonElement() throws Exception {
+    receiver.receive(ENDPOINT_ID, REQUEST);
+
+    ArgumentCaptor<JsonRpcRequest> captor = ArgumentCaptor.forClass(JsonRpcRequest.class);
+    verify(requestDispatcher).dispatch(eq(ENDPOINT_ID), captor.capture());
+    JsonRpcRequest request = captor.getValue();
+    assertEquals(request.getId(), "1");
+    assertEquals(request.getMethod(), "textDocument/didChange");
+    assertTrue(request.getParams().getOne() instanceof JsonObject);
+    JsonObject params = (JsonObject) request.getParams().getOne();
+    assertEquals(params.get("uri").getAsString(), "file:///a.java");
+  }
+
+  @Test
+  public void shouldDispatchResponse() throws Exception {
+    receiver.receive(ENDPOINT_ID, RESPONSE);
+
+    ArgumentCaptor<JsonRpcResponse> captor = ArgumentCaptor.forClass(JsonRpcResponse.class);
+    verify(responseDispatcher).dispatch(eq(ENDPOINT_ID), captor.capture());
+    JsonRpcResponse response = captor.getValue();
+    assertEquals(response.getId(), "2");
+    List<?> result = response.getResult().getMany();
+    assertEquals(result.size(), 2);
+    assertEquals(result.get(0), "a");
+  }
+
+  @Test
+  public void shouldDispatchEachElementOfBatch() throws Exception {
+    receiver.receive(ENDPOINT_ID, "[" + REQUEST + "," + RESPONSE + "," + REQUEST + "]");
+
+    verify(requestDispatcher, times(2)).dispatch(eq(ENDPOINT_ID), any(JsonRpcRequest.class));
+    verify(responseDispatcher).dispatch(eq(ENDPOINT_ID), any(JsonRpcResponse.class));
+  }
+
+  @Test
+  public void shouldTransmitErrorWithRequestIdWhenRequestIsRejected() throws Exception {
+    receiver =
+        new GsonJsonRpcMessageReceiver(
+            requestDispatcher,
+            responseDispatcher,
+            errorTransmitter,
+            new GsonJsonRpcUnmarshaller(new JsonParser()),
+            new RequestProcessor() {
+              @Override
+              public void process(Runnable runnable) {}
+
+              @Override
+              public void process(String endpointId, String method, Runnable runnable) {
+                throw new JsonRpcException(-32001, "busy");
+              }
+            },
+            new JsonParser());
+
+    receiver.receive(ENDPOINT_ID, REQUEST);
+
+    ArgumentCaptor<JsonRpcException> captor = ArgumentCaptor.forClass(JsonRpcException.class);
+    verify(errorTransmitter).transmit(eq(ENDPOINT_ID), captor.capture());
+    assertEquals(captor.getValue().getCode(), -32001);
+    assertEquals(captor.getValue().getId(), "1");
+    verify(requestDispatcher, never()).dispatch(any(), any());
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void shouldThrowExceptionIfMessageIsNeitherRequestNorResponse() throws Exception {
+    receiver.receive(ENDPOINT_ID, "{\"jsonrpc\":\"2.0\",\"id\":\"3\"}");
+  }
+}
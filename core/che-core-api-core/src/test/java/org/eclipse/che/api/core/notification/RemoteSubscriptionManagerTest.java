@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.Collections.singletonMap;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class RemoteSubscriptionManagerTest {
+
+  private static final String METHOD = "event/changed";
+
+  @Mock private JsonRpcMarshaller marshaller;
+  @Mock private WebSocketMessageTransmitter transmitter;
+
+  private EventService eventService;
+  private InmemoryRemoteSubscriptionStorage storage;
+
+  @BeforeMethod
+  public void setUp() {
+    eventService = new EventService();
+    storage = new InmemoryRemoteSubscriptionStorage();
+    RemoteSubscriptionManager manager =
+        new RemoteSubscriptionManager(eventService, marshaller, transmitter, storage);
+    manager.register(METHOD, String.class, "workspaceId", event -> event);
+  }
+
+  @Test
+  public void shouldSerializeEventOnceAndTransmitItToSubscribersWithMatchingScope() {
+    when(marshaller.marshall(any(JsonRpcRequest.class))).thenReturn("message");
+    subscribe("endpoint1", "workspace1");
+    subscribe("endpoint2", "workspace2");
+    subscribe("endpoint3", "workspace1");
+
+    eventService.publish("workspace1");
+
+    ArgumentCaptor<JsonRpcRequest> captor = ArgumentCaptor.forClass(JsonRpcRequest.class);
+    verify(marshaller).marshall(captor.capture());
+    assertEquals(captor.getValue().getMethod(), METHOD);
+    assertEquals(captor.getValue().getParams().getOne(), "workspace1");
+    verify(transmitter).transmit("endpoint1", "message");
+    verify(transmitter).transmit("endpoint3", "message");
+    verify(transmitter, never()).transmit("endpoint2", "message");
+  }
+
+  @Test
+  public void shouldNotSerializeEventWhenThereAreNoMatchingSubscribers() {
+    subscribe("endpoint1", "workspace2");
+
+    eventService.publish("workspace1");
+
+    verify(marshaller, never()).marshall(any(JsonRpcRequest.class));
+    verify(transmitter, never()).transmit(anyString(), anyString());
+  }
+
+  @Test
+  public void shouldNotTransmitEventToUnsubscribedEndpoint() {
+    when(marshaller.marshall(any(JsonRpcRequest.class))).thenReturn("message");
+    subscribe("endpoint1", "workspace1");
+    subscribe("endpoint2", "workspace1");
+
+    storage.removeSubscription(METHOD, "endpoint1");
+    eventService.publish("workspace1");
+
+    verify(transmitter, never()).transmit("endpoint1", "message");
+    verify(transmitter).transmit("endpoint2", "message");
+    assertEquals(storage.getByScope(METHOD, "workspaceId", "workspace1").size(), 1);
+  }
+
+  private void subscribe(String endpointId, String workspaceId) {
+    storage.addSubscription(
+        METHOD,
+        new RemoteSubscriptionContext(endpointId, singletonMap("workspaceId", workspaceId)));
+  }
+}
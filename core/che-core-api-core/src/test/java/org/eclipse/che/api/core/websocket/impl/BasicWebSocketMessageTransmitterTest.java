@@ -18,9 +18,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.io.IOException;
 import java.util.Optional;
-import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -44,11 +42,9 @@ public class BasicWebSocketMessageTransmitterTest {
   @InjectMocks private BasicWebSocketMessageTransmitter transmitter;
 
   @Mock private Session session;
-  @Mock private RemoteEndpoint.Basic remote;
 
   @BeforeMethod
   public void setUp() throws Exception {
-    when(session.getBasicRemote()).thenReturn(remote);
     when(session.isOpen()).thenReturn(true);
 
     when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
@@ -56,22 +52,20 @@ public class BasicWebSocketMessageTransmitterTest {
   }
 
   @Test
-  public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
+  public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() {
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session).getBasicRemote();
-    verify(remote).sendText(MESSAGE);
+    verify(reSender).send(ENDPOINT_ID, session, MESSAGE);
     verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
   }
 
   @Test
-  public void shouldAddMessageToPendingIfSessionIsNotOpenedAndEndpointIsSet() throws IOException {
+  public void shouldAddMessageToPendingIfSessionIsNotOpenedAndEndpointIsSet() {
     when(session.isOpen()).thenReturn(false);
 
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session, never()).getBasicRemote();
-    verify(remote, never()).sendText(MESSAGE);
+    verify(reSender, never()).send(ENDPOINT_ID, session, MESSAGE);
     verify(reSender).add(ENDPOINT_ID, MESSAGE);
   }
 }
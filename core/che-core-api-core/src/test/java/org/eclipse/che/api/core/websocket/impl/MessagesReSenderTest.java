@@ -11,14 +11,20 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 import java.util.Optional;
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -65,7 +71,7 @@ public class MessagesReSenderTest {
 
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(session, never()).getAsyncRemote();
-    verify(endpoint, never()).sendText(MESSAGE);
+    verify(endpoint, never()).sendText(eq(MESSAGE), any(SendHandler.class));
   }
 
   @Test
@@ -76,13 +82,13 @@ public class MessagesReSenderTest {
     reSender.resend(ENDPOINT_ID);
 
     verify(session, never()).getAsyncRemote();
-    verify(endpoint, never()).sendText(MESSAGE);
+    verify(endpoint, never()).sendText(eq(MESSAGE), any(SendHandler.class));
 
     when(session.isOpen()).thenReturn(true);
     reSender.resend(ENDPOINT_ID);
 
     verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(endpoint).sendText(eq(MESSAGE), any(SendHandler.class));
   }
 
   @Test
@@ -93,7 +99,7 @@ public class MessagesReSenderTest {
 
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(endpoint).sendText(eq(MESSAGE), any(SendHandler.class));
   }
 
   @Test
@@ -107,7 +113,7 @@ public class MessagesReSenderTest {
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(sessionRegistry).get("1");
     verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(endpoint, times(2)).sendText(eq(MESSAGE), any(SendHandler.class));
   }
 
   @Test
@@ -117,12 +123,12 @@ public class MessagesReSenderTest {
     reSender.resend(ENDPOINT_ID);
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(endpoint).sendText(eq(MESSAGE), any(SendHandler.class));
 
     reSender.resend(ENDPOINT_ID);
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(session).getAsyncRemote();
-    verify(endpoint).sendText(MESSAGE);
+    verify(endpoint).sendText(eq(MESSAGE), any(SendHandler.class));
   }
 
   @Test
@@ -136,7 +142,7 @@ public class MessagesReSenderTest {
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(sessionRegistry).get("1");
     verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(endpoint, times(2)).sendText(eq(MESSAGE), any(SendHandler.class));
 
     reSender.resend(ENDPOINT_ID);
     reSender.resend("1");
@@ -144,6 +150,47 @@ public class MessagesReSenderTest {
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(sessionRegistry).get("1");
     verify(session, times(2)).getAsyncRemote();
-    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(endpoint, times(2)).sendText(eq(MESSAGE), any(SendHandler.class));
+  }
+
+  @Test
+  public void shouldSendQueuedMessagesOneByOne() {
+    reSender.send(ENDPOINT_ID, session, MESSAGE);
+    reSender.send(ENDPOINT_ID, session, "second");
+
+    verify(endpoint).sendText(eq(MESSAGE), any(SendHandler.class));
+    verify(endpoint, never()).sendText(eq("second"), any(SendHandler.class));
+    assertEquals(reSender.getQueueSize(ENDPOINT_ID), 1);
+  }
+
+  @Test
+  public void shouldSendNextMessageOnCompletionOfPreviousOne() {
+    doAnswer(
+            invocation -> {
+              SendHandler handler = invocation.getArgument(1);
+              handler.onResult(new SendResult());
+              return null;
+            })
+        .when(endpoint)
+        .sendText(anyString(), any(SendHandler.class));
+
+    reSender.send(ENDPOINT_ID, session, MESSAGE);
+    reSender.send(ENDPOINT_ID, session, "second");
+
+    verify(endpoint).sendText(eq(MESSAGE), any(SendHandler.class));
+    verify(endpoint).sendText(eq("second"), any(SendHandler.class));
+    assertEquals(reSender.getQueueSize(ENDPOINT_ID), 0);
+  }
+
+  @Test
+  public void shouldDropOldestMessagesIfSessionIsClosedForTooLong() {
+    for (int i = 0; i < 101; i++) {
+      reSender.add(ENDPOINT_ID, MESSAGE + i);
+    }
+
+    reSender.resend(ENDPOINT_ID);
+
+    verify(endpoint).sendText(eq(MESSAGE + 1), any(SendHandler.class));
+    assertEquals(reSender.getDroppedMessages(ENDPOINT_ID), 1);
   }
 }
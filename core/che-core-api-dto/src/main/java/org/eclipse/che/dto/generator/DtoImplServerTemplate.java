@@ -10,7 +10,10 @@
 package org.eclipse.che.dto.generator;
 
 import com.google.common.primitives.Primitives;
+import com.google.gson.annotations.SerializedName;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -35,6 +38,9 @@ public class DtoImplServerTemplate extends DtoImpl {
   private static final String SERVER_DTO_MARKER =
       "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
 
+  private List<SerializedField> serializedFields;
+  private boolean serializedFieldsResolved;
+
   DtoImplServerTemplate(DtoTemplate template, Class<?> superInterface) {
     super(template, superInterface);
   }
@@ -108,10 +114,239 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
       }
     }
+    if (hasTypeAdapter()) {
+      emitTypeAdapter(getSerializedFields(), builder);
+    }
     emitPostamble(builder);
     return builder.toString();
   }
 
+  /**
+   * Returns true if a type adapter is generated for this DTO implementation, otherwise the
+   * implementation is serialized by Gson reflective adapter.
+   */
+  boolean hasTypeAdapter() {
+    return getSerializedFields() != null;
+  }
+
+  /**
+   * Emits a type adapter that reads and writes the fields of the implementation and its super
+   * classes directly, without reflection. The generated adapter produces the same JSON as Gson
+   * reflective adapter: strings and primitives are handled in place and all the other fields are
+   * delegated to the adapters of their declared types.
+   */
+  private void emitTypeAdapter(List<SerializedField> fields, StringBuilder builder) {
+    final String implClassName = getImplClassName();
+    builder
+        .append("    public static class GsonAdapter extends com.google.gson.TypeAdapter<")
+        .append(implClassName)
+        .append("> {\n");
+    for (SerializedField field : fields) {
+      if (field.isDelegated()) {
+        builder
+            .append("      private final com.google.gson.TypeAdapter<")
+            .append(field.getAdapterTypeName())
+            .append("> ")
+            .append(field.getAdapterName())
+            .append(";\n");
+      }
+    }
+    builder.append("\n");
+    builder.append("      public GsonAdapter(com.google.gson.Gson gson) {\n");
+    for (SerializedField field : fields) {
+      if (field.isDelegated()) {
+        builder
+            .append("        this.")
+            .append(field.getAdapterName())
+            .append(" = gson.getAdapter(");
+        if (field.type instanceof Class) {
+          builder.append(field.typeName).append(".class");
+        } else {
+          builder
+              .append("new com.google.gson.reflect.TypeToken<")
+              .append(field.typeName)
+              .append(">() {}");
+        }
+        builder.append(");\n");
+      }
+    }
+    builder.append("      }\n\n");
+
+    builder.append("      @Override\n");
+    builder
+        .append("      public void write(com.google.gson.stream.JsonWriter out, ")
+        .append(implClassName)
+        .append(" value) throws java.io.IOException {\n");
+    builder.append("        if (value == null) {\n");
+    builder.append("          out.nullValue();\n");
+    builder.append("          return;\n");
+    builder.append("        }\n");
+    builder.append("        out.beginObject();\n");
+    for (SerializedField field : fields) {
+      builder.append("        out.name(").append(quoteStringLiteral(field.jsonName)).append(");\n");
+      builder.append("        ");
+      if (field.isDelegated()) {
+        builder.append(field.getAdapterName()).append(".write(out, value.");
+      } else {
+        builder.append("out.value(value.");
+      }
+      builder.append(field.javaName).append(");\n");
+    }
+    builder.append("        out.endObject();\n");
+    builder.append("      }\n\n");
+
+    builder.append("      @Override\n");
+    builder
+        .append("      public ")
+        .append(implClassName)
+        .append(" read(com.google.gson.stream.JsonReader in) throws java.io.IOException {\n");
+    builder.append("        if (in.peek() == com.google.gson.stream.JsonToken.NULL) {\n");
+    builder.append("          in.nextNull();\n");
+    builder.append("          return null;\n");
+    builder.append("        }\n");
+    builder
+        .append("        ")
+        .append(implClassName)
+        .append(" value = new ")
+        .append(implClassName)
+        .append("();\n");
+    builder.append("        try {\n");
+    builder.append("          in.beginObject();\n");
+    builder.append("          while (in.hasNext()) {\n");
+    builder.append("            switch (in.nextName()) {\n");
+    for (SerializedField field : fields) {
+      builder
+          .append("              case ")
+          .append(quoteStringLiteral(field.jsonName))
+          .append(":\n");
+      final String target = "value." + field.javaName;
+      if (field.rawClass == String.class) {
+        builder.append("                ").append(target).append(" = readJsonString(in);\n");
+      } else if (!field.isDelegated()) {
+        final String typeName = field.rawClass.getName();
+        builder
+            .append("                ")
+            .append(target)
+            .append(" = readJson")
+            .append(Character.toUpperCase(typeName.charAt(0)))
+            .append(typeName.substring(1))
+            .append("(in, ")
+            .append(target)
+            .append(");\n");
+      } else if (field.rawClass.isPrimitive()) {
+        // null is not assigned to primitive fields, the same as Gson reflective adapter does
+        final String local = field.javaName + "Value";
+        builder
+            .append("                ")
+            .append(field.getAdapterTypeName())
+            .append(" ")
+            .append(local)
+            .append(" = ")
+            .append(field.getAdapterName())
+            .append(".read(in);\n");
+        builder.append("                if (").append(local).append(" != null) {\n");
+        builder
+            .append("                  ")
+            .append(target)
+            .append(" = ")
+            .append(local)
+            .append(";\n");
+        builder.append("                }\n");
+      } else {
+        builder
+            .append("                ")
+            .append(target)
+            .append(" = ")
+            .append(field.getAdapterName())
+            .append(".read(in);\n");
+      }
+      builder.append("                break;\n");
+    }
+    builder.append("              default:\n");
+    builder.append("                in.skipValue();\n");
+    builder.append("            }\n");
+    builder.append("          }\n");
+    builder.append("          in.endObject();\n");
+    builder.append("        } catch (IllegalStateException | NumberFormatException e) {\n");
+    builder.append("          throw new com.google.gson.JsonSyntaxException(e);\n");
+    builder.append("        }\n");
+    builder.append("        return value;\n");
+    builder.append("      }\n");
+    builder.append("    }\n\n");
+  }
+
+  /**
+   * Returns the fields of the implementation class and its super classes in the order Gson
+   * reflective adapter serializes them: fields of the class itself go first, then the fields of its
+   * super classes.
+   *
+   * @return the fields or {@code null} if the type adapter can not be generated, e.g. when the
+   *     implementation of a super DTO is not known or two fields have the same JSON name
+   */
+  private List<SerializedField> getSerializedFields() {
+    if (!serializedFieldsResolved) {
+      serializedFields = resolveSerializedFields();
+      serializedFieldsResolved = true;
+    }
+    return serializedFields;
+  }
+
+  private List<SerializedField> resolveSerializedFields() {
+    final List<SerializedField> fields = new ArrayList<>();
+    for (Class<?> dto = getDtoInterface(); dto != null; dto = getSuperDtoInterface(dto)) {
+      if (getEnclosingTemplate().isDtoInterface(dto)) {
+        final Set<String> superGetterNames = getSuperGetterNames(dto);
+        for (Method getter : getDtoGetters(dto)) {
+          if (!superGetterNames.contains(getter.getName())) {
+            fields.add(
+                new SerializedField(
+                    getJavaFieldName(getter.getName()),
+                    getJsonFieldName(getter),
+                    getter.getGenericReturnType()));
+          }
+        }
+      } else {
+        // super DTO is implemented in dependency of current project
+        final Class<?> impl = getEnclosingTemplate().getDtoImplementation(dto);
+        if (impl == null || !addDeclaredFields(impl, fields)) {
+          return null;
+        }
+        break;
+      }
+    }
+    final Set<String> jsonNames = new HashSet<>();
+    for (SerializedField field : fields) {
+      if (!jsonNames.add(field.jsonName)) {
+        // let Gson report the problem
+        return null;
+      }
+    }
+    return fields;
+  }
+
+  private boolean addDeclaredFields(Class<?> impl, List<SerializedField> fields) {
+    for (Class<?> type = impl; type != Object.class; type = type.getSuperclass()) {
+      for (Field field : type.getDeclaredFields()) {
+        final int modifiers = field.getModifiers();
+        if (Modifier.isStatic(modifiers)
+            || Modifier.isTransient(modifiers)
+            || field.isSynthetic()) {
+          continue;
+        }
+        if (!Modifier.isProtected(modifiers) && !Modifier.isPublic(modifiers)) {
+          return false;
+        }
+        final SerializedName serializedName = field.getAnnotation(SerializedName.class);
+        fields.add(
+            new SerializedField(
+                field.getName(),
+                serializedName == null ? field.getName() : serializedName.value(),
+                field.getGenericType()));
+      }
+    }
+    return true;
+  }
+
   private void emitEqualsAndHashCode(List<Method> getters, StringBuilder builder) {
     builder.append("    @Override\n");
     builder.append("    public boolean equals(Object o) {\n");
@@ -845,6 +1080,39 @@ public class DtoImplServerTemplate extends DtoImpl {
     return getImplName(typeArgs[index], false);
   }
 
+  /** Field of the implementation class that is read and written by the generated type adapter. */
+  private class SerializedField {
+    private final String javaName;
+    private final String jsonName;
+    private final Type type;
+    private final Class<?> rawClass;
+    private final String typeName;
+
+    private SerializedField(String javaName, String jsonName, Type type) {
+      this.javaName = javaName;
+      this.jsonName = jsonName;
+      this.type = type;
+      this.rawClass = getRawClass(type);
+      this.typeName = getImplName(type, false);
+    }
+
+    /** Returns false for the fields that are read and written in place. */
+    private boolean isDelegated() {
+      return rawClass != String.class
+          && rawClass != int.class
+          && rawClass != long.class
+          && rawClass != boolean.class;
+    }
+
+    private String getAdapterName() {
+      return javaName + "Adapter";
+    }
+
+    private String getAdapterTypeName() {
+      return rawClass.isPrimitive() ? Primitives.wrap(rawClass).getCanonicalName() : typeName;
+    }
+  }
+
   private String getImplNameForDto(Class<?> dtoInterface) {
     if (getEnclosingTemplate().isDtoInterface(dtoInterface)) {
       // This will eventually get a generated impl type.
@@ -178,6 +178,56 @@ public class DtoTemplate {
     builder.append("\n}");
   }
 
+  /**
+   * Emits methods that read strings and primitives the same way as Gson type adapters do, they are
+   * used by the type adapters generated for server DTO implementations.
+   */
+  private void emitJsonReadMethods(StringBuilder builder) {
+    builder.append(
+        "  private static String readJsonString(com.google.gson.stream.JsonReader in)"
+            + " throws java.io.IOException {\n");
+    builder.append("    com.google.gson.stream.JsonToken token = in.peek();\n");
+    builder.append("    if (token == com.google.gson.stream.JsonToken.NULL) {\n");
+    builder.append("      in.nextNull();\n");
+    builder.append("      return null;\n");
+    builder.append("    }\n");
+    builder.append("    if (token == com.google.gson.stream.JsonToken.BOOLEAN) {\n");
+    builder.append("      return Boolean.toString(in.nextBoolean());\n");
+    builder.append("    }\n");
+    builder.append("    return in.nextString();\n");
+    builder.append("  }\n\n");
+    builder.append(
+        "  private static boolean readJsonBoolean(com.google.gson.stream.JsonReader in,"
+            + " boolean defaultValue) throws java.io.IOException {\n");
+    builder.append("    com.google.gson.stream.JsonToken token = in.peek();\n");
+    builder.append("    if (token == com.google.gson.stream.JsonToken.NULL) {\n");
+    builder.append("      in.nextNull();\n");
+    builder.append("      return defaultValue;\n");
+    builder.append("    }\n");
+    builder.append("    if (token == com.google.gson.stream.JsonToken.STRING) {\n");
+    builder.append("      return Boolean.parseBoolean(in.nextString());\n");
+    builder.append("    }\n");
+    builder.append("    return in.nextBoolean();\n");
+    builder.append("  }\n\n");
+    for (String type : new String[] {"int", "long"}) {
+      String typeName = Character.toUpperCase(type.charAt(0)) + type.substring(1);
+      builder
+          .append("  private static ")
+          .append(type)
+          .append(" readJson")
+          .append(typeName)
+          .append("(com.google.gson.stream.JsonReader in, ")
+          .append(type)
+          .append(" defaultValue) throws java.io.IOException {\n");
+      builder.append("    if (in.peek() == com.google.gson.stream.JsonToken.NULL) {\n");
+      builder.append("      in.nextNull();\n");
+      builder.append("      return defaultValue;\n");
+      builder.append("    }\n");
+      builder.append("    return in.next").append(typeName).append("();\n");
+      builder.append("  }\n\n");
+    }
+  }
+
   private void emitPreamble(StringBuilder builder) {
     builder.append(
         "/*******************************************************************************\n");
@@ -290,9 +340,21 @@ public class DtoTemplate {
             .append(dto.getImplClassName())
             .append("(origin);\n");
         builder.append("        }\n");
+        if (((DtoImplServerTemplate) dto).hasTypeAdapter()) {
+          builder.append("\n");
+          builder
+              .append("        public com.google.gson.TypeAdapter<? extends ")
+              .append(dtoInterface)
+              .append("> createTypeAdapter(com.google.gson.Gson gson) {\n")
+              .append("            return new ")
+              .append(dto.getImplClassName())
+              .append(".GsonAdapter(gson);\n");
+          builder.append("        }\n");
+        }
         builder.append("    });\n");
       }
       builder.append("  }\n\n");
+      emitJsonReadMethods(builder);
     }
     if ("client".equals(implType)) {
       builder
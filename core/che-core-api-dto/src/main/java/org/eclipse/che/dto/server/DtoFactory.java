@@ -107,7 +107,8 @@ public final class DtoFactory {
           ServiceLoader.load(TypeAdapterFactory.class).iterator(),
           new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()),
           new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()),
-          new DtoInterfaceTAF());
+          new DtoInterfaceTAF(),
+          new DtoImplTAF());
 
   /**
    * Created deep copy of DTO object.
@@ -441,8 +442,42 @@ public final class DtoFactory {
     @SuppressWarnings("unchecked")
     public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
       DtoProvider<?> prov = dtoInterface2Providers.get(type.getRawType());
+      if (prov == null) {
+        return null;
+      }
+      final Class<?> implClass = prov.getImplClass();
+      final TypeAdapter<T> implAdapter = (TypeAdapter<T>) gson.getAdapter(implClass);
+      return new TypeAdapter<T>() {
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+          // the value may be an instance of sub DTO implementation, serialize all its fields
+          if (value == null || value.getClass() == implClass) {
+            implAdapter.write(out, value);
+          } else {
+            ((TypeAdapter<T>) gson.getAdapter(value.getClass())).write(out, value);
+          }
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+          return implAdapter.read(in);
+        }
+      };
+    }
+  }
+
+  /**
+   * Provides type adapters generated for DTO implementation classes, so the implementations are
+   * serialized without reflection. Implementations that don't have generated type adapters are
+   * serialized by Gson reflective adapter.
+   */
+  private class DtoImplTAF implements TypeAdapterFactory {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+      DtoProvider<?> prov = dtoImpl2Providers.get(type.getRawType());
       if (prov != null) {
-        return (TypeAdapter<T>) gson.getAdapter(prov.getImplClass());
+        return (TypeAdapter<T>) prov.createTypeAdapter(gson);
       }
       return null;
     }
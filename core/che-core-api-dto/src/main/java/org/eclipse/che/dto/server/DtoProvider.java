@@ -11,7 +11,9 @@
  */
 package org.eclipse.che.dto.server;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
 
 /**
  * Provides implementation of DTO interface.
@@ -28,4 +30,17 @@ public interface DtoProvider<DTO> {
   DTO newInstance();
 
   DTO clone(DTO origin);
+
+  /**
+   * Creates type adapter that reads and writes fields of the DTO implementation directly, without
+   * reflection.
+   *
+   * @param gson gson that is used for serialization of the fields which are not primitives or
+   *     strings
+   * @return type adapter of the implementation class, or {@code null} if the implementation should
+   *     be serialized by Gson reflective adapter
+   */
+  default TypeAdapter<? extends DTO> createTypeAdapter(Gson gson) {
+    return null;
+  }
 }
@@ -190,6 +190,43 @@ public class ServerDtoTest {
     dtoFactory.toJson(dto1);
   }
 
+  @Test
+  public void shouldSerializeDtoImplementationsWithGeneratedTypeAdapters() throws Exception {
+    final Class<?> implClass = dtoFactory.createDto(SimpleDto.class).getClass();
+
+    assertEquals(
+        dtoFactory.getGson().getAdapter(implClass).getClass().getEnclosingClass(), implClass);
+  }
+
+  @Test
+  public void shouldSerializeAllFieldsOfSubDtoStoredInSuperDtoField() throws Exception {
+    final GrandchildDto shadowed = (GrandchildDto) dtoFactory.createDto(GrandchildDto.class);
+    shadowed.setParentField("shadowed-parent-field");
+    final GrandchildDto dto = (GrandchildDto) dtoFactory.createDto(GrandchildDto.class);
+    dto.setShadowedField(shadowed);
+    dto.setDtoField("dto-field");
+
+    final String json = dtoFactory.toJson(dto);
+
+    JsonObject jsonObject = new JsonParser().parse(json).getAsJsonObject();
+    assertEquals(jsonObject.get("dtoField").getAsString(), "dto-field");
+    assertEquals(
+        jsonObject.getAsJsonObject("shadowedField").get("parentField").getAsString(),
+        "shadowed-parent-field");
+  }
+
+  @Test
+  public void shouldSkipUnknownFieldsAndNullPrimitivesWhenDeserializing() throws Exception {
+    final String json =
+        "{\"name\":\"foo\",\"id\":null,\"unknown\":{\"a\":[1,2]},\"default\":true}";
+
+    final SimpleDto dto = dtoFactory.createDtoFromJson(json, SimpleDto.class);
+
+    assertEquals(dto.getName(), "foo");
+    assertEquals(dto.getId(), 0);
+    assertEquals(dto.getDefault(), "true");
+  }
+
   /** Intentionally call several times to ensure non-reference equality */
   private static JsonElement createTestValueForAny() {
     return new JsonParser().parse("{a:100,b:{c:'blah'}}");
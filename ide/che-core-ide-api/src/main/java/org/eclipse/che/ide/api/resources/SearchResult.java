@@ -17,10 +17,22 @@ import java.util.List;
 public class SearchResult {
   private List<SearchItemReference> itemReferences;
   private long totalHits;
+  private boolean indexingComplete;
+  private long indexedFiles;
 
   public SearchResult(List<SearchItemReference> itemReferences, long totalHits) {
+    this(itemReferences, totalHits, true, 0);
+  }
+
+  public SearchResult(
+      List<SearchItemReference> itemReferences,
+      long totalHits,
+      boolean indexingComplete,
+      long indexedFiles) {
     this.itemReferences = itemReferences;
     this.totalHits = totalHits;
+    this.indexingComplete = indexingComplete;
+    this.indexedFiles = indexedFiles;
   }
 
   /** returns list of found items {@link SearchItemReference} */
@@ -32,4 +44,14 @@ public class SearchResult {
   public long getTotalHits() {
     return totalHits;
   }
+
+  /** returns whether initial indexing of the files is complete, results may be partial if not */
+  public boolean isIndexingComplete() {
+    return indexingComplete;
+  }
+
+  /** returns number of files processed by initial indexing so far */
+  public long getIndexedFiles() {
+    return indexedFiles;
+  }
 }
@@ -804,6 +804,9 @@ public interface CoreLocalizationConstant extends Messages {
   @Key("text.search.directory")
   String textSearchDirectory();
 
+  @Key("text.search.indexing.in.progress")
+  String textSearchIndexingInProgress(long indexedFiles);
+
   @Key("select.path.window.title")
   String selectPathWindowTitle();
 
@@ -1279,6 +1282,9 @@ public interface CoreLocalizationConstant extends Messages {
   @Key("consoles.clearOutputsButton.tooltip")
   String consolesClearOutputsButtonTooltip();
 
+  @Key("consoles.searchButton.tooltip")
+  String consolesSearchButtonTooltip();
+
   @Key("consoles.wrapTextButton.tooltip")
   String consolesWrapTextButtonTooltip();
 
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.console;
+
+import java.util.function.Function;
+
+/**
+ * Ring buffer of the output console lines. Keeps up to the given number of the most recent lines,
+ * the HTML representation of a line is computed lazily, only when the line is rendered, and is
+ * cached until the line is replaced or evicted.
+ */
+class ConsoleLinesBuffer {
+
+  private final String[] texts;
+  private final String[] colors;
+  private final String[] htmls;
+
+  /** Index of the first line in the arrays. */
+  private int head;
+
+  private int size;
+
+  /** Number of lines evicted from the buffer since it was cleared last time. */
+  private long evicted;
+
+  ConsoleLinesBuffer(int capacity) {
+    texts = new String[capacity];
+    colors = new String[capacity];
+    htmls = new String[capacity];
+  }
+
+  /** Appends the line, evicts the oldest line when the buffer is full. */
+  void add(String text, String color) {
+    int index;
+    if (size == texts.length) {
+      index = head;
+      head = (head + 1) % texts.length;
+      evicted++;
+    } else {
+      index = (head + size) % texts.length;
+      size++;
+    }
+    set(index, text, color);
+  }
+
+  /** Replaces the last line, or appends the line if the buffer is empty. */
+  void replaceLast(String text, String color) {
+    if (size == 0) {
+      add(text, color);
+    } else {
+      set((head + size - 1) % texts.length, text, color);
+    }
+  }
+
+  void clear() {
+    for (int i = 0; i < texts.length; i++) {
+      set(i, null, null);
+    }
+    head = 0;
+    size = 0;
+    evicted = 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /** Returns the number of lines evicted from the buffer since it was cleared last time. */
+  long getEvicted() {
+    return evicted;
+  }
+
+  String getText(int line) {
+    return texts[toIndex(line)];
+  }
+
+  String getColor(int line) {
+    return colors[toIndex(line)];
+  }
+
+  /**
+   * Returns HTML representation of the line, renders it with the given renderer when the line is
+   * requested for the first time.
+   */
+  String getHtml(int line, Function<String, String> renderer) {
+    int index = toIndex(line);
+    if (htmls[index] == null) {
+      htmls[index] = renderer.apply(texts[index]);
+    }
+    return htmls[index];
+  }
+
+  /**
+   * Finds the line containing the given text ignoring case. The search starts from the given line
+   * and continues from the first line when the end of the buffer is reached.
+   *
+   * @return index of the found line or -1 if no line contains the text
+   */
+  int find(String text, int from) {
+    if (size == 0 || text.isEmpty()) {
+      return -1;
+    }
+    String query = text.toLowerCase();
+    int start = from < 0 || from >= size ? 0 : from;
+    for (int i = 0; i < size; i++) {
+      int line = (start + i) % size;
+      String lineText = getText(line);
+      if (lineText != null && lineText.toLowerCase().contains(query)) {
+        return line;
+      }
+    }
+    return -1;
+  }
+
+  /** Returns text of all the lines separated by the given separator. */
+  String getAllText(String separator) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      String text = getText(i);
+      builder.append(text == null ? "" : text).append(separator);
+    }
+    return builder.toString();
+  }
+
+  private void set(int index, String text, String color) {
+    texts[index] = text;
+    colors[index] = color;
+    htmls[index] = null;
+  }
+
+  private int toIndex(int line) {
+    if (line < 0 || line >= size) {
+      throw new IndexOutOfBoundsException("Line: " + line + ", size: " + size);
+    }
+    return (head + line) % texts.length;
+  }
+}
@@ -12,34 +12,39 @@
 package org.eclipse.che.ide.console;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.gwt.event.dom.client.KeyCodes.KEY_ENTER;
+import static com.google.gwt.event.dom.client.KeyCodes.KEY_ESCAPE;
 import static com.google.gwt.regexp.shared.RegExp.compile;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static org.eclipse.che.ide.ui.menu.PositionController.HorizontalAlign.MIDDLE;
 import static org.eclipse.che.ide.ui.menu.PositionController.VerticalAlign.BOTTOM;
 
 import com.google.common.base.Strings;
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.Element;
-import com.google.gwt.dom.client.Node;
-import com.google.gwt.dom.client.NodeList;
-import com.google.gwt.dom.client.PreElement;
+import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
+import com.google.gwt.event.dom.client.KeyDownEvent;
+import com.google.gwt.event.dom.client.KeyDownHandler;
 import com.google.gwt.event.dom.client.ScrollEvent;
 import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.regexp.shared.MatchResult;
 import com.google.gwt.regexp.shared.RegExp;
-import com.google.gwt.safehtml.shared.SafeHtml;
 import com.google.gwt.safehtml.shared.SafeHtmlUtils;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
-import com.google.gwt.user.client.DOM;
+import com.google.gwt.user.client.Window;
 import com.google.gwt.user.client.ui.Anchor;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.DockLayoutPanel;
 import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.ScrollPanel;
+import com.google.gwt.user.client.ui.TextBox;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.inject.Inject;
 import java.util.List;
@@ -66,6 +71,15 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
           new Pair<>(compile("\\[\\s*(STDOUT)\\s*\\]"), "#8ED72B"),
           new Pair<>(compile("\\[\\s*(STDERR)\\s*\\]"), "#FF4343"));
 
+  /** Maximum number of lines kept in the console. */
+  private static final int MAX_LINES = 100_000;
+
+  /** Number of lines rendered above and below the visible area. */
+  private static final int OVERSCAN_LINES = 20;
+
+  /** Height of a line used until the height of a rendered line is measured. */
+  private static final int DEFAULT_LINE_HEIGHT = 13;
+
   interface OutputConsoleViewUiBinder extends UiBinder<Widget, OutputConsoleViewImpl> {}
 
   private static final OutputConsoleViewUiBinder UI_BINDER =
@@ -97,6 +111,10 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
   @UiField protected FlowPanel downloadOutputsButton;
 
+  @UiField protected FlowPanel searchButton;
+
+  @UiField TextBox searchBox;
+
   @UiField FlowPanel wrapTextButton;
 
   @UiField FlowPanel scrollToBottomButton;
@@ -110,6 +128,21 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
   /** Scroll to the bottom immediately when view become visible. */
   private boolean followScheduled = false;
 
+  /** Lines of the console, only the lines in the visible area are added to the DOM. */
+  private final ConsoleLinesBuffer lines = new ConsoleLinesBuffer(MAX_LINES);
+
+  /** Rendering of the visible lines is scheduled on the next animation frame. */
+  private boolean renderScheduled;
+
+  /** Number of lines evicted from the buffer when the lines were rendered last time. */
+  private long renderedEvicted;
+
+  /** Measured height of a line, 0 if not measured yet. */
+  private int lineHeight;
+
+  /** Line found by the last search, -1 if none. */
+  private int foundLine = -1;
+
   @Inject
   public OutputConsoleViewImpl(MachineResources resources, CoreLocalizationConstant localization) {
     initWidget(UI_BINDER.createAndBindUi(this));
@@ -118,6 +151,7 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     stopProcessButton.add(new SVGImage(resources.stopIcon()));
     clearOutputsButton.add(new SVGImage(resources.clearOutputsIcon()));
     downloadOutputsButton.getElement().setInnerHTML(FontAwesome.DOWNLOAD);
+    searchButton.getElement().setInnerHTML(FontAwesome.SEARCH);
 
     wrapTextButton.add(new SVGImage(resources.lineWrapIcon()));
     scrollToBottomButton.add(new SVGImage(resources.scrollToBottomIcon()));
@@ -168,6 +202,29 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
         },
         ClickEvent.getType());
 
+    searchButton.addDomHandler(
+        new ClickHandler() {
+          @Override
+          public void onClick(ClickEvent event) {
+            showSearch(!searchBox.isVisible());
+          }
+        },
+        ClickEvent.getType());
+
+    searchBox.addKeyDownHandler(
+        new KeyDownHandler() {
+          @Override
+          public void onKeyDown(KeyDownEvent event) {
+            if (event.getNativeKeyCode() == KEY_ENTER) {
+              event.preventDefault();
+              findNext(searchBox.getValue());
+            } else if (event.getNativeKeyCode() == KEY_ESCAPE) {
+              event.preventDefault();
+              showSearch(false);
+            }
+          }
+        });
+
     wrapTextButton.addDomHandler(
         new ClickHandler() {
           @Override
@@ -208,6 +265,12 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
         MIDDLE,
         localization.consolesClearOutputsButtonTooltip());
 
+    Tooltip.create(
+        (elemental.dom.Element) searchButton.getElement(),
+        BOTTOM,
+        MIDDLE,
+        localization.consolesSearchButtonTooltip());
+
     Tooltip.create(
         (elemental.dom.Element) wrapTextButton.getElement(),
         BOTTOM,
@@ -255,7 +318,10 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
   @Override
   public void clearConsole() {
-    consoleLines.getElement().setInnerHTML("");
+    lines.clear();
+    renderedEvicted = 0;
+    foundLine = -1;
+    render();
   }
 
   @Override
@@ -318,80 +384,23 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     print(text, carriageReturn, null);
   }
 
+  /**
+   * Adds the text to the console lines, the lines are rendered at once on the next animation frame.
+   */
   @Override
   public void print(final String text, boolean carriageReturn, String color) {
-
-    if (consoleLines.getElement().getChildCount() > 500) {
-      consoleLines.getElement().getFirstChild().removeFromParent();
-    }
-
     if (this.carriageReturn) {
-      Node lastChild = consoleLines.getElement().getLastChild();
-      if (lastChild != null) {
-        lastChild.removeFromParent();
-      }
+      lines.replaceLast(text, color);
+    } else {
+      lines.add(text, color);
     }
-
     this.carriageReturn = carriageReturn;
-
-    final SafeHtml colorOutput =
-        new SafeHtml() {
-          @Override
-          public String asString() {
-
-            if (Strings.isNullOrEmpty(text)) {
-              return " ";
-            }
-
-            String encoded = SafeHtmlUtils.htmlEscape(text);
-            if (delegate != null) {
-              if (delegate.getCustomizer() != null) {
-                if (delegate.getCustomizer().canCustomize(encoded)) {
-                  encoded = delegate.getCustomizer().customize(encoded);
-                }
-              }
-            }
-
-            for (final Pair<RegExp, String> pair : output2Color) {
-              final MatchResult matcher = pair.first.exec(encoded);
-
-              if (matcher != null) {
-                return encoded.replaceAll(
-                    matcher.getGroup(1),
-                    "<span style=\"color: "
-                        + pair.second
-                        + "\">"
-                        + matcher.getGroup(1)
-                        + "</span>");
-              }
-            }
-
-            return encoded;
-          }
-        };
-
-    PreElement pre = DOM.createElement("pre").cast();
-    pre.setInnerSafeHtml(colorOutput);
-    if (color != null) {
-      pre.getStyle().setColor(color);
-    }
-    consoleLines.getElement().appendChild(pre);
-
-    followOutput();
+    scheduleRender();
   }
 
   @Override
   public String getText() {
-    String text = "";
-    NodeList<Node> nodes = consoleLines.getElement().getChildNodes();
-
-    for (int i = 0; i < nodes.getLength(); i++) {
-      Node node = nodes.getItem(i);
-      Element element = node.cast();
-      text += element.getInnerText() + "\r\n";
-    }
-
-    return text;
+    return lines.getAllText("\r\n");
   }
 
   @Override
@@ -416,6 +425,134 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     if (delegate != null) {
       delegate.onOutputScrolled(followOutput);
     }
+
+    scheduleRender();
+  }
+
+  private void scheduleRender() {
+    if (renderScheduled) {
+      return;
+    }
+    renderScheduled = true;
+    AnimationScheduler.get()
+        .requestAnimationFrame(
+            new AnimationScheduler.AnimationCallback() {
+              @Override
+              public void execute(double timestamp) {
+                renderScheduled = false;
+                render();
+              }
+            });
+  }
+
+  /**
+   * Renders the lines in the visible area, the lines above and below it are replaced by the
+   * paddings of the same height.
+   */
+  private void render() {
+    final Element scrollElement = scrollPanel.getElement();
+    final Element linesElement = consoleLines.getElement();
+    final int height = lineHeight > 0 ? lineHeight : DEFAULT_LINE_HEIGHT;
+    final int size = lines.size();
+
+    // keep the visible lines in place when the oldest lines are evicted
+    final long evicted = lines.getEvicted() - renderedEvicted;
+    renderedEvicted = lines.getEvicted();
+    if (evicted > 0) {
+      foundLine = foundLine >= evicted ? foundLine - (int) evicted : -1;
+      if (!followOutput) {
+        scrollElement.setScrollTop(max(0, scrollElement.getScrollTop() - (int) evicted * height));
+      }
+    }
+
+    // the window height covers the visible area whatever the size of the console is
+    final int visibleLines = Window.getClientHeight() / height + 1;
+    final int first;
+    final int last;
+    if (followOutput) {
+      last = size;
+      first = max(0, size - visibleLines - OVERSCAN_LINES);
+    } else {
+      first = min(max(0, scrollElement.getScrollTop() / height - OVERSCAN_LINES), size);
+      last = min(size, first + visibleLines + 2 * OVERSCAN_LINES);
+    }
+
+    final StringBuilder html = new StringBuilder();
+    for (int i = first; i < last; i++) {
+      html.append("<pre");
+      if (i == foundLine) {
+        html.append(" found");
+      }
+      final String color = lines.getColor(i);
+      if (color != null) {
+        html.append(" style=\"color: ").append(SafeHtmlUtils.htmlEscape(color)).append('"');
+      }
+      html.append('>').append(lines.getHtml(i, this::toHtml)).append("</pre>");
+    }
+    linesElement.getStyle().setPaddingTop(first * height, Unit.PX);
+    linesElement.getStyle().setPaddingBottom((size - last) * height, Unit.PX);
+    linesElement.setInnerHTML(html.toString());
+
+    if (lineHeight == 0 && !linesElement.hasAttribute("wrap") && linesElement.hasChildNodes()) {
+      lineHeight = linesElement.getFirstChildElement().getOffsetHeight();
+    }
+
+    followOutput();
+  }
+
+  /** Returns HTML representation of the line, applies the customizer and the colors. */
+  private String toHtml(String text) {
+    if (Strings.isNullOrEmpty(text)) {
+      return " ";
+    }
+
+    String encoded = SafeHtmlUtils.htmlEscape(text);
+    if (delegate != null) {
+      if (delegate.getCustomizer() != null) {
+        if (delegate.getCustomizer().canCustomize(encoded)) {
+          encoded = delegate.getCustomizer().customize(encoded);
+        }
+      }
+    }
+
+    for (final Pair<RegExp, String> pair : output2Color) {
+      final MatchResult matcher = pair.first.exec(encoded);
+
+      if (matcher != null) {
+        return encoded.replaceAll(
+            matcher.getGroup(1),
+            "<span style=\"color: " + pair.second + "\">" + matcher.getGroup(1) + "</span>");
+      }
+    }
+
+    return encoded;
+  }
+
+  private void showSearch(boolean show) {
+    searchBox.setVisible(show);
+    if (show) {
+      searchBox.setFocus(true);
+      searchBox.selectAll();
+    } else if (foundLine >= 0) {
+      foundLine = -1;
+      render();
+    }
+  }
+
+  /** Scrolls to the next line containing the given text, the search covers all the lines. */
+  private void findNext(String text) {
+    foundLine = lines.find(text, foundLine + 1);
+    if (foundLine >= 0) {
+      followOutput = false;
+      if (delegate != null) {
+        delegate.onOutputScrolled(followOutput);
+      }
+      final int height = lineHeight > 0 ? lineHeight : DEFAULT_LINE_HEIGHT;
+      scrollPanel
+          .getElement()
+          .setScrollTop(max(0, foundLine * height - scrollPanel.getOffsetHeight() / 2));
+    }
+    render();
   }
 
   /** Scrolls to the bottom if following the output is enabled. */
@@ -446,6 +583,7 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
                   }
 
                   if (scrollPanel.getElement().getOffsetParent() != null) {
+                    render();
                     scrollPanel.scrollToBottom();
                     scrollPanel.scrollToLeft();
                     followScheduled = false;
@@ -16,10 +16,12 @@ import static java.util.Collections.singletonMap;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
 import static org.eclipse.che.api.core.model.workspace.runtime.ServerStatus.RUNNING;
 import static org.eclipse.che.api.workspace.shared.Constants.ERROR_MESSAGE_ATTRIBUTE_NAME;
-import static org.eclipse.che.api.workspace.shared.Constants.INSTALLER_LOG_METHOD;
+import static org.eclipse.che.api.workspace.shared.Constants.INSTALLER_LOG_BATCH_METHOD;
+import static org.eclipse.che.api.workspace.shared.Constants.INSTALLER_LOG_TAIL_METHOD;
 import static org.eclipse.che.api.workspace.shared.Constants.INSTALLER_STATUS_CHANGED_METHOD;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_ENVIRONMENT_STATUS_CHANNEL;
-import static org.eclipse.che.api.workspace.shared.Constants.MACHINE_LOG_METHOD;
+import static org.eclipse.che.api.workspace.shared.Constants.MACHINE_LOG_BATCH_METHOD;
+import static org.eclipse.che.api.workspace.shared.Constants.MACHINE_LOG_TAIL_METHOD;
 import static org.eclipse.che.api.workspace.shared.Constants.MACHINE_STATUS_CHANGED_METHOD;
 import static org.eclipse.che.api.workspace.shared.Constants.SERVER_EXEC_AGENT_HTTP_REFERENCE;
 import static org.eclipse.che.api.workspace.shared.Constants.SERVER_STATUS_CHANGED_METHOD;
@@ -36,6 +38,10 @@ import java.util.Set;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.workspace.shared.dto.event.InstallerLogBatchEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.InstallerLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogBatchEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.jsonrpc.SubscriptionManagerClient;
 import org.eclipse.che.ide.api.workspace.WsAgentServerUtil;
@@ -51,6 +57,7 @@ import org.eclipse.che.ide.api.workspace.model.ServerImpl;
 import org.eclipse.che.ide.api.workspace.model.WorkspaceImpl;
 import org.eclipse.che.ide.bootstrap.BasicIDEInitializedEvent;
 import org.eclipse.che.ide.context.AppContextImpl;
+import org.eclipse.che.ide.processes.panel.EnvironmentOutputEvent;
 import org.eclipse.che.ide.workspace.WorkspaceServiceClient;
 import org.eclipse.che.security.oauth.SecurityTokenProvider;
 
@@ -121,6 +128,7 @@ public class WsMasterJsonRpcInitializer {
 
               Set<Runnable> initActions = new HashSet<>();
               initActions.add(this::subscribeToEvents);
+              initActions.add(this::requestLogTails);
 
               if (!appWebSocketId.isPresent()) {
                 initActions.add(this::processWsId);
@@ -157,13 +165,51 @@ public class WsMasterJsonRpcInitializer {
         WS_MASTER_JSON_RPC_ENDPOINT_ID, MACHINE_STATUS_CHANGED_METHOD, scope);
     subscriptionManagerClient.subscribe(
         WS_MASTER_JSON_RPC_ENDPOINT_ID, SERVER_STATUS_CHANGED_METHOD, scope);
-    subscriptionManagerClient.subscribe(WS_MASTER_JSON_RPC_ENDPOINT_ID, MACHINE_LOG_METHOD, scope);
     subscriptionManagerClient.subscribe(
-        WS_MASTER_JSON_RPC_ENDPOINT_ID, INSTALLER_LOG_METHOD, scope);
+        WS_MASTER_JSON_RPC_ENDPOINT_ID, MACHINE_LOG_BATCH_METHOD, scope);
+    subscriptionManagerClient.subscribe(
+        WS_MASTER_JSON_RPC_ENDPOINT_ID, INSTALLER_LOG_BATCH_METHOD, scope);
     subscriptionManagerClient.subscribe(
         WS_MASTER_JSON_RPC_ENDPOINT_ID, INSTALLER_STATUS_CHANGED_METHOD, scope);
   }
 
+  /**
+   * Logs produced before subscription are not resent to the IDE, so the last logs of the machines
+   * are requested to show the recent output of the already starting or running workspace.
+   */
+  private void requestLogTails() {
+    requestTransmitter
+        .newRequest()
+        .endpointId(WS_MASTER_JSON_RPC_ENDPOINT_ID)
+        .methodName(MACHINE_LOG_TAIL_METHOD)
+        .paramsAsString(appContext.getWorkspaceId())
+        .sendAndReceiveResultAsListOfDto(MachineLogBatchEvent.class)
+        .onSuccess(
+            batches -> {
+              for (MachineLogBatchEvent batch : batches) {
+                for (MachineLogEvent log : batch.getLogs()) {
+                  eventBus.fireEvent(
+                      new EnvironmentOutputEvent(log.getText(), log.getMachineName()));
+                }
+              }
+            });
+    requestTransmitter
+        .newRequest()
+        .endpointId(WS_MASTER_JSON_RPC_ENDPOINT_ID)
+        .methodName(INSTALLER_LOG_TAIL_METHOD)
+        .paramsAsString(appContext.getWorkspaceId())
+        .sendAndReceiveResultAsListOfDto(InstallerLogBatchEvent.class)
+        .onSuccess(
+            batches -> {
+              for (InstallerLogBatchEvent batch : batches) {
+                for (InstallerLogEvent log : batch.getLogs()) {
+                  eventBus.fireEvent(
+                      new EnvironmentOutputEvent(log.getText(), log.getMachineName()));
+                }
+              }
+            });
+  }
+
   private void unsubscribeFromEvents() {
     Map<String, String> scope = singletonMap("workspaceId", appContext.getWorkspaceId());
 
@@ -174,9 +220,9 @@ public class WsMasterJsonRpcInitializer {
     subscriptionManagerClient.unSubscribe(
         WS_MASTER_JSON_RPC_ENDPOINT_ID, SERVER_STATUS_CHANGED_METHOD, scope);
     subscriptionManagerClient.unSubscribe(
-        WS_MASTER_JSON_RPC_ENDPOINT_ID, MACHINE_LOG_METHOD, scope);
+        WS_MASTER_JSON_RPC_ENDPOINT_ID, MACHINE_LOG_BATCH_METHOD, scope);
     subscriptionManagerClient.unSubscribe(
-        WS_MASTER_JSON_RPC_ENDPOINT_ID, INSTALLER_LOG_METHOD, scope);
+        WS_MASTER_JSON_RPC_ENDPOINT_ID, INSTALLER_LOG_BATCH_METHOD, scope);
     subscriptionManagerClient.unSubscribe(
         WS_MASTER_JSON_RPC_ENDPOINT_ID, INSTALLER_STATUS_CHANGED_METHOD, scope);
   }
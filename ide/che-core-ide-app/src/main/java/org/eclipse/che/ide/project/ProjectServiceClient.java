@@ -227,14 +227,19 @@ public class ProjectServiceClient {
                   List<SearchResultDto> itemReferences = searchResultDto.getItemReferences();
                   if (itemReferences == null || itemReferences.isEmpty()) {
                     return new SearchResult(
-                        Collections.emptyList(), searchResultDto.getTotalHits());
+                        Collections.emptyList(),
+                        searchResultDto.getTotalHits(),
+                        searchResultDto.isIndexingComplete(),
+                        searchResultDto.getIndexedFiles());
                   }
                   return new SearchResult(
                       itemReferences
                           .stream()
                           .map(SearchItemReference::new)
                           .collect(Collectors.toList()),
-                      searchResultDto.getTotalHits());
+                      searchResultDto.getTotalHits(),
+                      searchResultDto.isIndexingComplete(),
+                      searchResultDto.getIndexedFiles());
                 });
   }
 
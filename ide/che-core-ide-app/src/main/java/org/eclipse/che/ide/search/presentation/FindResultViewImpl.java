@@ -45,6 +45,7 @@ class FindResultViewImpl extends BaseView<FindResultView.ActionDelegate> impleme
 
   private final Tree tree;
   private final FindResultNodeFactory findResultNodeFactory;
+  private final CoreLocalizationConstant localizationConstant;
   @UiField FlowPanel paginationPanel;
   @UiField Button nextBtn;
   @UiField Button previousBtn;
@@ -65,6 +66,7 @@ class FindResultViewImpl extends BaseView<FindResultView.ActionDelegate> impleme
 
     setTitle(localizationConstant.actionFullTextSearch());
     this.findResultNodeFactory = findResultNodeFactory;
+    this.localizationConstant = localizationConstant;
 
     nextBtn.setHTML("<i class=\"fa fa-angle-right\" aria-hidden=\"true\"></i>");
     previousBtn.setHTML("<i class=\"fa fa-angle-left\" aria-hidden=\"true\"></i>");
@@ -106,7 +108,7 @@ class FindResultViewImpl extends BaseView<FindResultView.ActionDelegate> impleme
     if (resources.isEmpty()) {
       resultTitle.append("No results found for ");
       resultLabel.setText(resultTitle.toString());
-      requestedLabel.setText("\'" + request + "\'");
+      requestedLabel.setText("\'" + request + "\'" + getIndexingMessage(result));
       tree.getNodeStorage().clear();
       return;
     }
@@ -129,6 +131,7 @@ class FindResultViewImpl extends BaseView<FindResultView.ActionDelegate> impleme
     resultTitle.append(request);
     resultTitle.append("'. Total file count - ");
     resultTitle.append(result.getTotalHits());
+    resultTitle.append(getIndexingMessage(result));
 
     resultLabel.setText(resultTitle.toString());
 
@@ -142,6 +145,13 @@ class FindResultViewImpl extends BaseView<FindResultView.ActionDelegate> impleme
     focusView();
   }
 
+  private String getIndexingMessage(SearchResult result) {
+    if (result.isIndexingComplete()) {
+      return "";
+    }
+    return ". " + localizationConstant.textSearchIndexingInProgress(result.getIndexedFiles());
+  }
+
   @Override
   public Tree getTree() {
     return tree;
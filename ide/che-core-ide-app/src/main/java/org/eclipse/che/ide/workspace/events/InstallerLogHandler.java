@@ -11,12 +11,13 @@
  */
 package org.eclipse.che.ide.workspace.events;
 
-import static org.eclipse.che.api.workspace.shared.Constants.INSTALLER_LOG_METHOD;
+import static org.eclipse.che.api.workspace.shared.Constants.INSTALLER_LOG_BATCH_METHOD;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.web.bindery.event.shared.EventBus;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.workspace.shared.dto.event.InstallerLogBatchEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.InstallerLogEvent;
 import org.eclipse.che.ide.processes.panel.EnvironmentOutputEvent;
 
@@ -27,12 +28,20 @@ class InstallerLogHandler {
   InstallerLogHandler(RequestHandlerConfigurator configurator, EventBus eventBus) {
     configurator
         .newConfiguration()
-        .methodName(INSTALLER_LOG_METHOD)
-        .paramsAsDto(InstallerLogEvent.class)
+        .methodName(INSTALLER_LOG_BATCH_METHOD)
+        .paramsAsDto(InstallerLogBatchEvent.class)
         .noResult()
-        .withBiConsumer(
-            (endpointId, log) ->
-                eventBus.fireEvent(
-                    new EnvironmentOutputEvent(log.getText(), log.getMachineName())));
+        .withBiConsumer((endpointId, batch) -> onBatch(batch, eventBus));
+  }
+
+  private void onBatch(InstallerLogBatchEvent batch, EventBus eventBus) {
+    if (batch.getDropped() > 0) {
+      eventBus.fireEvent(
+          new EnvironmentOutputEvent(
+              "[" + batch.getDropped() + " log lines skipped]", batch.getMachineName()));
+    }
+    for (InstallerLogEvent log : batch.getLogs()) {
+      eventBus.fireEvent(new EnvironmentOutputEvent(log.getText(), log.getMachineName()));
+    }
   }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.console;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConsoleLinesBufferTest {
+
+  private ConsoleLinesBuffer buffer;
+
+  @Before
+  public void setUp() throws Exception {
+    buffer = new ConsoleLinesBuffer(3);
+  }
+
+  @Test
+  public void shouldEvictOldestLinesWhenFull() throws Exception {
+    buffer.add("line 1", null);
+    buffer.add("line 2", "red");
+    buffer.add("line 3", null);
+    buffer.add("line 4", "blue");
+
+    assertEquals(buffer.size(), 3);
+    assertEquals(buffer.getEvicted(), 1);
+    assertEquals(buffer.getText(0), "line 2");
+    assertEquals(buffer.getColor(0), "red");
+    assertEquals(buffer.getText(2), "line 4");
+    assertEquals(buffer.getColor(2), "blue");
+  }
+
+  @Test
+  public void shouldReplaceLastLine() throws Exception {
+    buffer.replaceLast("progress 10%", null);
+    buffer.replaceLast("progress 20%", null);
+    buffer.add("done", null);
+
+    assertEquals(buffer.getAllText("\n"), "progress 20%\ndone\n");
+  }
+
+  @Test
+  public void shouldRenderLineOnlyOnceUntilItIsReplaced() throws Exception {
+    final AtomicInteger rendered = new AtomicInteger();
+    final Function<String, String> renderer =
+        text -> {
+          rendered.incrementAndGet();
+          return "<b>" + text + "</b>";
+        };
+    buffer.add("line 1", null);
+
+    assertEquals(buffer.getHtml(0, renderer), "<b>line 1</b>");
+    assertEquals(buffer.getHtml(0, renderer), "<b>line 1</b>");
+    assertEquals(rendered.get(), 1);
+
+    buffer.replaceLast("line 2", null);
+
+    assertEquals(buffer.getHtml(0, renderer), "<b>line 2</b>");
+    assertEquals(rendered.get(), 2);
+  }
+
+  @Test
+  public void shouldFindLinesInWholeBuffer() throws Exception {
+    buffer.add("[INFO] Building", null);
+    buffer.add("[ERROR] Compilation failure", null);
+    buffer.add("[ERROR] Tests failed", null);
+
+    assertEquals(buffer.find("error", 0), 1);
+    assertEquals(buffer.find("error", 2), 2);
+    assertEquals(buffer.find("error", 3), 1);
+    assertEquals(buffer.find("building", 1), 0);
+    assertEquals(buffer.find("warning", 0), -1);
+  }
+
+  @Test
+  public void shouldClearBuffer() throws Exception {
+    buffer.add("line 1", null);
+    buffer.add("line 2", null);
+    buffer.add("line 3", null);
+    buffer.add("line 4", null);
+
+    buffer.clear();
+    buffer.add("line 5", null);
+
+    assertEquals(buffer.size(), 1);
+    assertEquals(buffer.getEvicted(), 0);
+    assertEquals(buffer.getText(0), "line 5");
+    assertNull(buffer.getColor(0));
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.infrastructure.docker.client.connection;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Latencies of docker API requests grouped by endpoint.
+ *
+ * <p>Latency of a request is the time from sending the request to receiving the status of its
+ * response, so streaming responses such as logs or events are measured the same way as the others.
+ * Endpoints are identified by method and path of the request in which identifiers of containers,
+ * images, execs, networks and volumes are replaced by placeholders, e.g. {@code GET
+ * /containers/{id}/json}.
+ */
+public class DockerApiMetrics {
+  private static final Pattern API_VERSION = Pattern.compile("v\\d+(\\.\\d+)*");
+  private static final Set<String> RESOURCES =
+      ImmutableSet.of("containers", "exec", "networks", "volumes");
+  private static final Set<String> RESOURCE_ACTIONS =
+      ImmutableSet.of("json", "create", "prune", "search", "load", "get");
+  private static final Set<String> IMAGE_ACTIONS =
+      ImmutableSet.of("json", "history", "push", "tag", "get");
+
+  private final ConcurrentMap<String, EndpointLatency> endpoints = new ConcurrentHashMap<>();
+
+  /** Records latency of successful request. */
+  public void record(String method, String path, long latency, TimeUnit unit) {
+    getLatency(method, path).record(unit.toNanos(latency));
+  }
+
+  /** Records failure of request, e.g. connection failure. */
+  public void recordFailure(String method, String path) {
+    getLatency(method, path).failures.increment();
+  }
+
+  /** Returns latencies of the requested endpoints sorted by endpoint. */
+  public Map<String, EndpointLatency> getEndpoints() {
+    return Collections.unmodifiableMap(new TreeMap<>(endpoints));
+  }
+
+  private EndpointLatency getLatency(String method, String path) {
+    return endpoints.computeIfAbsent(endpointOf(method, path), e -> new EndpointLatency());
+  }
+
+  /** Returns endpoint of the request with the given method and path. */
+  static String endpointOf(String method, String path) {
+    final String[] segments = path.split("/");
+    final StringBuilder endpoint = new StringBuilder(method).append(' ');
+    int i = 0;
+    while (i < segments.length && segments[i].isEmpty()) {
+      i++;
+    }
+    if (i < segments.length && API_VERSION.matcher(segments[i]).matches()) {
+      i++;
+    }
+    if (i == segments.length) {
+      return endpoint.append('/').toString();
+    }
+    final String resource = segments[i];
+    endpoint.append('/').append(resource);
+    if ("images".equals(resource) && i + 1 < segments.length) {
+      // image names may contain slashes, so everything up to the action is the name
+      if (i + 2 == segments.length && RESOURCE_ACTIONS.contains(segments[i + 1])) {
+        return endpoint.append('/').append(segments[i + 1]).toString();
+      }
+      endpoint.append("/{name}");
+      final String last = segments[segments.length - 1];
+      if (i + 2 < segments.length && IMAGE_ACTIONS.contains(last)) {
+        endpoint.append('/').append(last);
+      }
+      return endpoint.toString();
+    }
+    for (int j = i + 1; j < segments.length; j++) {
+      endpoint.append('/');
+      if (j == i + 1 && RESOURCES.contains(resource) && !RESOURCE_ACTIONS.contains(segments[j])) {
+        endpoint.append("{id}");
+      } else {
+        endpoint.append(segments[j]);
+      }
+    }
+    return endpoint.toString();
+  }
+
+  /** Latency of requests of a single endpoint. */
+  public static class EndpointLatency {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    private void record(long nanos) {
+      count.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+    }
+
+    /** Returns the number of successful requests. */
+    public long getCount() {
+      return count.sum();
+    }
+
+    /** Returns the number of failed requests. */
+    public long getFailures() {
+      return failures.sum();
+    }
+
+    /** Returns average latency of successful requests in milliseconds. */
+    public double getAverageMillis() {
+      final long count = getCount();
+      return count == 0 ? 0 : totalNanos.sum() / 1e6 / count;
+    }
+
+    /** Returns maximum latency of successful requests in milliseconds. */
+    public double getMaxMillis() {
+      return maxNanos.get() / 1e6;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "{count=%d, failures=%d, average=%.2fms, max=%.2fms}",
+          getCount(), getFailures(), getAverageMillis(), getMaxMillis());
+    }
+  }
+}
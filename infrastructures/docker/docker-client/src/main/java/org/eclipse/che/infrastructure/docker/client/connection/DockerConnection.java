@@ -18,6 +18,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.che.commons.lang.Pair;
 
 /**
@@ -31,6 +32,7 @@ public abstract class DockerConnection implements Closeable {
   private Entity<?> entity;
   private StringBuilder query = new StringBuilder();
   private List<Pair<String, ?>> headers = new LinkedList<>();
+  private DockerApiMetrics metrics;
 
   public DockerConnection method(String method) {
     this.method = method;
@@ -88,8 +90,28 @@ public abstract class DockerConnection implements Closeable {
     return this;
   }
 
+  /** Sets metrics the latency of the request is recorded to. */
+  DockerConnection metrics(DockerApiMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
   public DockerResponse request() throws IOException {
-    return request(method, path, query.toString(), headers, entity);
+    if (metrics == null) {
+      return request(method, path, query.toString(), headers, entity);
+    }
+    final long start = System.nanoTime();
+    final DockerResponse response;
+    try {
+      response = request(method, path, query.toString(), headers, entity);
+      // response is received when its status is known
+      response.getStatus();
+    } catch (IOException | RuntimeException e) {
+      metrics.recordFailure(method, path);
+      throw e;
+    }
+    metrics.record(method, path, System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return response;
   }
 
   protected abstract DockerResponse request(
@@ -13,22 +13,33 @@ package org.eclipse.che.infrastructure.docker.client.connection;
 
 import com.google.inject.Inject;
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import org.eclipse.che.infrastructure.docker.client.DockerCertificates;
 import org.eclipse.che.infrastructure.docker.client.DockerConnectorConfiguration;
 
 /**
  * Factory for connections to docker API.
  *
- * <p>Detects connection implementation by checking docker daemon URI.
+ * <p>Detects connection implementation by checking docker daemon URI. Connections over unix socket
+ * are kept alive and reused, idle connections are pooled per docker daemon.
  *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
   public static final String CONNECTION_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_timeout_ms";
   public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_read_timeout_ms";
+  public static final String CONNECTION_POOL_MAX_IDLE_PROPERTY =
+      "che.docker.connection_pool_max_idle";
+  public static final String CONNECTION_POOL_IDLE_TIMEOUT_SEC_PROPERTY =
+      "che.docker.connection_pool_idle_timeout_sec";
 
   @Inject(optional = true)
   @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -38,19 +49,55 @@ public class DockerConnectionFactory {
   @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
   private int connectionReadTimeoutMs = 60000;
 
+  @Inject(optional = true)
+  @Named(CONNECTION_POOL_MAX_IDLE_PROPERTY)
+  private int connectionPoolMaxIdle = 10;
+
+  @Inject(optional = true)
+  @Named(CONNECTION_POOL_IDLE_TIMEOUT_SEC_PROPERTY)
+  private int connectionPoolIdleTimeoutSec = 60;
+
   private final DockerCertificates dockerCertificates;
+  private final ConcurrentMap<String, DockerConnectionPool<UnixSocket>> pools;
+  private final DockerApiMetrics metrics;
 
   @Inject
   public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
     this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+    this.pools = new ConcurrentHashMap<>();
+    this.metrics = new DockerApiMetrics();
   }
 
   public DockerConnection openConnection(URI dockerDaemonUri) {
     if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-      return new UnixSocketConnection(dockerDaemonUri.getPath());
+      return new UnixSocketConnection(dockerDaemonUri.getPath(), getPool(dockerDaemonUri.getPath()))
+          .metrics(metrics);
     } else {
       return new TcpConnection(
-          dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+              dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs)
+          .metrics(metrics);
+    }
+  }
+
+  /** Returns latencies of docker API requests. */
+  public DockerApiMetrics getMetrics() {
+    return metrics;
+  }
+
+  /** Closes idle connections. */
+  @PreDestroy
+  public void shutdown() {
+    pools.values().forEach(DockerConnectionPool::close);
+  }
+
+  private DockerConnectionPool<UnixSocket> getPool(String dockerSocketPath) {
+    if (connectionPoolMaxIdle <= 0) {
+      return null;
     }
+    return pools.computeIfAbsent(
+        dockerSocketPath,
+        path ->
+            new DockerConnectionPool<>(
+                connectionPoolMaxIdle, connectionPoolIdleTimeoutSec, TimeUnit.SECONDS));
   }
 }
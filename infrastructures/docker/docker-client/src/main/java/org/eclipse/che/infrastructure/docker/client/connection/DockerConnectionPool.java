@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.infrastructure.docker.client.connection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of idle keep-alive connections to docker daemon.
+ *
+ * <p>The most recently released connection is reused first, so rarely used connections become idle
+ * for longer than the idle timeout and get closed. Idle connections are evicted when the pool is
+ * accessed. Number of idle connections is limited, there is no limit on the number of connections
+ * in use, as long running streaming requests must not block other requests.
+ *
+ * @param <T> type of the pooled connection
+ */
+public class DockerConnectionPool<T extends Closeable> {
+  private static final Logger LOG = LoggerFactory.getLogger(DockerConnectionPool.class);
+
+  private final int maxIdle;
+  private final long idleTimeoutNanos;
+  private final Deque<IdleConnection<T>> idle;
+  private final AtomicLong hits;
+  private final AtomicLong misses;
+
+  private boolean closed;
+
+  public DockerConnectionPool(int maxIdle, long idleTimeout, TimeUnit unit) {
+    this.maxIdle = maxIdle;
+    this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+    this.idle = new ArrayDeque<>();
+    this.hits = new AtomicLong();
+    this.misses = new AtomicLong();
+  }
+
+  /** Returns idle connection, or null if there is no idle connection in the pool. */
+  public T poll() {
+    final IdleConnection<T> connection;
+    final List<T> expired;
+    synchronized (this) {
+      expired = evictExpired();
+      connection = idle.pollFirst();
+    }
+    closeAll(expired);
+    if (connection == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return connection.connection;
+  }
+
+  /**
+   * Returns connection into the pool. Connection is closed if the pool is full or closed.
+   *
+   * @param connection connection which is ready to send the next request
+   */
+  public void release(T connection) {
+    final List<T> expired;
+    final boolean pooled;
+    synchronized (this) {
+      expired = evictExpired();
+      pooled = !closed && idle.size() < maxIdle;
+      if (pooled) {
+        idle.offerFirst(new IdleConnection<>(connection, System.nanoTime()));
+      }
+    }
+    if (!pooled) {
+      expired.add(connection);
+    }
+    closeAll(expired);
+  }
+
+  /** Closes idle connections, connections released after that are closed too. */
+  public void close() {
+    final List<T> connections = new ArrayList<>();
+    synchronized (this) {
+      closed = true;
+      for (IdleConnection<T> connection : idle) {
+        connections.add(connection.connection);
+      }
+      idle.clear();
+    }
+    closeAll(connections);
+  }
+
+  /** Returns the number of idle connections. */
+  public synchronized int getIdleCount() {
+    return idle.size();
+  }
+
+  /** Returns the number of requests which reused an idle connection. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Returns the number of requests which didn't find an idle connection. */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  private List<T> evictExpired() {
+    final List<T> expired = new ArrayList<>();
+    final long now = System.nanoTime();
+    while (!idle.isEmpty() && now - idle.peekLast().idleSince >= idleTimeoutNanos) {
+      expired.add(idle.pollLast().connection);
+    }
+    return expired;
+  }
+
+  private void closeAll(List<T> connections) {
+    for (T connection : connections) {
+      try {
+        connection.close();
+      } catch (IOException e) {
+        LOG.debug("Failed to close docker connection. Cause: {}", e.getMessage());
+      }
+    }
+  }
+
+  private static class IdleConnection<T> {
+    final T connection;
+    final long idleSince;
+
+    IdleConnection(T connection, long idleSince) {
+      this.connection = connection;
+      this.idleSince = idleSince;
+    }
+  }
+}
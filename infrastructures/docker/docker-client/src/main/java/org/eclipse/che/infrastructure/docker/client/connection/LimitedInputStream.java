@@ -58,6 +58,11 @@ public class LimitedInputStream extends InputStream {
     return doRead(b, 0, len);
   }
 
+  /** Returns true if all the bytes up to the limit are read. */
+  synchronized boolean isEof() {
+    return pos >= limit;
+  }
+
   private int doRead(byte[] b, int off, int len) throws IOException {
     if (pos >= limit) {
       return -1;
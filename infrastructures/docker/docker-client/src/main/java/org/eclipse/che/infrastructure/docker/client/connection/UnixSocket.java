@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.infrastructure.docker.client.connection;
+
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.infrastructure.docker.client.CLibraryFactory.getCLibrary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import org.eclipse.che.infrastructure.docker.client.CLibrary;
+
+/**
+ * Unix socket connected to docker daemon. Streams of the socket are buffered and are kept with the
+ * socket, so the socket may be used for several requests.
+ */
+class UnixSocket implements Closeable {
+  private final int fd;
+  private final UnixSocketInputStream rawInput;
+  private final UnixSocketOutputStream rawOutput;
+  private final InputStream input;
+  private final OutputStream output;
+
+  private UnixSocket(int fd) {
+    this.fd = fd;
+    this.rawInput = new UnixSocketInputStream(fd);
+    this.rawOutput = new UnixSocketOutputStream(fd);
+    this.input = new BufferedInputStream(rawInput);
+    this.output = new BufferedOutputStream(rawOutput);
+  }
+
+  static UnixSocket connect(String dockerSocketPath) throws ConnectException {
+    final CLibrary cLib = getCLibrary();
+    int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+    if (fd == -1) {
+      throw new ConnectException(
+          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+    }
+    final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
+    int c = cLib.connect(fd, sockAddr, sockAddr.size());
+    if (c == -1) {
+      cLib.close(fd);
+      throw new ConnectException(
+          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+    }
+    return new UnixSocket(fd);
+  }
+
+  InputStream getInputStream() {
+    return input;
+  }
+
+  OutputStream getOutputStream() {
+    return output;
+  }
+
+  /** Returns the number of bytes sent over the socket, buffered bytes are not counted. */
+  long getBytesSent() {
+    return rawOutput.getSent();
+  }
+
+  /** Returns the number of bytes received from the socket, including read ahead bytes. */
+  long getBytesReceived() {
+    return rawInput.getReceived();
+  }
+
+  @Override
+  public void close() {
+    getCLibrary().close(fd);
+  }
+}
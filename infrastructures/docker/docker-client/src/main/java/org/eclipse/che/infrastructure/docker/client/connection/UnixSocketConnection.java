@@ -11,71 +11,124 @@
  */
 package org.eclipse.che.infrastructure.docker.client.connection;
 
-import static org.eclipse.che.infrastructure.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.infrastructure.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.infrastructure.docker.client.CLibrary.SockAddrUn;
-import static org.eclipse.che.infrastructure.docker.client.CLibraryFactory.getCLibrary;
-
 import com.google.common.base.Strings;
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import com.google.common.collect.ImmutableSet;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
+import java.util.Set;
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.infrastructure.docker.client.CLibrary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * Connection to docker daemon over unix socket.
+ *
+ * <p>If the connection is created with a pool, the socket is taken from the pool and is returned
+ * into it on {@link #close()} if the response was read completely. Responses without length, e.g.
+ * hijacked streams of attach, and responses which were not read to the end, e.g. interrupted logs
+ * or events streams, close the socket.
+ *
+ * <p>Request which fails on an idle socket, e.g. because the daemon closed it, is sent again over a
+ * new socket only when repeating it is safe: either nothing of it was sent, or nothing of the
+ * response was received and the request is idempotent. Otherwise the failure is propagated, as the
+ * daemon may have already performed the request.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
+  private static final Logger LOG = LoggerFactory.getLogger(UnixSocketConnection.class);
+  private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "DELETE");
+
   private final String dockerSocketPath;
+  private final DockerConnectionPool<UnixSocket> pool;
 
-  private int fd = -1;
+  private UnixSocket socket;
+  private UnixSocketDockerResponse response;
 
   public UnixSocketConnection(String dockerSocketPath) {
+    this(dockerSocketPath, null);
+  }
+
+  UnixSocketConnection(String dockerSocketPath, DockerConnectionPool<UnixSocket> pool) {
     this.dockerSocketPath = dockerSocketPath;
+    this.pool = pool;
   }
 
   @Override
   protected DockerResponse request(
       String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
       throws IOException {
-    fd = connect();
-    final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
+    // stream entity can't be sent again, so it is not sent over idle socket which may be stale
+    if (pool != null && !(entity instanceof StreamEntity)) {
+      final UnixSocket idle = pool.poll();
+      if (idle != null) {
+        final long sent = idle.getBytesSent();
+        final long received = idle.getBytesReceived();
+        try {
+          return request(idle, method, path, query, headers, entity);
+        } catch (IOException e) {
+          idle.close();
+          socket = null;
+          if (!canResend(method, idle.getBytesSent() - sent, idle.getBytesReceived() - received)) {
+            throw e;
+          }
+          // daemon closed idle socket and repeating the request is safe, it is sent over a new one
+          LOG.debug("Idle docker connection is closed. Cause: {}", e.getMessage());
+        }
+      }
+    }
+    return request(UnixSocket.connect(dockerSocketPath), method, path, query, headers, entity);
+  }
+
+  private DockerResponse request(
+      UnixSocket socket,
+      String method,
+      String path,
+      String query,
+      List<Pair<String, ?>> headers,
+      Entity<?> entity)
+      throws IOException {
+    this.socket = socket;
+    this.response = null;
+    final OutputStream output = socket.getOutputStream();
     writeHttpHeaders(output, method, path, query, headers);
     if (entity != null) {
       entity.writeTo(output);
     }
-    return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+    final UnixSocketDockerResponse response = new UnixSocketDockerResponse(socket.getInputStream());
+    // reads status line and headers, so failure of stale socket is detected here
+    response.getInputStream();
+    return this.response = response;
+  }
+
+  private static boolean canResend(String method, long sent, long received) {
+    return sent == 0 || (received == 0 && IDEMPOTENT_METHODS.contains(method));
   }
 
   @Override
   public void close() {
-    if (fd != -1) {
-      getCLibrary().close(fd);
+    if (socket == null) {
+      return;
     }
-  }
-
-  private int connect() throws IOException {
-    final CLibrary cLib = getCLibrary();
-    int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-    if (fd == -1) {
-      throw new ConnectException(
-          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+    boolean reusable = false;
+    if (pool != null && response != null) {
+      try {
+        reusable = response.consume();
+      } catch (IOException e) {
+        LOG.debug("Failed to read the rest of docker response. Cause: {}", e.getMessage());
+      }
     }
-    final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-    int c = cLib.connect(fd, sockAddr, sockAddr.size());
-    if (c == -1) {
-      throw new ConnectException(
-          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+    if (reusable) {
+      pool.release(socket);
+    } else {
+      socket.close();
     }
-    return fd;
+    socket = null;
+    response = null;
   }
 
   private void writeHttpHeaders(
@@ -100,12 +153,4 @@ public class UnixSocketConnection extends DockerConnection {
     writer.write("Host: \r\n\r\n");
     writer.flush();
   }
-
-  private InputStream openInputStream(int fd) {
-    return new UnixSocketInputStream(fd);
-  }
-
-  private OutputStream openOutputStream(int fd) {
-    return new UnixSocketOutputStream(fd);
-  }
 }
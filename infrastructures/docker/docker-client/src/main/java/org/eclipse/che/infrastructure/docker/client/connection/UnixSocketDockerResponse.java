@@ -144,7 +144,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
     }
     this.headersFields = headerFields.toArray(new String[headerFields.size()]);
     final int contentLength = getContentLength();
-    if (contentLength == 0) {
+    final int status = getStatus();
+    // responses with these statuses never have a body
+    if (contentLength == 0 || status == 204 || status == 304) {
       return data = EMPTY;
     }
     if (contentLength > 0) {
@@ -155,4 +157,39 @@ public class UnixSocketDockerResponse implements DockerResponse {
             ? new ChunkedInputStream(rawData)
             : rawData;
   }
+
+  /**
+   * Reads the rest of the response body which is already received, without waiting for more data.
+   *
+   * @return true if the whole response is read and the connection may be used for the next request,
+   *     false otherwise, e.g. when the response is a stream which ends when the connection is
+   *     closed
+   */
+  synchronized boolean consume() throws IOException {
+    if (headersFields == null
+        || getStatus() == 101
+        || "close".equalsIgnoreCase(getHeader("Connection"))) {
+      return false;
+    }
+    if (data == EMPTY) {
+      return true;
+    }
+    if (data == rawData) {
+      return false;
+    }
+    final byte[] buf = new byte[8192];
+    while (!isEof(data) && rawData.available() > 0) {
+      if (data.read(buf) == -1) {
+        break;
+      }
+    }
+    return isEof(data);
+  }
+
+  private static boolean isEof(InputStream data) {
+    if (data instanceof LimitedInputStream) {
+      return ((LimitedInputStream) data).isEof();
+    }
+    return ((ChunkedInputStream) data).isEof();
+  }
 }
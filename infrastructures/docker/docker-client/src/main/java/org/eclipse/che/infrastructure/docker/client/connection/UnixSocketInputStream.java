@@ -23,6 +23,8 @@ public class UnixSocketInputStream extends InputStream {
   private final int fd;
   private final CLibrary cLib = getCLibrary();
 
+  private long received;
+
   UnixSocketInputStream(int fd) {
     this.fd = fd;
   }
@@ -61,6 +63,12 @@ public class UnixSocketInputStream extends InputStream {
     if (n == 0) {
       return -1;
     }
+    received += n;
     return n;
   }
+
+  /** Returns the number of bytes received from the socket. */
+  long getReceived() {
+    return received;
+  }
 }
@@ -23,6 +23,8 @@ public class UnixSocketOutputStream extends OutputStream {
   private final int fd;
   private final CLibrary cLib = getCLibrary();
 
+  private long sent;
+
   UnixSocketOutputStream(int fd) {
     this.fd = fd;
   }
@@ -44,8 +46,16 @@ public class UnixSocketOutputStream extends OutputStream {
     } catch (LastErrorException e) {
       throw new IOException("error: " + cLib.strerror(e.getErrorCode()));
     }
+    if (n > 0) {
+      sent += n;
+    }
     if (n != len) {
       throw new IOException(String.format("Failed writing %d bytes", len));
     }
   }
+
+  /** Returns the number of bytes sent over the socket, including partially written data. */
+  long getSent() {
+    return sent;
+  }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.infrastructure.docker.client.connection;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.infrastructure.docker.client.connection.DockerApiMetrics.EndpointLatency;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class DockerApiMetricsTest {
+
+  @Test(dataProvider = "endpoints")
+  public void shouldReplaceIdentifiersInEndpoint(String method, String path, String endpoint) {
+    assertEquals(DockerApiMetrics.endpointOf(method, path), endpoint);
+  }
+
+  @DataProvider(name = "endpoints")
+  public Object[][] endpoints() {
+    return new Object[][] {
+      {"GET", "/v1.23/info", "GET /info"},
+      {"GET", "/containers/json", "GET /containers/json"},
+      {"POST", "/v1.23/containers/create", "POST /containers/create"},
+      {"GET", "/v1.23/containers/abc123/json", "GET /containers/{id}/json"},
+      {"DELETE", "/v1.23/containers/abc123", "DELETE /containers/{id}"},
+      {"POST", "/v1.23/exec/abc123/start", "POST /exec/{id}/start"},
+      {"POST", "/v1.23/networks/che/connect", "POST /networks/{id}/connect"},
+      {"POST", "/v1.23/images/create", "POST /images/create"},
+      {"GET", "/v1.23/images/eclipse/ubuntu_jdk8/json", "GET /images/{name}/json"},
+      {"GET", "/v1.23/images/registry:5000/eclipse/ubuntu_jdk8/json", "GET /images/{name}/json"},
+      {"DELETE", "/v1.23/images/eclipse/ubuntu_jdk8", "DELETE /images/{name}"},
+      {"POST", "/v1.23/images/ubuntu/push", "POST /images/{name}/push"}
+    };
+  }
+
+  @Test
+  public void shouldRecordLatenciesAndFailuresOfEndpoint() {
+    DockerApiMetrics metrics = new DockerApiMetrics();
+
+    metrics.record("GET", "/v1.23/containers/abc/json", 10, TimeUnit.MILLISECONDS);
+    metrics.record("GET", "/v1.23/containers/def/json", 30, TimeUnit.MILLISECONDS);
+    metrics.recordFailure("GET", "/v1.23/containers/abc/json");
+
+    EndpointLatency latency = metrics.getEndpoints().get("GET /containers/{id}/json");
+    assertEquals(latency.getCount(), 2);
+    assertEquals(latency.getFailures(), 1);
+    assertEquals(latency.getAverageMillis(), 20.0);
+    assertEquals(latency.getMaxMillis(), 30.0);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.infrastructure.docker.client.connection;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class DockerConnectionPoolTest {
+
+  @Mock private Closeable connection1;
+  @Mock private Closeable connection2;
+  @Mock private Closeable connection3;
+
+  @Test
+  public void shouldReuseMostRecentlyReleasedConnection() throws Exception {
+    DockerConnectionPool<Closeable> pool = new DockerConnectionPool<>(2, 1, TimeUnit.MINUTES);
+
+    assertNull(pool.poll());
+    pool.release(connection1);
+    pool.release(connection2);
+
+    assertSame(pool.poll(), connection2);
+    assertSame(pool.poll(), connection1);
+    assertNull(pool.poll());
+    assertEquals(pool.getHits(), 2);
+    assertEquals(pool.getMisses(), 2);
+  }
+
+  @Test
+  public void shouldCloseReleasedConnectionWhenPoolIsFull() throws Exception {
+    DockerConnectionPool<Closeable> pool = new DockerConnectionPool<>(2, 1, TimeUnit.MINUTES);
+
+    pool.release(connection1);
+    pool.release(connection2);
+    pool.release(connection3);
+
+    verify(connection3).close();
+    verify(connection1, never()).close();
+    assertEquals(pool.getIdleCount(), 2);
+  }
+
+  @Test
+  public void shouldEvictConnectionsIdleLongerThanTimeout() throws Exception {
+    DockerConnectionPool<Closeable> pool = new DockerConnectionPool<>(2, 0, TimeUnit.SECONDS);
+
+    pool.release(connection1);
+
+    assertNull(pool.poll());
+    verify(connection1).close();
+  }
+
+  @Test
+  public void shouldCloseIdleAndReleasedConnectionsWhenPoolIsClosed() throws Exception {
+    DockerConnectionPool<Closeable> pool = new DockerConnectionPool<>(2, 1, TimeUnit.MINUTES);
+    pool.release(connection1);
+
+    pool.close();
+    pool.release(connection2);
+
+    verify(connection1).close();
+    verify(connection2).close();
+    assertNull(pool.poll());
+  }
+}
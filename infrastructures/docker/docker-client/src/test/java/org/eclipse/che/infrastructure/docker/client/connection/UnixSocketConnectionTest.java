@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.infrastructure.docker.client.connection;
+
+import static java.util.Collections.emptyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class UnixSocketConnectionTest {
+
+  @Mock private DockerConnectionPool<UnixSocket> pool;
+  @Mock private UnixSocket idle;
+
+  private UnixSocketConnection connection;
+
+  @BeforeMethod
+  public void setUp() {
+    connection = new UnixSocketConnection("/var/run/docker.sock", pool);
+    when(pool.poll()).thenReturn(idle);
+    when(idle.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+    when(idle.getInputStream())
+        .thenReturn(
+            new InputStream() {
+              @Override
+              public int read() throws IOException {
+                throw new IOException("Connection reset by peer");
+              }
+            });
+  }
+
+  @Test(
+    expectedExceptions = IOException.class,
+    expectedExceptionsMessageRegExp = "Connection reset by peer"
+  )
+  public void shouldNotResendNonIdempotentRequestWhichIsSentOverIdleSocket() throws Exception {
+    when(idle.getBytesSent()).thenReturn(0L, 120L);
+    when(idle.getBytesReceived()).thenReturn(0L);
+
+    try {
+      connection.request("POST", "/containers/create", null, emptyList(), null);
+    } finally {
+      verify(idle).close();
+    }
+  }
+
+  @Test(
+    expectedExceptions = IOException.class,
+    expectedExceptionsMessageRegExp = "Connection reset by peer"
+  )
+  public void shouldNotResendRequestWhenPartOfResponseIsReceived() throws Exception {
+    when(idle.getBytesSent()).thenReturn(0L, 120L);
+    when(idle.getBytesReceived()).thenReturn(0L, 8L);
+
+    try {
+      connection.request("GET", "/containers/json", null, emptyList(), null);
+    } finally {
+      verify(idle).close();
+    }
+  }
+}
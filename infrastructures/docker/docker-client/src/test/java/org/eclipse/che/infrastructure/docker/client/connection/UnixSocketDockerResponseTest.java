@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.infrastructure.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.io.ByteStreams;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import org.testng.annotations.Test;
+
+public class UnixSocketDockerResponseTest {
+  private static final String NO_CONTENT = "HTTP/1.1 204 No Content\r\n\r\n";
+
+  @Test
+  public void shouldReuseConnectionWhenResponseWithContentLengthIsRead() throws Exception {
+    InputStream input = input("HTTP/1.1 200 OK\r\nContent-Length: 7\r\n\r\n{\"a\":1}" + NO_CONTENT);
+    UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+
+    assertEquals(
+        new String(ByteStreams.toByteArray(response.getInputStream()), UTF_8), "{\"a\":1}");
+
+    assertTrue(response.consume());
+    assertEquals(new UnixSocketDockerResponse(input).getStatus(), 204);
+  }
+
+  @Test
+  public void shouldReadRestOfReceivedChunkedResponseToReuseConnection() throws Exception {
+    InputStream input =
+        input(
+            "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n7\r\n{\"a\":1}\r\n0\r\n\r\n"
+                + NO_CONTENT);
+    UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+    response.getInputStream().read(new byte[3]);
+
+    assertTrue(response.consume());
+    assertEquals(new UnixSocketDockerResponse(input).getStatus(), 204);
+  }
+
+  @Test
+  public void shouldReuseConnectionWhenResponseHasNoContent() throws Exception {
+    InputStream input = input(NO_CONTENT + NO_CONTENT);
+    UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+    response.getStatus();
+
+    assertTrue(response.consume());
+    assertEquals(new UnixSocketDockerResponse(input).getStatus(), 204);
+  }
+
+  @Test
+  public void shouldNotReuseConnectionWhenResponseIsNotReceivedCompletely() throws Exception {
+    InputStream input =
+        new ByteArrayInputStream(
+            "HTTP/1.1 200 OK\r\nContent-Length: 7\r\n\r\n{\"a\":1}".getBytes(UTF_8)) {
+          @Override
+          public synchronized int available() {
+            // nothing is received yet
+            return 0;
+          }
+        };
+    UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+    response.getInputStream();
+
+    assertFalse(response.consume());
+  }
+
+  @Test
+  public void shouldNotReuseConnectionWhenResponseIsRawStream() throws Exception {
+    UnixSocketDockerResponse response =
+        new UnixSocketDockerResponse(
+            input("HTTP/1.1 200 OK\r\nContent-Type: application/vnd.docker.raw-stream\r\n\r\nlog"));
+    ByteStreams.toByteArray(response.getInputStream());
+
+    assertFalse(response.consume());
+  }
+
+  @Test
+  public void shouldNotReuseConnectionClosedByDaemon() throws Exception {
+    UnixSocketDockerResponse response =
+        new UnixSocketDockerResponse(
+            input("HTTP/1.1 400 Bad Request\r\nConnection: close\r\nContent-Length: 0\r\n\r\n"));
+    response.getStatus();
+
+    assertFalse(response.consume());
+  }
+
+  @Test
+  public void shouldNotReuseConnectionWhenResponseIsNotRead() throws Exception {
+    UnixSocketDockerResponse response = new UnixSocketDockerResponse(input(NO_CONTENT));
+
+    assertFalse(response.consume());
+  }
+
+  private static InputStream input(String data) {
+    return new BufferedInputStream(new ByteArrayInputStream(data.getBytes(UTF_8)));
+  }
+}
@@ -74,6 +74,7 @@ public class DockerInfraModule extends AbstractModule {
     install(new FactoryModuleBuilder().build(DockerBootstrapperFactory.class));
     install(new FactoryModuleBuilder().build(DockerRuntimeContextFactory.class));
     install(new FactoryModuleBuilder().build(ParallelDockerImagesBuilderFactory.class));
+    bind(ImagePullCoordinator.class).asEagerSingleton();
     bind(
         org.eclipse.che.workspace.infrastructure.docker.monit.DockerAbandonedResourcesCleaner
             .class);
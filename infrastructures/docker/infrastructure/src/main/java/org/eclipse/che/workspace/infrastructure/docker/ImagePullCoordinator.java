@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.docker;
+
+import static com.google.common.base.Strings.nullToEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.workspace.infrastructure.docker.DockerMachine.LATEST_TAG;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.workspace.config.Recipe;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.infrastructure.docker.auth.dto.AuthConfig;
+import org.eclipse.che.infrastructure.docker.auth.dto.AuthConfigs;
+import org.eclipse.che.infrastructure.docker.client.DockerConnector;
+import org.eclipse.che.infrastructure.docker.client.DockerFileException;
+import org.eclipse.che.infrastructure.docker.client.ProgressMonitor;
+import org.eclipse.che.infrastructure.docker.client.json.ProgressStatus;
+import org.eclipse.che.infrastructure.docker.client.params.PullParams;
+import org.eclipse.che.infrastructure.docker.client.parser.DockerImageIdentifier;
+import org.eclipse.che.infrastructure.docker.client.parser.DockerImageIdentifierParser;
+import org.eclipse.che.workspace.infrastructure.docker.environment.dockerimage.DockerImageEnvironment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coordinates pulls of docker images of all the starting workspaces.
+ *
+ * <p>Concurrent pulls of the same image with the same registry credentials are collapsed into a
+ * single pull, progress of which is passed to the monitors of all the workspaces waiting for it. If
+ * the shared pull fails each waiting workspace pulls the image with its own parameters.
+ *
+ * <p>Images which were pulled recently with the same registry credentials are considered up to
+ * date, so pulls forced by {@code che.docker.always_pull_image} are skipped for them if they exist
+ * locally. Pulls made with other credentials are not skipped, so the access of the credentials to
+ * the image is still checked by the registry.
+ *
+ * <p>Images of the docker image stacks may be pulled in background on startup, so the first
+ * workspaces started from the stacks don't wait for the pulls.
+ */
+@Singleton
+public class ImagePullCoordinator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ImagePullCoordinator.class);
+  private static final String DIGEST_STATUS_PREFIX = "Digest: ";
+  private static final int STACKS_PAGE_SIZE = 30;
+
+  private final DockerConnector dockerConnector;
+  private final StackDao stackDao;
+  private final long verificationPeriodMillis;
+  private final boolean prePullStackImages;
+  private final Map<String, Pull> pulls;
+  private final Map<String, VerifiedImage> verifiedImages;
+  private final ExecutorService prePullExecutor;
+
+  @Inject
+  public ImagePullCoordinator(
+      DockerConnector dockerConnector,
+      StackDao stackDao,
+      @Named("che.infra.docker.image_verification_period_sec") long verificationPeriodSeconds,
+      @Named("che.infra.docker.prepull_stack_images") boolean prePullStackImages) {
+    this.dockerConnector = dockerConnector;
+    this.stackDao = stackDao;
+    this.verificationPeriodMillis = TimeUnit.SECONDS.toMillis(verificationPeriodSeconds);
+    this.prePullStackImages = prePullStackImages;
+    this.pulls = new ConcurrentHashMap<>();
+    this.verifiedImages = new ConcurrentHashMap<>();
+    this.prePullExecutor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("ImagePrePuller-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  /**
+   * Pulls an image, or waits for the pull of the same image which is already in progress.
+   *
+   * @param params parameters of the pull
+   * @param existsLocally whether the image exists locally, if so and the image was pulled recently
+   *     the pull is skipped
+   * @param progressMonitor consumer of the pull progress
+   * @throws IOException when the pull fails
+   */
+  public void pull(PullParams params, boolean existsLocally, ProgressMonitor progressMonitor)
+      throws IOException {
+    String reference = referenceOf(params);
+    String key = keyOf(reference, params.getAuthConfigs());
+    verifiedImages.values().removeIf(image -> !image.isValid());
+    VerifiedImage verified = verifiedImages.get(key);
+    if (existsLocally && verified != null && verified.isValid()) {
+      progressMonitor.updateProgress(
+          status(
+              "Image "
+                  + reference
+                  + " is up to date"
+                  + (verified.digest == null ? "" : ", " + verified.digest)));
+      return;
+    }
+
+    Pull pull = new Pull(progressMonitor);
+    Pull current = pulls.putIfAbsent(key, pull);
+    if (current != null) {
+      if (current.await(reference, progressMonitor)) {
+        return;
+      }
+      // shared pull failed, so the image is pulled with the parameters of the caller
+      dockerConnector.pull(params, progressMonitor);
+      verifiedImages.put(key, new VerifiedImage(null));
+      return;
+    }
+
+    try {
+      dockerConnector.pull(params, pull);
+      verifiedImages.put(key, new VerifiedImage(pull.digest));
+      pull.result.complete(null);
+    } catch (IOException | RuntimeException e) {
+      pull.result.completeExceptionally(e);
+      throw e;
+    } finally {
+      pulls.remove(key, pull);
+    }
+  }
+
+  /** Returns the number of pulls in progress. */
+  public int getPullsInProgress() {
+    return pulls.size();
+  }
+
+  /** Returns the number of images considered up to date. */
+  @VisibleForTesting
+  int getVerifiedImages() {
+    return verifiedImages.size();
+  }
+
+  @PostConstruct
+  @VisibleForTesting
+  void prePullStackImages() {
+    if (prePullStackImages) {
+      prePullExecutor.execute(
+          () -> {
+            for (String image : getStackImages()) {
+              prePull(image);
+            }
+          });
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    prePullExecutor.shutdownNow();
+  }
+
+  private void prePull(String image) {
+    try {
+      DockerImageIdentifier identifier = DockerImageIdentifierParser.parse(image);
+      PullParams params =
+          PullParams.create(identifier.getRepository())
+              .withTag(MoreObjects.firstNonNull(identifier.getTag(), LATEST_TAG))
+              .withRegistry(identifier.getRegistry());
+      LOG.info("Pre-pulling image {}", image);
+      pull(params, false, ProgressMonitor.DEV_NULL);
+    } catch (DockerFileException | IOException e) {
+      LOG.warn("Failed to pre-pull image {}. Cause: {}", image, e.getMessage());
+    }
+  }
+
+  /** Returns images of the stacks which environments are defined by docker image recipes. */
+  private Set<String> getStackImages() {
+    Set<String> images = new LinkedHashSet<>();
+    try {
+      List<StackImpl> stacks;
+      int skipCount = 0;
+      do {
+        stacks = stackDao.searchStacks(null, null, skipCount, STACKS_PAGE_SIZE);
+        for (StackImpl stack : stacks) {
+          if (stack.getWorkspaceConfig() == null) {
+            continue;
+          }
+          for (EnvironmentImpl environment :
+              stack.getWorkspaceConfig().getEnvironments().values()) {
+            Recipe recipe = environment.getRecipe();
+            if (recipe != null && DockerImageEnvironment.TYPE.equals(recipe.getType())) {
+              String image =
+                  recipe.getLocation() != null ? recipe.getLocation() : recipe.getContent();
+              if (image != null) {
+                images.add(image);
+              }
+            }
+          }
+        }
+        skipCount += stacks.size();
+      } while (stacks.size() == STACKS_PAGE_SIZE);
+    } catch (ServerException e) {
+      LOG.warn("Failed to get stacks images to pre-pull. Cause: {}", e.getMessage());
+    }
+    return images;
+  }
+
+  private static String referenceOf(PullParams params) {
+    return params.getFullRepo() + ':' + MoreObjects.firstNonNull(params.getTag(), LATEST_TAG);
+  }
+
+  /**
+   * Returns the key of the pulls of the image made with the given credentials. The credentials are
+   * represented by their hash, pulls without credentials are keyed by the image reference only.
+   */
+  private static String keyOf(String reference, AuthConfigs authConfigs) {
+    if (authConfigs == null
+        || authConfigs.getConfigs() == null
+        || authConfigs.getConfigs().isEmpty()) {
+      return reference;
+    }
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (Map.Entry<String, AuthConfig> entry : new TreeMap<>(authConfigs.getConfigs()).entrySet()) {
+      AuthConfig config = entry.getValue();
+      hasher
+          .putString(entry.getKey(), UTF_8)
+          .putChar('\0')
+          .putString(nullToEmpty(config == null ? null : config.getUsername()), UTF_8)
+          .putChar('\0')
+          .putString(nullToEmpty(config == null ? null : config.getPassword()), UTF_8)
+          .putChar('\0');
+    }
+    return reference + '#' + hasher.hash();
+  }
+
+  private static ProgressStatus status(String message) {
+    ProgressStatus status = new ProgressStatus();
+    status.setStatus(message);
+    return status;
+  }
+
+  /** Pull in progress, passes its progress to all the monitors waiting for it. */
+  private static class Pull implements ProgressMonitor {
+    private final List<ProgressMonitor> monitors;
+    private final CompletableFuture<Void> result;
+    private volatile String digest;
+
+    Pull(ProgressMonitor monitor) {
+      this.monitors = new CopyOnWriteArrayList<>();
+      this.monitors.add(monitor);
+      this.result = new CompletableFuture<>();
+    }
+
+    @Override
+    public void updateProgress(ProgressStatus currentProgressStatus) {
+      String status = currentProgressStatus.getStatus();
+      if (status != null && status.startsWith(DIGEST_STATUS_PREFIX)) {
+        digest = status.substring(DIGEST_STATUS_PREFIX.length());
+      }
+      for (ProgressMonitor monitor : monitors) {
+        monitor.updateProgress(currentProgressStatus);
+      }
+    }
+
+    /**
+     * Waits for the pull to finish passing its progress to the given monitor.
+     *
+     * @return true if the pull succeeded, false otherwise
+     */
+    boolean await(String reference, ProgressMonitor monitor) throws IOException {
+      monitors.add(monitor);
+      monitor.updateProgress(status("Waiting for the pull of image " + reference));
+      try {
+        result.get();
+        return true;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for the pull of " + reference);
+      } catch (ExecutionException e) {
+        LOG.debug("Shared pull of image {} failed. Cause: {}", reference, e.getMessage());
+        return false;
+      } finally {
+        monitors.remove(monitor);
+      }
+    }
+  }
+
+  private class VerifiedImage {
+    private final String digest;
+    private final long verified;
+
+    VerifiedImage(String digest) {
+      this.digest = digest;
+      this.verified = System.currentTimeMillis();
+    }
+
+    boolean isValid() {
+      return System.currentTimeMillis() - verified < verificationPeriodMillis;
+    }
+  }
+}
@@ -71,6 +71,7 @@ public class ParallelDockerImagesBuilder {
   private final boolean doForcePullImage;
   private final UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
   private final DockerConnector dockerConnector;
+  private final ImagePullCoordinator pullCoordinator;
   private final ThreadPoolExecutor executor;
 
   @Inject
@@ -80,11 +81,13 @@ public class ParallelDockerImagesBuilder {
       @Named(PARALLEL_PULL_PROPERTY_NAME) int parallelPullsNumber,
       UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
       DockerConnector dockerConnector,
+      ImagePullCoordinator pullCoordinator,
       MachineLoggersFactory machineLoggersFactory) {
     this.identity = identity;
     this.doForcePullImage = doForcePullImage;
     this.dockerCredentials = dockerCredentials;
     this.dockerConnector = dockerConnector;
+    this.pullCoordinator = pullCoordinator;
     this.machineLoggersFactory = machineLoggersFactory;
 
     ThreadFactory factory =
@@ -237,7 +240,8 @@ public class ParallelDockerImagesBuilder {
   }
 
   /**
-   * Pulls docker image for container creation.
+   * Pulls docker image for container creation. Pulls of the same image by concurrently starting
+   * workspaces are performed once, see {@link ImagePullCoordinator}.
    *
    * @param container container that provides description of image that should be pulled
    * @param machineImageName name of the image that should be assigned on pull
@@ -271,7 +275,7 @@ public class ParallelDockerImagesBuilder {
                 .withTag(MoreObjects.firstNonNull(dockerImageIdentifier.getTag(), LATEST_TAG))
                 .withRegistry(dockerImageIdentifier.getRegistry())
                 .withAuthConfigs(dockerCredentials.getCredentials());
-        dockerConnector.pull(pullParams, progressMonitor);
+        pullCoordinator.pull(pullParams, isImageExistLocally, progressMonitor);
       }
 
       String fullNameOfPulledImage = container.getImage();
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.docker;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.RecipeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.infrastructure.docker.auth.dto.AuthConfig;
+import org.eclipse.che.infrastructure.docker.auth.dto.AuthConfigs;
+import org.eclipse.che.infrastructure.docker.client.DockerConnector;
+import org.eclipse.che.infrastructure.docker.client.ProgressMonitor;
+import org.eclipse.che.infrastructure.docker.client.json.ProgressStatus;
+import org.eclipse.che.infrastructure.docker.client.params.PullParams;
+import org.eclipse.che.workspace.infrastructure.docker.environment.dockerimage.DockerImageEnvironment;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class ImagePullCoordinatorTest {
+
+  private static final PullParams PULL_PARAMS =
+      PullParams.create("eclipse/ubuntu_jdk8").withTag("latest");
+
+  @Mock private DockerConnector dockerConnector;
+  @Mock private StackDao stackDao;
+  @Mock private ProgressMonitor monitor;
+  @Mock private ProgressMonitor otherMonitor;
+
+  private ImagePullCoordinator coordinator;
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    coordinator = new ImagePullCoordinator(dockerConnector, stackDao, 60, true);
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    coordinator.shutdown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldCollapseConcurrentPullsOfTheSameImage() throws Exception {
+    CountDownLatch pullStarted = new CountDownLatch(1);
+    CountDownLatch pullReleased = new CountDownLatch(1);
+    ProgressStatus progress = status("Downloading");
+    doAnswer(
+            invocation -> {
+              pullStarted.countDown();
+              pullReleased.await(5, TimeUnit.SECONDS);
+              invocation.getArgument(1, ProgressMonitor.class).updateProgress(progress);
+              return null;
+            })
+        .when(dockerConnector)
+        .pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+
+    Future<?> first = pullAsync(PULL_PARAMS, monitor);
+    pullStarted.await(5, TimeUnit.SECONDS);
+    Future<?> second = pullAsync(PullParams.create("eclipse/ubuntu_jdk8"), otherMonitor);
+    verify(otherMonitor, timeout(5000)).updateProgress(any(ProgressStatus.class));
+    pullReleased.countDown();
+    first.get(5, TimeUnit.SECONDS);
+    second.get(5, TimeUnit.SECONDS);
+
+    verify(dockerConnector).pull(any(PullParams.class), any(ProgressMonitor.class));
+    verify(monitor).updateProgress(progress);
+    verify(otherMonitor).updateProgress(progress);
+    assertEquals(coordinator.getPullsInProgress(), 0);
+  }
+
+  @Test
+  public void shouldPullImageWithOwnParamsWhenSharedPullFails() throws Exception {
+    PullParams otherParams =
+        PullParams.create("eclipse/ubuntu_jdk8").withTag("latest").withRegistry("docker.io");
+    CountDownLatch pullStarted = new CountDownLatch(1);
+    CountDownLatch pullReleased = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              pullStarted.countDown();
+              pullReleased.await(5, TimeUnit.SECONDS);
+              throw new IOException("unauthorized");
+            })
+        .when(dockerConnector)
+        .pull(any(PullParams.class), any(ProgressMonitor.class));
+    doNothing().when(dockerConnector).pull(otherParams, otherMonitor);
+
+    Future<?> first = pullAsync(PULL_PARAMS, monitor);
+    pullStarted.await(5, TimeUnit.SECONDS);
+    Future<?> second = pullAsync(otherParams, otherMonitor);
+    verify(otherMonitor, timeout(5000)).updateProgress(any(ProgressStatus.class));
+    pullReleased.countDown();
+    second.get(5, TimeUnit.SECONDS);
+
+    verify(dockerConnector).pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+    verify(dockerConnector).pull(otherParams, otherMonitor);
+  }
+
+  @Test
+  public void shouldSkipPullOfRecentlyPulledImageWhichExistsLocally() throws Exception {
+    coordinator.pull(PULL_PARAMS, true, monitor);
+
+    coordinator.pull(PULL_PARAMS, true, otherMonitor);
+
+    verify(dockerConnector).pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+    verify(otherMonitor).updateProgress(any(ProgressStatus.class));
+  }
+
+  @Test
+  public void shouldNotSkipPullOfRecentlyPulledImageWhichDoesNotExistLocally() throws Exception {
+    coordinator.pull(PULL_PARAMS, true, monitor);
+
+    coordinator.pull(PULL_PARAMS, false, otherMonitor);
+
+    verify(dockerConnector, times(2)).pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+  }
+
+  @Test
+  public void shouldNotSkipPullOfImageRecentlyPulledWithOtherCredentials() throws Exception {
+    PullParams paramsWithCredentials =
+        PullParams.create("eclipse/ubuntu_jdk8")
+            .withTag("latest")
+            .withAuthConfigs(authConfigs("docker.io", "user", "password"));
+    coordinator.pull(PULL_PARAMS, true, monitor);
+
+    coordinator.pull(paramsWithCredentials, true, otherMonitor);
+
+    verify(dockerConnector).pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+    verify(dockerConnector).pull(eq(paramsWithCredentials), any(ProgressMonitor.class));
+  }
+
+  @Test
+  public void shouldSkipPullOfImageRecentlyPulledWithTheSameCredentials() throws Exception {
+    PullParams paramsWithCredentials =
+        PullParams.create("eclipse/ubuntu_jdk8")
+            .withTag("latest")
+            .withAuthConfigs(authConfigs("docker.io", "user", "password"));
+    PullParams paramsWithSameCredentials =
+        PullParams.create("eclipse/ubuntu_jdk8")
+            .withTag("latest")
+            .withAuthConfigs(authConfigs("docker.io", "user", "password"));
+    coordinator.pull(paramsWithCredentials, true, monitor);
+
+    coordinator.pull(paramsWithSameCredentials, true, otherMonitor);
+
+    verify(dockerConnector).pull(any(PullParams.class), any(ProgressMonitor.class));
+    verify(otherMonitor).updateProgress(any(ProgressStatus.class));
+  }
+
+  @Test
+  public void shouldForgetImagesVerifiedBeforeVerificationPeriod() throws Exception {
+    coordinator = new ImagePullCoordinator(dockerConnector, stackDao, 0, false);
+
+    coordinator.pull(PULL_PARAMS, true, monitor);
+    coordinator.pull(PullParams.create("eclipse/ubuntu_python").withTag("latest"), true, monitor);
+
+    verify(dockerConnector, times(2)).pull(any(PullParams.class), any(ProgressMonitor.class));
+    assertEquals(coordinator.getVerifiedImages(), 1);
+  }
+
+  @Test
+  public void shouldNotSkipPullWhenPreviousPullFailed() throws Exception {
+    doThrow(new IOException("failed"))
+        .doNothing()
+        .when(dockerConnector)
+        .pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+    try {
+      coordinator.pull(PULL_PARAMS, true, monitor);
+    } catch (IOException ignored) {
+    }
+
+    coordinator.pull(PULL_PARAMS, true, monitor);
+
+    verify(dockerConnector, times(2)).pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+  }
+
+  @Test
+  public void shouldPrePullImagesOfDockerImageStacks() throws Exception {
+    when(stackDao.searchStacks(any(), any(), eq(0), anyInt()))
+        .thenReturn(
+            singletonList(
+                stack(
+                    new RecipeImpl(
+                        DockerImageEnvironment.TYPE, null, "eclipse/ubuntu_jdk8", null))));
+
+    coordinator.prePullStackImages();
+
+    verify(dockerConnector, timeout(5000)).pull(eq(PULL_PARAMS), eq(ProgressMonitor.DEV_NULL));
+  }
+
+  @Test
+  public void shouldNotPrePullImagesOfStacksWithOtherRecipes() throws Exception {
+    when(stackDao.searchStacks(any(), any(), eq(0), anyInt()))
+        .thenReturn(
+            singletonList(
+                stack(
+                    new RecipeImpl(
+                        "dockerfile", "text/x-dockerfile", "FROM eclipse/ubuntu_jdk8", null))));
+
+    coordinator.prePullStackImages();
+
+    verify(stackDao, timeout(5000)).searchStacks(any(), any(), eq(0), anyInt());
+    verify(dockerConnector, never()).pull(any(PullParams.class), any(ProgressMonitor.class));
+  }
+
+  private Future<?> pullAsync(PullParams params, ProgressMonitor progressMonitor) {
+    return executor.submit(
+        () -> {
+          coordinator.pull(params, false, progressMonitor);
+          return null;
+        });
+  }
+
+  private static AuthConfigs authConfigs(String registry, String username, String password) {
+    AuthConfig config = mock(AuthConfig.class);
+    when(config.getUsername()).thenReturn(username);
+    when(config.getPassword()).thenReturn(password);
+    AuthConfigs configs = mock(AuthConfigs.class);
+    when(configs.getConfigs()).thenReturn(singletonMap(registry, config));
+    return configs;
+  }
+
+  private static StackImpl stack(RecipeImpl recipe) {
+    WorkspaceConfigImpl config = new WorkspaceConfigImpl();
+    config.setEnvironments(singletonMap("default", new EnvironmentImpl(recipe, emptyMap())));
+    StackImpl stack = new StackImpl();
+    stack.setWorkspaceConfig(config);
+    return stack;
+  }
+
+  private static ProgressStatus status(String message) {
+    ProgressStatus status = new ProgressStatus();
+    status.setStatus(message);
+    return status;
+  }
+}
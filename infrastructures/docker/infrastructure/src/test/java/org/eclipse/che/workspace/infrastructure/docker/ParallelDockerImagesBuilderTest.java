@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.infrastructure.docker.auth.UserSpecificDockerRegistryCredentialsProvider;
 import org.eclipse.che.infrastructure.docker.client.DockerConnector;
 import org.eclipse.che.infrastructure.docker.client.params.BuildImageParams;
@@ -46,6 +47,7 @@ public class ParallelDockerImagesBuilderTest {
   @Mock private UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
   @Mock private DockerConnector dockerConnector;
   @Mock private MachineLoggersFactory machineLoggersFactory;
+  @Mock private StackDao stackDao;
 
   private ParallelDockerImagesBuilder dockerImagesBuilder;
 
@@ -53,7 +55,13 @@ public class ParallelDockerImagesBuilderTest {
   public void setUp() throws Exception {
     dockerImagesBuilder =
         new ParallelDockerImagesBuilder(
-            identity, false, 10, dockerCredentials, dockerConnector, machineLoggersFactory);
+            identity,
+            false,
+            10,
+            dockerCredentials,
+            dockerConnector,
+            new ImagePullCoordinator(dockerConnector, stackDao, 0, false),
+            machineLoggersFactory);
   }
 
   @Test(
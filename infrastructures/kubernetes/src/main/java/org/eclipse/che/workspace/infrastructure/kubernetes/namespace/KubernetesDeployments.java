@@ -30,6 +30,7 @@ import io.fabric8.kubernetes.api.model.PodSpec;
 import io.fabric8.kubernetes.api.model.extensions.Deployment;
 import io.fabric8.kubernetes.api.model.extensions.DoneableDeployment;
 import io.fabric8.kubernetes.api.model.extensions.ReplicaSet;
+import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
@@ -99,6 +100,7 @@ public class KubernetesDeployments {
   protected final String namespace;
   protected final String workspaceId;
   private final KubernetesClientFactory clientFactory;
+  private final KubernetesInformers informers;
   private final ConcurrentLinkedQueue<PodActionHandler> podActionHandlers;
   private final ConcurrentLinkedQueue<PodEventHandler> containerEventsHandlers;
   private Watch podWatch;
@@ -106,10 +108,14 @@ public class KubernetesDeployments {
   private Date watcherInitializationDate;
 
   protected KubernetesDeployments(
-      String namespace, String workspaceId, KubernetesClientFactory clientFactory) {
+      String namespace,
+      String workspaceId,
+      KubernetesClientFactory clientFactory,
+      KubernetesInformers informers) {
     this.namespace = namespace;
     this.workspaceId = workspaceId;
     this.clientFactory = clientFactory;
+    this.informers = informers;
     this.containerEventsHandlers = new ConcurrentLinkedQueue<>();
     this.podActionHandlers = new ConcurrentLinkedQueue<>();
   }
@@ -218,12 +224,15 @@ public class KubernetesDeployments {
     CompletableFuture<Pod> future = new CompletableFuture<>();
     Watch watch = null;
     try {
-
+      KubernetesClient client = clientFactory.create(workspaceId);
       PodResource<Pod, DoneablePod> podResource =
-          clientFactory.create(workspaceId).pods().inNamespace(namespace).withName(podName);
+          client.pods().inNamespace(namespace).withName(podName);
 
       watch =
-          podResource.watch(
+          informers.watchPod(
+              clientFactory,
+              namespace,
+              podName,
               new Watcher<Pod>() {
                 @Override
                 public void eventReceived(Action action, Pod pod) {
@@ -294,10 +303,14 @@ public class KubernetesDeployments {
     final CompletableFuture<Void> podRunningFuture = new CompletableFuture<>();
     try {
       final String podName = getPodName(name);
+      final KubernetesClient client = clientFactory.create();
       final PodResource<Pod, DoneablePod> podResource =
-          clientFactory.create().pods().inNamespace(namespace).withName(podName);
+          client.pods().inNamespace(namespace).withName(podName);
       final Watch watch =
-          podResource.watch(
+          informers.watchPod(
+              clientFactory,
+              namespace,
+              podName,
               new Watcher<Pod>() {
                 @Override
                 public void eventReceived(Action action, Pod pod) {
@@ -370,14 +383,18 @@ public class KubernetesDeployments {
   }
 
   /**
-   * Starts watching the pods inside Kubernetes namespace and registers a specified handler for such
-   * events. Note that watcher can be started only once so two times invocation of this method will
-   * not produce new watcher and just register the event handlers.
+   * Starts watching the workspace pods inside Kubernetes namespace and registers a specified
+   * handler for such events. Note that watcher can be started only once so two times invocation of
+   * this method will not produce new watcher and just register the event handlers.
+   *
+   * <p>Pods are watched with the {@link KubernetesInformers shared informer} of the namespace, the
+   * pods that already exist are delivered to the handlers as added.
    *
    * @param handler pod action events handler
    * @throws InfrastructureException if any error occurs while watcher starting
    */
   public void watch(PodActionHandler handler) throws InfrastructureException {
+    podActionHandlers.add(handler);
     if (podWatch == null) {
       final Watcher<Pod> watcher =
           new Watcher<Pod>() {
@@ -390,18 +407,12 @@ public class KubernetesDeployments {
             public void onClose(KubernetesClientException ignored) {}
           };
       try {
-        podWatch =
-            clientFactory
-                .create(workspaceId)
-                .pods()
-                .inNamespace(namespace)
-                .withLabel(CHE_WORKSPACE_ID_LABEL, workspaceId)
-                .watch(watcher);
-      } catch (KubernetesClientException ex) {
-        throw new KubernetesInfrastructureException(ex);
+        podWatch = informers.watchPods(clientFactory, namespace, workspaceId, watcher);
+      } catch (InfrastructureException ex) {
+        podActionHandlers.remove(handler);
+        throw ex;
       }
     }
-    podActionHandlers.add(handler);
   }
 
   /**
@@ -472,13 +483,8 @@ public class KubernetesDeployments {
               return eventLastTimestampDate.after(watcherInitializationDate);
             }
           };
-      try {
-        watcherInitializationDate = new Date();
-        containerWatch =
-            clientFactory.create(workspaceId).events().inNamespace(namespace).watch(watcher);
-      } catch (KubernetesClientException ex) {
-        throw new KubernetesInfrastructureException(ex);
-      }
+      watcherInitializationDate = new Date();
+      containerWatch = informers.watchEvents(clientFactory, namespace, workspaceId, watcher);
     }
     containerEventsHandlers.add(handler);
   }
@@ -672,8 +678,9 @@ public class KubernetesDeployments {
     final String podName = getPodName(name);
     Watch toCloseOnException = null;
     try {
+      KubernetesClient client = clientFactory.create(workspaceId);
       PodResource<Pod, DoneablePod> podResource =
-          clientFactory.create(workspaceId).pods().inNamespace(namespace).withName(podName);
+          client.pods().inNamespace(namespace).withName(podName);
       Pod pod = podResource.get();
       if (pod == null) {
         throw new InfrastructureException(
@@ -681,7 +688,8 @@ public class KubernetesDeployments {
       }
       List<OwnerReference> ownerReferences = pod.getMetadata().getOwnerReferences();
       final CompletableFuture<Void> deleteFuture = new CompletableFuture<>();
-      final Watch watch = podResource.watch(new DeleteWatcher(deleteFuture));
+      final Watch watch =
+          informers.watchPod(clientFactory, namespace, podName, new DeleteWatcher(deleteFuture));
       toCloseOnException = watch;
 
       Boolean deleteSucceeded = false;
@@ -0,0 +1,640 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace;
+
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_WORKSPACE_ID_LABEL;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.EventList;
+import io.fabric8.kubernetes.api.model.ObjectReference;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.hc.probe.ProbeHistogram;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInfrastructureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares a single list and watch of pods and events per namespace between all the workspaces that
+ * are running in it.
+ *
+ * <p>Informer of a namespace is started by the first subscription and stopped when the last one is
+ * closed. It uses a client of the infrastructure account that is bound neither to a workspace nor
+ * to the current user, since it serves the workspaces of all the users of the namespace and
+ * outlives the subscription it is started by. It keeps a cache of the namespace pods indexed by
+ * name and by workspace, which is used to dispatch pod changes and events only to the subscribers
+ * of the workspace they belong to. When the watch is closed by the server, e.g. because the
+ * resource version is too old, pods are listed again, the difference with the cache is dispatched
+ * to the subscribers and the watch is restarted, so subscriptions survive the restart. If the watch
+ * can not be restarted after {@value #DEFAULT_MAX_RESTART_ATTEMPTS} attempts, the informer is
+ * stopped and all its subscribers are closed with the failure.
+ */
+@Singleton
+public class KubernetesInformers {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KubernetesInformers.class);
+
+  private static final String POD_OBJECT_KIND = "Pod";
+
+  private static final long DEFAULT_MIN_RESTART_DELAY_MS = 1000;
+  private static final long MAX_RESTART_DELAY_MS = 30_000;
+  private static final int DEFAULT_MAX_RESTART_ATTEMPTS = 10;
+
+  /** Informers by namespace name, subscription references are changed only inside compute. */
+  private final Map<String, NamespaceInformer> informers;
+
+  private final ScheduledExecutorService scheduler;
+  private final AtomicLong watchRestarts;
+  private final ProbeHistogram eventLag;
+  private final long minRestartDelayMs;
+  private final int maxRestartAttempts;
+
+  @Inject
+  public KubernetesInformers() {
+    this(DEFAULT_MIN_RESTART_DELAY_MS, DEFAULT_MAX_RESTART_ATTEMPTS);
+  }
+
+  KubernetesInformers(long minRestartDelayMs, int maxRestartAttempts) {
+    this.minRestartDelayMs = minRestartDelayMs;
+    this.maxRestartAttempts = maxRestartAttempts;
+    this.informers = new ConcurrentHashMap<>();
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("KubernetesInformers-%d")
+                .setDaemon(true)
+                .build());
+    this.watchRestarts = new AtomicLong();
+    this.eventLag = new ProbeHistogram();
+  }
+
+  /**
+   * Subscribes the given watcher to the changes of the pods of the workspace. Cached pods of the
+   * workspace are delivered to the watcher as {@link Action#ADDED} right away.
+   *
+   * @param clientFactory factory of the client that is used for starting the informer if it is not
+   *     started yet
+   * @param namespace namespace of the workspace pods
+   * @param workspaceId workspace identifier, pods are matched by its label
+   * @param watcher pods watcher
+   * @return subscription that must be closed when the changes are no longer needed
+   * @throws InfrastructureException when informer can not be started
+   */
+  public Watch watchPods(
+      KubernetesClientFactory clientFactory,
+      String namespace,
+      String workspaceId,
+      Watcher<Pod> watcher)
+      throws InfrastructureException {
+    NamespaceInformer informer = acquire(clientFactory, namespace);
+    subscribe(informer.workspacePodWatchers, workspaceId, watcher);
+    informer.replayWorkspacePods(workspaceId, watcher);
+    return new Subscription(
+        informer, () -> unsubscribe(informer.workspacePodWatchers, workspaceId, watcher));
+  }
+
+  /**
+   * Subscribes the given watcher to the changes of the pod with the given name. Cached pod is
+   * delivered to the watcher as {@link Action#ADDED} right away.
+   *
+   * @param clientFactory factory of the client that is used for starting the informer if it is not
+   *     started yet
+   * @param namespace namespace of the pod
+   * @param podName name of the pod
+   * @param watcher pod watcher
+   * @return subscription that must be closed when the changes are no longer needed
+   * @throws InfrastructureException when informer can not be started
+   */
+  public Watch watchPod(
+      KubernetesClientFactory clientFactory, String namespace, String podName, Watcher<Pod> watcher)
+      throws InfrastructureException {
+    NamespaceInformer informer = acquire(clientFactory, namespace);
+    subscribe(informer.podWatchers, podName, watcher);
+    informer.replayPod(podName, watcher);
+    return new Subscription(informer, () -> unsubscribe(informer.podWatchers, podName, watcher));
+  }
+
+  /**
+   * Subscribes the given watcher to the events of the namespace that are related to the pods of the
+   * workspace. Events related to other objects or to pods that are not known yet are delivered to
+   * all the event watchers of the namespace.
+   *
+   * @param clientFactory factory of the client that is used for starting the informer if it is not
+   *     started yet
+   * @param namespace namespace of the workspace pods
+   * @param workspaceId workspace identifier
+   * @param watcher events watcher
+   * @return subscription that must be closed when the events are no longer needed
+   * @throws InfrastructureException when informer can not be started
+   */
+  public Watch watchEvents(
+      KubernetesClientFactory clientFactory,
+      String namespace,
+      String workspaceId,
+      Watcher<Event> watcher)
+      throws InfrastructureException {
+    NamespaceInformer informer = acquire(clientFactory, namespace);
+    subscribe(informer.eventWatchers, workspaceId, watcher);
+    return new Subscription(
+        informer, () -> unsubscribe(informer.eventWatchers, workspaceId, watcher));
+  }
+
+  /** Returns how many times the watches were closed by the server and restarted. */
+  public long getWatchRestarts() {
+    return watchRestarts.get();
+  }
+
+  /**
+   * Returns histogram of differences between the time when the events are received and their {@code
+   * lastTimestamp}.
+   */
+  public ProbeHistogram getEventLag() {
+    return eventLag;
+  }
+
+  /** Returns the number of namespaces that are watched at the moment. */
+  public int getInformersCount() {
+    return informers.size();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+    for (NamespaceInformer informer : new ArrayList<>(informers.values())) {
+      informers.remove(informer.namespace, informer);
+      informer.stop();
+    }
+  }
+
+  /**
+   * Returns the started informer of the namespace with one more reference. The informer is started
+   * by the thread that has created it without holding any lock, other threads that subscribe to the
+   * same namespace wait until it is started.
+   */
+  private NamespaceInformer acquire(KubernetesClientFactory clientFactory, String namespace)
+      throws InfrastructureException {
+    NamespaceInformer created = new NamespaceInformer(namespace);
+    NamespaceInformer informer =
+        informers.compute(
+            namespace,
+            (k, existing) -> {
+              NamespaceInformer result = existing == null || existing.stopped ? created : existing;
+              result.references++;
+              return result;
+            });
+    if (informer == created) {
+      try {
+        informer.start(createInfrastructureClient(clientFactory));
+        informer.started.complete(null);
+        return informer;
+      } catch (KubernetesClientException e) {
+        abort(informer, e);
+        throw new KubernetesInfrastructureException(e);
+      } catch (InfrastructureException e) {
+        abort(informer, e);
+        throw e;
+      }
+    }
+
+    try {
+      informer.started.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      release(informer);
+      throw new InfrastructureException("Interrupted while waiting for the informer to start");
+    } catch (ExecutionException e) {
+      throw new InfrastructureException(
+          "Failed to start informer of namespace '" + namespace + "'", e.getCause());
+    }
+    return informer;
+  }
+
+  /**
+   * Creates client without the subject of the current user, so the client uses the credentials of
+   * the infrastructure account instead of the token of the user, which may expire while the
+   * informer is running.
+   */
+  private static KubernetesClient createInfrastructureClient(KubernetesClientFactory clientFactory)
+      throws InfrastructureException {
+    EnvironmentContext current = EnvironmentContext.getCurrent();
+    EnvironmentContext.reset();
+    try {
+      return clientFactory.create();
+    } finally {
+      EnvironmentContext.setCurrent(current);
+    }
+  }
+
+  private void abort(NamespaceInformer informer, Exception cause) {
+    informers.remove(informer.namespace, informer);
+    informer.stop();
+    informer.started.completeExceptionally(cause);
+  }
+
+  private void release(NamespaceInformer informer) {
+    AtomicBoolean last = new AtomicBoolean();
+    informers.computeIfPresent(
+        informer.namespace,
+        (k, existing) -> {
+          if (existing != informer || --existing.references > 0) {
+            return existing;
+          }
+          last.set(true);
+          return null;
+        });
+    if (last.get()) {
+      informer.stop();
+    }
+  }
+
+  private static <T> void subscribe(
+      Map<String, Set<Watcher<T>>> watchers, String key, Watcher<T> watcher) {
+    watchers.compute(
+        key,
+        (k, keyWatchers) -> {
+          if (keyWatchers == null) {
+            keyWatchers = ConcurrentHashMap.newKeySet();
+          }
+          keyWatchers.add(watcher);
+          return keyWatchers;
+        });
+  }
+
+  private static <T> void unsubscribe(
+      Map<String, Set<Watcher<T>>> watchers, String key, Watcher<T> watcher) {
+    watchers.computeIfPresent(
+        key,
+        (k, keyWatchers) -> {
+          keyWatchers.remove(watcher);
+          return keyWatchers.isEmpty() ? null : keyWatchers;
+        });
+  }
+
+  private static <T> void notify(Set<Watcher<T>> watchers, Action action, T resource) {
+    if (watchers == null) {
+      return;
+    }
+    for (Watcher<T> watcher : watchers) {
+      try {
+        watcher.eventReceived(action, resource);
+      } catch (RuntimeException e) {
+        LOG.error("Watcher failed to handle '{}' action: {}", action, e.getMessage(), e);
+      }
+    }
+  }
+
+  private static String getWorkspaceId(Pod pod) {
+    if (pod == null || pod.getMetadata().getLabels() == null) {
+      return null;
+    }
+    return pod.getMetadata().getLabels().get(CHE_WORKSPACE_ID_LABEL);
+  }
+
+  /** Closes subscription once and releases the informer it was made to. */
+  private class Subscription implements Watch {
+
+    private final NamespaceInformer informer;
+    private final Runnable unsubscribe;
+    private final AtomicBoolean closed;
+
+    private Subscription(NamespaceInformer informer, Runnable unsubscribe) {
+      this.informer = informer;
+      this.unsubscribe = unsubscribe;
+      this.closed = new AtomicBoolean();
+    }
+
+    @Override
+    public void close() {
+      if (closed.compareAndSet(false, true)) {
+        unsubscribe.run();
+        release(informer);
+      }
+    }
+  }
+
+  /** List and watch of the pods and events of a single namespace. */
+  private class NamespaceInformer {
+
+    private final String namespace;
+    /** Completed when the informer is started, failed when it can not be started. */
+    private final CompletableFuture<Void> started;
+
+    /** Cached pods by name. */
+    private final Map<String, Pod> pods;
+    /** Names of the cached pods by workspace identifier. */
+    private final Map<String, Set<String>> workspacePods;
+
+    private final Map<String, Set<Watcher<Pod>>> podWatchers;
+    private final Map<String, Set<Watcher<Pod>>> workspacePodWatchers;
+    private final Map<String, Set<Watcher<Event>>> eventWatchers;
+
+    /** Number of subscriptions, changed only inside compute of the informers map. */
+    private int references;
+
+    private volatile KubernetesClient client;
+    private volatile boolean stopped;
+    private Watch podWatch;
+    private Watch eventWatch;
+    private int podRestartAttempts;
+    private int eventRestartAttempts;
+
+    private NamespaceInformer(String namespace) {
+      this.namespace = namespace;
+      this.started = new CompletableFuture<>();
+      this.pods = new ConcurrentHashMap<>();
+      this.workspacePods = new ConcurrentHashMap<>();
+      this.podWatchers = new ConcurrentHashMap<>();
+      this.workspacePodWatchers = new ConcurrentHashMap<>();
+      this.eventWatchers = new ConcurrentHashMap<>();
+    }
+
+    void start(KubernetesClient client) {
+      this.client = client;
+      watchPods();
+      watchEvents();
+    }
+
+    synchronized void stop() {
+      stopped = true;
+      close(podWatch);
+      close(eventWatch);
+    }
+
+    void replayPod(String podName, Watcher<Pod> watcher) {
+      Pod pod = pods.get(podName);
+      if (pod != null) {
+        notify(Collections.singleton(watcher), Action.ADDED, pod);
+      }
+    }
+
+    void replayWorkspacePods(String workspaceId, Watcher<Pod> watcher) {
+      Set<String> names = workspacePods.get(workspaceId);
+      if (names == null) {
+        return;
+      }
+      for (String name : new ArrayList<>(names)) {
+        replayPod(name, watcher);
+      }
+    }
+
+    /** Lists pods, dispatches the difference with the cache and watches pods from the list. */
+    private void watchPods() {
+      PodList list = client.pods().inNamespace(namespace).list();
+      Set<String> listed = new HashSet<>();
+      for (Pod pod : list.getItems()) {
+        String name = pod.getMetadata().getName();
+        listed.add(name);
+        Pod cached = pods.get(name);
+        if (cached == null) {
+          onPod(Action.ADDED, pod);
+        } else if (!Objects.equals(
+            cached.getMetadata().getResourceVersion(), pod.getMetadata().getResourceVersion())) {
+          onPod(Action.MODIFIED, pod);
+        }
+      }
+      for (Pod cached : new ArrayList<>(pods.values())) {
+        if (!listed.contains(cached.getMetadata().getName())) {
+          onPod(Action.DELETED, cached);
+        }
+      }
+      synchronized (this) {
+        if (!stopped) {
+          podWatch =
+              client
+                  .pods()
+                  .inNamespace(namespace)
+                  .watch(list.getMetadata().getResourceVersion(), new PodWatcher());
+        }
+      }
+    }
+
+    /**
+     * Watches events starting from the current resource version, so the events that happened before
+     * are not delivered.
+     */
+    private void watchEvents() {
+      EventList list = client.events().inNamespace(namespace).list();
+      synchronized (this) {
+        if (!stopped) {
+          eventWatch =
+              client
+                  .events()
+                  .inNamespace(namespace)
+                  .watch(list.getMetadata().getResourceVersion(), new EventWatcher());
+        }
+      }
+    }
+
+    private void onPod(Action action, Pod pod) {
+      String name = pod.getMetadata().getName();
+      String workspaceId = getWorkspaceId(pod);
+      if (action == Action.DELETED) {
+        unindex(pods.remove(name));
+      } else if (action != Action.ERROR) {
+        unindex(pods.put(name, pod));
+        if (workspaceId != null) {
+          workspacePods.computeIfAbsent(workspaceId, k -> ConcurrentHashMap.newKeySet()).add(name);
+        }
+      }
+      notify(podWatchers.get(name), action, pod);
+      if (workspaceId != null) {
+        notify(workspacePodWatchers.get(workspaceId), action, pod);
+      }
+    }
+
+    private void unindex(Pod pod) {
+      String workspaceId = getWorkspaceId(pod);
+      if (workspaceId != null) {
+        workspacePods.computeIfPresent(
+            workspaceId,
+            (k, names) -> {
+              names.remove(pod.getMetadata().getName());
+              return names.isEmpty() ? null : names;
+            });
+      }
+    }
+
+    private void onEvent(Action action, Event event) {
+      String lastTimestamp = event.getLastTimestamp();
+      if (lastTimestamp != null) {
+        try {
+          long lag = System.currentTimeMillis() - Instant.parse(lastTimestamp).toEpochMilli();
+          eventLag.record(Math.max(0, lag));
+        } catch (DateTimeParseException e) {
+          LOG.debug("Failed to parse last timestamp of the event: {}", lastTimestamp);
+        }
+      }
+
+      String workspaceId = null;
+      ObjectReference involvedObject = event.getInvolvedObject();
+      if (involvedObject != null && POD_OBJECT_KIND.equals(involvedObject.getKind())) {
+        workspaceId = getWorkspaceId(pods.get(involvedObject.getName()));
+      }
+      if (workspaceId != null) {
+        notify(eventWatchers.get(workspaceId), action, event);
+      } else {
+        for (Set<Watcher<Event>> watchers : eventWatchers.values()) {
+          notify(watchers, action, event);
+        }
+      }
+    }
+
+    // restarts are run by the single scheduler thread, and the watchers are notified without
+    // holding the lock as they may close their subscriptions
+    private void restartPods() {
+      if (stopped) {
+        return;
+      }
+      try {
+        watchPods();
+        podRestartAttempts = 0;
+      } catch (KubernetesClientException e) {
+        LOG.warn("Failed to restart pods watch in namespace '{}': {}", namespace, e.getMessage());
+        if (++podRestartAttempts < maxRestartAttempts) {
+          schedule(this::restartPods, podRestartAttempts);
+        } else {
+          fail(e);
+        }
+      }
+    }
+
+    private void restartEvents() {
+      if (stopped) {
+        return;
+      }
+      try {
+        watchEvents();
+        eventRestartAttempts = 0;
+      } catch (KubernetesClientException e) {
+        LOG.warn("Failed to restart events watch in namespace '{}': {}", namespace, e.getMessage());
+        if (++eventRestartAttempts < maxRestartAttempts) {
+          schedule(this::restartEvents, eventRestartAttempts);
+        } else {
+          fail(e);
+        }
+      }
+    }
+
+    /**
+     * Stops the informer that can not be restarted and closes all its subscribers with the given
+     * cause. Next subscription to the namespace starts a new informer.
+     */
+    private void fail(KubernetesClientException cause) {
+      LOG.error(
+          "Failed to restart watches in namespace '{}' after {} attempts, closing {} subscriptions",
+          namespace,
+          maxRestartAttempts,
+          references);
+      stop();
+      informers.remove(namespace, this);
+      closeAll(podWatchers, cause);
+      closeAll(workspacePodWatchers, cause);
+      closeAll(eventWatchers, cause);
+    }
+
+    private <T> void closeAll(
+        Map<String, Set<Watcher<T>>> watchers, KubernetesClientException cause) {
+      for (Set<Watcher<T>> keyWatchers : watchers.values()) {
+        for (Watcher<T> watcher : keyWatchers) {
+          try {
+            watcher.onClose(cause);
+          } catch (RuntimeException e) {
+            LOG.error("Watcher failed to handle close: {}", e.getMessage(), e);
+          }
+        }
+      }
+    }
+
+    private void schedule(Runnable restart, int attempt) {
+      long delay = Math.min(MAX_RESTART_DELAY_MS, minRestartDelayMs << Math.min(attempt, 5));
+      scheduler.schedule(restart, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void onClose(String resource, KubernetesClientException cause, Runnable restart) {
+      if (cause == null || stopped) {
+        return;
+      }
+      LOG.warn(
+          "Watch of {} in namespace '{}' was closed, restarting it. Restarts so far: {}. Cause: {}",
+          resource,
+          namespace,
+          watchRestarts.incrementAndGet(),
+          cause.getMessage());
+      scheduler.execute(restart);
+    }
+
+    private void close(Watch watch) {
+      if (watch == null) {
+        return;
+      }
+      try {
+        watch.close();
+      } catch (KubernetesClientException e) {
+        LOG.error("Failed to close watch in namespace '{}': {}", namespace, e.getMessage());
+      }
+    }
+
+    private class PodWatcher implements Watcher<Pod> {
+
+      @Override
+      public void eventReceived(Action action, Pod pod) {
+        onPod(action, pod);
+      }
+
+      @Override
+      public void onClose(KubernetesClientException cause) {
+        NamespaceInformer.this.onClose("pods", cause, NamespaceInformer.this::restartPods);
+      }
+    }
+
+    private class EventWatcher implements Watcher<Event> {
+
+      @Override
+      public void eventReceived(Action action, Event event) {
+        onEvent(action, event);
+      }
+
+      @Override
+      public void onClose(KubernetesClientException cause) {
+        NamespaceInformer.this.onClose("events", cause, NamespaceInformer.this::restartEvents);
+      }
+    }
+  }
+}
@@ -30,13 +30,16 @@ public class KubernetesNamespaceFactory {
 
   private final String namespaceName;
   private final KubernetesClientFactory clientFactory;
+  private final KubernetesInformers informers;
 
   @Inject
   public KubernetesNamespaceFactory(
       @Nullable @Named("che.infra.kubernetes.namespace") String namespaceName,
-      KubernetesClientFactory clientFactory) {
+      KubernetesClientFactory clientFactory,
+      KubernetesInformers informers) {
     this.namespaceName = namespaceName;
     this.clientFactory = clientFactory;
+    this.informers = informers;
   }
 
   /**
@@ -61,7 +64,7 @@ public class KubernetesNamespaceFactory {
     final String namespaceName =
         isNullOrEmpty(this.namespaceName) ? workspaceId : this.namespaceName;
     KubernetesNamespace namespace =
-        new KubernetesNamespace(clientFactory, namespaceName, workspaceId);
+        new KubernetesNamespace(clientFactory, informers, namespaceName, workspaceId);
     namespace.prepare();
     return namespace;
   }
@@ -75,6 +78,6 @@ public class KubernetesNamespaceFactory {
    * @return created namespace
    */
   public KubernetesNamespace create(String workspaceId, String namespace) {
-    return new KubernetesNamespace(clientFactory, namespace, workspaceId);
+    return new KubernetesNamespace(clientFactory, informers, namespace, workspaceId);
   }
 }
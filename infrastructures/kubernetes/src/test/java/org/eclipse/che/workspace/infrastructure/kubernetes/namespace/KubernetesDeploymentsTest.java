@@ -14,7 +14,9 @@ package org.eclipse.che.workspace.infrastructure.kubernetes.namespace;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.POD_STATUS_PHASE_FAILED;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.POD_STATUS_PHASE_RUNNING;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.POD_STATUS_PHASE_SUCCEEDED;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -28,6 +30,7 @@ import io.fabric8.kubernetes.api.model.ObjectMeta;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
@@ -49,6 +52,10 @@ public class KubernetesDeploymentsTest {
 
   @Mock private KubernetesClientFactory clientFactory;
 
+  @Mock private KubernetesInformers informers;
+
+  @Mock private Watch watch;
+
   @Mock private PodResource<Pod, DoneablePod> podResource;
 
   @Mock private KubernetesClient kubernetesClient;
@@ -87,8 +94,10 @@ public class KubernetesDeploymentsTest {
     when(metadata.getName()).thenReturn(POD_NAME);
     when(podResource.getLog()).thenReturn("Pod fail log");
     watcherCaptor = ArgumentCaptor.forClass(Watcher.class);
+    when(informers.watchPod(any(), anyString(), anyString(), any())).thenReturn(watch);
 
-    kubernetesDeployments = new KubernetesDeployments("namespace", "workspace123", clientFactory);
+    kubernetesDeployments =
+        new KubernetesDeployments("namespace", "workspace123", clientFactory, informers);
   }
 
   @Test
@@ -98,7 +107,8 @@ public class KubernetesDeploymentsTest {
     CompletableFuture future = kubernetesDeployments.waitRunningAsync(POD_NAME);
 
     // when
-    verify(podResource).watch(watcherCaptor.capture());
+    verify(informers)
+        .watchPod(eq(clientFactory), eq("namespace"), eq(POD_NAME), watcherCaptor.capture());
     watcher = watcherCaptor.getValue();
     watcher.eventReceived(Watcher.Action.MODIFIED, pod);
 
@@ -113,7 +123,8 @@ public class KubernetesDeploymentsTest {
     CompletableFuture future = kubernetesDeployments.waitRunningAsync(POD_NAME);
 
     // when
-    verify(podResource).watch(watcherCaptor.capture());
+    verify(informers)
+        .watchPod(eq(clientFactory), eq("namespace"), eq(POD_NAME), watcherCaptor.capture());
     watcher = watcherCaptor.getValue();
     watcher.eventReceived(Watcher.Action.MODIFIED, pod);
 
@@ -137,7 +148,8 @@ public class KubernetesDeploymentsTest {
     CompletableFuture future = kubernetesDeployments.waitRunningAsync(POD_NAME);
 
     // when
-    verify(podResource).watch(watcherCaptor.capture());
+    verify(informers)
+        .watchPod(eq(clientFactory), eq("namespace"), eq(POD_NAME), watcherCaptor.capture());
     watcher = watcherCaptor.getValue();
     watcher.eventReceived(Watcher.Action.MODIFIED, pod);
 
@@ -160,7 +172,8 @@ public class KubernetesDeploymentsTest {
     CompletableFuture future = kubernetesDeployments.waitRunningAsync(POD_NAME);
 
     // when
-    verify(podResource).watch(watcherCaptor.capture());
+    verify(informers)
+        .watchPod(eq(clientFactory), eq("namespace"), eq(POD_NAME), watcherCaptor.capture());
     watcher = watcherCaptor.getValue();
     watcher.eventReceived(Watcher.Action.MODIFIED, pod);
 
@@ -187,7 +200,8 @@ public class KubernetesDeploymentsTest {
         .create();
 
     // when
-    verify(podResource).watch(watcherCaptor.capture());
+    verify(informers)
+        .watchPod(eq(clientFactory), eq("namespace"), eq(POD_NAME), watcherCaptor.capture());
     watcher = watcherCaptor.getValue();
     watcher.eventReceived(Watcher.Action.MODIFIED, pod);
 
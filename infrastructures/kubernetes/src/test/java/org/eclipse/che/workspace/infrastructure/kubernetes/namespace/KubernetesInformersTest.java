@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_WORKSPACE_ID_LABEL;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.EventBuilder;
+import io.fabric8.kubernetes.api.model.EventList;
+import io.fabric8.kubernetes.api.model.EventListBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class KubernetesInformersTest {
+
+  private static final String NAMESPACE = "che";
+
+  @Mock private KubernetesClientFactory clientFactory;
+  @Mock private KubernetesClient client;
+  @Mock private MixedOperation podsOperation;
+  @Mock private NonNamespaceOperation podsNamespaceOperation;
+  @Mock private MixedOperation eventsOperation;
+  @Mock private NonNamespaceOperation eventsNamespaceOperation;
+  @Mock private NonNamespaceOperation otherPodsNamespaceOperation;
+  @Mock private NonNamespaceOperation otherEventsNamespaceOperation;
+  @Mock private Watch podWatch;
+  @Mock private Watch eventWatch;
+  @Mock private Watcher<Pod> podWatcher;
+  @Mock private Watcher<Pod> otherPodWatcher;
+  @Mock private Watcher<Event> eventWatcher;
+  @Mock private Watcher<Event> otherEventWatcher;
+
+  private KubernetesInformers informers;
+  private Subject clientSubject;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    doAnswer(
+            invocation -> {
+              clientSubject = EnvironmentContext.getCurrent().getSubject();
+              return client;
+            })
+        .when(clientFactory)
+        .create();
+    doReturn(podsOperation).when(client).pods();
+    doReturn(podsNamespaceOperation).when(podsOperation).inNamespace(NAMESPACE);
+    doReturn(eventsOperation).when(client).events();
+    doReturn(eventsNamespaceOperation).when(eventsOperation).inNamespace(NAMESPACE);
+    doReturn(podList("1", pod("pod1", "ws1", "1"))).when(podsNamespaceOperation).list();
+    doReturn(eventList("1")).when(eventsNamespaceOperation).list();
+    doReturn(podWatch).when(podsNamespaceOperation).watch(anyString(), any(Watcher.class));
+    doReturn(eventWatch).when(eventsNamespaceOperation).watch(anyString(), any(Watcher.class));
+
+    informers = new KubernetesInformers(1, 3);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    informers.shutdown();
+  }
+
+  @Test
+  public void shouldShareSingleWatchBetweenSubscriptionsOfNamespace() throws Exception {
+    informers.watchPods(clientFactory, NAMESPACE, "ws1", podWatcher);
+    informers.watchPods(clientFactory, NAMESPACE, "ws2", otherPodWatcher);
+    informers.watchEvents(clientFactory, NAMESPACE, "ws1", eventWatcher);
+
+    verify(podsNamespaceOperation).list();
+    verify(podsNamespaceOperation).watch(eq("1"), any(Watcher.class));
+    verify(eventsNamespaceOperation).watch(eq("1"), any(Watcher.class));
+    assertEquals(informers.getInformersCount(), 1);
+    verify(clientFactory).create();
+    verify(clientFactory, never()).create(anyString());
+  }
+
+  @Test
+  public void shouldDeliverCachedPodsOfWorkspaceOnSubscription() throws Exception {
+    Pod pod = pod("pod1", "ws1", "1");
+
+    informers.watchPods(clientFactory, NAMESPACE, "ws1", podWatcher);
+    informers.watchPods(clientFactory, NAMESPACE, "ws2", otherPodWatcher);
+
+    verify(podWatcher).eventReceived(Action.ADDED, pod);
+    verify(otherPodWatcher, never()).eventReceived(any(), any());
+  }
+
+  @Test
+  public void shouldDispatchPodChangesToSubscribersOfWorkspaceAndPod() throws Exception {
+    informers.watchPods(clientFactory, NAMESPACE, "ws2", podWatcher);
+    informers.watchPod(clientFactory, NAMESPACE, "pod2", otherPodWatcher);
+    Pod pod = pod("pod2", "ws2", "2");
+
+    captureWatcher(podsNamespaceOperation).eventReceived(Action.MODIFIED, pod);
+    captureWatcher(podsNamespaceOperation).eventReceived(Action.MODIFIED, pod("pod3", "ws3", "3"));
+
+    verify(podWatcher).eventReceived(Action.MODIFIED, pod);
+    verify(otherPodWatcher).eventReceived(Action.MODIFIED, pod);
+    verify(podWatcher, times(1)).eventReceived(any(), any());
+  }
+
+  @Test
+  public void shouldDispatchEventsToSubscribersOfPodWorkspace() throws Exception {
+    informers.watchEvents(clientFactory, NAMESPACE, "ws1", eventWatcher);
+    informers.watchEvents(clientFactory, NAMESPACE, "ws2", otherEventWatcher);
+    Event event = event("pod1");
+    Event unknownPodEvent = event("unknown");
+
+    Watcher<Event> watcher = captureWatcher(eventsNamespaceOperation);
+    watcher.eventReceived(Action.ADDED, event);
+    watcher.eventReceived(Action.ADDED, unknownPodEvent);
+
+    verify(eventWatcher).eventReceived(Action.ADDED, event);
+    verify(eventWatcher).eventReceived(Action.ADDED, unknownPodEvent);
+    verify(otherEventWatcher, never()).eventReceived(Action.ADDED, event);
+    verify(otherEventWatcher).eventReceived(Action.ADDED, unknownPodEvent);
+    assertEquals(informers.getEventLag().getTotal(), 2);
+  }
+
+  @Test
+  public void shouldStartInformerWithoutSubjectOfCurrentUser() throws Exception {
+    Subject user = new SubjectImpl("user", "user123", "token", false);
+    EnvironmentContext context = new EnvironmentContext();
+    context.setSubject(user);
+    EnvironmentContext.setCurrent(context);
+    try {
+      informers.watchPods(clientFactory, NAMESPACE, "ws1", podWatcher);
+
+      assertEquals(clientSubject, Subject.ANONYMOUS);
+      assertEquals(EnvironmentContext.getCurrent().getSubject(), user);
+    } finally {
+      EnvironmentContext.reset();
+    }
+  }
+
+  @Test
+  public void shouldRelistPodsAndRestartWatchWhenItIsClosedByServer() throws Exception {
+    informers.watchPods(clientFactory, NAMESPACE, "ws1", podWatcher);
+    Pod modified = pod("pod1", "ws1", "5");
+    Pod added = pod("pod4", "ws1", "6");
+    doReturn(podList("7", modified, added)).when(podsNamespaceOperation).list();
+
+    captureWatcher(podsNamespaceOperation)
+        .onClose(new KubernetesClientException("Gone", 410, null));
+
+    verify(podsNamespaceOperation, timeout(5000)).watch(eq("7"), any(Watcher.class));
+    verify(podWatcher).eventReceived(Action.MODIFIED, modified);
+    verify(podWatcher).eventReceived(Action.ADDED, added);
+    assertEquals(informers.getWatchRestarts(), 1);
+  }
+
+  @Test
+  public void shouldDispatchPodsRemovedWhileWatchWasClosed() throws Exception {
+    informers.watchPod(clientFactory, NAMESPACE, "pod1", podWatcher);
+    Pod pod = pod("pod1", "ws1", "1");
+    doReturn(podList("7")).when(podsNamespaceOperation).list();
+
+    captureWatcher(podsNamespaceOperation)
+        .onClose(new KubernetesClientException("Gone", 410, null));
+
+    verify(podsNamespaceOperation, timeout(5000)).watch(eq("7"), any(Watcher.class));
+    verify(podWatcher).eventReceived(Action.DELETED, pod);
+  }
+
+  @Test
+  public void shouldCloseSubscriptionsWhenWatchCanNotBeRestarted() throws Exception {
+    informers.watchPods(clientFactory, NAMESPACE, "ws1", podWatcher);
+    informers.watchEvents(clientFactory, NAMESPACE, "ws1", eventWatcher);
+    KubernetesClientException failure = new KubernetesClientException("Forbidden", 403, null);
+    doThrow(failure).when(podsNamespaceOperation).list();
+
+    captureWatcher(podsNamespaceOperation)
+        .onClose(new KubernetesClientException("Gone", 410, null));
+
+    verify(podWatcher, timeout(5000)).onClose(failure);
+    verify(eventWatcher, timeout(5000)).onClose(failure);
+    verify(podsNamespaceOperation, times(4)).list();
+    verify(podWatch).close();
+    verify(eventWatch).close();
+    assertEquals(informers.getInformersCount(), 0);
+  }
+
+  @Test
+  public void shouldNotWaitForInformersOfOtherNamespacesToStart() throws Exception {
+    CountDownLatch listing = new CountDownLatch(1);
+    CountDownLatch listed = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              listing.countDown();
+              listed.await(5, TimeUnit.SECONDS);
+              return podList("1");
+            })
+        .when(podsNamespaceOperation)
+        .list();
+    doReturn(otherPodsNamespaceOperation).when(podsOperation).inNamespace("other");
+    doReturn(otherEventsNamespaceOperation).when(eventsOperation).inNamespace("other");
+    doReturn(podList("1")).when(otherPodsNamespaceOperation).list();
+    doReturn(eventList("1")).when(otherEventsNamespaceOperation).list();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Watch> first =
+          executor.submit(() -> informers.watchPods(clientFactory, NAMESPACE, "ws1", podWatcher));
+      listing.await(5, TimeUnit.SECONDS);
+
+      informers.watchPods(clientFactory, "other", "ws2", otherPodWatcher);
+      assertEquals(informers.getInformersCount(), 2);
+
+      listed.countDown();
+      first.get(5, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldNotRestartWatchClosedByClient() throws Exception {
+    informers.watchPods(clientFactory, NAMESPACE, "ws1", podWatcher);
+
+    captureWatcher(podsNamespaceOperation).onClose(null);
+
+    assertEquals(informers.getWatchRestarts(), 0);
+    verify(podsNamespaceOperation).list();
+  }
+
+  @Test
+  public void shouldStopInformerWhenLastSubscriptionIsClosed() throws Exception {
+    Watch first = informers.watchPods(clientFactory, NAMESPACE, "ws1", podWatcher);
+    Watch second = informers.watchEvents(clientFactory, NAMESPACE, "ws1", eventWatcher);
+
+    first.close();
+    first.close();
+    verify(podWatch, never()).close();
+
+    second.close();
+    verify(podWatch).close();
+    verify(eventWatch).close();
+    assertEquals(informers.getInformersCount(), 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Watcher<T> captureWatcher(NonNamespaceOperation operation) {
+    ArgumentCaptor<Watcher> captor = ArgumentCaptor.forClass(Watcher.class);
+    verify(operation).watch(anyString(), captor.capture());
+    return captor.getValue();
+  }
+
+  private static Pod pod(String name, String workspaceId, String resourceVersion) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withName(name)
+        .withResourceVersion(resourceVersion)
+        .addToLabels(CHE_WORKSPACE_ID_LABEL, workspaceId)
+        .endMetadata()
+        .build();
+  }
+
+  private static PodList podList(String resourceVersion, Pod... pods) {
+    return new PodListBuilder()
+        .withNewMetadata()
+        .withResourceVersion(resourceVersion)
+        .endMetadata()
+        .withItems(asList(pods))
+        .build();
+  }
+
+  private static Event event(String podName) {
+    return new EventBuilder()
+        .withNewInvolvedObject()
+        .withKind("Pod")
+        .withName(podName)
+        .endInvolvedObject()
+        .withLastTimestamp("2018-05-15T16:17:54Z")
+        .build();
+  }
+
+  private static EventList eventList(String resourceVersion) {
+    return new EventListBuilder()
+        .withNewMetadata()
+        .withResourceVersion(resourceVersion)
+        .endMetadata()
+        .withItems(singletonList(event("pod0")))
+        .build();
+  }
+}
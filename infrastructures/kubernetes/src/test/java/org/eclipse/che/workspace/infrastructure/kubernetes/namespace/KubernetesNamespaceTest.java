@@ -71,6 +71,7 @@ public class KubernetesNamespaceTest {
   @Mock private KubernetesSecrets secrets;
   @Mock private KubernetesConfigsMaps configMaps;
   @Mock private KubernetesClientFactory clientFactory;
+  @Mock private KubernetesInformers informers;
   @Mock private KubernetesClient kubernetesClient;
   @Mock private NonNamespaceOperation namespaceOperation;
   @Mock private Resource<ServiceAccount, DoneableServiceAccount> serviceAccountResource;
@@ -135,7 +136,8 @@ public class KubernetesNamespaceTest {
   public void testKubernetesNamespacePreparingWhenNamespaceExists() throws Exception {
     // given
     prepareNamespace(NAMESPACE);
-    KubernetesNamespace namespace = new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID);
+    KubernetesNamespace namespace =
+        new KubernetesNamespace(clientFactory, informers, NAMESPACE, WORKSPACE_ID);
 
     // when
     namespace.prepare();
@@ -148,7 +150,8 @@ public class KubernetesNamespaceTest {
 
     Resource resource = prepareNamespaceResource(NAMESPACE);
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
-    KubernetesNamespace namespace = new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID);
+    KubernetesNamespace namespace =
+        new KubernetesNamespace(clientFactory, informers, NAMESPACE, WORKSPACE_ID);
 
     // when
     namespace.prepare();
@@ -198,7 +201,7 @@ public class KubernetesNamespaceTest {
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
     doThrow(KubernetesClientException.class).when(kubernetesClient).serviceAccounts();
 
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID).prepare();
+    new KubernetesNamespace(clientFactory, informers, NAMESPACE, WORKSPACE_ID).prepare();
   }
 
   @Test(expectedExceptions = InfrastructureException.class)
@@ -209,7 +212,7 @@ public class KubernetesNamespaceTest {
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
     when(serviceAccountResource.get()).thenReturn(null);
 
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID).prepare();
+    new KubernetesNamespace(clientFactory, informers, NAMESPACE, WORKSPACE_ID).prepare();
   }
 
   @Test(expectedExceptions = InfrastructureException.class)
@@ -228,7 +231,7 @@ public class KubernetesNamespaceTest {
         .when(serviceAccountResource)
         .watch(any());
 
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID).prepare();
+    new KubernetesNamespace(clientFactory, informers, NAMESPACE, WORKSPACE_ID).prepare();
   }
 
   @Test
@@ -246,7 +249,7 @@ public class KubernetesNamespaceTest {
         .when(serviceAccountResource)
         .watch(any());
 
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID).prepare();
+    new KubernetesNamespace(clientFactory, informers, NAMESPACE, WORKSPACE_ID).prepare();
 
     verify(serviceAccountResource).get();
     verify(serviceAccountResource).watch(any());
@@ -259,9 +262,11 @@ public class KubernetesNamespaceTest {
 
     doReturn(Boolean.FALSE).when(podResource).delete();
     Watch watch = mock(Watch.class);
-    doReturn(watch).when(podResource).watch(any());
+    doReturn(watch).when(informers).watchPod(any(), anyString(), anyString(), any());
 
-    new KubernetesDeployments("", "", clientFactory).doDelete(POD_NAME).get(5, TimeUnit.SECONDS);
+    new KubernetesDeployments("", "", clientFactory, informers)
+        .doDelete(POD_NAME)
+        .get(5, TimeUnit.SECONDS);
 
     verify(watch).close();
   }
@@ -273,10 +278,12 @@ public class KubernetesNamespaceTest {
 
     doThrow(KubernetesClientException.class).when(podResource).delete();
     Watch watch = mock(Watch.class);
-    doReturn(watch).when(podResource).watch(any());
+    doReturn(watch).when(informers).watchPod(any(), anyString(), anyString(), any());
 
     try {
-      new KubernetesDeployments("", "", clientFactory).doDelete(POD_NAME).get(5, TimeUnit.SECONDS);
+      new KubernetesDeployments("", "", clientFactory, informers)
+          .doDelete(POD_NAME)
+          .get(5, TimeUnit.SECONDS);
     } catch (KubernetesInfrastructureException e) {
       assertTrue(e.getCause() instanceof KubernetesClientException);
       verify(watch).close();
@@ -292,10 +299,12 @@ public class KubernetesNamespaceTest {
 
     doThrow(RuntimeException.class).when(podResource).delete();
     Watch watch = mock(Watch.class);
-    doReturn(watch).when(podResource).watch(any());
+    doReturn(watch).when(informers).watchPod(any(), anyString(), anyString(), any());
 
     try {
-      new KubernetesDeployments("", "", clientFactory).doDelete(POD_NAME).get(5, TimeUnit.SECONDS);
+      new KubernetesDeployments("", "", clientFactory, informers)
+          .doDelete(POD_NAME)
+          .get(5, TimeUnit.SECONDS);
     } catch (RuntimeException e) {
       verify(watch).close();
       return;
@@ -18,6 +18,7 @@ import com.google.inject.Singleton;
 import javax.inject.Named;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesInformers;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
 import org.eclipse.che.workspace.infrastructure.openshift.OpenShiftClientFactory;
 
@@ -31,14 +32,17 @@ public class OpenShiftProjectFactory extends KubernetesNamespaceFactory {
 
   private final String projectName;
   private final OpenShiftClientFactory clientFactory;
+  private final KubernetesInformers informers;
 
   @Inject
   public OpenShiftProjectFactory(
       @Nullable @Named("che.infra.openshift.project") String projectName,
-      OpenShiftClientFactory clientFactory) {
-    super(projectName, clientFactory);
+      OpenShiftClientFactory clientFactory,
+      KubernetesInformers informers) {
+    super(projectName, clientFactory, informers);
     this.projectName = projectName;
     this.clientFactory = clientFactory;
+    this.informers = informers;
   }
 
   /**
@@ -54,7 +58,8 @@ public class OpenShiftProjectFactory extends KubernetesNamespaceFactory {
   public OpenShiftProject create(String workspaceId) throws InfrastructureException {
     final String projectName = isNullOrEmpty(this.projectName) ? workspaceId : this.projectName;
 
-    OpenShiftProject osProject = new OpenShiftProject(clientFactory, projectName, workspaceId);
+    OpenShiftProject osProject =
+        new OpenShiftProject(clientFactory, informers, projectName, workspaceId);
     osProject.prepare();
 
     return osProject;
@@ -69,6 +74,6 @@ public class OpenShiftProjectFactory extends KubernetesNamespaceFactory {
    * @return created namespace
    */
   public OpenShiftProject create(String workspaceId, String projectName) {
-    return new OpenShiftProject(clientFactory, projectName, workspaceId);
+    return new OpenShiftProject(clientFactory, informers, projectName, workspaceId);
   }
 }
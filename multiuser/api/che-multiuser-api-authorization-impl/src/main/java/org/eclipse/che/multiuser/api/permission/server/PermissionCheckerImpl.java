@@ -11,18 +11,43 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.multiuser.api.permission.shared.event.PermissionsEvent;
+import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
 
 /**
  * Implementation of {@link PermissionChecker} that use {@link PermissionsManager} for checking.
  *
+ * <p>It also caches results of the checks by user, domain and instance. Cached results are dropped
+ * on permissions events, results of all the users are dropped when public permissions of an
+ * instance are changed.
+ *
  * @author Sergii Leschenko
  */
+@Singleton
 public class PermissionCheckerImpl implements PermissionChecker {
+  private static final String PUBLIC_USER = "*";
+
   private final PermissionsManager permissionsManager;
+  private final Cache<Key, Map<String, Boolean>> decisions =
+      CacheBuilder.newBuilder().maximumSize(10_000).expireAfterWrite(10, TimeUnit.MINUTES).build();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  private long invalidations;
 
   @Inject
   public PermissionCheckerImpl(PermissionsManager permissionsManager) {
@@ -32,7 +57,109 @@ public class PermissionCheckerImpl implements PermissionChecker {
   @Override
   public boolean hasPermission(String user, String domain, String instance, String action)
       throws ServerException, NotFoundException, ConflictException {
-    return permissionsManager.exists(user, domain, instance, action)
-        || permissionsManager.exists("*", domain, instance, action);
+    final Key key = new Key(user, domain, instance);
+    final Map<String, Boolean> actions = decisions.getIfPresent(key);
+    final Boolean cached = actions == null ? null : actions.get(action);
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+
+    final long expectedInvalidations;
+    synchronized (this) {
+      expectedInvalidations = invalidations;
+    }
+    final boolean result =
+        permissionsManager.exists(user, domain, instance, action)
+            || permissionsManager.exists(PUBLIC_USER, domain, instance, action);
+    synchronized (this) {
+      // do not cache the result if permissions are changed while it was computed
+      if (expectedInvalidations == invalidations) {
+        Map<String, Boolean> cachedActions = decisions.getIfPresent(key);
+        if (cachedActions == null) {
+          cachedActions = new ConcurrentHashMap<>();
+          decisions.put(key, cachedActions);
+        }
+        cachedActions.put(action, result);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Drops cached results of the checks of the given permissions. If the permissions are public then
+   * cached results of all the users are dropped.
+   *
+   * @param user user id
+   * @param domain domain id
+   * @param instance instance id, may be null for domains that do not require instance
+   */
+  public synchronized void invalidate(String user, String domain, String instance) {
+    invalidations++;
+    if (PUBLIC_USER.equals(user)) {
+      decisions
+          .asMap()
+          .keySet()
+          .removeIf(key -> domain.equals(key.domain) && Objects.equals(instance, key.instance));
+    } else {
+      decisions.invalidate(new Key(user, domain, instance));
+    }
+  }
+
+  /** Returns number of checks served by cached results. */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /** Returns number of checks that required permissions lookup. */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  @Inject
+  private void subscribe(EventService eventService) {
+    eventService.subscribe(
+        event -> {
+          final Permissions permissions = event.getPermissions();
+          invalidate(
+              permissions.getUserId(), permissions.getDomainId(), permissions.getInstanceId());
+        },
+        PermissionsEvent.class);
+  }
+
+  private static final class Key {
+    private final String user;
+    private final String domain;
+    private final String instance;
+
+    private Key(String user, String domain, String instance) {
+      this.user = user;
+      this.domain = domain;
+      this.instance = instance;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return Objects.equals(user, other.user)
+          && Objects.equals(domain, other.domain)
+          && Objects.equals(instance, other.instance);
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = 7;
+      hash = hash * 31 + Objects.hashCode(user);
+      hash = hash * 31 + Objects.hashCode(domain);
+      hash = hash * 31 + Objects.hashCode(instance);
+      return hash;
+    }
   }
 }
@@ -13,6 +13,7 @@ package org.eclipse.che.multiuser.api.permission.server;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -56,4 +57,53 @@ public class PermissionCheckerImplTest {
     verify(permissionsManager).exists("user123", "domain123", "instance123", "test");
     verify(permissionsManager).exists("*", "domain123", "instance123", "test");
   }
+
+  @Test
+  public void shouldCacheResultOfCheck() throws Exception {
+    when(permissionsManager.exists(anyString(), anyString(), anyString(), anyString()))
+        .thenReturn(true);
+
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+    boolean hasPermission =
+        permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+
+    assertEquals(hasPermission, true);
+    verify(permissionsManager).exists("user123", "domain123", "instance123", "test");
+    assertEquals(permissionChecker.getHits(), 1);
+    assertEquals(permissionChecker.getMisses(), 1);
+  }
+
+  @Test
+  public void shouldCheckPermissionsAgainAfterInvalidation() throws Exception {
+    when(permissionsManager.exists(anyString(), anyString(), anyString(), anyString()))
+        .thenReturn(false);
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+    when(permissionsManager.exists(eq("user123"), anyString(), anyString(), anyString()))
+        .thenReturn(true);
+
+    permissionChecker.invalidate("user123", "domain123", "instance123");
+    boolean hasPermission =
+        permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+
+    assertEquals(hasPermission, true);
+    verify(permissionsManager, times(2)).exists("user123", "domain123", "instance123", "test");
+  }
+
+  @Test
+  public void shouldDropCachedResultsOfAllUsersWhenPublicPermissionsAreChanged() throws Exception {
+    when(permissionsManager.exists(anyString(), anyString(), anyString(), anyString()))
+        .thenReturn(false);
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+    permissionChecker.hasPermission("user321", "domain123", "instance123", "test");
+    permissionChecker.hasPermission("user123", "domain123", "instance321", "test");
+
+    permissionChecker.invalidate("*", "domain123", "instance123");
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+    permissionChecker.hasPermission("user321", "domain123", "instance123", "test");
+    permissionChecker.hasPermission("user123", "domain123", "instance321", "test");
+
+    verify(permissionsManager, times(2)).exists("user123", "domain123", "instance123", "test");
+    verify(permissionsManager, times(2)).exists("user321", "domain123", "instance123", "test");
+    verify(permissionsManager).exists("user123", "domain123", "instance321", "test");
+  }
 }
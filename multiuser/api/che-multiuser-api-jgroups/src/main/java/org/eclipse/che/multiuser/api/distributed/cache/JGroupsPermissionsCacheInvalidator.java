@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.distributed.cache;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.multiuser.api.permission.server.PermissionCheckerImpl;
+import org.eclipse.che.multiuser.api.permission.shared.event.PermissionsEvent;
+import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
+import org.jgroups.JChannel;
+import org.jgroups.Message;
+import org.jgroups.ReceiverAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Propagates permissions changes to the other Che Servers, so they drop cached results of the
+ * permissions checks in {@link PermissionCheckerImpl}.
+ */
+@Singleton
+public class JGroupsPermissionsCacheInvalidator extends ReceiverAdapter {
+
+  private static final String CHANNEL_NAME = "PermissionsCache";
+  private static final Logger LOG =
+      LoggerFactory.getLogger(JGroupsPermissionsCacheInvalidator.class);
+
+  private final PermissionCheckerImpl permissionChecker;
+  private final JChannel channel;
+
+  @Inject
+  public JGroupsPermissionsCacheInvalidator(
+      @Named("jgroups.config.file") String confFile,
+      PermissionCheckerImpl permissionChecker,
+      EventService eventService) {
+    this.permissionChecker = permissionChecker;
+    try {
+      channel = new JChannel(confFile);
+      channel.setDiscardOwnMessages(true);
+      channel.setReceiver(this);
+      channel.connect(CHANNEL_NAME);
+    } catch (Exception ex) {
+      throw new RuntimeException(
+          "Jgroups permissions cache channel creation failed. Cause :" + ex.getMessage());
+    }
+    eventService.subscribe(this::propagate, PermissionsEvent.class);
+  }
+
+  @Override
+  public void receive(Message msg) {
+    final String[] permissions = (String[]) msg.getObject();
+    permissionChecker.invalidate(permissions[0], permissions[1], permissions[2]);
+  }
+
+  /** Stops permissions changes propagation. */
+  public void shutdown() {
+    try {
+      channel.close();
+    } catch (RuntimeException ex) {
+      LOG.error("Failed to stop permissions cache channel. Cause: " + ex.getMessage());
+    }
+  }
+
+  private void propagate(PermissionsEvent event) {
+    final Permissions permissions = event.getPermissions();
+    try {
+      channel.send(
+          null,
+          new String[] {
+            permissions.getUserId(), permissions.getDomainId(), permissions.getInstanceId()
+          });
+    } catch (Exception ex) {
+      LOG.error(
+          "Failed to propagate change of permissions of user '{}' to domain '{}' and instance '{}'. Cause: {}",
+          permissions.getUserId(),
+          permissions.getDomainId(),
+          permissions.getInstanceId(),
+          ex.getMessage());
+    }
+  }
+}
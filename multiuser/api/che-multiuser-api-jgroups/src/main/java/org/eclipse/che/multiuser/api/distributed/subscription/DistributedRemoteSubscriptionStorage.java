@@ -15,6 +15,8 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.inject.Singleton;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -22,8 +24,11 @@ import java.util.concurrent.locks.Lock;
 import javax.inject.Inject;
 import javax.inject.Named;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionContext;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionScopeIndex;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionStorage;
+import org.jgroups.Address;
 import org.jgroups.JChannel;
+import org.jgroups.View;
 import org.jgroups.blocks.ReplicatedHashMap;
 import org.jgroups.blocks.locking.LockService;
 import org.slf4j.Logger;
@@ -31,6 +36,9 @@ import org.slf4j.Logger;
 /**
  * Replicated map-based implementation of {@link RemoteSubscriptionStorage}
  *
+ * <p>Each node keeps its own scope index of the replicated subscriptions which is updated on
+ * changes of the replicated map.
+ *
  * @author Max Shaposhnik (mshaposh@redhat.com)
  */
 @Singleton
@@ -41,6 +49,7 @@ public class DistributedRemoteSubscriptionStorage implements RemoteSubscriptionS
   private static final String CHANNEL_NAME = "RemoteSubscriptionChannel";
 
   private final ReplicatedHashMap<String, Set<RemoteSubscriptionContext>> subscriptions;
+  private final RemoteSubscriptionScopeIndex scopeIndex;
   private final LockService lockService;
   private final JChannel channel;
 
@@ -53,7 +62,10 @@ public class DistributedRemoteSubscriptionStorage implements RemoteSubscriptionS
       channel.connect(CHANNEL_NAME);
       subscriptions = new ReplicatedHashMap<>(channel);
       subscriptions.setBlockingUpdates(true);
+      scopeIndex = new RemoteSubscriptionScopeIndex();
+      subscriptions.addNotifier(new ScopeIndexUpdater());
       subscriptions.start(5000);
+      subscriptions.forEach(scopeIndex::reindex);
     } catch (Exception e) {
       LOG.error("Unable to create distributed event subscriptions map.", e);
       throw e;
@@ -65,6 +77,12 @@ public class DistributedRemoteSubscriptionStorage implements RemoteSubscriptionS
     return subscriptions.getOrDefault(method, Collections.emptySet());
   }
 
+  @Override
+  public Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    return scopeIndex.get(method, scopeKey, scopeValue);
+  }
+
   @Override
   public void addSubscription(String method, RemoteSubscriptionContext remoteSubscriptionContext) {
     Lock lock = lockService.getLock(method);
@@ -109,4 +127,32 @@ public class DistributedRemoteSubscriptionStorage implements RemoteSubscriptionS
       LOG.error("Failed to stop remote subscription storage. Cause: " + ex.getMessage());
     }
   }
+
+  /** Keeps the scope index in sync with the replicated subscriptions. */
+  private class ScopeIndexUpdater
+      implements ReplicatedHashMap.Notification<String, Set<RemoteSubscriptionContext>> {
+
+    @Override
+    public void entrySet(String method, Set<RemoteSubscriptionContext> contexts) {
+      scopeIndex.reindex(method, contexts);
+    }
+
+    @Override
+    public void entryRemoved(String method) {
+      scopeIndex.reindex(method, Collections.emptySet());
+    }
+
+    @Override
+    public void contentsSet(Map<String, Set<RemoteSubscriptionContext>> entries) {
+      entries.forEach(scopeIndex::reindex);
+    }
+
+    @Override
+    public void contentsCleared() {
+      scopeIndex.clear();
+    }
+
+    @Override
+    public void viewChange(View view, List<Address> joined, List<Address> left) {}
+  }
 }
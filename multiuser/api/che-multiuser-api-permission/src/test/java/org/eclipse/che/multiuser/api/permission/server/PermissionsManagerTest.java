@@ -38,6 +38,7 @@ import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.multiuser.api.permission.server.event.PermissionsUpdatedEvent;
 import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
 import org.eclipse.che.multiuser.api.permission.server.spi.PermissionsDao;
 import org.eclipse.che.multiuser.api.permission.shared.dto.PermissionsDto;
@@ -103,6 +104,23 @@ public class PermissionsManagerTest {
                     permissions.getUserId(), permissions.getDomainId(), permissions.getActions()));
   }
 
+  @Test
+  public void shouldPublishUpdatedEventWhenExistingPermissionsAreStored() throws Exception {
+    final Permissions permissions =
+        DtoFactory.newDto(PermissionsDto.class)
+            .withUserId("user")
+            .withDomainId("test")
+            .withInstanceId("test123")
+            .withActions(singletonList(SET_PERMISSIONS));
+    when(permissionsDao.store(any(TestPermissionsImpl.class)))
+        .thenReturn(
+            Optional.of(new TestPermissionsImpl("user", "test", "test123", singletonList("read"))));
+
+    permissionsManager.storePermission(permissions);
+
+    verify(eventService).publish(any(PermissionsUpdatedEvent.class));
+  }
+
   @Test(
     expectedExceptions = ConflictException.class,
     expectedExceptionsMessageRegExp =
@@ -17,6 +17,8 @@ import static javax.servlet.http.HttpServletResponse.SC_UNAUTHORIZED;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.MACHINE_TOKEN_KIND;
 import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.USER_ID_CLAIM;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
@@ -26,6 +28,10 @@ import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import java.io.IOException;
 import java.security.Principal;
+import java.security.PublicKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.servlet.Filter;
@@ -39,7 +45,9 @@ import javax.servlet.http.HttpServletRequestWrapper;
 import javax.servlet.http.HttpServletResponse;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.user.server.UserManager;
+import org.eclipse.che.api.user.server.event.UserRemovedEvent;
 import org.eclipse.che.commons.auth.token.RequestTokenExtractor;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.Subject;
@@ -51,17 +59,34 @@ import org.eclipse.che.multiuser.machine.authentication.server.signature.Signatu
 /**
  * Handles requests that comes from machines with specific machine token.
  *
+ * <p>Verified machine tokens, including the owners of the tokens, are cached, so the token
+ * signature is not checked and the user is not fetched on each request. Cached result is dropped
+ * when it expires, when the token expires, when the signature key is changed or when the user is
+ * removed. Tokens that fail verification and tokens of other kinds are not cached.
+ *
  * @author Max Shaposhnik (mshaposhnik@codenvy.com)
  * @author Anton Korneta
  */
 @Singleton
 public class MachineLoginFilter implements Filter {
 
+  private static final long CACHE_MAX_SIZE = 5_000;
+  private static final long CACHE_EXPIRE_MINUTES = 10;
+
   private final RequestTokenExtractor tokenExtractor;
   private final UserManager userManager;
   private final SignatureKeyManager keyManager;
   private final PermissionChecker permissionChecker;
 
+  private final Cache<String, VerifiedToken> verifiedTokens =
+      CacheBuilder.newBuilder()
+          .maximumSize(CACHE_MAX_SIZE)
+          .expireAfterWrite(CACHE_EXPIRE_MINUTES, TimeUnit.MINUTES)
+          .build();
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder verificationNanos = new LongAdder();
+
   @Inject
   public MachineLoginFilter(
       RequestTokenExtractor tokenExtractor,
@@ -89,45 +114,110 @@ public class MachineLoginFilter implements Filter {
     }
 
     // check token signature and verify is this token machine or not
+    final VerifiedToken verified;
     try {
-      final Jws<Claims> jwt =
-          Jwts.parser().setSigningKey(keyManager.getKeyPair().getPublic()).parseClaimsJws(token);
-      final Claims claims = jwt.getBody();
+      verified = getVerifiedToken(token, keyManager.getKeyPair().getPublic());
+    } catch (NotFoundException ex) {
+      sendErr(
+          response,
+          SC_UNAUTHORIZED,
+          "Authentication with machine token failed because user for this token no longer exist.");
+      return;
+    } catch (ServerException ex) {
+      sendErr(
+          response,
+          SC_UNAUTHORIZED,
+          format("Authentication with machine token failed cause: %s", ex.getMessage()));
+      return;
+    }
 
-      if (!isMachineToken(jwt)) {
-        chain.doFilter(request, response);
-        return;
-      }
+    if (!verified.isMachineToken()) {
+      chain.doFilter(request, response);
+      return;
+    }
 
-      try {
-        final String userId = claims.get(USER_ID_CLAIM, String.class);
-        // check if user with such id exists
-        final String userName = userManager.getById(userId).getName();
-        final Subject authorizedSubject =
-            new AuthorizedSubject(
-                new SubjectImpl(userName, userId, token, false), permissionChecker);
-        EnvironmentContext.getCurrent().setSubject(authorizedSubject);
-        chain.doFilter(addUserInRequest(httpRequest, authorizedSubject), response);
-      } catch (NotFoundException ex) {
-        sendErr(
-            response,
-            SC_UNAUTHORIZED,
-            "Authentication with machine token failed because user for this token no longer exist.");
-      } catch (ServerException ex) {
-        sendErr(
-            response,
-            SC_UNAUTHORIZED,
-            format("Authentication with machine token failed cause: %s", ex.getMessage()));
-      } finally {
-        EnvironmentContext.reset();
-      }
+    try {
+      final Subject authorizedSubject =
+          new AuthorizedSubject(
+              new SubjectImpl(verified.userName, verified.userId, token, false), permissionChecker);
+      EnvironmentContext.getCurrent().setSubject(authorizedSubject);
+      chain.doFilter(addUserInRequest(httpRequest, authorizedSubject), response);
+    } finally {
+      EnvironmentContext.reset();
+    }
+  }
+
+  /** Returns number of requests served with cached token verification result. */
+  public long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  /** Returns number of requests that required token verification. */
+  public long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  /** Returns total time in nanoseconds spent on token verification. */
+  public long getVerificationTime() {
+    return verificationNanos.sum();
+  }
+
+  /** Drops cached verification results of all the tokens of the given user. */
+  void invalidateUser(String userId) {
+    verifiedTokens.asMap().values().removeIf(verified -> userId.equals(verified.userId));
+  }
+
+  @Inject
+  private void subscribe(EventService eventService) {
+    eventService.subscribe(event -> invalidateUser(event.getUserId()), UserRemovedEvent.class);
+  }
+
+  /**
+   * Returns cached verification result of the token, if there is no result cached, it was made with
+   * another public key or the token is expired then the token is verified again. Only successfully
+   * verified machine tokens are cached, so invalid or foreign tokens can not fill the cache.
+   */
+  private VerifiedToken getVerifiedToken(String token, PublicKey publicKey)
+      throws NotFoundException, ServerException {
+    VerifiedToken verified = verifiedTokens.getIfPresent(token);
+    if (verified != null && verified.isValidFor(publicKey)) {
+      cacheHits.increment();
+      return verified;
+    }
+    cacheMisses.increment();
+    final long start = System.nanoTime();
+    try {
+      verified = verify(token, publicKey);
+    } finally {
+      verificationNanos.add(System.nanoTime() - start);
+    }
+    if (verified.isMachineToken()) {
+      verifiedTokens.put(token, verified);
+    }
+    return verified;
+  }
+
+  private VerifiedToken verify(String token, PublicKey publicKey)
+      throws NotFoundException, ServerException {
+    final Jws<Claims> jwt;
+    try {
+      jwt = Jwts.parser().setSigningKey(publicKey).parseClaimsJws(token);
     } catch (UnsupportedJwtException
         | MalformedJwtException
         | SignatureException
         | ExpiredJwtException ex) {
       // signature check failed
-      chain.doFilter(request, response);
+      return new VerifiedToken(publicKey, null, null, null);
+    }
+    if (!isMachineToken(jwt)) {
+      return new VerifiedToken(publicKey, null, null, null);
     }
+
+    final Claims claims = jwt.getBody();
+    final String userId = claims.get(USER_ID_CLAIM, String.class);
+    // check if user with such id exists
+    final String userName = userManager.getById(userId).getName();
+    return new VerifiedToken(publicKey, userId, userName, claims.getExpiration());
   }
 
   /** Checks whether given token from a machine. */
@@ -158,4 +248,29 @@ public class MachineLoginFilter implements Filter {
 
   @Override
   public void destroy() {}
+
+  /** Result of a token verification. */
+  private static class VerifiedToken {
+    private final PublicKey publicKey;
+    private final String userId;
+    private final String userName;
+    private final Date expiration;
+
+    private VerifiedToken(PublicKey publicKey, String userId, String userName, Date expiration) {
+      this.publicKey = publicKey;
+      this.userId = userId;
+      this.userName = userName;
+      this.expiration = expiration;
+    }
+
+    /** Returns {@code false} if the token is signed with a valid key but is not a machine token. */
+    private boolean isMachineToken() {
+      return userId != null;
+    }
+
+    private boolean isValidFor(PublicKey currentKey) {
+      return publicKey.equals(currentKey)
+          && (expiration == null || expiration.getTime() > System.currentTimeMillis());
+    }
+  }
 }
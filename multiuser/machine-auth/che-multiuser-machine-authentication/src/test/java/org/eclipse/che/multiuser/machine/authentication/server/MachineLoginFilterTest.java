@@ -18,9 +18,11 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
@@ -175,6 +177,74 @@ public class MachineLoginFilterTest {
             eq(401), argThat(s -> s.startsWith("Authentication with machine token failed cause:")));
   }
 
+  @Test
+  public void testVerifyTokenOnlyOnceForSubsequentRequests() throws Exception {
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+
+    verify(userManagerMock).getById(anyString());
+    assertEquals(machineLoginFilter.getCacheMisses(), 1);
+    assertEquals(machineLoginFilter.getCacheHits(), 1);
+    verifyZeroInteractions(responseMock);
+  }
+
+  @Test
+  public void testVerifyTokenAgainWhenUserIsRemoved() throws Exception {
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+
+    machineLoginFilter.invalidateUser(SUBJECT.getUserId());
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+
+    verify(userManagerMock, times(2)).getById(anyString());
+  }
+
+  @Test
+  public void testVerifyTokenAgainWhenSignatureKeyIsChanged() throws Exception {
+    final HttpServletRequest requestMock = getRequestMock();
+    machineLoginFilter.doFilter(requestMock, responseMock, chainMock);
+
+    final KeyPairGenerator kpg = KeyPairGenerator.getInstance(SIGNATURE_ALGORITHM);
+    kpg.initialize(KEY_SIZE);
+    when(keyManagerMock.getKeyPair()).thenReturn(kpg.generateKeyPair());
+    machineLoginFilter.doFilter(requestMock, responseMock, chainMock);
+
+    verify(userManagerMock).getById(anyString());
+    verify(chainMock).doFilter(requestMock, responseMock);
+    assertEquals(machineLoginFilter.getCacheMisses(), 2);
+  }
+
+  @Test
+  public void testDoNotCacheTokenWithInvalidSignature() throws Exception {
+    final HttpServletRequest requestMock = getRequestMock();
+    when(tokenExtractorMock.getToken(any(HttpServletRequest.class))).thenReturn("keycloak_token");
+
+    machineLoginFilter.doFilter(requestMock, responseMock, chainMock);
+    machineLoginFilter.doFilter(requestMock, responseMock, chainMock);
+
+    verify(chainMock, times(2)).doFilter(requestMock, responseMock);
+    assertEquals(machineLoginFilter.getCacheMisses(), 2);
+    assertEquals(machineLoginFilter.getCacheHits(), 0);
+  }
+
+  @Test
+  public void testDoNotCacheTokenOfAnotherKind() throws Exception {
+    final HttpServletRequest requestMock = getRequestMock();
+    final String userToken =
+        Jwts.builder()
+            .setClaims(CLAIMS)
+            .signWith(RS512, keyManagerMock.getKeyPair().getPrivate())
+            .compact();
+    when(tokenExtractorMock.getToken(any(HttpServletRequest.class))).thenReturn(userToken);
+
+    machineLoginFilter.doFilter(requestMock, responseMock, chainMock);
+    machineLoginFilter.doFilter(requestMock, responseMock, chainMock);
+
+    verify(chainMock, times(2)).doFilter(requestMock, responseMock);
+    verifyZeroInteractions(userManagerMock);
+    assertEquals(machineLoginFilter.getCacheMisses(), 2);
+    assertEquals(machineLoginFilter.getCacheHits(), 0);
+  }
+
   private HttpServletRequest getRequestMock() {
     final HttpServletRequest request = mock(HttpServletRequest.class);
     when(request.getSession(true)).thenReturn(sessionMock);
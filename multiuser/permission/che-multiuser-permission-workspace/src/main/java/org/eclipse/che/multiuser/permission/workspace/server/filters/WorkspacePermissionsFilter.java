@@ -129,6 +129,7 @@ public class WorkspacePermissionsFilter extends CheMethodInvokerFilter {
         }
         // fall through
       case "checkAgentHealth":
+      case "getProjects":
         key = ((String) arguments[0]);
         action = READ;
         break;
@@ -137,6 +138,7 @@ public class WorkspacePermissionsFilter extends CheMethodInvokerFilter {
       case "addProject":
       case "deleteProject":
       case "updateProject":
+      case "updateProjects":
       case "addEnvironment":
       case "deleteEnvironment":
       case "updateEnvironment":
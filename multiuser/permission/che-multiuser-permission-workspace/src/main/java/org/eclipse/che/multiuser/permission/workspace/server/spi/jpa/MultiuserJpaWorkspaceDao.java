@@ -16,6 +16,7 @@ import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.Pages.iterate;
+import static org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceDao.fetchSummaryAttributes;
 
 import com.google.inject.persist.Transactional;
 import java.util.List;
@@ -38,6 +39,7 @@ import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceRemovedEvent;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
@@ -59,6 +61,13 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
           + "          LEFT JOIN worker.workspace ws "
           + "          WHERE worker.userId = :userId "
           + "          AND 'read' MEMBER OF worker.actions";
+  private static final String findSummariesByWorkerQuery =
+      "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary("
+          + "          ws.id, ws.name, ws.account.name, ws.isTemporary) "
+          + "          FROM Worker worker  "
+          + "          LEFT JOIN worker.workspace ws "
+          + "          WHERE worker.userId = :userId "
+          + "          AND 'read' MEMBER OF worker.actions";
   private static final String findByWorkerCountQuery =
       "SELECT COUNT(ws) FROM Worker worker  "
           + "          LEFT JOIN worker.workspace ws "
@@ -201,6 +210,57 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceSummary> getSummariesByNamespace(
+      String namespace, int maxItems, long skipCount) throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    try {
+      final EntityManager manager = managerProvider.get();
+      final List<WorkspaceSummary> list =
+          manager
+              .createNamedQuery("Workspace.getSummariesByNamespace", WorkspaceSummary.class)
+              .setParameter("namespace", namespace)
+              .setMaxResults(maxItems)
+              .setFirstResult((int) skipCount)
+              .getResultList();
+      fetchSummaryAttributes(manager, list);
+      final long count =
+          manager
+              .createNamedQuery("Workspace.getByNamespaceCount", Long.class)
+              .setParameter("namespace", namespace)
+              .getSingleResult();
+      return new Page<>(list, skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
+  @Override
+  @Transactional
+  public Page<WorkspaceSummary> getSummaries(String userId, int maxItems, long skipCount)
+      throws ServerException {
+    try {
+      final EntityManager manager = managerProvider.get();
+      final List<WorkspaceSummary> list =
+          manager
+              .createQuery(findSummariesByWorkerQuery, WorkspaceSummary.class)
+              .setParameter("userId", userId)
+              .setMaxResults(maxItems)
+              .setFirstResult((int) skipCount)
+              .getResultList();
+      fetchSummaryAttributes(manager, list);
+      final long count =
+          manager
+              .createQuery(findByWorkerCountQuery, Long.class)
+              .setParameter("userId", userId)
+              .getSingleResult();
+      return new Page<>(list, skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public Page<WorkspaceImpl> getWorkspaces(boolean isTemporary, int maxItems, long skipCount)
@@ -154,7 +154,7 @@ public class WorkspacePermissionsFilterTest {
 
     assertEquals(response.getStatusCode(), 200);
     verify(superPrivilegesChecker).hasSuperPrivileges();
-    verify(workspaceService).getByNamespace(any(), eq("userok"));
+    verify(workspaceService).getByNamespace(any(), eq("userok"), any());
     verify(permissionsFilter).checkAccountPermissions("userok", AccountOperation.MANAGE_WORKSPACES);
     verifyZeroInteractions(subject);
   }
@@ -176,7 +176,7 @@ public class WorkspacePermissionsFilterTest {
 
     assertEquals(response.getStatusCode(), 200);
     verify(superPrivilegesChecker).hasSuperPrivileges();
-    verify(workspaceService).getByNamespace(any(), eq("userok"));
+    verify(workspaceService).getByNamespace(any(), eq("userok"), any());
     verify(permissionsFilter, never())
         .checkAccountPermissions("userok", AccountOperation.MANAGE_WORKSPACES);
     verifyZeroInteractions(subject);
@@ -227,7 +227,7 @@ public class WorkspacePermissionsFilterTest {
             .get(SECURE_PATH + "/workspace");
 
     assertEquals(response.getStatusCode(), 200);
-    verify(workspaceService).getWorkspaces(any(), anyInt(), nullable(String.class));
+    verify(workspaceService).getWorkspaces(any(), anyInt(), nullable(String.class), any());
     verify(permissionsFilter, never()).checkAccountPermissions(anyString(), any());
     verifyZeroInteractions(subject);
   }
@@ -408,6 +408,41 @@ public class WorkspacePermissionsFilterTest {
     verify(subject).hasPermission(eq("workspace"), eq("workspace123"), eq("configure"));
   }
 
+  @Test
+  public void shouldCheckPermissionsOnProjectsGetting() throws Exception {
+    when(subject.hasPermission("workspace", "workspace123", "read")).thenReturn(true);
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .pathParam("id", "workspace123")
+            .when()
+            .get(SECURE_PATH + "/workspace/{id}/project");
+
+    assertEquals(response.getStatusCode(), 204);
+    verify(workspaceService).getProjects(eq("workspace123"));
+    verify(subject).hasPermission(eq("workspace"), eq("workspace123"), eq("read"));
+  }
+
+  @Test
+  public void shouldCheckPermissionsOnProjectsUpdating() throws Exception {
+    when(subject.hasPermission("workspace", "workspace123", "configure")).thenReturn(true);
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .pathParam("id", "workspace123")
+            .contentType("application/json")
+            .when()
+            .put(SECURE_PATH + "/workspace/{id}/project");
+
+    assertEquals(response.getStatusCode(), 204);
+    verify(workspaceService).updateProjects(eq("workspace123"), any());
+    verify(subject).hasPermission(eq("workspace"), eq("workspace123"), eq("configure"));
+  }
+
   @Test
   public void shouldCheckPermissionsOnCommandAdding() throws Exception {
     when(subject.hasPermission("workspace", "workspace123", "configure")).thenReturn(true);
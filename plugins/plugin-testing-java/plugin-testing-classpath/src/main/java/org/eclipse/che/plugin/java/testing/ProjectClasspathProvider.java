@@ -11,9 +11,15 @@
  */
 package org.eclipse.che.plugin.java.testing;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.project.server.impl.RootDirPathProvider;
@@ -23,20 +29,31 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.JavaModel;
 import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.JavaProject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Project classpath builder. */
+/**
+ * Project classpath builder.
+ *
+ * <p>Resolved classpath of each project is cached until any of the files the classpath is defined
+ * by, i.e. the classpath file of the project, its pom.xml or maven classpath, is changed.
+ */
 @Singleton
 public class ProjectClasspathProvider {
 
   private static final Logger LOG = LoggerFactory.getLogger(ProjectClasspathProvider.class);
 
+  private static final List<String> CLASSPATH_DEFINITION_FILES =
+      Arrays.asList(JavaProject.CLASSPATH_FILENAME, ".che/classpath.maven", "pom.xml");
+
   private final String workspacePath;
+  private final Map<String, ProjectClasspath> cache;
 
   @Inject
   public ProjectClasspathProvider(RootDirPathProvider pathProvider) {
     this.workspacePath = pathProvider.get();
+    this.cache = new ConcurrentHashMap<>();
   }
 
   /**
@@ -47,29 +64,12 @@ public class ProjectClasspathProvider {
    */
   public Set<String> getProjectClassPath(IJavaProject javaProject) {
     try {
-      IClasspathEntry[] resolvedClasspath = javaProject.getResolvedClasspath(false);
-      Set<String> result = new HashSet<>();
-      for (IClasspathEntry classpathEntry : resolvedClasspath) {
-        switch (classpathEntry.getEntryKind()) {
-          case IClasspathEntry.CPE_LIBRARY:
-            IPath path = classpathEntry.getPath();
-            result.add(path.toOSString());
-            break;
-
-          case IClasspathEntry.CPE_SOURCE:
-            IPath outputLocation = classpathEntry.getOutputLocation();
-            if (outputLocation != null) {
-              result.add(workspacePath + outputLocation.toOSString());
-            }
-            break;
-
-          case IClasspathEntry.CPE_PROJECT:
-            IPath projectPath = classpathEntry.getPath();
-            JavaModel javaModel = JavaModelManager.getJavaModelManager().getJavaModel();
-            IJavaProject project = javaModel.getJavaProject(projectPath.toOSString());
-            result.addAll(getProjectClassPath(project));
-            break;
-        }
+      ProjectClasspath classpath = getClasspath(javaProject);
+      Set<String> result = new HashSet<>(classpath.entries);
+      for (String projectPath : classpath.projects) {
+        JavaModel javaModel = JavaModelManager.getJavaModelManager().getJavaModel();
+        IJavaProject project = javaModel.getJavaProject(projectPath);
+        result.addAll(getProjectClassPath(project));
       }
       return result;
     } catch (JavaModelException e) {
@@ -78,4 +78,68 @@ public class ProjectClasspathProvider {
 
     return Collections.emptySet();
   }
+
+  /** Returns classpath of the project from the cache, resolves it if the cache is stale. */
+  private ProjectClasspath getClasspath(IJavaProject javaProject) throws JavaModelException {
+    IPath path = javaProject.getPath();
+    if (path == null) {
+      return resolveClasspath(javaProject, null);
+    }
+    String projectPath = path.toOSString();
+    List<Long> stamps = getStamps(projectPath);
+    ProjectClasspath classpath = cache.get(projectPath);
+    if (classpath == null || !classpath.stamps.equals(stamps)) {
+      classpath = resolveClasspath(javaProject, stamps);
+      cache.put(projectPath, classpath);
+    }
+    return classpath;
+  }
+
+  private ProjectClasspath resolveClasspath(IJavaProject javaProject, List<Long> stamps)
+      throws JavaModelException {
+    IClasspathEntry[] resolvedClasspath = javaProject.getResolvedClasspath(false);
+    Set<String> entries = new HashSet<>();
+    List<String> projects = new ArrayList<>();
+    for (IClasspathEntry classpathEntry : resolvedClasspath) {
+      switch (classpathEntry.getEntryKind()) {
+        case IClasspathEntry.CPE_LIBRARY:
+          IPath path = classpathEntry.getPath();
+          entries.add(path.toOSString());
+          break;
+
+        case IClasspathEntry.CPE_SOURCE:
+          IPath outputLocation = classpathEntry.getOutputLocation();
+          if (outputLocation != null) {
+            entries.add(workspacePath + outputLocation.toOSString());
+          }
+          break;
+
+        case IClasspathEntry.CPE_PROJECT:
+          projects.add(classpathEntry.getPath().toOSString());
+          break;
+      }
+    }
+    return new ProjectClasspath(stamps, entries, projects);
+  }
+
+  /** Returns modification times of the files which define classpath of the project. */
+  private List<Long> getStamps(String projectPath) {
+    List<Long> stamps = new ArrayList<>(CLASSPATH_DEFINITION_FILES.size());
+    for (String file : CLASSPATH_DEFINITION_FILES) {
+      stamps.add(new File(workspacePath + projectPath, file).lastModified());
+    }
+    return stamps;
+  }
+
+  private static class ProjectClasspath {
+    final List<Long> stamps;
+    final Set<String> entries;
+    final List<String> projects;
+
+    ProjectClasspath(List<Long> stamps, Set<String> entries, List<String> projects) {
+      this.stamps = stamps;
+      this.entries = entries;
+      this.projects = projects;
+    }
+  }
 }
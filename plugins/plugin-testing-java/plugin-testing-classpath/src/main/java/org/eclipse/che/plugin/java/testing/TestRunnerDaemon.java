@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.UUID;
+
+/**
+ * Main class of the JVM which stays alive between test runs of a project, so the runs don't pay for
+ * JVM startup and loading of the libraries.
+ *
+ * <p>Libraries of the project are on the classpath of the JVM. Classes of the project are loaded
+ * for each run by a new class loader, so each run uses classes compiled after the previous one.
+ *
+ * <p>On startup the daemon prints the port it accepts runs on and the token runs must be
+ * authenticated by. A run is a connection which sends the token, the name of the main class of the
+ * test framework launcher, directories with classes of the project and arguments of the launcher.
+ * Output of the run is sent back in frames, the last frame contains exit code of the run. Runs are
+ * executed one by one. The daemon exits when its standard input is closed, i.e. when the process
+ * which started it is gone.
+ */
+public class TestRunnerDaemon {
+  static final byte STDOUT_FRAME = 1;
+  static final byte STDERR_FRAME = 2;
+  static final byte EXIT_FRAME = 3;
+
+  /** System property set in the daemon, so launchers know they must not exit the JVM. */
+  static final String DAEMON_PROPERTY = "che.testing.daemon";
+
+  public static void main(String[] args) throws IOException {
+    System.setProperty(DAEMON_PROPERTY, "true");
+    String token = UUID.randomUUID().toString();
+    ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    System.out.println(serverSocket.getLocalPort() + " " + token);
+    System.out.flush();
+
+    Thread parentWatcher =
+        new Thread(
+            () -> {
+              try {
+                while (System.in.read() != -1) {
+                  // wait for the end of input
+                }
+              } catch (IOException ignored) {
+              }
+              System.exit(0);
+            },
+            "ParentWatcher");
+    parentWatcher.setDaemon(true);
+    parentWatcher.start();
+
+    while (true) {
+      try (Socket socket = serverSocket.accept()) {
+        run(socket, token);
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
+  private static void run(Socket socket, String token) throws IOException {
+    DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    if (!token.equals(input.readUTF())) {
+      return;
+    }
+    String mainClass = input.readUTF();
+    URL[] classDirectories = new URL[input.readInt()];
+    for (int i = 0; i < classDirectories.length; i++) {
+      classDirectories[i] = new File(input.readUTF()).toURI().toURL();
+    }
+    String[] arguments = new String[input.readInt()];
+    for (int i = 0; i < arguments.length; i++) {
+      arguments[i] = input.readUTF();
+    }
+
+    DataOutputStream output =
+        new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    PrintStream stdout = System.out;
+    PrintStream stderr = System.err;
+    Thread thread = Thread.currentThread();
+    ClassLoader contextClassLoader = thread.getContextClassLoader();
+    int exitCode = 0;
+    try (URLClassLoader classLoader =
+        new URLClassLoader(classDirectories, TestRunnerDaemon.class.getClassLoader())) {
+      System.setOut(new PrintStream(new FrameOutputStream(output, STDOUT_FRAME), true));
+      System.setErr(new PrintStream(new FrameOutputStream(output, STDERR_FRAME), true));
+      thread.setContextClassLoader(classLoader);
+      Method main = Class.forName(mainClass, true, classLoader).getMethod("main", String[].class);
+      main.invoke(null, (Object) arguments);
+    } catch (InvocationTargetException e) {
+      e.getCause().printStackTrace();
+      exitCode = 1;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      e.printStackTrace();
+      exitCode = 1;
+    } finally {
+      System.out.flush();
+      System.err.flush();
+      System.setOut(stdout);
+      System.setErr(stderr);
+      thread.setContextClassLoader(contextClassLoader);
+    }
+    synchronized (output) {
+      output.writeByte(EXIT_FRAME);
+      output.writeInt(exitCode);
+      output.flush();
+    }
+  }
+
+  /** Sends the written bytes as frames of the given type. */
+  private static class FrameOutputStream extends OutputStream {
+    private final DataOutputStream output;
+    private final byte type;
+
+    FrameOutputStream(DataOutputStream output, byte type) {
+      this.output = output;
+      this.type = type;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      synchronized (output) {
+        output.writeByte(type);
+        output.writeInt(len);
+        output.write(b, off, len);
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      synchronized (output) {
+        output.flush();
+      }
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static org.eclipse.che.plugin.java.testing.TestRunnerDaemon.EXIT_FRAME;
+import static org.eclipse.che.plugin.java.testing.TestRunnerDaemon.STDERR_FRAME;
+
+import com.google.common.io.ByteStreams;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test run executed by a {@link TestRunnerDaemon}, presented as a process so it is handled the same
+ * way as a test run in a new JVM. Output of the run is read from the connection to the daemon.
+ * Destroying the run kills the daemon, as there is no other way to stop tests running in it.
+ */
+class TestRunnerDaemonProcess extends Process {
+  private static final Logger LOG = LoggerFactory.getLogger(TestRunnerDaemonProcess.class);
+
+  private static final int PIPE_SIZE = 64 * 1024;
+
+  private final Socket socket;
+  private final Process daemon;
+  private final PipedInputStream stdout;
+  private final PipedInputStream stderr;
+  private final PipedOutputStream stdoutSink;
+  private final PipedOutputStream stderrSink;
+  private final CountDownLatch finished;
+
+  private volatile int exitCode;
+
+  TestRunnerDaemonProcess(Socket socket, Process daemon) throws IOException {
+    this.socket = socket;
+    this.daemon = daemon;
+    this.stdout = new PipedInputStream(PIPE_SIZE);
+    this.stderr = new PipedInputStream(PIPE_SIZE);
+    this.stdoutSink = new PipedOutputStream(stdout);
+    this.stderrSink = new PipedOutputStream(stderr);
+    this.finished = new CountDownLatch(1);
+    this.exitCode = 1;
+
+    Thread reader = new Thread(this::readFrames, "TestRunnerDaemonOutput");
+    reader.setDaemon(true);
+    reader.start();
+  }
+
+  private void readFrames() {
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+      byte[] buffer = new byte[8192];
+      byte type;
+      while ((type = input.readByte()) != EXIT_FRAME) {
+        OutputStream sink = type == STDERR_FRAME ? stderrSink : stdoutSink;
+        int length = input.readInt();
+        while (length > 0) {
+          int read = input.read(buffer, 0, Math.min(length, buffer.length));
+          if (read < 0) {
+            throw new IOException("Test runner daemon closed connection");
+          }
+          sink.write(buffer, 0, read);
+          length -= read;
+        }
+        sink.flush();
+      }
+      exitCode = input.readInt();
+    } catch (IOException e) {
+      LOG.debug("Test run in daemon is interrupted: {}", e.getMessage());
+    } finally {
+      closeQuietly(stdoutSink);
+      closeQuietly(stderrSink);
+      closeQuietly(socket);
+      finished.countDown();
+    }
+  }
+
+  @Override
+  public OutputStream getOutputStream() {
+    return ByteStreams.nullOutputStream();
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return stdout;
+  }
+
+  @Override
+  public InputStream getErrorStream() {
+    return stderr;
+  }
+
+  @Override
+  public int waitFor() throws InterruptedException {
+    finished.await();
+    return exitCode;
+  }
+
+  @Override
+  public boolean waitFor(long timeout, TimeUnit unit) throws InterruptedException {
+    return finished.await(timeout, unit);
+  }
+
+  @Override
+  public int exitValue() {
+    if (isAlive()) {
+      throw new IllegalThreadStateException("Test run is not finished");
+    }
+    return exitCode;
+  }
+
+  @Override
+  public boolean isAlive() {
+    return finished.getCount() > 0;
+  }
+
+  @Override
+  public void destroy() {
+    if (isAlive()) {
+      daemon.destroy();
+      closeQuietly(socket);
+    }
+  }
+
+  private static void closeQuietly(AutoCloseable closeable) {
+    try {
+      closeable.close();
+    } catch (Exception ignored) {
+    }
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs tests of projects in JVMs which are kept alive between runs, see {@link TestRunnerDaemon}.
+ * There is one JVM per project, it is restarted when libraries of the project change. Runs of
+ * different projects don't wait for each other, even while a JVM is being started.
+ *
+ * <p>Disabled by default, enabled by the {@code che.testing.java.reuse_jvm} property.
+ */
+@Singleton
+public class TestRunnerDaemons {
+  private static final Logger LOG = LoggerFactory.getLogger(TestRunnerDaemons.class);
+
+  private static final long START_TIMEOUT_SEC = 30;
+
+  private static final ThreadFactory OUTPUT_READER_FACTORY =
+      new ThreadFactoryBuilder().setNameFormat("TestRunnerDaemonLog-%d").setDaemon(true).build();
+
+  @Inject(optional = true)
+  @Named("che.testing.java.reuse_jvm")
+  private boolean enabled = false;
+
+  private final Map<String, ProjectDaemon> daemons = new ConcurrentHashMap<>();
+
+  private volatile boolean shutdown;
+
+  /** Returns true if tests should be run by this component. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Runs the main class of test framework launcher in the JVM of the project.
+   *
+   * @param workingDirectory directory of the project, the JVM is started in it
+   * @param classPath classpath of the test run, jars are loaded by the JVM and directories are
+   *     loaded again for each run
+   * @param mainClass main class of the launcher
+   * @param arguments arguments of the launcher
+   * @return the test run
+   * @throws IOException when the JVM is busy with another run or it can't be started or reached
+   */
+  public Process run(
+      String workingDirectory, List<String> classPath, String mainClass, List<String> arguments)
+      throws IOException {
+    Set<String> libraries = new LinkedHashSet<>();
+    List<String> classDirectories = new ArrayList<>();
+    for (String entry : classPath) {
+      if (new File(entry).isDirectory()) {
+        classDirectories.add(entry);
+      } else {
+        libraries.add(entry);
+      }
+    }
+
+    ProjectDaemon projectDaemon =
+        daemons.computeIfAbsent(workingDirectory, dir -> new ProjectDaemon());
+    synchronized (projectDaemon) {
+      if (shutdown) {
+        throw new IOException("Test runner daemons are shut down");
+      }
+      Daemon daemon = projectDaemon.daemon;
+      // the run in progress must not be killed, even if libraries of the project changed
+      if (daemon != null && daemon.run != null && daemon.run.isAlive()) {
+        throw new IOException("Test runner daemon of " + workingDirectory + " is busy");
+      }
+      if (daemon != null && (!daemon.process.isAlive() || !daemon.libraries.equals(libraries))) {
+        daemon.process.destroy();
+        projectDaemon.daemon = daemon = null;
+      }
+      if (daemon == null) {
+        daemon = startDaemon(workingDirectory, libraries);
+        projectDaemon.daemon = daemon;
+      }
+      return run(daemon, classDirectories, mainClass, arguments);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    shutdown = true;
+    for (ProjectDaemon projectDaemon : daemons.values()) {
+      synchronized (projectDaemon) {
+        if (projectDaemon.daemon != null) {
+          projectDaemon.daemon.process.destroy();
+          projectDaemon.daemon = null;
+        }
+      }
+    }
+  }
+
+  private Process run(
+      Daemon daemon, List<String> classDirectories, String mainClass, List<String> arguments)
+      throws IOException {
+    Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.port);
+    try {
+      DataOutputStream output =
+          new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      output.writeUTF(daemon.token);
+      output.writeUTF(mainClass);
+      output.writeInt(classDirectories.size());
+      for (String classDirectory : classDirectories) {
+        output.writeUTF(classDirectory);
+      }
+      output.writeInt(arguments.size());
+      for (String argument : arguments) {
+        output.writeUTF(argument);
+      }
+      output.flush();
+      daemon.run = new TestRunnerDaemonProcess(socket, daemon.process);
+      return daemon.run;
+    } catch (IOException e) {
+      socket.close();
+      throw e;
+    }
+  }
+
+  @VisibleForTesting
+  Daemon startDaemon(String workingDirectory, Set<String> libraries) throws IOException {
+    List<String> classPath = new ArrayList<>(libraries);
+    classPath.add(ClasspathUtil.getJarPathForClass(TestRunnerDaemon.class));
+    Process process =
+        new ProcessBuilder(
+                System.getProperty("java.home") + "/bin/java",
+                "-classpath",
+                String.join(File.pathSeparator, classPath),
+                TestRunnerDaemon.class.getName())
+            .directory(new File(workingDirectory))
+            .start();
+
+    CompletableFuture<String> handshake = new CompletableFuture<>();
+    OUTPUT_READER_FACTORY
+        .newThread(
+            () -> {
+              try (BufferedReader reader =
+                  new BufferedReader(new InputStreamReader(process.getInputStream(), UTF_8))) {
+                handshake.complete(reader.readLine());
+                String line;
+                while ((line = reader.readLine()) != null) {
+                  LOG.debug("Test runner daemon of {}: {}", workingDirectory, line);
+                }
+              } catch (IOException e) {
+                handshake.completeExceptionally(e);
+              }
+            })
+        .start();
+    OUTPUT_READER_FACTORY
+        .newThread(
+            () -> {
+              try (BufferedReader reader =
+                  new BufferedReader(new InputStreamReader(process.getErrorStream(), UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                  LOG.warn("Test runner daemon of {}: {}", workingDirectory, line);
+                }
+              } catch (IOException ignored) {
+              }
+            })
+        .start();
+
+    try {
+      String[] portAndToken = handshake.get(START_TIMEOUT_SEC, TimeUnit.SECONDS).split(" ");
+      return new Daemon(process, libraries, Integer.parseInt(portAndToken[0]), portAndToken[1]);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      process.destroy();
+      throw new IOException("Interrupted while starting test runner daemon");
+    } catch (ExecutionException | TimeoutException | RuntimeException e) {
+      process.destroy();
+      throw new IOException("Can't start test runner daemon of " + workingDirectory, e);
+    }
+  }
+
+  /** Daemon of a project, runs and restarts of the daemon are done while holding its lock. */
+  private static class ProjectDaemon {
+    Daemon daemon;
+  }
+
+  @VisibleForTesting
+  static class Daemon {
+    final Process process;
+    final Set<String> libraries;
+    final int port;
+    final String token;
+
+    TestRunnerDaemonProcess run;
+
+    Daemon(Process process, Set<String> libraries, int port, String token) {
+      this.process = process;
+      this.libraries = libraries;
+      this.port = port;
+      this.token = token;
+    }
+  }
+}
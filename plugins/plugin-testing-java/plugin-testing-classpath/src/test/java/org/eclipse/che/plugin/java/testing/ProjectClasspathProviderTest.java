@@ -13,10 +13,13 @@ package org.eclipse.che.plugin.java.testing;
 
 import static org.fest.assertions.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.lang.reflect.Field;
+import java.nio.file.Files;
 import java.util.Set;
 import org.eclipse.che.api.project.server.impl.RootDirPathProvider;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -132,6 +135,40 @@ public class ProjectClasspathProviderTest {
             PROJECTS_PATH + "/anotherProject/target/classes");
   }
 
+  @Test
+  public void classpathProviderShouldResolveClasspathAgainOnlyWhenProjectConfigurationChanges()
+      throws Exception {
+    File workspace = Files.createTempDirectory("workspace").toFile();
+    File pom = new File(workspace, "testProject/pom.xml");
+    try {
+      pom.getParentFile().mkdirs();
+      pom.createNewFile();
+      pom.setLastModified(1000);
+      ProjectClasspathProvider provider =
+          new ProjectClasspathProvider(new DummyProvider(workspace));
+      when(javaProject.getPath()).thenReturn(new Path("/testProject"));
+      IClasspathEntry jarClasspathEntry =
+          mockClasspathEntry(IClasspathEntry.CPE_LIBRARY, "/absolute/path/to/jar.file", null);
+      when(javaProject.getResolvedClasspath(false))
+          .thenReturn(new IClasspathEntry[] {jarClasspathEntry});
+
+      provider.getProjectClassPath(javaProject);
+      Set<String> classPath = provider.getProjectClassPath(javaProject);
+
+      assertThat(classPath).containsOnly("/absolute/path/to/jar.file");
+      verify(javaProject).getResolvedClasspath(false);
+
+      pom.setLastModified(2000);
+      provider.getProjectClassPath(javaProject);
+
+      verify(javaProject, times(2)).getResolvedClasspath(false);
+    } finally {
+      pom.delete();
+      pom.getParentFile().delete();
+      workspace.delete();
+    }
+  }
+
   private IClasspathEntry mockClasspathEntry(int kind, String path, String outputPath) {
     IClasspathEntry result = mock(IClasspathEntry.class);
     when(result.getEntryKind()).thenReturn(kind);
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.plugin.java.testing.TestRunnerDaemon.EXIT_FRAME;
+import static org.eclipse.che.plugin.java.testing.TestRunnerDaemon.STDERR_FRAME;
+import static org.eclipse.che.plugin.java.testing.TestRunnerDaemon.STDOUT_FRAME;
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.io.ByteStreams;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Test for {@link TestRunnerDaemonProcess} */
+@Listeners(value = {MockitoTestNGListener.class})
+public class TestRunnerDaemonProcessTest {
+
+  @Mock private Process daemon;
+
+  private ServerSocket serverSocket;
+  private Socket daemonSide;
+  private DataOutputStream frames;
+  private TestRunnerDaemonProcess process;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+    Socket socket = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+    daemonSide = serverSocket.accept();
+    frames = new DataOutputStream(daemonSide.getOutputStream());
+    process = new TestRunnerDaemonProcess(socket, daemon);
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    daemonSide.close();
+    serverSocket.close();
+  }
+
+  @Test
+  public void shouldSplitFramesIntoOutputAndErrorStreams() throws Exception {
+    writeFrame(STDOUT_FRAME, "Running tests\n");
+    writeFrame(STDERR_FRAME, "Test failed\n");
+    writeFrame(STDOUT_FRAME, "Tests run: 1\n");
+    frames.writeByte(EXIT_FRAME);
+    frames.writeInt(0);
+    frames.flush();
+
+    assertThat(read(process.getInputStream())).isEqualTo("Running tests\nTests run: 1\n");
+    assertThat(read(process.getErrorStream())).isEqualTo("Test failed\n");
+  }
+
+  @Test
+  public void shouldReturnExitCodeOfTestRun() throws Exception {
+    frames.writeByte(EXIT_FRAME);
+    frames.writeInt(42);
+    frames.flush();
+
+    assertThat(process.waitFor()).isEqualTo(42);
+    assertThat(process.isAlive()).isFalse();
+    assertThat(process.exitValue()).isEqualTo(42);
+  }
+
+  @Test
+  public void shouldFinishWithErrorExitCodeWhenConnectionIsClosed() throws Exception {
+    writeFrame(STDOUT_FRAME, "Running tests\n");
+    daemonSide.close();
+
+    assertThat(process.waitFor()).isEqualTo(1);
+    assertThat(read(process.getInputStream())).isEqualTo("Running tests\n");
+  }
+
+  @Test(expectedExceptions = IllegalThreadStateException.class)
+  public void shouldNotProvideExitValueWhileTestsAreRunning() throws Exception {
+    assertThat(process.waitFor(100, TimeUnit.MILLISECONDS)).isFalse();
+
+    process.exitValue();
+  }
+
+  @Test
+  public void shouldKillDaemonWhenRunningTestsAreDestroyed() throws Exception {
+    process.destroy();
+
+    verify(daemon).destroy();
+    assertThat(process.waitFor(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void shouldNotKillDaemonWhenFinishedTestsAreDestroyed() throws Exception {
+    frames.writeByte(EXIT_FRAME);
+    frames.writeInt(0);
+    frames.flush();
+    process.waitFor();
+
+    process.destroy();
+
+    verify(daemon, never()).destroy();
+  }
+
+  private void writeFrame(byte type, String content) throws IOException {
+    byte[] bytes = content.getBytes(UTF_8);
+    frames.writeByte(type);
+    frames.writeInt(bytes.length);
+    frames.write(bytes);
+    frames.flush();
+  }
+
+  private static String read(InputStream stream) throws IOException {
+    return new String(ByteStreams.toByteArray(stream), UTF_8);
+  }
+}
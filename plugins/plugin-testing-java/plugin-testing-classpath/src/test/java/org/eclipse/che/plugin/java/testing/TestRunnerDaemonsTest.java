@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.testing;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.plugin.java.testing.TestRunnerDaemon.EXIT_FRAME;
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.che.plugin.java.testing.TestRunnerDaemons.Daemon;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Test for {@link TestRunnerDaemons} */
+@Listeners(value = {MockitoTestNGListener.class})
+public class TestRunnerDaemonsTest {
+
+  private static final String TOKEN = "secret";
+  private static final String MAIN_CLASS = "org.eclipse.che.Launcher";
+  private static final String LIBRARY = "/projects/test/lib/junit.jar";
+
+  @Mock private Process daemonProcess;
+
+  private File projectDir;
+  private File classesDir;
+  private ServerSocket serverSocket;
+  private List<Socket> connections;
+  private TestRunnerDaemons daemons;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    projectDir = Files.createTempDirectory("project").toFile();
+    classesDir = new File(projectDir, "classes");
+    classesDir.mkdir();
+    serverSocket = new ServerSocket(0, 10, InetAddress.getLoopbackAddress());
+    connections = new ArrayList<>();
+    daemons = spy(new TestRunnerDaemons());
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    for (Socket connection : connections) {
+      connection.close();
+    }
+    serverSocket.close();
+    classesDir.delete();
+    projectDir.delete();
+  }
+
+  @Test
+  public void shouldSendTestRunToDaemon() throws Exception {
+    startDaemons();
+    Process run = run(LIBRARY, "-suite", "Test1");
+
+    DataInputStream request = new DataInputStream(accept().getInputStream());
+    assertThat(request.readUTF()).isEqualTo(TOKEN);
+    assertThat(request.readUTF()).isEqualTo(MAIN_CLASS);
+    assertThat(request.readInt()).isEqualTo(1);
+    assertThat(request.readUTF()).isEqualTo(classesDir.getPath());
+    assertThat(request.readInt()).isEqualTo(2);
+    assertThat(request.readUTF()).isEqualTo("-suite");
+    assertThat(request.readUTF()).isEqualTo("Test1");
+    finish(0);
+
+    assertThat(run.waitFor()).isEqualTo(0);
+    verify(daemons).startDaemon(projectDir.getPath(), ImmutableSet.of(LIBRARY));
+  }
+
+  @Test
+  public void shouldReuseDaemonWhenLibrariesAreNotChanged() throws Exception {
+    startDaemons();
+    when(daemonProcess.isAlive()).thenReturn(true);
+    Process first = run(LIBRARY);
+    accept();
+    finish(0);
+    first.waitFor();
+
+    run(LIBRARY);
+    accept();
+
+    verify(daemons).startDaemon(anyString(), anySet());
+  }
+
+  @Test(
+    expectedExceptions = IOException.class,
+    expectedExceptionsMessageRegExp = "Test runner daemon of .* is busy"
+  )
+  public void shouldRejectRunWhenDaemonIsBusy() throws Exception {
+    startDaemons();
+    run(LIBRARY);
+    accept();
+
+    run(LIBRARY);
+  }
+
+  @Test
+  public void shouldNotRestartBusyDaemonWhenLibrariesAreChanged() throws Exception {
+    startDaemons();
+    run(LIBRARY);
+    accept();
+
+    try {
+      run("/projects/test/lib/testng.jar");
+    } catch (IOException ignored) {
+    }
+
+    verify(daemons).startDaemon(anyString(), anySet());
+    verify(daemonProcess, never()).destroy();
+  }
+
+  @Test
+  public void shouldRestartDaemonWhenLibrariesAreChanged() throws Exception {
+    startDaemons();
+    when(daemonProcess.isAlive()).thenReturn(true);
+    Process first = run(LIBRARY);
+    accept();
+    finish(0);
+    first.waitFor();
+
+    run("/projects/test/lib/testng.jar");
+    accept();
+
+    verify(daemonProcess).destroy();
+    verify(daemons).startDaemon(projectDir.getPath(), ImmutableSet.of(LIBRARY));
+    verify(daemons)
+        .startDaemon(projectDir.getPath(), ImmutableSet.of("/projects/test/lib/testng.jar"));
+  }
+
+  @Test
+  public void shouldRestartDaemonWhenItIsDead() throws Exception {
+    startDaemons();
+    when(daemonProcess.isAlive()).thenReturn(false);
+    Process first = run(LIBRARY);
+    accept();
+    finish(0);
+    first.waitFor();
+
+    run(LIBRARY);
+    accept();
+
+    verify(daemonProcess).destroy();
+    verify(daemons, times(2)).startDaemon(anyString(), anySet());
+  }
+
+  @Test
+  public void shouldFailRunAndStartDaemonAgainWhenDaemonCanNotBeStarted() throws Exception {
+    doThrow(new IOException("Can't start test runner daemon"))
+        .doAnswer(this::startDaemon)
+        .when(daemons)
+        .startDaemon(anyString(), anySet());
+    try {
+      run(LIBRARY);
+    } catch (IOException ignored) {
+    }
+
+    run(LIBRARY);
+    accept();
+
+    verify(daemons, times(2)).startDaemon(eq(projectDir.getPath()), anySet());
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void shouldFailRunWhenDaemonIsNotReachable() throws Exception {
+    startDaemons();
+    serverSocket.close();
+
+    run(LIBRARY);
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void shouldRejectRunsAfterShutdown() throws Exception {
+    daemons.shutdown();
+
+    run(LIBRARY);
+  }
+
+  /** Makes daemons listen on the server socket of the test instead of starting JVMs. */
+  private void startDaemons() throws IOException {
+    doAnswer(this::startDaemon).when(daemons).startDaemon(anyString(), anySet());
+  }
+
+  private Daemon startDaemon(InvocationOnMock invocation) {
+    return new Daemon(daemonProcess, invocation.getArgument(1), serverSocket.getLocalPort(), TOKEN);
+  }
+
+  private Process run(String library, String... arguments) throws IOException {
+    return daemons.run(
+        projectDir.getPath(), asList(library, classesDir.getPath()), MAIN_CLASS, asList(arguments));
+  }
+
+  private Socket accept() throws IOException {
+    Socket connection = serverSocket.accept();
+    connections.add(connection);
+    return connection;
+  }
+
+  /** Sends exit code of the test run to the last accepted connection. */
+  private void finish(int exitCode) throws IOException {
+    DataOutputStream output =
+        new DataOutputStream(connections.get(connections.size() - 1).getOutputStream());
+    output.writeByte(EXIT_FRAME);
+    output.writeInt(exitCode);
+    output.flush();
+  }
+}
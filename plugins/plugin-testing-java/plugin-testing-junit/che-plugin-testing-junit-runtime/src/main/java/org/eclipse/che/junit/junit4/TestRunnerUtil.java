@@ -44,7 +44,7 @@ public class TestRunnerUtil {
   private static List<JUnit4TestReference> getRequestForOneMethod(
       String suite, int separatorIndex) {
     try {
-      Class suiteClass = Class.forName(suite.substring(0, separatorIndex));
+      Class suiteClass = loadClass(suite.substring(0, separatorIndex));
       String method = suite.substring(separatorIndex + 1);
       Request request = Request.method(suiteClass, method);
       Runner runner = request.getRunner();
@@ -57,7 +57,7 @@ public class TestRunnerUtil {
 
   private static List<JUnit4TestReference> getRequestForClass(String suite) {
     try {
-      Request request = Request.aClass(Class.forName(suite));
+      Request request = Request.aClass(loadClass(suite));
       Runner runner = request.getRunner();
       return singletonList(new JUnit4TestReference(runner, runner.getDescription()));
     } catch (ClassNotFoundException e) {
@@ -70,7 +70,7 @@ public class TestRunnerUtil {
     List<JUnit4TestReference> suites = new LinkedList<>();
     for (String classFqn : args) {
       try {
-        Class<?> aClass = Class.forName(classFqn);
+        Class<?> aClass = loadClass(classFqn);
         Request request = Request.aClass(aClass);
         Runner runner = request.getRunner();
         suites.add(new JUnit4TestReference(runner, runner.getDescription()));
@@ -83,4 +83,12 @@ public class TestRunnerUtil {
     }
     return suites;
   }
+
+  /**
+   * Loads test class by the context class loader, which loads classes of the project when tests run
+   * in a JVM reused between test runs.
+   */
+  private static Class<?> loadClass(String name) throws ClassNotFoundException {
+    return Class.forName(name, true, Thread.currentThread().getContextClassLoader());
+  }
 }
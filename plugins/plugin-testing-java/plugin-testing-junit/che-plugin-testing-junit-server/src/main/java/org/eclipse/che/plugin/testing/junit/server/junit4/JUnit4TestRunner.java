@@ -11,6 +11,7 @@
  */
 package org.eclipse.che.plugin.testing.junit.server.junit4;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -27,6 +28,7 @@ import org.eclipse.che.plugin.java.testing.ClasspathUtil;
 import org.eclipse.che.plugin.java.testing.JavaTestAnnotations;
 import org.eclipse.che.plugin.java.testing.JavaTestFinder;
 import org.eclipse.che.plugin.java.testing.ProjectClasspathProvider;
+import org.eclipse.che.plugin.java.testing.TestRunnerDaemons;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
@@ -45,16 +47,19 @@ public class JUnit4TestRunner extends AbstractJavaTestRunner {
   private String workspacePath;
   private JavaTestFinder javaTestFinder;
   private ProjectClasspathProvider classpathProvider;
+  private TestRunnerDaemons testRunnerDaemons;
 
   @Inject
   public JUnit4TestRunner(
       RootDirPathProvider pathProvider,
       JavaTestFinder javaTestFinder,
-      ProjectClasspathProvider classpathProvider) {
+      ProjectClasspathProvider classpathProvider,
+      TestRunnerDaemons testRunnerDaemons) {
     super(pathProvider.get(), javaTestFinder);
     this.workspacePath = pathProvider.get();
     this.javaTestFinder = javaTestFinder;
     this.classpathProvider = classpathProvider;
+    this.testRunnerDaemons = testRunnerDaemons;
   }
 
   @Override
@@ -116,6 +121,19 @@ public class JUnit4TestRunner extends AbstractJavaTestRunner {
     for (String element : suite) {
       parameters.getParametersList().add(element);
     }
+    if (testRunnerDaemons.isEnabled() && !context.isDebugModeEnable()) {
+      try {
+        return new ProcessHandler(
+            testRunnerDaemons.run(
+                parameters.getWorkingDirectory(),
+                parameters.getClassPath(),
+                parameters.getMainClassName(),
+                parameters.getParametersList().getParameters()));
+      } catch (IOException e) {
+        LOG.warn(
+            "Can't run JUnit tests in test runner daemon, starting new JVM: {}", e.getMessage());
+      }
+    }
     if (context.isDebugModeEnable()) {
       generateDebuggerPort();
       parameters.getVmParameters().add("-Xdebug");
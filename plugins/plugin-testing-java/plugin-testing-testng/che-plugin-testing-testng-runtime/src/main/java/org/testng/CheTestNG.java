@@ -34,7 +34,9 @@ public class CheTestNG extends TestNG {
       } else {
         addCheListeners();
         super.run();
-        System.exit(0);
+        if (!Boolean.getBoolean("che.testing.daemon")) {
+          System.exit(0);
+        }
       }
 
     } catch (Throwable throwable) {
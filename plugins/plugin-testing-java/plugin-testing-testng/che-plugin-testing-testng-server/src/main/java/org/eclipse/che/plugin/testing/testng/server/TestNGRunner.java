@@ -40,6 +40,7 @@ import org.eclipse.che.plugin.java.testing.ClasspathUtil;
 import org.eclipse.che.plugin.java.testing.JavaTestAnnotations;
 import org.eclipse.che.plugin.java.testing.JavaTestFinder;
 import org.eclipse.che.plugin.java.testing.ProjectClasspathProvider;
+import org.eclipse.che.plugin.java.testing.TestRunnerDaemons;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -61,18 +62,21 @@ public class TestNGRunner extends AbstractJavaTestRunner {
   private JavaTestFinder javaTestFinder;
   private final ProjectClasspathProvider classpathProvider;
   private final TestNGSuiteUtil suiteUtil;
+  private final TestRunnerDaemons testRunnerDaemons;
 
   @Inject
   public TestNGRunner(
       RootDirPathProvider pathProvider,
       JavaTestFinder javaTestFinder,
       ProjectClasspathProvider classpathProvider,
-      TestNGSuiteUtil suiteUtil) {
+      TestNGSuiteUtil suiteUtil,
+      TestRunnerDaemons testRunnerDaemons) {
     super(pathProvider.get(), javaTestFinder);
     this.workspacePath = pathProvider.get();
     this.javaTestFinder = javaTestFinder;
     this.classpathProvider = classpathProvider;
     this.suiteUtil = suiteUtil;
+    this.testRunnerDaemons = testRunnerDaemons;
   }
 
   @Override
@@ -106,6 +110,19 @@ public class TestNGRunner extends AbstractJavaTestRunner {
     parameters.getClassPath().addAll(classPath);
 
     parameters.getParametersList().add("-suiteFile", suiteFile.getAbsolutePath());
+    if (testRunnerDaemons.isEnabled() && !context.isDebugModeEnable()) {
+      try {
+        return new ProcessHandler(
+            testRunnerDaemons.run(
+                parameters.getWorkingDirectory(),
+                parameters.getClassPath(),
+                parameters.getMainClassName(),
+                parameters.getParametersList().getParameters()));
+      } catch (IOException e) {
+        LOG.warn(
+            "Can't run TestNG tests in test runner daemon, starting new JVM: {}", e.getMessage());
+      }
+    }
     if (context.isDebugModeEnable()) {
       generateDebuggerPort();
       parameters.getVmParameters().add("-Xdebug");
@@ -120,6 +120,7 @@ public abstract class RunDebugTestAbstractAction extends AbstractPerspectiveActi
       context.setFilePath(selectedNodePath);
     }
     context.setFrameworkName(frameworkAndTestName.first);
+    context.setBatchedMessagesSupported(true);
 
     return context;
   }
@@ -13,6 +13,9 @@ package org.eclipse.che.plugin.testing.ide.handler;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.testing.shared.Constants;
 import org.eclipse.che.api.testing.shared.messages.TestingMessageNames;
@@ -64,6 +67,12 @@ public class TestingHandler implements TestingMessageVisitor {
         .paramsAsString()
         .noResult()
         .withConsumer(this::handleTestingMessage);
+    configurator
+        .newConfiguration()
+        .methodName(Constants.TESTING_RPC_BATCH_METHOD_NAME)
+        .paramsAsString()
+        .noResult()
+        .withConsumer(this::handleTestingMessages);
   }
 
   private void handleTestingMessage(String jsonMessage) {
@@ -73,6 +82,22 @@ public class TestingHandler implements TestingMessageVisitor {
     }
   }
 
+  private void handleTestingMessages(String jsonMessages) {
+    JsonArray messages;
+    try {
+      messages = Json.instance().parse(jsonMessages);
+    } catch (JsonException e) {
+      Log.error(getClass(), "Malformed test messages: " + e.getMessage());
+      return;
+    }
+    for (int i = 0; i < messages.length(); i++) {
+      ClientTestingMessage message = ClientTestingMessage.parse(messages.getObject(i));
+      if (message != null) {
+        message.visit(this);
+      }
+    }
+  }
+
   public void setProcessor(TestingEventsProcessor processor) {
     this.processor = processor;
   }
@@ -216,9 +241,19 @@ public class TestingHandler implements TestingMessageVisitor {
 
   @Override
   public void visitUncapturedOutput(UncapturedOutputMessage uncapturedOutputMessage) {
-    if (processor != null) {
+    if (processor == null) {
+      return;
+    }
+    // output of a batch is folded, print it line by line as it was sent before
+    String output = uncapturedOutputMessage.getOutput();
+    int lineStart = 0;
+    int lineEnd;
+    while ((lineEnd = output.indexOf('\n', lineStart)) >= 0 && lineEnd < output.length() - 1) {
       processor.onUncapturedOutput(
-          uncapturedOutputMessage.getOutput(), uncapturedOutputMessage.getOutputType());
+          output.substring(lineStart, lineEnd + 1), uncapturedOutputMessage.getOutputType());
+      lineStart = lineEnd + 1;
     }
+    processor.onUncapturedOutput(
+        output.substring(lineStart), uncapturedOutputMessage.getOutputType());
   }
 }
@@ -55,7 +55,15 @@ public class ClientTestingMessage implements TestingMessage {
 
   public static ClientTestingMessage parse(String json) {
     try {
-      JsonObject jsonObject = Json.parse(json);
+      return parse(Json.parse(json));
+    } catch (JsonException e) {
+      return null;
+    }
+  }
+
+  /** Creates testing message from its JSON object, returns null if the object is malformed. */
+  public static ClientTestingMessage parse(JsonObject jsonObject) {
+    try {
       String name = jsonObject.getString(Constants.NAME);
       Supplier<? extends ClientTestingMessage> supplier = messageConstructors.get(name);
       if (supplier == null) {
@@ -116,6 +116,8 @@ public class GitService {
 
   @Inject private PathTransformer pathTransformer;
 
+  @Inject private GitStatusCache statusCache;
+
   @QueryParam("projectPath")
   private String projectPath;
 
@@ -140,6 +142,8 @@ public class GitService {
               .withNoTrack(request.isNoTrack())
               .withTrackBranch(request.getTrackBranch())
               .withStartPoint(request.getStartPoint()));
+    } finally {
+      statusCache.invalidateRepository(absolutize(projectPath));
     }
   }
 
@@ -352,6 +356,8 @@ public class GitService {
   public MergeResult merge(MergeRequest request) throws ApiException {
     try (GitConnection gitConnection = getGitConnection()) {
       return gitConnection.merge(request.getCommit());
+    } finally {
+      statusCache.invalidateRepository(absolutize(projectPath));
     }
   }
 
@@ -362,6 +368,8 @@ public class GitService {
   public RebaseResponse rebase(RebaseRequest request) throws ApiException {
     try (GitConnection gitConnection = getGitConnection()) {
       return gitConnection.rebase(request.getOperation(), request.getBranch());
+    } finally {
+      statusCache.invalidateRepository(absolutize(projectPath));
     }
   }
 
@@ -395,6 +403,8 @@ public class GitService {
               .withTimeout(request.getTimeout())
               .withUsername(request.getUsername())
               .withPassword(request.getPassword()));
+    } finally {
+      statusCache.invalidateRepository(absolutize(projectPath));
     }
   }
 
@@ -467,6 +477,8 @@ public class GitService {
       gitConnection.reset(
           ResetParams.create(request.getCommit(), request.getType())
               .withFilePattern(request.getFilePattern()));
+    } finally {
+      statusCache.invalidateRepository(absolutize(projectPath));
     }
   }
 
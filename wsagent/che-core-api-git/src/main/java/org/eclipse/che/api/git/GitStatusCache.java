@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.git;
+
+import static java.nio.file.Files.isDirectory;
+import static org.eclipse.che.api.fs.server.WsPathUtils.SEPARATOR;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.ADDED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.NOT_MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.UNTRACKED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.google.common.collect.ImmutableSet;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus;
+import org.eclipse.che.api.project.server.notification.ProjectDeletedEvent;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.slf4j.Logger;
+
+/**
+ * Caches git statuses of project items, so listing of a folder does not run git status of the whole
+ * working tree.
+ *
+ * <p>Statuses are computed only for the items that are requested and not cached yet. A cached
+ * status of an item, its descendants and its ancestors is dropped when the item is created,
+ * modified or deleted on the file system, e.g. from the terminal or by a build, or when a project
+ * item modification event is published for the item. A change of the index, HEAD, ORIG_HEAD or refs
+ * of a repository, e.g. checkout, merge, reset, rebase or index update, drops all the cached
+ * statuses of the repository.
+ */
+@Singleton
+public class GitStatusCache {
+
+  private static final Logger LOG = getLogger(GitStatusCache.class);
+
+  private static final String GIT_DIR = ".git";
+  private static final String REFS_DIR = "refs";
+  private static final Set<String> STATE_FILES = ImmutableSet.of("index", "HEAD", "ORIG_HEAD");
+
+  private final GitConnectionFactory gitConnectionFactory;
+  private final FileWatcherManager manager;
+  private final EventService eventService;
+  private final EventSubscriber<ProjectItemModifiedEvent> itemModifiedSubscriber;
+  private final EventSubscriber<ProjectDeletedEvent> projectDeletedSubscriber;
+
+  private final Map<String, ProjectStatuses> projects = new ConcurrentHashMap<>();
+
+  private int repositoryStateId;
+  private int workingTreeId;
+
+  @Inject
+  public GitStatusCache(
+      GitConnectionFactory gitConnectionFactory,
+      FileWatcherManager manager,
+      EventService eventService) {
+    this.gitConnectionFactory = gitConnectionFactory;
+    this.manager = manager;
+    this.eventService = eventService;
+
+    itemModifiedSubscriber =
+        new EventSubscriber<ProjectItemModifiedEvent>() {
+          @Override
+          public void onEvent(ProjectItemModifiedEvent event) {
+            invalidateItem(event.getPath());
+            if (event.getOldPath() != null) {
+              invalidateItem(event.getOldPath());
+            }
+          }
+        };
+    projectDeletedSubscriber =
+        new EventSubscriber<ProjectDeletedEvent>() {
+          @Override
+          public void onEvent(ProjectDeletedEvent event) {
+            projects.keySet().removeIf(it -> isSameOrChild(it, event.getProjectPath()));
+          }
+        };
+  }
+
+  @PostConstruct
+  public void startWatcher() {
+    repositoryStateId =
+        manager.registerByMatcher(
+            repositoryStateMatcher(), fsEventConsumer(), fsEventConsumer(), fsEventConsumer());
+    workingTreeId =
+        manager.registerByMatcher(
+            workingTreeMatcher(), this::invalidateItem, this::invalidateItem, this::invalidateItem);
+    eventService.subscribe(itemModifiedSubscriber);
+    eventService.subscribe(projectDeletedSubscriber);
+  }
+
+  @PreDestroy
+  public void stopWatcher() {
+    manager.unRegisterByMatcher(repositoryStateId);
+    manager.unRegisterByMatcher(workingTreeId);
+    eventService.unsubscribe(itemModifiedSubscriber);
+    eventService.unsubscribe(projectDeletedSubscriber);
+  }
+
+  /**
+   * Returns statuses of the given items of a project.
+   *
+   * @param projectWsPath workspace path of the project
+   * @param projectFsPath file system path of the project
+   * @param paths item paths relative to the project
+   * @return statuses of the items mapped by the item paths
+   * @throws GitException if status can not be computed
+   */
+  public Map<String, VcsStatus> getStatus(
+      String projectWsPath, String projectFsPath, List<String> paths) throws GitException {
+    ProjectStatuses cached = projects.computeIfAbsent(projectWsPath, k -> new ProjectStatuses());
+
+    Map<String, VcsStatus> result = new HashMap<>();
+    List<String> missing = new ArrayList<>();
+    long generation = cached.get(paths, result, missing);
+    if (missing.isEmpty()) {
+      return result;
+    }
+
+    Status status;
+    try (GitConnection connection = gitConnectionFactory.getConnection(projectFsPath)) {
+      status = connection.status(missing);
+    }
+    Map<String, VcsStatus> computed = new HashMap<>();
+    missing.forEach(path -> computed.put(path, toVcsStatus(status, path)));
+    cached.putAll(computed, generation);
+    result.putAll(computed);
+    return result;
+  }
+
+  /**
+   * Drops all the cached statuses of the repository, should be called after operations that change
+   * the whole working tree, like checkout, merge, reset or rebase.
+   *
+   * @param repositoryWsPath workspace path of the repository working tree
+   */
+  public void invalidateRepository(String repositoryWsPath) {
+    projects
+        .keySet()
+        .removeIf(
+            projectPath ->
+                isSameOrChild(projectPath, repositoryWsPath)
+                    || isSameOrChild(repositoryWsPath, projectPath));
+    LOG.debug("Repository {} is changed, git statuses are dropped", repositoryWsPath);
+  }
+
+  /** Matches the index, HEAD, ORIG_HEAD and refs files of a repository. */
+  private PathMatcher repositoryStateMatcher() {
+    return it -> {
+      if (isDirectory(it) || it.getParent() == null) {
+        return false;
+      }
+      if (STATE_FILES.contains(it.getFileName().toString())) {
+        return isGitDir(it.getParent());
+      }
+      for (Path parent = it.getParent(); parent.getParent() != null; parent = parent.getParent()) {
+        if (REFS_DIR.equals(parent.getFileName().toString()) && isGitDir(parent.getParent())) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  /**
+   * Matches directories of git working trees, so events of their entries are received. Directories
+   * of the repositories themselves are not matched.
+   */
+  private PathMatcher workingTreeMatcher() {
+    return it -> {
+      if (!isDirectory(it)) {
+        return false;
+      }
+      for (Path dir = it; dir != null; dir = dir.getParent()) {
+        if (isGitDir(dir)) {
+          return false;
+        }
+        if (isDirectory(dir.resolve(GIT_DIR))) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  private static boolean isGitDir(Path path) {
+    return path.getFileName() != null && GIT_DIR.equals(path.getFileName().toString());
+  }
+
+  private Consumer<String> fsEventConsumer() {
+    return it -> {
+      int gitDirIndex = it.lastIndexOf(SEPARATOR + GIT_DIR + SEPARATOR);
+      if (gitDirIndex >= 0) {
+        invalidateRepository(it.substring(0, gitDirIndex));
+      }
+    };
+  }
+
+  private void invalidateItem(String wsPath) {
+    projects.forEach(
+        (projectPath, statuses) -> {
+          if (isSameOrChild(wsPath, projectPath)) {
+            statuses.remove(
+                wsPath.length() > projectPath.length()
+                    ? wsPath.substring(projectPath.length() + 1)
+                    : "");
+          }
+        });
+  }
+
+  private static boolean isSameOrChild(String path, String parent) {
+    return path.startsWith(parent)
+        && (path.length() == parent.length() || path.charAt(parent.length()) == '/');
+  }
+
+  static VcsStatus toVcsStatus(Status status, String path) {
+    if (status.getUntracked().contains(path)) {
+      return UNTRACKED;
+    } else if (status.getAdded().contains(path)) {
+      return ADDED;
+    } else if (status.getModified().contains(path) || status.getChanged().contains(path)) {
+      return MODIFIED;
+    } else {
+      return NOT_MODIFIED;
+    }
+  }
+
+  /** Cached statuses of a single project mapped by the item paths relative to the project. */
+  private static class ProjectStatuses {
+    private final Map<String, VcsStatus> statuses = new HashMap<>();
+    private long generation;
+
+    /**
+     * Puts cached statuses of the given paths to the result and not cached paths to the missing
+     * list, returns the generation of the cache the statuses are read from.
+     */
+    synchronized long get(List<String> paths, Map<String, VcsStatus> result, List<String> missing) {
+      for (String path : paths) {
+        VcsStatus status = statuses.get(path);
+        if (status == null) {
+          missing.add(path);
+        } else {
+          result.put(path, status);
+        }
+      }
+      return generation;
+    }
+
+    /** Caches computed statuses unless some item is changed since they started to be computed. */
+    synchronized void putAll(Map<String, VcsStatus> computed, long expectedGeneration) {
+      if (generation == expectedGeneration) {
+        statuses.putAll(computed);
+      }
+    }
+
+    /** Drops the cached status of the item, all its descendants and ancestors. */
+    synchronized void remove(String path) {
+      generation++;
+      if (path.isEmpty()) {
+        statuses.clear();
+        return;
+      }
+      statuses.remove(path);
+      String prefix = path + SEPARATOR;
+      statuses.keySet().removeIf(it -> it.startsWith(prefix));
+      statuses.remove("");
+      for (int i = path.lastIndexOf(SEPARATOR); i > 0; i = path.lastIndexOf(SEPARATOR, i - 1)) {
+        statuses.remove(path.substring(0, i));
+      }
+    }
+  }
+}
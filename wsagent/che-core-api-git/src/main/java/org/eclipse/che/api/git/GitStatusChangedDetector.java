@@ -156,32 +156,33 @@ public class GitStatusChangedDetector implements EventSubscriber<StatusChangedEv
                 .orElseThrow(() -> new NotFoundException("Can't find a project"));
 
         String projectFsPath = pathTransformer.transform(project.getPath()).toString();
-        GitConnection connection = gitConnectionFactory.getConnection(projectFsPath);
-        Status status = connection.status(emptyList());
-        Status statusDto = newDto(Status.class);
-        statusDto.setAdded(status.getAdded());
-        statusDto.setUntracked(status.getUntracked());
-        statusDto.setChanged(status.getChanged());
-        statusDto.setModified(status.getModified());
-        statusDto.setMissing(status.getMissing());
-        statusDto.setRemoved(status.getRemoved());
-        statusDto.setConflicting(status.getConflicting());
-
-        Map<String, List<EditedRegion>> modifiedFiles = new HashMap<>();
-        for (String file : status.getChanged()) {
-          modifiedFiles.put(file, connection.getEditedRegions(file));
+        try (GitConnection connection = gitConnectionFactory.getConnection(projectFsPath)) {
+          Status status = connection.status(emptyList());
+          Status statusDto = newDto(Status.class);
+          statusDto.setAdded(status.getAdded());
+          statusDto.setUntracked(status.getUntracked());
+          statusDto.setChanged(status.getChanged());
+          statusDto.setModified(status.getModified());
+          statusDto.setMissing(status.getMissing());
+          statusDto.setRemoved(status.getRemoved());
+          statusDto.setConflicting(status.getConflicting());
+
+          Map<String, List<EditedRegion>> modifiedFiles = new HashMap<>();
+          for (String file : status.getChanged()) {
+            modifiedFiles.put(file, connection.getEditedRegions(file));
+          }
+          for (String file : status.getModified()) {
+            modifiedFiles.put(file, connection.getEditedRegions(file));
+          }
+
+          StatusChangedEventDto statusChangeEventDto =
+              newDto(StatusChangedEventDto.class)
+                  .withProjectName(connection.getWorkingDir().getName())
+                  .withStatus(status)
+                  .withModifiedFiles(modifiedFiles);
+
+          transmit(statusChangeEventDto, id);
         }
-        for (String file : status.getModified()) {
-          modifiedFiles.put(file, connection.getEditedRegions(file));
-        }
-
-        StatusChangedEventDto statusChangeEventDto =
-            newDto(StatusChangedEventDto.class)
-                .withProjectName(connection.getWorkingDir().getName())
-                .withStatus(status)
-                .withModifiedFiles(modifiedFiles);
-
-        transmit(statusChangeEventDto, id);
       } catch (GitCommitInProgressException
           | GitCheckoutInProgressException
           | GitInvalidRepositoryException e) {
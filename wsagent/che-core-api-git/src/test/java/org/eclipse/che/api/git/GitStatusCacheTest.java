@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.git;
+
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createFile;
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.NOT_MODIFIED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.UPDATED;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class GitStatusCacheTest {
+
+  private static final String PROJECT_WS_PATH = "/project";
+  private static final String PROJECT_FS_PATH = "/fsPath/project";
+
+  private @Mock GitConnection gitConnection;
+  private @Mock GitConnectionFactory gitConnectionFactory;
+  private @Mock FileWatcherManager fileWatcherManager;
+  private @Mock EventService eventService;
+  private @Mock Status status;
+
+  private GitStatusCache statusCache;
+  private PathMatcher matcher;
+  private Consumer<String> modifyConsumer;
+  private PathMatcher workingTreeMatcher;
+  private Consumer<String> workingTreeModifyConsumer;
+  private EventSubscriber<ProjectItemModifiedEvent> itemModifiedSubscriber;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(gitConnectionFactory.getConnection(PROJECT_FS_PATH)).thenReturn(gitConnection);
+    when(gitConnection.status(anyList())).thenReturn(status);
+
+    statusCache = new GitStatusCache(gitConnectionFactory, fileWatcherManager, eventService);
+    statusCache.startWatcher();
+
+    ArgumentCaptor<PathMatcher> matcherCaptor = ArgumentCaptor.forClass(PathMatcher.class);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Consumer<String>> captor = ArgumentCaptor.forClass(Consumer.class);
+    verify(fileWatcherManager, times(2))
+        .registerByMatcher(matcherCaptor.capture(), any(), captor.capture(), any());
+    matcher = matcherCaptor.getAllValues().get(0);
+    modifyConsumer = captor.getAllValues().get(0);
+    workingTreeMatcher = matcherCaptor.getAllValues().get(1);
+    workingTreeModifyConsumer = captor.getAllValues().get(1);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<EventSubscriber<ProjectItemModifiedEvent>> subscriberCaptor =
+        ArgumentCaptor.forClass(EventSubscriber.class);
+    verify(eventService, times(2)).subscribe(subscriberCaptor.capture());
+    itemModifiedSubscriber = subscriberCaptor.getAllValues().get(0);
+  }
+
+  @Test
+  public void shouldComputeStatusOnlyForNotCachedItems() throws Exception {
+    when(status.getModified()).thenReturn(singletonList("b"));
+
+    statusCache.getStatus(PROJECT_WS_PATH, PROJECT_FS_PATH, asList("a", "b"));
+    Map<String, VcsStatus> statuses =
+        statusCache.getStatus(PROJECT_WS_PATH, PROJECT_FS_PATH, asList("a", "b", "c"));
+
+    assertEquals(statuses.get("a"), NOT_MODIFIED);
+    assertEquals(statuses.get("b"), MODIFIED);
+    assertEquals(statuses.get("c"), NOT_MODIFIED);
+    verify(gitConnection).status(asList("a", "b"));
+    verify(gitConnection).status(singletonList("c"));
+    verify(gitConnection, times(2)).close();
+  }
+
+  @Test
+  public void shouldRecomputeStatusOfModifiedItem() throws Exception {
+    statusCache.getStatus(PROJECT_WS_PATH, PROJECT_FS_PATH, asList("a", "b"));
+
+    itemModifiedSubscriber.onEvent(
+        new ProjectItemModifiedEvent(UPDATED, PROJECT_WS_PATH, "/project/b", false));
+    statusCache.getStatus(PROJECT_WS_PATH, PROJECT_FS_PATH, asList("a", "b"));
+
+    verify(gitConnection).status(singletonList("b"));
+  }
+
+  @Test
+  public void shouldRecomputeStatusOfItemsInsideOfModifiedFolder() throws Exception {
+    statusCache.getStatus(PROJECT_WS_PATH, PROJECT_FS_PATH, asList("a", "dir/b", "dir/c"));
+
+    itemModifiedSubscriber.onEvent(
+        new ProjectItemModifiedEvent(UPDATED, PROJECT_WS_PATH, "/project/dir", true));
+    statusCache.getStatus(PROJECT_WS_PATH, PROJECT_FS_PATH, asList("a", "dir/b", "dir/c"));
+
+    verify(gitConnection).status(asList("dir/b", "dir/c"));
+  }
+
+  @Test
+  public void shouldRecomputeStatusOfItemChangedOnFileSystem() throws Exception {
+    statusCache.getStatus(PROJECT_WS_PATH, PROJECT_FS_PATH, asList("a", "dir", "dir/b", "dir/c"));
+
+    workingTreeModifyConsumer.accept("/project/dir/b");
+    statusCache.getStatus(PROJECT_WS_PATH, PROJECT_FS_PATH, asList("a", "dir", "dir/b", "dir/c"));
+
+    verify(gitConnection).status(asList("dir", "dir/b"));
+  }
+
+  @Test
+  public void shouldWatchDirectoriesOfWorkingTrees() throws Exception {
+    Path root = createTempDirectory("git-status-cache");
+    try {
+      Path project = createDirectories(root.resolve("project"));
+      Path gitDir = createDirectories(project.resolve(".git").resolve("refs"));
+      Path src = createDirectories(project.resolve("src"));
+      Path file = createFile(src.resolve("A.java"));
+      Path other = createDirectories(root.resolve("other"));
+
+      assertTrue(workingTreeMatcher.matches(project));
+      assertTrue(workingTreeMatcher.matches(src));
+      assertFalse(workingTreeMatcher.matches(file));
+      assertFalse(workingTreeMatcher.matches(gitDir));
+      assertFalse(workingTreeMatcher.matches(other));
+    } finally {
+      IoUtil.deleteRecursive(root.toFile());
+    }
+  }
+
+  @Test
+  public void shouldRecomputeAllStatusesWhenIndexIsChanged() throws Exception {
+    statusCache.getStatus(PROJECT_WS_PATH, PROJECT_FS_PATH, asList("a", "b"));
+
+    modifyConsumer.accept("/project/.git/index");
+    statusCache.getStatus(PROJECT_WS_PATH, PROJECT_FS_PATH, asList("a", "b"));
+
+    verify(gitConnection, times(2)).status(asList("a", "b"));
+  }
+
+  @Test
+  public void shouldWatchOnlyRepositoryStateFiles() throws Exception {
+    assertTrue(matcher.matches(Paths.get("/projects/project/.git/index")));
+    assertTrue(matcher.matches(Paths.get("/projects/project/.git/HEAD")));
+    assertTrue(matcher.matches(Paths.get("/projects/project/.git/ORIG_HEAD")));
+    assertTrue(matcher.matches(Paths.get("/projects/project/.git/refs/heads/master")));
+    assertFalse(matcher.matches(Paths.get("/projects/project/.git/objects/ab/cdef")));
+    assertFalse(matcher.matches(Paths.get("/projects/project/.git/logs/refs/heads/master")));
+    assertFalse(matcher.matches(Paths.get("/projects/project/index")));
+    assertFalse(matcher.matches(Paths.get("/projects/project/refs/heads/master")));
+  }
+
+  @Test
+  public void shouldRecomputeAllStatusesAfterRepositoryInvalidation() throws Exception {
+    statusCache.getStatus(PROJECT_WS_PATH, PROJECT_FS_PATH, asList("a", "b"));
+
+    statusCache.invalidateRepository(PROJECT_WS_PATH);
+    statusCache.getStatus(PROJECT_WS_PATH, PROJECT_FS_PATH, asList("a", "b"));
+
+    verify(gitConnection, times(2)).status(asList("a", "b"));
+  }
+}
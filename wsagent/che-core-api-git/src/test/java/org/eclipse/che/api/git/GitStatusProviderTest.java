@@ -25,12 +25,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.fs.server.PathTransformer;
 import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus;
 import org.eclipse.che.api.project.shared.RegisteredProject;
-import org.mockito.InjectMocks;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -48,11 +49,18 @@ public class GitStatusProviderTest {
   private @Mock GitConnectionFactory gitConnectionFactory;
   private @Mock PathTransformer pathTransformer;
   private @Mock ProjectManager projectManager;
+  private @Mock FileWatcherManager fileWatcherManager;
+  private @Mock EventService eventService;
   private @Mock Status statusDto;
-  private @InjectMocks GitStatusProvider gitStatusProvider;
+  private GitStatusProvider gitStatusProvider;
 
   @BeforeMethod
   public void setup() throws Exception {
+    gitStatusProvider =
+        new GitStatusProvider(
+            new GitStatusCache(gitConnectionFactory, fileWatcherManager, eventService),
+            pathTransformer,
+            projectManager);
     when(projectManager.getClosest(anyString())).thenReturn(Optional.of(registeredProject));
     when(registeredProject.getPath()).thenReturn("/project");
     Path path = mock(Path.class);
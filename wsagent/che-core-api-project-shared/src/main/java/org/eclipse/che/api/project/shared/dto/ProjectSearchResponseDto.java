@@ -23,4 +23,14 @@ public interface ProjectSearchResponseDto {
   long getTotalHits();
 
   ProjectSearchResponseDto withTotalHits(long totalHits);
+
+  /** Whether initial indexing of the project files is complete, results may be partial if not. */
+  boolean isIndexingComplete();
+
+  ProjectSearchResponseDto withIndexingComplete(boolean indexingComplete);
+
+  /** Number of files processed by initial indexing so far. */
+  long getIndexedFiles();
+
+  ProjectSearchResponseDto withIndexedFiles(long indexedFiles);
 }
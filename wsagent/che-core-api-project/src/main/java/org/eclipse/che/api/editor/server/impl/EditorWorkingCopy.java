@@ -12,6 +12,7 @@
 package org.eclipse.che.api.editor.server.impl;
 
 import static java.lang.String.format;
+import static java.nio.charset.Charset.defaultCharset;
 import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.INSERT;
 import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.REMOVE;
 
@@ -20,18 +21,24 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import org.apache.commons.io.input.ReaderInputStream;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
 
 /**
  * In-memory implementation of working copy for opened editor on client.
  *
+ * <p>Editor content changes are applied to a {@link PieceTable}, so the content is not decoded and
+ * re-encoded on each change. Bytes are materialized only when they are requested (e.g. to save the
+ * working copy) and are kept until the next change.
+ *
  * @author Roman Nikitenko
  */
 public class EditorWorkingCopy {
   private String path;
   private String projectPath;
   private byte[] content;
+  private PieceTable text;
 
   /**
    * Creates a working copy for opened editor on client.
@@ -51,11 +58,9 @@ public class EditorWorkingCopy {
    *
    * @return content ot the working copy
    */
-  public byte[] getContentAsBytes() {
-    if (content == null) {
-      content = new byte[0];
-    }
-    return Arrays.copyOf(content, content.length);
+  public synchronized byte[] getContentAsBytes() {
+    byte[] bytes = bytes();
+    return Arrays.copyOf(bytes, bytes.length);
   }
 
   /**
@@ -63,17 +68,21 @@ public class EditorWorkingCopy {
    *
    * @return content ot the working copy
    */
-  public String getContentAsString() {
-    return new String(getContentAsBytes());
+  public synchronized String getContentAsString() {
+    return text().toString();
   }
 
   /**
-   * Gets content of the working copy.
+   * Gets content of the working copy. The returned stream is a snapshot of the content and is not
+   * affected by the changes applied after this method is called.
    *
    * @return content ot the working copy
    */
-  public InputStream getContent() {
-    return new ByteArrayInputStream(getContentAsBytes());
+  public synchronized InputStream getContent() {
+    if (content != null) {
+      return new ByteArrayInputStream(content);
+    }
+    return new ReaderInputStream(text.reader(), defaultCharset());
   }
 
   /**
@@ -82,8 +91,9 @@ public class EditorWorkingCopy {
    * @param content content
    * @return current working copy after updating content
    */
-  EditorWorkingCopy updateContent(byte[] content) {
+  synchronized EditorWorkingCopy updateContent(byte[] content) {
     this.content = content;
+    this.text = null;
     return this;
   }
 
@@ -93,8 +103,9 @@ public class EditorWorkingCopy {
    * @param content content
    * @return current working copy after updating content
    */
-  EditorWorkingCopy updateContent(String content) {
-    updateContent(content.getBytes());
+  synchronized EditorWorkingCopy updateContent(String content) {
+    this.content = null;
+    this.text = new PieceTable(content);
     return this;
   }
 
@@ -121,28 +132,34 @@ public class EditorWorkingCopy {
    *
    * @param changes contains editor content changes
    */
-  void applyChanges(EditorChangesDto changes) {
-    synchronized (this) {
-      String text = changes.getText();
-      int offset = changes.getOffset();
-      int removedCharCount = changes.getRemovedCharCount();
-
-      String newContent = null;
-      String oldContent = getContentAsString();
-      EditorChangesDto.Type type = changes.getType();
-      if (type == INSERT) {
-        newContent = new StringBuilder(oldContent).insert(offset, text).toString();
-      }
-
-      if (type == REMOVE && removedCharCount > 0) {
-        newContent =
-            new StringBuilder(oldContent).delete(offset, offset + removedCharCount).toString();
-      }
-
-      if (newContent != null) {
-        updateContent(newContent);
-      }
+  synchronized void applyChanges(EditorChangesDto changes) {
+    int offset = changes.getOffset();
+    int removedCharCount = changes.getRemovedCharCount();
+
+    EditorChangesDto.Type type = changes.getType();
+    if (type == INSERT) {
+      text().insert(offset, changes.getText());
+      content = null;
+    }
+
+    if (type == REMOVE && removedCharCount > 0) {
+      text().remove(offset, removedCharCount);
+      content = null;
+    }
+  }
+
+  private byte[] bytes() {
+    if (content == null) {
+      content = text == null ? new byte[0] : text.toString().getBytes();
+    }
+    return content;
+  }
+
+  private PieceTable text() {
+    if (text == null) {
+      text = new PieceTable(new String(bytes()));
     }
+    return text;
   }
 
   /** Returns the path to the persistent working copy */
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.editor.server.impl;
+
+import static java.lang.String.format;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Piece table text buffer which is used to keep the content of an editor working copy.
+ *
+ * <p>The text is described by a sequence of pieces, each of them referencing a range either of the
+ * original (immutable) text or of the append-only buffer of inserted text. Insertions and removals
+ * only split, trim or add pieces, so the cost of an edit does not depend on the size of the text.
+ * Consecutive insertions (e.g. typing) extend the last added piece instead of creating a new one.
+ * When the number of pieces grows beyond {@link #MAX_PIECES} or the whole text is requested, the
+ * table is compacted into a single piece.
+ *
+ * <p>This class is not thread safe, the owner is responsible for synchronization.
+ */
+class PieceTable {
+  static final int MAX_PIECES = 1024;
+
+  private String original;
+  private StringBuilder added;
+  private List<Piece> pieces;
+  private int length;
+
+  PieceTable(String text) {
+    reset(text);
+  }
+
+  /** Returns the number of characters in the text. */
+  int length() {
+    return length;
+  }
+
+  /** Returns the number of pieces which describe the text at the moment. */
+  int pieceCount() {
+    return pieces.size();
+  }
+
+  /**
+   * Inserts the text at the given offset.
+   *
+   * @param offset offset to insert text at
+   * @param text text to insert
+   * @throws IndexOutOfBoundsException if offset is out of text bounds
+   */
+  void insert(int offset, String text) {
+    if (offset < 0 || offset > length) {
+      throw new IndexOutOfBoundsException(
+          format("Offset %d is out of bounds, text length is %d", offset, length));
+    }
+    if (text == null || text.isEmpty()) {
+      return;
+    }
+
+    int index = 0;
+    int pieceStart = 0;
+    while (index < pieces.size() && pieceStart + pieces.get(index).length <= offset) {
+      pieceStart += pieces.get(index).length;
+      index++;
+    }
+
+    int addedStart = added.length();
+    added.append(text);
+    length += text.length();
+
+    if (offset == pieceStart && index > 0) {
+      Piece previous = pieces.get(index - 1);
+      if (previous.added && previous.start + previous.length == addedStart) {
+        pieces.set(index - 1, new Piece(true, previous.start, previous.length + text.length()));
+        return;
+      }
+    }
+
+    Piece inserted = new Piece(true, addedStart, text.length());
+    if (offset == pieceStart) {
+      pieces.add(index, inserted);
+    } else {
+      Piece split = pieces.get(index);
+      int head = offset - pieceStart;
+      pieces.set(index, new Piece(split.added, split.start, head));
+      pieces.add(index + 1, inserted);
+      pieces.add(index + 2, new Piece(split.added, split.start + head, split.length - head));
+    }
+    compactIfNeeded();
+  }
+
+  /**
+   * Removes the given number of characters starting from the given offset.
+   *
+   * @param offset offset of the first character to remove
+   * @param count number of characters to remove
+   * @throws IndexOutOfBoundsException if range is out of text bounds
+   */
+  void remove(int offset, int count) {
+    if (offset < 0 || count < 0 || offset + count > length) {
+      throw new IndexOutOfBoundsException(
+          format(
+              "Range [%d, %d) is out of bounds, text length is %d",
+              offset, offset + count, length));
+    }
+    if (count == 0) {
+      return;
+    }
+
+    int end = offset + count;
+    int index = 0;
+    int pieceStart = 0;
+    while (index < pieces.size() && pieceStart < end) {
+      Piece piece = pieces.get(index);
+      int pieceEnd = pieceStart + piece.length;
+      if (pieceEnd <= offset) {
+        pieceStart = pieceEnd;
+        index++;
+        continue;
+      }
+
+      int head = Math.max(0, offset - pieceStart);
+      int tail = Math.max(0, pieceEnd - end);
+      if (head == 0 && tail == 0) {
+        pieces.remove(index);
+      } else if (head > 0 && tail > 0) {
+        pieces.set(index, new Piece(piece.added, piece.start, head));
+        pieces.add(index + 1, new Piece(piece.added, piece.start + piece.length - tail, tail));
+        index += 2;
+      } else if (head > 0) {
+        pieces.set(index, new Piece(piece.added, piece.start, head));
+        index++;
+      } else {
+        pieces.set(index, new Piece(piece.added, piece.start + piece.length - tail, tail));
+        index++;
+      }
+      pieceStart = pieceEnd;
+    }
+    length -= count;
+    compactIfNeeded();
+  }
+
+  /** Replaces the whole text. */
+  void reset(String text) {
+    original = text;
+    added = new StringBuilder();
+    pieces = new ArrayList<>();
+    if (!text.isEmpty()) {
+      pieces.add(new Piece(false, 0, text.length()));
+    }
+    length = text.length();
+  }
+
+  /**
+   * Returns a reader over the current state of the text. Further modifications of the table are not
+   * visible for the returned reader. Only the pieces and the inserted text are copied, so the cost
+   * does not depend on the size of the original text.
+   */
+  Reader reader() {
+    return new PieceReader(original, added.toString(), new ArrayList<>(pieces));
+  }
+
+  /** Returns the whole text, the table is compacted into the single piece as a side effect. */
+  @Override
+  public String toString() {
+    if (pieces.isEmpty()) {
+      return "";
+    }
+    if (pieces.size() == 1 && !pieces.get(0).added) {
+      Piece piece = pieces.get(0);
+      if (piece.start != 0 || piece.length != original.length()) {
+        reset(original.substring(piece.start, piece.start + piece.length));
+      }
+      return original;
+    }
+
+    StringBuilder text = new StringBuilder(length);
+    for (Piece piece : pieces) {
+      CharSequence source = piece.added ? added : original;
+      text.append(source, piece.start, piece.start + piece.length);
+    }
+    String result = text.toString();
+    reset(result);
+    return result;
+  }
+
+  private void compactIfNeeded() {
+    if (pieces.size() > MAX_PIECES) {
+      toString();
+    }
+  }
+
+  private static class Piece {
+    final boolean added;
+    final int start;
+    final int length;
+
+    Piece(boolean added, int start, int length) {
+      this.added = added;
+      this.start = start;
+      this.length = length;
+    }
+  }
+
+  private static class PieceReader extends Reader {
+    private final String original;
+    private final String added;
+    private final List<Piece> pieces;
+
+    private int index;
+    private int position;
+
+    PieceReader(String original, String added, List<Piece> pieces) {
+      this.original = original;
+      this.added = added;
+      this.pieces = pieces;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int count) {
+      if (count == 0) {
+        return 0;
+      }
+      while (index < pieces.size() && position == pieces.get(index).length) {
+        index++;
+        position = 0;
+      }
+      if (index == pieces.size()) {
+        return -1;
+      }
+
+      Piece piece = pieces.get(index);
+      int read = Math.min(count, piece.length - position);
+      String source = piece.added ? added : original;
+      int start = piece.start + position;
+      source.getChars(start, start + read, buffer, offset);
+      position += read;
+      return read;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -11,7 +11,12 @@
  */
 package org.eclipse.che.api.fs.server;
 
+import static com.google.inject.multibindings.Multibinder.newSetBinder;
+
 import com.google.inject.AbstractModule;
+import com.google.inject.name.Names;
+import java.nio.file.PathMatcher;
+import org.eclipse.che.api.fs.server.impl.DotGitExcludeMatcher;
 import org.eclipse.che.api.fs.server.impl.RootAwarePathTransformer;
 import org.eclipse.che.api.fs.server.impl.SimpleFsDtoConverter;
 import org.eclipse.che.api.fs.server.impl.ValidatingFsManager;
@@ -23,5 +28,9 @@ public class FsApiModule extends AbstractModule {
     bind(FsManager.class).to(ValidatingFsManager.class);
     bind(FsDtoConverter.class).to(SimpleFsDtoConverter.class);
     bind(PathTransformer.class).to(RootAwarePathTransformer.class);
+
+    newSetBinder(binder(), PathMatcher.class, Names.named("che.fs.export.excludes"))
+        .addBinding()
+        .to(DotGitExcludeMatcher.class);
   }
 }
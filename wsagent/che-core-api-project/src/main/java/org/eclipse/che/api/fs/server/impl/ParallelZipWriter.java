@@ -0,0 +1,516 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.fs.server.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes ZIP archive to a stream compressing large files in parallel.
+ *
+ * <p>Files are split into chunks which are deflated independently by the given executor, each chunk
+ * except the last one ends with a sync flush, so the chunks concatenated form a single deflate
+ * stream. The last 32 KB of the preceding chunk are used as the dictionary of a chunk, so the
+ * compression ratio is close to the one of the sequential compression. Checksums of the chunks are
+ * combined into the checksum of the entry.
+ *
+ * <p>Deflated entries are written with a data descriptor, so nothing has to be buffered except
+ * chunks which are compressed ahead. Stored entries are read twice, first to compute the checksum
+ * which has to precede their data. Archives bigger than 4 GB or with more than 65535 entries use
+ * ZIP64 extensions.
+ *
+ * <p>The writer is not thread safe, files must be added by a single thread.
+ */
+class ParallelZipWriter {
+
+  static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+  private static final int DICTIONARY_SIZE = 32 * 1024;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+  private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+  private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+  private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+  private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+  private static final int END_SIGNATURE = 0x06054b50;
+
+  private static final int STORED = 0;
+  private static final int DEFLATED = 8;
+  private static final int DATA_DESCRIPTOR_FLAG = 0x0008;
+  private static final int UTF8_FLAG = 0x0800;
+  private static final int ZIP64_EXTRA_ID = 0x0001;
+  private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+  private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+  /** Deflaters of the compressing threads, creation of a deflater is costly for small files. */
+  private static final ThreadLocal<Deflater> DEFLATERS =
+      ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+
+  private final OutputStream out;
+  private final ExecutorService compressors;
+  private final int chunkSize;
+  private final int maxChunksInProgress;
+  private final Deque<Entry> pending;
+  private final List<Entry> written;
+
+  private int chunksInProgress;
+  private long offset;
+
+  /**
+   * Creates writer.
+   *
+   * @param out stream to write the archive to, it is not closed by the writer
+   * @param compressors executor which compresses chunks
+   * @param chunkSize size of the chunks files are split into
+   * @param maxChunksInProgress maximum number of chunks which are compressed or wait to be written,
+   *     limits memory used by the writer
+   */
+  ParallelZipWriter(
+      OutputStream out, ExecutorService compressors, int chunkSize, int maxChunksInProgress) {
+    this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+    this.compressors = compressors;
+    this.chunkSize = chunkSize;
+    this.maxChunksInProgress = maxChunksInProgress;
+    this.pending = new ArrayDeque<>();
+    this.written = new ArrayList<>();
+  }
+
+  /**
+   * Adds file to the archive. The file may be written later, when the files added before it are
+   * written.
+   *
+   * @param name name of the entry
+   * @param file file to add
+   * @param compress whether the file should be deflated or stored as is
+   */
+  void addFile(String name, Path file, boolean compress) throws IOException {
+    long size = Files.size(file);
+    Entry entry =
+        new Entry(
+            name, file, compress ? DEFLATED : STORED, Files.getLastModifiedTime(file).toMillis());
+    pending.add(entry);
+    if (!compress) {
+      return;
+    }
+    long chunks = size == 0 ? 1 : (size + chunkSize - 1) / chunkSize;
+    for (long i = 0; i < chunks; i++) {
+      while (chunksInProgress >= maxChunksInProgress) {
+        writeNext();
+      }
+      long position = i * chunkSize;
+      int length = (int) Math.min(chunkSize, size - position);
+      boolean last = i == chunks - 1;
+      entry.chunks.add(compressors.submit(() -> compress(file, position, length, last)));
+      chunksInProgress++;
+    }
+    entry.submitted = true;
+  }
+
+  /** Writes pending files and the central directory, and flushes the stream. */
+  void finish() throws IOException {
+    while (!pending.isEmpty()) {
+      writeNext();
+    }
+    writeCentralDirectory();
+    out.flush();
+  }
+
+  /** Cancels compression of the pending files. */
+  void abort() {
+    for (Entry entry : pending) {
+      for (Future<Chunk> chunk : entry.chunks) {
+        chunk.cancel(true);
+      }
+    }
+    pending.clear();
+  }
+
+  /** Writes the next chunk of the first pending entry, or the whole entry if it is stored. */
+  private void writeNext() throws IOException {
+    Entry entry = pending.getFirst();
+    if (entry.method == STORED) {
+      writeStored(entry);
+      pending.removeFirst();
+      return;
+    }
+    if (entry.offset < 0) {
+      writeLocalHeader(entry);
+    }
+    Chunk chunk = await(entry.chunks.removeFirst());
+    chunksInProgress--;
+    chunk.data.writeTo(out);
+    entry.crc = crc32Combine(entry.crc, chunk.crc, chunk.size);
+    entry.size += chunk.size;
+    entry.compressedSize += chunk.data.size();
+    offset += chunk.data.size();
+    if (entry.submitted && entry.chunks.isEmpty()) {
+      writeDataDescriptor(entry);
+      written.add(entry);
+      pending.removeFirst();
+    }
+  }
+
+  private Chunk compress(Path file, long position, int length, boolean last) throws IOException {
+    int dictionarySize = (int) Math.min(position, DICTIONARY_SIZE);
+    ByteBuffer buffer = ByteBuffer.allocate(dictionarySize + length);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      channel.position(position - dictionarySize);
+      while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+        // read the whole chunk
+      }
+    }
+    // file may be truncated after it is added
+    dictionarySize = Math.min(dictionarySize, buffer.position());
+    int size = buffer.position() - dictionarySize;
+    byte[] bytes = buffer.array();
+
+    CRC32 crc = new CRC32();
+    crc.update(bytes, dictionarySize, size);
+
+    ByteArrayOutputStream data = new ByteArrayOutputStream(size / 2 + 64);
+    byte[] output = new byte[Math.min(BUFFER_SIZE, size + 64)];
+    Deflater deflater = DEFLATERS.get();
+    try {
+      if (dictionarySize > 0) {
+        deflater.setDictionary(bytes, 0, dictionarySize);
+      }
+      deflater.setInput(bytes, dictionarySize, size);
+      if (last) {
+        deflater.finish();
+        while (!deflater.finished()) {
+          data.write(output, 0, deflater.deflate(output));
+        }
+      } else {
+        int deflated;
+        do {
+          deflated = deflater.deflate(output, 0, output.length, Deflater.SYNC_FLUSH);
+          data.write(output, 0, deflated);
+        } while (deflated == output.length);
+      }
+    } finally {
+      deflater.reset();
+    }
+    return new Chunk(data, crc.getValue(), size);
+  }
+
+  private void writeStored(Entry entry) throws IOException {
+    // stored entry can't be read with a data descriptor, so the checksum is computed beforehand
+    byte[] buffer = new byte[BUFFER_SIZE];
+    CRC32 crc = new CRC32();
+    long size = 0;
+    try (InputStream in = Files.newInputStream(entry.file)) {
+      int length;
+      while ((length = in.read(buffer)) != -1) {
+        crc.update(buffer, 0, length);
+        size += length;
+      }
+    }
+    entry.crc = crc.getValue();
+    entry.size = size;
+    entry.compressedSize = size;
+    writeLocalHeader(entry);
+    try (InputStream in = Files.newInputStream(entry.file)) {
+      long left = size;
+      while (left > 0) {
+        int length = in.read(buffer, 0, (int) Math.min(buffer.length, left));
+        if (length == -1) {
+          throw new IOException("File " + entry.file + " was truncated while it was archived");
+        }
+        out.write(buffer, 0, length);
+        left -= length;
+      }
+    }
+    offset += size;
+    written.add(entry);
+  }
+
+  private void writeLocalHeader(Entry entry) throws IOException {
+    entry.offset = offset;
+    boolean zip64 = entry.method == STORED && entry.size >= ZIP64_MAGIC;
+    writeInt(LOCAL_HEADER_SIGNATURE);
+    writeShort(zip64 ? 45 : entry.method == STORED ? 10 : 20);
+    writeShort(entry.flags());
+    writeShort(entry.method);
+    writeInt(entry.dosTime);
+    if (entry.method == STORED) {
+      writeInt(entry.crc);
+      writeInt(zip64 ? ZIP64_MAGIC : entry.compressedSize);
+      writeInt(zip64 ? ZIP64_MAGIC : entry.size);
+    } else {
+      // values follow the data in the data descriptor
+      writeInt(0);
+      writeInt(0);
+      writeInt(0);
+    }
+    writeShort(entry.name.length);
+    writeShort(zip64 ? 20 : 0);
+    writeBytes(entry.name);
+    if (zip64) {
+      writeShort(ZIP64_EXTRA_ID);
+      writeShort(16);
+      writeLong(entry.size);
+      writeLong(entry.compressedSize);
+    }
+  }
+
+  private void writeDataDescriptor(Entry entry) throws IOException {
+    writeInt(DATA_DESCRIPTOR_SIGNATURE);
+    writeInt(entry.crc);
+    if (entry.compressedSize >= ZIP64_MAGIC || entry.size >= ZIP64_MAGIC) {
+      writeLong(entry.compressedSize);
+      writeLong(entry.size);
+    } else {
+      writeInt(entry.compressedSize);
+      writeInt(entry.size);
+    }
+  }
+
+  private void writeCentralDirectory() throws IOException {
+    long start = offset;
+    for (Entry entry : written) {
+      writeCentralHeader(entry);
+    }
+    long size = offset - start;
+    int count = written.size();
+    if (count >= ZIP64_MAGIC_COUNT || start >= ZIP64_MAGIC || size >= ZIP64_MAGIC) {
+      long zip64End = offset;
+      writeInt(ZIP64_END_SIGNATURE);
+      writeLong(44);
+      writeShort(45);
+      writeShort(45);
+      writeInt(0);
+      writeInt(0);
+      writeLong(count);
+      writeLong(count);
+      writeLong(size);
+      writeLong(start);
+      writeInt(ZIP64_LOCATOR_SIGNATURE);
+      writeInt(0);
+      writeLong(zip64End);
+      writeInt(1);
+    }
+    writeInt(END_SIGNATURE);
+    writeShort(0);
+    writeShort(0);
+    writeShort(Math.min(count, ZIP64_MAGIC_COUNT));
+    writeShort(Math.min(count, ZIP64_MAGIC_COUNT));
+    writeInt(Math.min(size, ZIP64_MAGIC));
+    writeInt(Math.min(start, ZIP64_MAGIC));
+    writeShort(0);
+  }
+
+  private void writeCentralHeader(Entry entry) throws IOException {
+    boolean zip64Size = entry.size >= ZIP64_MAGIC;
+    boolean zip64CompressedSize = entry.compressedSize >= ZIP64_MAGIC;
+    boolean zip64Offset = entry.offset >= ZIP64_MAGIC;
+    int extraSize = (zip64Size ? 8 : 0) + (zip64CompressedSize ? 8 : 0) + (zip64Offset ? 8 : 0);
+    int version = extraSize > 0 ? 45 : entry.method == STORED ? 10 : 20;
+    writeInt(CENTRAL_HEADER_SIGNATURE);
+    writeShort(version);
+    writeShort(version);
+    writeShort(entry.flags());
+    writeShort(entry.method);
+    writeInt(entry.dosTime);
+    writeInt(entry.crc);
+    writeInt(zip64CompressedSize ? ZIP64_MAGIC : entry.compressedSize);
+    writeInt(zip64Size ? ZIP64_MAGIC : entry.size);
+    writeShort(entry.name.length);
+    writeShort(extraSize > 0 ? extraSize + 4 : 0);
+    // comment length, disk number, internal and external attributes
+    writeShort(0);
+    writeShort(0);
+    writeShort(0);
+    writeInt(0);
+    writeInt(zip64Offset ? ZIP64_MAGIC : entry.offset);
+    writeBytes(entry.name);
+    if (extraSize > 0) {
+      writeShort(ZIP64_EXTRA_ID);
+      writeShort(extraSize);
+      if (zip64Size) {
+        writeLong(entry.size);
+      }
+      if (zip64CompressedSize) {
+        writeLong(entry.compressedSize);
+      }
+      if (zip64Offset) {
+        writeLong(entry.offset);
+      }
+    }
+  }
+
+  private void writeShort(int value) throws IOException {
+    out.write(value & 0xFF);
+    out.write((value >>> 8) & 0xFF);
+    offset += 2;
+  }
+
+  private void writeInt(long value) throws IOException {
+    writeShort((int) (value & 0xFFFF));
+    writeShort((int) ((value >>> 16) & 0xFFFF));
+  }
+
+  private void writeLong(long value) throws IOException {
+    writeInt(value & ZIP64_MAGIC);
+    writeInt(value >>> 32);
+  }
+
+  private void writeBytes(byte[] bytes) throws IOException {
+    out.write(bytes);
+    offset += bytes.length;
+  }
+
+  private static Chunk await(Future<Chunk> chunk) throws IOException {
+    try {
+      return chunk.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for compression");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause().getMessage(), e.getCause());
+    }
+  }
+
+  /**
+   * Returns CRC-32 of two concatenated sequences of bytes given CRC-32 of the sequences and the
+   * length of the second one, ported from zlib's {@code crc32_combine}.
+   */
+  static long crc32Combine(long crc1, long crc2, long length2) {
+    if (length2 <= 0) {
+      return crc1;
+    }
+    long[] even = new long[32];
+    long[] odd = new long[32];
+    // operator for one zero bit
+    odd[0] = 0xEDB88320L;
+    long row = 1;
+    for (int n = 1; n < 32; n++) {
+      odd[n] = row;
+      row <<= 1;
+    }
+    // operators for two and four zero bits
+    gf2MatrixSquare(even, odd);
+    gf2MatrixSquare(odd, even);
+    // apply zeros of the length of the second sequence to the first checksum
+    do {
+      gf2MatrixSquare(even, odd);
+      if ((length2 & 1) != 0) {
+        crc1 = gf2MatrixTimes(even, crc1);
+      }
+      length2 >>= 1;
+      if (length2 == 0) {
+        break;
+      }
+      gf2MatrixSquare(odd, even);
+      if ((length2 & 1) != 0) {
+        crc1 = gf2MatrixTimes(odd, crc1);
+      }
+      length2 >>= 1;
+    } while (length2 != 0);
+    return crc1 ^ crc2;
+  }
+
+  private static long gf2MatrixTimes(long[] matrix, long vector) {
+    long sum = 0;
+    for (int i = 0; vector != 0; i++, vector >>>= 1) {
+      if ((vector & 1) != 0) {
+        sum ^= matrix[i];
+      }
+    }
+    return sum;
+  }
+
+  private static void gf2MatrixSquare(long[] square, long[] matrix) {
+    for (int n = 0; n < 32; n++) {
+      square[n] = gf2MatrixTimes(matrix, matrix[n]);
+    }
+  }
+
+  private static int toDosTime(long millis) {
+    LocalDateTime time =
+        LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    if (time.getYear() < 1980) {
+      // 1980-01-01 00:00
+      return (1 << 21) | (1 << 16);
+    }
+    return (time.getYear() - 1980) << 25
+        | time.getMonthValue() << 21
+        | time.getDayOfMonth() << 16
+        | time.getHour() << 11
+        | time.getMinute() << 5
+        | time.getSecond() >> 1;
+  }
+
+  private static class Entry {
+    private final byte[] name;
+    private final Path file;
+    private final int method;
+    private final int dosTime;
+    private final Deque<Future<Chunk>> chunks;
+
+    private boolean submitted;
+    private long offset = -1;
+    private long crc;
+    private long size;
+    private long compressedSize;
+
+    Entry(String name, Path file, int method, long lastModified) {
+      this.name = name.getBytes(UTF_8);
+      this.file = file;
+      this.method = method;
+      this.dosTime = toDosTime(lastModified);
+      this.chunks = new ArrayDeque<>();
+    }
+
+    int flags() {
+      return method == DEFLATED ? UTF8_FLAG | DATA_DESCRIPTOR_FLAG : UTF8_FLAG;
+    }
+  }
+
+  private static class Chunk {
+    private final ByteArrayOutputStream data;
+    private final long crc;
+    private final long size;
+
+    Chunk(ByteArrayOutputStream data, long crc, long size) {
+      this.data = data;
+      this.crc = crc;
+      this.size = size;
+    }
+  }
+}
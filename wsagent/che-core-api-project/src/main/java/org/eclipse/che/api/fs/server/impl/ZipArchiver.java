@@ -11,67 +11,136 @@
  */
 package org.eclipse.che.api.fs.server.impl;
 
-import static java.nio.file.Files.createTempFile;
-import static java.nio.file.Files.newInputStream;
+import static java.util.Arrays.asList;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.apache.commons.io.IOUtils;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.fs.server.PathTransformer;
 import org.eclipse.che.api.fs.server.WsPathUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Packs and unpacks workspace files.
+ *
+ * <p>Archive is streamed to the reader while it is being created, files are compressed in parallel
+ * by a pool shared by all the archives, so neither a temporary file nor a whole archive in memory
+ * is needed. Files matching the export excludes, e.g. {@code .git} directories, are not archived,
+ * files in already compressed formats are stored as is.
+ */
 @Singleton
 class ZipArchiver {
 
+  private static final Logger LOG = LoggerFactory.getLogger(ZipArchiver.class);
+
+  /** Extensions of the files which are not worth deflating. */
+  private static final Set<String> STORED_EXTENSIONS =
+      new HashSet<>(
+          asList(
+              "zip", "jar", "war", "ear", "gz", "tgz", "bz2", "xz", "7z", "rar", "png", "jpg",
+              "jpeg", "gif", "webp", "ico", "mp3", "mp4", "ogg", "avi", "mov", "mkv", "webm",
+              "woff", "woff2"));
+
+  private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+  private static final int COMPRESSION_THREADS = Runtime.getRuntime().availableProcessors();
+
   private final Path root;
+  private final Set<PathMatcher> excludes;
+  private final int chunkSize;
+  private final ExecutorService archivers;
+  private final ExecutorService compressors;
 
   @Inject
-  ZipArchiver(PathTransformer pathTransformer) {
+  ZipArchiver(
+      PathTransformer pathTransformer, @Named("che.fs.export.excludes") Set<PathMatcher> excludes) {
+    this(pathTransformer, excludes, ParallelZipWriter.DEFAULT_CHUNK_SIZE);
+  }
+
+  @VisibleForTesting
+  ZipArchiver(PathTransformer pathTransformer, Set<PathMatcher> excludes, int chunkSize) {
     this.root = pathTransformer.transform(WsPathUtils.ROOT);
+    this.excludes = excludes;
+    this.chunkSize = chunkSize;
+    this.archivers =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("ZipArchiver-%d").setDaemon(true).build());
+    this.compressors =
+        Executors.newFixedThreadPool(
+            COMPRESSION_THREADS,
+            new ThreadFactoryBuilder()
+                .setNameFormat("ZipArchiverCompressor-%d")
+                .setDaemon(true)
+                .build());
   }
 
-  private static void zip(Path zipRoot, File zipInFile, ZipOutputStream zos) throws IOException {
+  private void zip(Path zipRoot, File zipInFile, ParallelZipWriter zip) throws IOException {
+    if (isExcluded(zipInFile.toPath())) {
+      return;
+    }
     if (zipInFile.isDirectory()) {
       File[] files = zipInFile.listFiles();
       for (File file : files == null ? new File[0] : files) {
-        zip(zipRoot, file, zos);
+        zip(zipRoot, file, zip);
       }
       return;
     }
 
-    try (FileInputStream fis = new FileInputStream(zipInFile); ) {
-      String zipEntryName = zipRoot.relativize(zipInFile.toPath()).toString();
-      ZipEntry zipEntry = new ZipEntry(zipEntryName);
-      zos.putNextEntry(zipEntry);
-      IOUtils.copy(fis, zos);
-    }
+    String zipEntryName = zipRoot.relativize(zipInFile.toPath()).toString();
+    zip.addFile(zipEntryName, zipInFile.toPath(), !isCompressed(zipInFile.getName()));
   }
 
+  /**
+   * Returns stream of the archive of the given file or directory. The archive is created while the
+   * stream is read, if archiving fails the stream is broken and reading of it fails.
+   */
   InputStream zip(Path fsPath) throws ServerException {
+    ArchiveInputStream in = new ArchiveInputStream();
+    PipedOutputStream out;
     try {
-      File inFile = fsPath.toFile();
-      File outFile = createTempFile(fsPath.getFileName().toString(), ".zip").toFile();
-
-      try (FileOutputStream fos = new FileOutputStream(outFile);
-          ZipOutputStream zos = new ZipOutputStream(fos)) {
-        zip(fsPath, inFile, zos);
-      }
-
-      return newInputStream(outFile.toPath());
+      out = new PipedOutputStream(in);
     } catch (IOException e) {
       throw new ServerException("Failed to zip item: " + fsPath, e);
     }
+
+    archivers.execute(
+        () -> {
+          ParallelZipWriter zip =
+              new ParallelZipWriter(out, compressors, chunkSize, COMPRESSION_THREADS * 2);
+          try {
+            zip(fsPath, fsPath.toFile(), zip);
+            zip.finish();
+          } catch (IOException | RuntimeException e) {
+            zip.abort();
+            // stream must not look complete to the reader
+            in.fail(e);
+            LOG.warn("Failed to zip item: {}. Error: {}", fsPath, e.getMessage());
+          } finally {
+            IOUtils.closeQuietly(out);
+          }
+        });
+    return in;
   }
 
   void unzip(
@@ -116,4 +185,63 @@ class ZipArchiver {
       throw new ServerException("Failed to unzip item " + fsPath, e);
     }
   }
+
+  @PreDestroy
+  void shutdown() {
+    archivers.shutdownNow();
+    compressors.shutdownNow();
+  }
+
+  private boolean isExcluded(Path fsPath) {
+    for (PathMatcher matcher : excludes) {
+      if (matcher.matches(fsPath)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isCompressed(String fileName) {
+    int dot = fileName.lastIndexOf('.');
+    return dot >= 0
+        && STORED_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ENGLISH));
+  }
+
+  /** Pipe which reader fails when archiving fails, instead of reading a truncated archive. */
+  private static class ArchiveInputStream extends PipedInputStream {
+
+    private volatile IOException failure;
+
+    ArchiveInputStream() {
+      super(PIPE_BUFFER_SIZE);
+    }
+
+    void fail(Exception e) {
+      failure = e instanceof IOException ? (IOException) e : new IOException(e.getMessage(), e);
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+      int read = super.read();
+      if (read == -1) {
+        checkFailure();
+      }
+      return read;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+      int read = super.read(b, off, len);
+      if (read == -1) {
+        checkFailure();
+      }
+      return read;
+    }
+
+    private void checkFailure() throws IOException {
+      if (failure != null) {
+        throw new IOException("Failed to create archive", failure);
+      }
+    }
+  }
 }
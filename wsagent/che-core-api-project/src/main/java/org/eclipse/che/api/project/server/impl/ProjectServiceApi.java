@@ -640,6 +640,8 @@ public class ProjectServiceApi {
       List<SearchResultEntry> searchResultEntries = result.getResults();
       return DtoFactory.newDto(ProjectSearchResponseDto.class)
           .withTotalHits(result.getTotalHits())
+          .withIndexingComplete(result.isIndexingComplete())
+          .withIndexedFiles(result.getIndexedFiles())
           .withItemReferences(prepareResults(searchResultEntries));
     } catch (InvalidQueryException e) {
       throw new BadRequestException(e.getMessage());
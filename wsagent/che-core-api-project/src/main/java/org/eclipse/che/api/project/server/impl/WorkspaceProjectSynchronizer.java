@@ -13,17 +13,20 @@ package org.eclipse.che.api.project.server.impl;
 
 import static java.util.Collections.unmodifiableSet;
 import static org.eclipse.che.api.project.server.impl.ProjectDtoConverter.asDto;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.ws.rs.core.UriBuilder;
 import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.Runtime;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
@@ -32,7 +35,9 @@ import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.project.shared.RegisteredProject;
 import org.eclipse.che.api.workspace.server.WorkspaceService;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceProjectsDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +46,9 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer, Worksp
 
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceProjectSynchronizer.class);
 
+  /** How many times synchronization is retried if projects are concurrently modified on master. */
+  private static final int MAX_SYNC_ATTEMPTS = 3;
+
   private final ProjectConfigRegistry projectConfigRegistry;
   private final HttpJsonRequestFactory httpJsonRequestFactory;
   private final WorkspaceSyncCommunication workspaceSyncCommunication;
@@ -49,6 +57,10 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer, Worksp
   private final String workspaceId;
   private final Runtime workspaceRuntime;
 
+  private final Object syncLock = new Object();
+  private final AtomicLong syncRequests = new AtomicLong();
+  private long syncedRequests;
+
   @Inject
   public WorkspaceProjectSynchronizer(
       @Named("che.api") String apiEndpoint,
@@ -70,56 +82,85 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer, Worksp
     workspaceRuntime = workspaceDto().getRuntime();
   }
 
+  /**
+   * Synchronizes projects of the agent with the master using a single request. Calls made while
+   * synchronization is in progress are coalesced, the next synchronization covers all of them.
+   */
   @Override
   public void synchronize() throws ServerException {
-
-    List<ProjectConfigDto> remote = workspaceDto().getConfig().getProjects();
-
-    // check on removed
-    List<ProjectConfig> removed = new ArrayList<>();
-    for (ProjectConfig r : remote) {
-      if (!projectConfigRegistry.get(r.getPath()).isPresent()) {
-        removed.add(r);
+    final long request = syncRequests.incrementAndGet();
+    synchronized (syncLock) {
+      if (syncedRequests >= request) {
+        // changes made before this call have been synchronized by a concurrent call
+        return;
       }
+      final long covered = syncRequests.get();
+      doSynchronize();
+      syncedRequests = covered;
     }
+  }
 
-    for (ProjectConfig r : removed) {
-      remove(r);
-    }
+  private void doSynchronize() throws ServerException {
+    for (int attempt = 1; ; attempt++) {
+      final WorkspaceProjectsDto remote = workspaceProjects();
+
+      final Set<String> remotePaths = new HashSet<>();
+      final List<String> removed = new ArrayList<>();
+      for (ProjectConfig r : remote.getProjects()) {
+        remotePaths.add(r.getPath());
+        if (!projectConfigRegistry.get(r.getPath()).isPresent()) {
+          removed.add(r.getPath());
+        }
+      }
 
-    // update or add
-    for (RegisteredProject project : projectConfigRegistry.getAll()) {
-
-      if (!project.isSynced() && !project.isDetected()) {
-
-        final ProjectConfig config =
-            new NewProjectConfigImpl(
-                project.getPath(),
-                project.getType(),
-                project.getMixins(),
-                project.getName(),
-                project.getDescription(),
-                project.getPersistableAttributes(),
-                null,
-                project.getSource());
-
-        boolean found = false;
-        for (ProjectConfig r : remote) {
-          if (r.getPath().equals(project.getPath())) {
-            update(config);
-            found = true;
-          }
+      final List<RegisteredProject> changed = new ArrayList<>();
+      final List<ProjectConfigDto> updated = new ArrayList<>();
+      for (RegisteredProject project : projectConfigRegistry.getAll()) {
+        if (!project.isSynced() && !project.isDetected()) {
+          changed.add(project);
+          updated.add(
+              asDto(
+                  new NewProjectConfigImpl(
+                      project.getPath(),
+                      project.getType(),
+                      project.getMixins(),
+                      project.getName(),
+                      project.getDescription(),
+                      project.getPersistableAttributes(),
+                      null,
+                      project.getSource())));
         }
+      }
+
+      if (removed.isEmpty() && updated.isEmpty()) {
+        return;
+      }
 
-        if (!found) {
-          add(config);
+      try {
+        updateProjects(
+            newDto(ProjectsUpdateDto.class)
+                .withVersion(remote.getVersion())
+                .withUpdated(updated)
+                .withRemoved(removed));
+      } catch (ConflictException e) {
+        if (attempt >= MAX_SYNC_ATTEMPTS) {
+          throw new ServerException(e.getMessage());
         }
+        LOG.debug("Projects were modified concurrently, retrying synchronization", e);
+        continue;
+      }
 
+      for (RegisteredProject project : changed) {
         project.setSynced(true);
       }
+      LOG.debug(
+          "Synchronized projects, added: {}, updated: {}, removed: {}",
+          updated.stream().filter(project -> !remotePaths.contains(project.getPath())).count(),
+          updated.stream().filter(project -> remotePaths.contains(project.getPath())).count(),
+          removed.size());
+      workspaceSyncCommunication.synchronizeWorkspace();
+      return;
     }
-
-    workspaceSyncCommunication.synchronizeWorkspace();
   }
 
   @Override
@@ -131,52 +172,42 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer, Worksp
     return unmodifiableSet(projectConfigs);
   }
 
-  private void add(ProjectConfig project) throws ServerException {
-    final UriBuilder builder =
-        UriBuilder.fromUri(apiEndpoint)
-            .path(WorkspaceService.class)
-            .path(WorkspaceService.class, "addProject");
-    final String href = builder.build(workspaceId).toString();
-    try {
-      httpJsonRequestFactory.fromUrl(href).usePostMethod().setBody(asDto(project)).request();
-    } catch (IOException | ApiException e) {
-      throw new ServerException(e.getMessage());
-    }
-  }
-
   @Override
   public Runtime getRuntime() throws ServerException {
     return workspaceRuntime;
   }
 
-  private void update(ProjectConfig project) throws ServerException {
-
+  /** Applies the given update to the workspace projects in a single request. */
+  private void updateProjects(ProjectsUpdateDto update) throws ServerException, ConflictException {
     final UriBuilder builder =
         UriBuilder.fromUri(apiEndpoint)
             .path(WorkspaceService.class)
-            .path(WorkspaceService.class, "updateProject");
-    final String href =
-        builder.build(new String[] {workspaceId, project.getPath()}, false).toString();
+            .path(WorkspaceService.class, "updateProjects");
+    final String href = builder.build(workspaceId).toString();
     try {
-      httpJsonRequestFactory.fromUrl(href).usePutMethod().setBody(asDto(project)).request();
+      httpJsonRequestFactory.fromUrl(href).usePutMethod().setBody(update).request();
+    } catch (ConflictException e) {
+      throw e;
     } catch (IOException | ApiException e) {
       throw new ServerException(e.getMessage());
     }
   }
 
-  private void remove(ProjectConfig project) throws ServerException {
-
+  /** @return projects of the workspace together with their version */
+  private WorkspaceProjectsDto workspaceProjects() throws ServerException {
     final UriBuilder builder =
         UriBuilder.fromUri(apiEndpoint)
             .path(WorkspaceService.class)
-            .path(WorkspaceService.class, "deleteProject");
-
-    final String href =
-        builder.build(new String[] {workspaceId, project.getPath()}, false).toString();
+            .path(WorkspaceService.class, "getProjects");
+    final String href = builder.build(workspaceId).toString();
     try {
-      httpJsonRequestFactory.fromUrl(href).useDeleteMethod().request();
+      return httpJsonRequestFactory
+          .fromUrl(href)
+          .useGetMethod()
+          .request()
+          .asDto(WorkspaceProjectsDto.class);
     } catch (IOException | ApiException e) {
-      throw new ServerException(e.getMessage());
+      throw new ServerException(e);
     }
   }
 
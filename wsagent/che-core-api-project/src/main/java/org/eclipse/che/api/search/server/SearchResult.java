@@ -28,16 +28,22 @@ public class SearchResult {
   private final Optional<QueryExpression> nextPageQueryExpression;
   private final long totalHits;
   private final long elapsedTimeMillis;
+  private final boolean indexingComplete;
+  private final long indexedFiles;
 
   private SearchResult(
       List<SearchResultEntry> results,
       Optional<QueryExpression> nextPageQueryExpression,
       long totalHits,
-      long elapsedTimeMillis) {
+      long elapsedTimeMillis,
+      boolean indexingComplete,
+      long indexedFiles) {
     this.results = results;
     this.nextPageQueryExpression = nextPageQueryExpression;
     this.totalHits = totalHits;
     this.elapsedTimeMillis = elapsedTimeMillis;
+    this.indexingComplete = indexingComplete;
+    this.indexedFiles = indexedFiles;
   }
 
   /**
@@ -75,11 +81,26 @@ public class SearchResult {
     return nextPageQueryExpression;
   }
 
+  /**
+   * Whether initial indexing of the files is complete, while it is not the result may miss the
+   * files which are not indexed yet.
+   */
+  public boolean isIndexingComplete() {
+    return indexingComplete;
+  }
+
+  /** Number of files processed by initial indexing so far. */
+  public long getIndexedFiles() {
+    return indexedFiles;
+  }
+
   public static class SearchResultBuilder {
     private QueryExpression nextPageQueryExpression;
     private List<SearchResultEntry> results;
     private long totalHits;
     private long elapsedTimeMillis;
+    private boolean indexingComplete = true;
+    private long indexedFiles;
 
     private SearchResultBuilder() {}
 
@@ -104,6 +125,16 @@ public class SearchResult {
       return this;
     }
 
+    public SearchResultBuilder withIndexingComplete(boolean indexingComplete) {
+      this.indexingComplete = indexingComplete;
+      return this;
+    }
+
+    public SearchResultBuilder withIndexedFiles(long indexedFiles) {
+      this.indexedFiles = indexedFiles;
+      return this;
+    }
+
     public SearchResult build() {
       Optional<QueryExpression> optionalPageNexQueryExpression;
       if (nextPageQueryExpression == null) {
@@ -115,7 +146,12 @@ public class SearchResult {
         results = emptyList();
       }
       return new SearchResult(
-          results, optionalPageNexQueryExpression, totalHits, elapsedTimeMillis);
+          results,
+          optionalPageNexQueryExpression,
+          totalHits,
+          elapsedTimeMillis,
+          indexingComplete,
+          indexedFiles);
     }
   }
 }
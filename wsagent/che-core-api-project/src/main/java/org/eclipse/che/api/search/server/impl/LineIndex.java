@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import java.util.Arrays;
+import org.apache.lucene.store.ByteArrayDataInput;
+import org.apache.lucene.store.ByteArrayDataOutput;
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * Table of the start offsets of the lines of a text, allows to find the line of an offset with a
+ * binary search instead of scanning the text. Lines are separated the same way as by {@link
+ * java.util.Scanner#nextLine()}.
+ */
+final class LineIndex {
+
+  /** Start offset of each line, the last element is the length of the text. */
+  private final int[] lineStarts;
+
+  private LineIndex(int[] lineStarts) {
+    this.lineStarts = lineStarts;
+  }
+
+  /** Builds line index of the given text. */
+  static LineIndex of(CharSequence text) {
+    int[] starts = new int[16];
+    int lines = 1;
+    final int length = text.length();
+    for (int i = 0; i < length; i++) {
+      final char c = text.charAt(i);
+      if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+        i++;
+      } else if (c != '\n' && c != '\r' && c != '\u2028' && c != '\u2029' && c != '\u0085') {
+        continue;
+      }
+      if (lines == starts.length) {
+        starts = Arrays.copyOf(starts, lines * 2);
+      }
+      starts[lines++] = i + 1;
+    }
+    final int[] lineStarts = Arrays.copyOf(starts, lines + 1);
+    lineStarts[lines] = length;
+    return new LineIndex(lineStarts);
+  }
+
+  /** Reads line index previously written with {@link #toBytes()}. */
+  static LineIndex fromBytes(BytesRef bytes) {
+    final ByteArrayDataInput in = new ByteArrayDataInput(bytes.bytes, bytes.offset, bytes.length);
+    final int[] lineStarts = new int[in.readVInt()];
+    for (int i = 1; i < lineStarts.length; i++) {
+      lineStarts[i] = lineStarts[i - 1] + in.readVInt();
+    }
+    return new LineIndex(lineStarts);
+  }
+
+  /** Writes line index as the number of offsets followed by the delta encoded offsets. */
+  BytesRef toBytes() {
+    final byte[] bytes = new byte[5 * lineStarts.length];
+    final ByteArrayDataOutput out = new ByteArrayDataOutput(bytes);
+    out.writeVInt(lineStarts.length);
+    for (int i = 1; i < lineStarts.length; i++) {
+      out.writeVInt(lineStarts[i] - lineStarts[i - 1]);
+    }
+    return new BytesRef(bytes, 0, out.getPosition());
+  }
+
+  /** Returns the length of the indexed text. */
+  int getTextLength() {
+    return lineStarts[lineStarts.length - 1];
+  }
+
+  /**
+   * Returns number of the line that contains the given offset.
+   *
+   * @param offset offset in the text
+   * @return line number starting from 1
+   */
+  int getLineNumber(int offset) {
+    int low = 0;
+    int high = lineStarts.length - 2;
+    while (low < high) {
+      final int middle = (low + high + 1) >>> 1;
+      if (lineStarts[middle] <= offset) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low + 1;
+  }
+
+  /**
+   * Returns content of the line without line separator.
+   *
+   * @param text indexed text
+   * @param lineNumber line number starting from 1
+   */
+  String getLine(CharSequence text, int lineNumber) {
+    final int start = lineStarts[lineNumber - 1];
+    int end = lineStarts[lineNumber];
+    if (lineNumber < lineStarts.length - 1) {
+      end--;
+      if (end > start && text.charAt(end) == '\n' && text.charAt(end - 1) == '\r') {
+        end--;
+      }
+    }
+    return text.subSequence(start, end).toString();
+  }
+}
@@ -16,6 +16,7 @@ import static org.eclipse.che.api.fs.server.WsPathUtils.nameOf;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
@@ -32,11 +33,17 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -45,16 +52,30 @@ import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
 import org.apache.lucene.analysis.core.WhitespaceTokenizerFactory;
 import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.NGramTokenizerFactory;
 import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
 import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
@@ -73,8 +94,10 @@ import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.highlight.QueryScorer;
 import org.apache.lucene.search.highlight.TokenSources;
+import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.SingleInstanceLockFactory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.BytesRef;
 import org.eclipse.che.api.fs.server.PathTransformer;
 import org.eclipse.che.api.project.server.impl.RootDirPathProvider;
@@ -103,6 +126,32 @@ public class LuceneSearcher implements Searcher {
   private static final String PATH_FIELD = "path";
   private static final String NAME_FIELD = "name";
   private static final String TEXT_FIELD = "text";
+  private static final String LINES_FIELD = "lines";
+  private static final String TRIGRAM_FIELD = "trigrams";
+  private static final String MODIFIED_FIELD = "modified";
+  private static final String SIZE_FIELD = "size";
+  /**
+   * Key of the commit user data that holds version and settings of the index, index is rebuilt from
+   * scratch when they don't match the current ones.
+   */
+  private static final String INDEX_FORMAT_KEY = "format";
+
+  private static final String INDEX_FORMAT = "2";
+  private static final int INDEXING_THREADS = Runtime.getRuntime().availableProcessors();
+  private static final int INDEXING_QUEUE_SIZE = 1000;
+  private static final FieldType TEXT_FIELD_TYPE = new FieldType(TextField.TYPE_NOT_STORED);
+  private static final FieldType TRIGRAM_FIELD_TYPE = new FieldType();
+
+  static {
+    TEXT_FIELD_TYPE.setStoreTermVectors(true);
+    TEXT_FIELD_TYPE.setStoreTermVectorPositions(true);
+    TEXT_FIELD_TYPE.setStoreTermVectorOffsets(true);
+    TEXT_FIELD_TYPE.freeze();
+    TRIGRAM_FIELD_TYPE.setIndexOptions(IndexOptions.DOCS);
+    TRIGRAM_FIELD_TYPE.setTokenized(true);
+    TRIGRAM_FIELD_TYPE.setOmitNorms(true);
+    TRIGRAM_FIELD_TYPE.freeze();
+  }
 
   private final Set<PathMatcher> excludePatterns;
   private final PathTransformer pathTransformer;
@@ -113,13 +162,33 @@ public class LuceneSearcher implements Searcher {
   private final Analyzer analyzer;
   private final CountDownLatch initialIndexingLatch = new CountDownLatch(1);
   private final Sort sort;
+  private final boolean trigramIndex;
+  private final AtomicLong indexedFiles = new AtomicLong();
+
+  public LuceneSearcher(
+      Set<PathMatcher> excludePatterns,
+      File indexDirectory,
+      RootDirPathProvider pathProvider,
+      PathTransformer pathTransformer)
+      throws IOException {
+    this(excludePatterns, indexDirectory, pathProvider, pathTransformer, false);
+  }
 
+  /**
+   * Creates searcher.
+   *
+   * @param trigramIndex whether trigrams of the files content are indexed, when enabled text
+   *     queries are searched as substrings of the indexed tokens, and substring, wildcard and
+   *     regular expression queries are resolved with the trigrams instead of the scan of all the
+   *     indexed terms
+   */
   @Inject
   public LuceneSearcher(
       @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
       @Named("vfs.local.fs_index_root_dir") File indexDirectory,
       RootDirPathProvider pathProvider,
-      PathTransformer pathTransformer)
+      PathTransformer pathTransformer,
+      @Named("che.search.index.trigrams") boolean trigramIndex)
       throws IOException {
 
     if (indexDirectory.exists()) {
@@ -138,10 +207,28 @@ public class LuceneSearcher implements Searcher {
             .withTokenizer(WhitespaceTokenizerFactory.class)
             .addTokenFilter(LowerCaseFilterFactory.class)
             .build();
-    this.luceneIndexWriter =
-        new IndexWriter(
-            FSDirectory.open(indexDirectory.toPath(), new SingleInstanceLockFactory()),
-            new IndexWriterConfig(analyzer));
+    this.trigramIndex = trigramIndex;
+    Analyzer trigramAnalyzer =
+        CustomAnalyzer.builder()
+            .withTokenizer(NGramTokenizerFactory.class, "minGramSize", "3", "maxGramSize", "3")
+            .addTokenFilter(LowerCaseFilterFactory.class)
+            .build();
+    IndexWriterConfig indexWriterConfig =
+        new IndexWriterConfig(
+            new PerFieldAnalyzerWrapper(
+                analyzer, Collections.singletonMap(TRIGRAM_FIELD, trigramAnalyzer)));
+    Directory directory =
+        FSDirectory.open(indexDirectory.toPath(), new SingleInstanceLockFactory());
+    String indexFormat = trigramIndex ? INDEX_FORMAT + "-trigrams" : INDEX_FORMAT;
+    if (DirectoryReader.indexExists(directory)
+        && !indexFormat.equals(
+            SegmentInfos.readLatestCommit(directory).getUserData().get(INDEX_FORMAT_KEY))) {
+      LOG.info("Index format is changed, files are going to be reindexed");
+      indexWriterConfig.setOpenMode(OpenMode.CREATE);
+    }
+    this.luceneIndexWriter = new IndexWriter(directory, indexWriterConfig);
+    luceneIndexWriter.setLiveCommitData(
+        Collections.singletonMap(INDEX_FORMAT_KEY, indexFormat).entrySet());
     this.searcherManager =
         new SearcherManager(luceneIndexWriter, true, true, new SearcherFactory());
     this.sort = new Sort(SortField.FIELD_SCORE, new SortField(PATH_FIELD, SortField.Type.STRING));
@@ -155,9 +242,11 @@ public class LuceneSearcher implements Searcher {
             () -> {
               try {
                 long start = System.currentTimeMillis();
-                add(root);
+                indexRoot();
                 LOG.info(
-                    "Initial indexing complete after {} msec ", System.currentTimeMillis() - start);
+                    "Initial indexing complete after {} msec, {} files ",
+                    System.currentTimeMillis() - start,
+                    indexedFiles.get());
               } finally {
                 initialIndexingLatch.countDown();
               }
@@ -172,9 +261,127 @@ public class LuceneSearcher implements Searcher {
     return initialIndexingLatch;
   }
 
+  @PreDestroy
+  @VisibleForTesting
+  void close() throws IOException {
+    searcherManager.close();
+    luceneIndexWriter.close();
+  }
+
+  /**
+   * Brings the index in sync with the files under the root. Files are read and indexed by a pool of
+   * threads fed by the file tree walker, files which modification time and size are the same as
+   * when they were indexed are skipped, and documents of the files removed since the last start are
+   * deleted.
+   */
+  private void indexRoot() {
+    final Map<String, long[]> indexed;
+    try {
+      indexed = readIndexedFiles();
+    } catch (IOException e) {
+      LOG.warn("Can't read indexed files, all files are going to be reindexed", e);
+      add(root);
+      return;
+    }
+
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            INDEXING_THREADS,
+            INDEXING_THREADS,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(INDEXING_QUEUE_SIZE),
+            new ThreadFactoryBuilder()
+                .setNameFormat("LuceneSearcherIndexer-%d")
+                .setDaemon(true)
+                .build(),
+            // walker indexes files itself when readers are behind
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    try {
+      Files.walkFileTree(
+          root,
+          new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+              if (isNotExcluded(file)) {
+                long[] stamp = indexed.remove(pathTransformer.transform(file));
+                if (stamp != null
+                    && stamp[0] == attrs.lastModifiedTime().toMillis()
+                    && stamp[1] == attrs.size()) {
+                  indexedFiles.incrementAndGet();
+                } else {
+                  executor.execute(
+                      () -> {
+                        addFile(file);
+                        indexedFiles.incrementAndGet();
+                      });
+                }
+              }
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+              LOG.warn("Not able to index {} because {} ", file, e.getMessage());
+              return FileVisitResult.CONTINUE;
+            }
+          });
+    } catch (IOException e) {
+      LOG.warn("Not able to index {} because {} ", root, e.getMessage());
+    } finally {
+      executor.shutdown();
+    }
+
+    try {
+      if (!executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+        LOG.warn("Initial indexing is not finished");
+      }
+      for (String wsPath : indexed.keySet()) {
+        luceneIndexWriter.deleteDocuments(new Term(PATH_FIELD, wsPath));
+      }
+      luceneIndexWriter.commit();
+      printStatistic();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      LOG.warn("Can't commit initial indexing changes because {} ", e.getMessage());
+    }
+  }
+
+  /** Returns modification time and size of the indexed files mapped by their paths. */
+  private Map<String, long[]> readIndexedFiles() throws IOException {
+    final Map<String, long[]> indexed = new HashMap<>();
+    searcherManager.maybeRefresh();
+    final IndexSearcher luceneSearcher = searcherManager.acquire();
+    try {
+      for (LeafReaderContext context : luceneSearcher.getIndexReader().leaves()) {
+        final LeafReader reader = context.reader();
+        final Bits liveDocs = reader.getLiveDocs();
+        final SortedDocValues paths = DocValues.getSorted(reader, PATH_FIELD);
+        final NumericDocValues modified = DocValues.getNumeric(reader, MODIFIED_FIELD);
+        final NumericDocValues sizes = DocValues.getNumeric(reader, SIZE_FIELD);
+        for (int doc = 0; doc < reader.maxDoc(); doc++) {
+          if ((liveDocs == null || liveDocs.get(doc)) && paths.advanceExact(doc)) {
+            final long[] stamp = {-1, -1};
+            if (modified.advanceExact(doc) && sizes.advanceExact(doc)) {
+              stamp[0] = modified.longValue();
+              stamp[1] = sizes.longValue();
+            }
+            indexed.put(paths.binaryValue().utf8ToString(), stamp);
+          }
+        }
+      }
+    } finally {
+      searcherManager.release(luceneSearcher);
+    }
+    return indexed;
+  }
+
   @ScheduleRate(period = 30, initialDelay = 30)
   private void commitIndex() throws IOException {
-    luceneIndexWriter.commit();
+    if (luceneIndexWriter.isOpen()) {
+      luceneIndexWriter.commit();
+    }
   }
 
   @Override
@@ -187,6 +394,8 @@ public class LuceneSearcher implements Searcher {
       luceneSearcher = searcherManager.acquire();
 
       Query luceneQuery = createLuceneQuery(query);
+      Query highlightQuery =
+          trigramIndex ? TrigramQueryParser.toVerificationQuery(luceneQuery) : luceneQuery;
 
       ScoreDoc after = null;
       final int numSkipDocs = Math.max(0, query.getSkipCount());
@@ -200,76 +409,13 @@ public class LuceneSearcher implements Searcher {
       final long totalHitsNum = topDocs.totalHits;
 
       List<SearchResultEntry> results = newArrayList();
-      List<OffsetData> offsetData = Collections.emptyList();
       for (int i = 0; i < topDocs.scoreDocs.length; i++) {
         ScoreDoc scoreDoc = topDocs.scoreDocs[i];
         int docId = scoreDoc.doc;
         Document doc = luceneSearcher.doc(docId);
+        List<OffsetData> offsetData = Collections.emptyList();
         if (query.isIncludePositions()) {
-          offsetData = new ArrayList<>();
-          String txt = doc.get(TEXT_FIELD);
-          if (txt != null) {
-            IndexReader reader = luceneSearcher.getIndexReader();
-
-            TokenStream tokenStream =
-                TokenSources.getTokenStream(
-                    TEXT_FIELD,
-                    reader.getTermVectors(docId),
-                    txt,
-                    luceneIndexWriter.getAnalyzer(),
-                    -1);
-
-            CharTermAttribute termAtt = tokenStream.addAttribute(CharTermAttribute.class);
-            OffsetAttribute offsetAtt = tokenStream.addAttribute(OffsetAttribute.class);
-
-            QueryScorer queryScorer = new QueryScorer(luceneQuery);
-            // TODO think about this constant
-            queryScorer.setMaxDocCharsToAnalyze(1_000_000);
-            TokenStream newStream = queryScorer.init(tokenStream);
-            if (newStream != null) {
-              tokenStream = newStream;
-            }
-            queryScorer.startFragment(null);
-
-            tokenStream.reset();
-
-            int startOffset, endOffset;
-            // TODO think about this constant
-            for (boolean next = tokenStream.incrementToken();
-                next && (offsetAtt.startOffset() < 1_000_000);
-                next = tokenStream.incrementToken()) {
-              startOffset = offsetAtt.startOffset();
-              endOffset = offsetAtt.endOffset();
-
-              if ((endOffset > txt.length()) || (startOffset > txt.length())) {
-                throw new QueryExecutionException(
-                    "Token "
-                        + termAtt.toString()
-                        + " exceeds length of provided text size "
-                        + txt.length());
-              }
-
-              float res = queryScorer.getTokenScore();
-              if (res > 0.0F && startOffset <= endOffset) {
-                String tokenText = txt.substring(startOffset, endOffset);
-                Scanner sc = new Scanner(txt);
-                int lineNum = 1;
-                long len = 0;
-                String foundLine = "";
-                while (sc.hasNextLine()) {
-                  foundLine = sc.nextLine();
-
-                  len += foundLine.length();
-                  if (len > startOffset) {
-                    break;
-                  }
-                  lineNum++;
-                }
-                offsetData.add(
-                    new OffsetData(tokenText, startOffset, endOffset, res, lineNum, foundLine));
-              }
-            }
-          }
+          offsetData = getOffsetData(luceneSearcher, highlightQuery, docId, doc);
         }
 
         String filePath = doc.getField(PATH_FIELD).stringValue();
@@ -289,6 +435,8 @@ public class LuceneSearcher implements Searcher {
       return SearchResult.aSearchResult()
           .withResults(results)
           .withTotalHits(totalHitsNum)
+          .withIndexingComplete(initialIndexingLatch.getCount() == 0)
+          .withIndexedFiles(indexedFiles.get())
           .withNextPageQueryExpression(nextPageQueryExpression)
           .withElapsedTimeMillis(elapsedTimeMillis)
           .build();
@@ -305,6 +453,97 @@ public class LuceneSearcher implements Searcher {
     }
   }
 
+  /**
+   * Finds positions of the matched tokens of the document. Offsets of the tokens are taken from the
+   * term vectors, and lines are found with the line index stored along with the document, so the
+   * text of the file is read only once and only when the document has matched tokens.
+   */
+  private List<OffsetData> getOffsetData(
+      IndexSearcher luceneSearcher, Query luceneQuery, int docId, Document doc)
+      throws IOException, QueryExecutionException {
+    IndexReader reader = luceneSearcher.getIndexReader();
+    TokenStream tokenStream =
+        TokenSources.getTermVectorTokenStreamOrNull(TEXT_FIELD, reader.getTermVectors(docId), -1);
+    if (tokenStream == null) {
+      return Collections.emptyList();
+    }
+
+    CharTermAttribute termAtt = tokenStream.addAttribute(CharTermAttribute.class);
+    OffsetAttribute offsetAtt = tokenStream.addAttribute(OffsetAttribute.class);
+
+    QueryScorer queryScorer = new QueryScorer(luceneQuery);
+    // TODO think about this constant
+    queryScorer.setMaxDocCharsToAnalyze(1_000_000);
+    TokenStream newStream = queryScorer.init(tokenStream);
+    if (newStream != null) {
+      tokenStream = newStream;
+    }
+    queryScorer.startFragment(null);
+
+    List<OffsetData> offsetData = new ArrayList<>();
+    try {
+      tokenStream.reset();
+
+      LineIndex lineIndex = null;
+      String txt = null;
+      int startOffset, endOffset;
+      // TODO think about this constant
+      for (boolean next = tokenStream.incrementToken();
+          next && (offsetAtt.startOffset() < 1_000_000);
+          next = tokenStream.incrementToken()) {
+        startOffset = offsetAtt.startOffset();
+        endOffset = offsetAtt.endOffset();
+
+        float res = queryScorer.getTokenScore();
+        if (res > 0.0F && startOffset <= endOffset) {
+          if (lineIndex == null) {
+            lineIndex = LineIndex.fromBytes(doc.getBinaryValue(LINES_FIELD));
+            txt = readText(doc.get(PATH_FIELD));
+            if (txt == null || txt.length() != lineIndex.getTextLength()) {
+              // file is changed or removed after indexing, it is going to be reindexed
+              return Collections.emptyList();
+            }
+          }
+
+          if ((endOffset > txt.length()) || (startOffset > txt.length())) {
+            throw new QueryExecutionException(
+                "Token "
+                    + termAtt.toString()
+                    + " exceeds length of provided text size "
+                    + txt.length());
+          }
+
+          String tokenText = txt.substring(startOffset, endOffset);
+          int lineNum = lineIndex.getLineNumber(startOffset);
+          offsetData.add(
+              new OffsetData(
+                  tokenText,
+                  startOffset,
+                  endOffset,
+                  res,
+                  lineNum,
+                  lineIndex.getLine(txt, lineNum)));
+        }
+      }
+    } finally {
+      tokenStream.close();
+    }
+    return offsetData;
+  }
+
+  /** Reads indexed text of the file, returns null if the file can't be read. */
+  private String readText(String wsPath) {
+    try (Reader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new FileInputStream(pathTransformer.transform(wsPath).toFile()), "utf-8"))) {
+      return CharStreams.toString(reader);
+    } catch (IOException e) {
+      LOG.debug("Can't read file: {}", wsPath);
+      return null;
+    }
+  }
+
   private Query createLuceneQuery(QueryExpression query) throws ParseException, IOException {
     BooleanQuery.Builder luceneQueryBuilder = new BooleanQuery.Builder();
     final String name = query.getName();
@@ -319,7 +558,10 @@ public class LuceneSearcher implements Searcher {
       luceneQueryBuilder.add(qParser.parse(name), BooleanClause.Occur.MUST);
     }
     if (text != null) {
-      QueryParser qParser = new QueryParser(TEXT_FIELD, analyzer);
+      QueryParser qParser =
+          trigramIndex
+              ? new TrigramQueryParser(TEXT_FIELD, TRIGRAM_FIELD, analyzer)
+              : new QueryParser(TEXT_FIELD, analyzer);
       qParser.setAllowLeadingWildcard(true);
       luceneQueryBuilder.add(qParser.parse(text), BooleanClause.Occur.MUST);
     }
@@ -400,13 +642,22 @@ public class LuceneSearcher implements Searcher {
 
     try (Reader reader =
         new BufferedReader(new InputStreamReader(new FileInputStream(fsPath.toFile()), "utf-8"))) {
+      // attributes are read before the content, so the file changed while reading is reindexed
+      BasicFileAttributes attrs = Files.readAttributes(fsPath, BasicFileAttributes.class);
       String name = nameOf(wsPath);
       Document doc = new Document();
       doc.add(new StringField(PATH_FIELD, wsPath, Field.Store.YES));
       doc.add(new SortedDocValuesField(PATH_FIELD, new BytesRef(wsPath)));
+      doc.add(new NumericDocValuesField(MODIFIED_FIELD, attrs.lastModifiedTime().toMillis()));
+      doc.add(new NumericDocValuesField(SIZE_FIELD, attrs.size()));
       doc.add(new TextField(NAME_FIELD, name, Field.Store.YES));
       try {
-        doc.add(new TextField(TEXT_FIELD, CharStreams.toString(reader), Field.Store.YES));
+        String text = CharStreams.toString(reader);
+        doc.add(new Field(TEXT_FIELD, text, TEXT_FIELD_TYPE));
+        doc.add(new StoredField(LINES_FIELD, LineIndex.of(text).toBytes()));
+        if (trigramIndex) {
+          doc.add(new Field(TRIGRAM_FIELD, text, TRIGRAM_FIELD_TYPE));
+        }
       } catch (MalformedInputException e) {
         LOG.warn("Can't index file: {}", wsPath);
       }
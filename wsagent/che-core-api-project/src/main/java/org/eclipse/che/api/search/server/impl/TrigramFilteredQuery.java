@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import java.io.IOException;
+import java.util.Objects;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.search.AutomatonQuery;
+import org.apache.lucene.search.ConstantScoreScorer;
+import org.apache.lucene.search.ConstantScoreWeight;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.TwoPhaseIterator;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.util.automaton.CompiledAutomaton;
+
+/**
+ * Matches documents that have a term accepted by the automaton of the verification query. The
+ * candidate documents are selected by the trigram query, so the term dictionary is never scanned,
+ * and each candidate is verified against the terms stored in its term vector.
+ */
+final class TrigramFilteredQuery extends Query {
+
+  private final Query trigramQuery;
+  private final AutomatonQuery verificationQuery;
+
+  TrigramFilteredQuery(Query trigramQuery, AutomatonQuery verificationQuery) {
+    this.trigramQuery = trigramQuery;
+    this.verificationQuery = verificationQuery;
+  }
+
+  /** Returns query that is equivalent to this one, but scans the term dictionary. */
+  AutomatonQuery getVerificationQuery() {
+    return verificationQuery;
+  }
+
+  @Override
+  public Query rewrite(IndexReader reader) throws IOException {
+    Query rewritten = trigramQuery.rewrite(reader);
+    if (rewritten != trigramQuery) {
+      return new TrigramFilteredQuery(rewritten, verificationQuery);
+    }
+    return super.rewrite(reader);
+  }
+
+  @Override
+  public Weight createWeight(IndexSearcher searcher, boolean needsScores, float boost)
+      throws IOException {
+    final Weight trigramWeight = searcher.createWeight(trigramQuery, false, boost);
+    final String field = verificationQuery.getField();
+    final CompiledAutomaton automaton = new CompiledAutomaton(verificationQuery.getAutomaton());
+    return new ConstantScoreWeight(this, boost) {
+      @Override
+      public Scorer scorer(LeafReaderContext context) throws IOException {
+        final Scorer trigramScorer = trigramWeight.scorer(context);
+        if (trigramScorer == null) {
+          return null;
+        }
+        final LeafReader reader = context.reader();
+        final DocIdSetIterator candidates = trigramScorer.iterator();
+        return new ConstantScoreScorer(
+            this,
+            score(),
+            new TwoPhaseIterator(candidates) {
+              @Override
+              public boolean matches() throws IOException {
+                Terms terms = reader.getTermVector(candidates.docID(), field);
+                return terms != null && automaton.getTermsEnum(terms).next() != null;
+              }
+
+              @Override
+              public float matchCost() {
+                // term vector of the document is read and its terms are run through the automaton
+                return 1000f;
+              }
+            });
+      }
+
+      @Override
+      public boolean isCacheable(LeafReaderContext context) {
+        return true;
+      }
+    };
+  }
+
+  @Override
+  public String toString(String field) {
+    return "trigrams(" + verificationQuery.toString(field) + ')';
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return sameClassAs(other)
+        && trigramQuery.equals(((TrigramFilteredQuery) other).trigramQuery)
+        && verificationQuery.equals(((TrigramFilteredQuery) other).verificationQuery);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(classHash(), trigramQuery, verificationQuery);
+  }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.AutomatonQuery;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.RegexpQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+
+/**
+ * Query parser that plans text queries against the trigram index.
+ *
+ * <p>Plain terms are searched as substrings of the indexed tokens, e.g. {@code bar} finds {@code
+ * foo.bar(baz)}. Plain terms, wildcard and regular expression queries are turned into a {@link
+ * TrigramFilteredQuery}: the trigrams of the literals the matching token must contain select the
+ * candidate documents, which are then verified against the terms of the document. Queries which
+ * literals are shorter than a trigram fall back to the scan of the term dictionary.
+ */
+class TrigramQueryParser extends QueryParser {
+
+  /** Maximum number of trigrams used to select candidates, the rest is left to verification. */
+  private static final int MAX_TRIGRAMS = 64;
+
+  private static final int TRIGRAM_LENGTH = 3;
+
+  private final String trigramField;
+
+  TrigramQueryParser(String field, String trigramField, Analyzer analyzer) {
+    super(field, analyzer);
+    this.trigramField = trigramField;
+    setAllowLeadingWildcard(true);
+  }
+
+  /**
+   * Replaces trigram filtered queries in the given query with the queries they verify, the result
+   * is used for finding positions of the matched tokens.
+   */
+  static Query toVerificationQuery(Query query) {
+    if (query instanceof TrigramFilteredQuery) {
+      return ((TrigramFilteredQuery) query).getVerificationQuery();
+    }
+    if (query instanceof BoostQuery) {
+      BoostQuery boostQuery = (BoostQuery) query;
+      return new BoostQuery(toVerificationQuery(boostQuery.getQuery()), boostQuery.getBoost());
+    }
+    if (query instanceof BooleanQuery) {
+      BooleanQuery booleanQuery = (BooleanQuery) query;
+      BooleanQuery.Builder builder = new BooleanQuery.Builder();
+      builder.setMinimumNumberShouldMatch(booleanQuery.getMinimumNumberShouldMatch());
+      for (BooleanClause clause : booleanQuery.clauses()) {
+        builder.add(toVerificationQuery(clause.getQuery()), clause.getOccur());
+      }
+      return builder.build();
+    }
+    return query;
+  }
+
+  @Override
+  protected Query getFieldQuery(String field, String queryText, boolean quoted)
+      throws ParseException {
+    if (quoted || !isTextField(field)) {
+      return super.getFieldQuery(field, queryText, quoted);
+    }
+    return getWildcardQuery(field, '*' + escapeWildcard(queryText) + '*');
+  }
+
+  @Override
+  protected Query getWildcardQuery(String field, String termStr) throws ParseException {
+    Query query = super.getWildcardQuery(field, termStr);
+    if (!isTextField(field) || !(query instanceof WildcardQuery)) {
+      return query;
+    }
+    return filterByTrigrams(
+        (WildcardQuery) query, wildcardLiterals(((WildcardQuery) query).getTerm().text()));
+  }
+
+  @Override
+  protected Query getRegexpQuery(String field, String termStr) throws ParseException {
+    Query query = super.getRegexpQuery(field, termStr);
+    if (!isTextField(field) || !(query instanceof RegexpQuery)) {
+      return query;
+    }
+    return filterByTrigrams(
+        (RegexpQuery) query,
+        regexpLiterals(getAnalyzer().normalize(field, termStr).utf8ToString()));
+  }
+
+  private boolean isTextField(String field) {
+    return getField().equals(field);
+  }
+
+  private Query filterByTrigrams(AutomatonQuery query, List<String> literals) {
+    Set<String> trigrams = trigrams(literals);
+    if (trigrams.isEmpty()) {
+      return query;
+    }
+    BooleanQuery.Builder candidates = new BooleanQuery.Builder();
+    trigrams
+        .stream()
+        .limit(MAX_TRIGRAMS)
+        .forEach(
+            trigram ->
+                candidates.add(new TermQuery(new Term(trigramField, trigram)), Occur.FILTER));
+    return new TrigramFilteredQuery(candidates.build(), query);
+  }
+
+  /** Returns distinct trigrams of the given literals. */
+  static Set<String> trigrams(List<String> literals) {
+    Set<String> trigrams = new LinkedHashSet<>();
+    for (String literal : literals) {
+      int[] codePoints = literal.codePoints().toArray();
+      for (int i = 0; i + TRIGRAM_LENGTH <= codePoints.length; i++) {
+        trigrams.add(new String(codePoints, i, TRIGRAM_LENGTH));
+      }
+    }
+    return trigrams;
+  }
+
+  /** Returns literals that each term matching the given wildcard pattern contains. */
+  static List<String> wildcardLiterals(String pattern) {
+    List<String> literals = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c == '*' || c == '?') {
+        addLiteral(literals, literal);
+      } else if (c == '\\' && i + 1 < pattern.length()) {
+        literal.append(pattern.charAt(++i));
+      } else {
+        literal.append(c);
+      }
+    }
+    addLiteral(literals, literal);
+    return literals;
+  }
+
+  /**
+   * Returns literals that each term matching the given regular expression contains. The analysis is
+   * conservative, regular expressions with union, intersection or complement operators give no
+   * literals, and so do not limit candidates.
+   */
+  static List<String> regexpLiterals(String regexp) {
+    List<String> literals = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int i = 0;
+    while (i < regexp.length()) {
+      char c = regexp.charAt(i);
+      String unit = null;
+      if (c == '|' || c == '&' || c == '~') {
+        return Collections.emptyList();
+      } else if (c == '\\') {
+        if (i + 1 < regexp.length()) {
+          unit = String.valueOf(regexp.charAt(i + 1));
+        }
+        i += 2;
+      } else if (c == '"') {
+        int end = regexp.indexOf('"', i + 1);
+        if (end < 0) {
+          return Collections.emptyList();
+        }
+        unit = regexp.substring(i + 1, end);
+        i = end + 1;
+      } else if (c == '(' || c == '[' || c == '<' || c == '{') {
+        i = skipGroup(regexp, i);
+        if (i < 0) {
+          return Collections.emptyList();
+        }
+      } else if (c == '.' || c == '#' || c == '@' || c == '?' || c == '*' || c == '+') {
+        i++;
+      } else {
+        unit = String.valueOf(c);
+        i++;
+      }
+
+      char quantifier = i < regexp.length() ? regexp.charAt(i) : 0;
+      if (quantifier == '?' || quantifier == '*' || quantifier == '{') {
+        // unit is optional or may be repeated, nothing is known about it
+        unit = null;
+      } else if (quantifier == '+') {
+        // unit is present, but what follows it is not necessarily adjacent
+        if (unit != null) {
+          literal.append(unit);
+        }
+        unit = null;
+        i++;
+      }
+      if (unit == null) {
+        addLiteral(literals, literal);
+      } else {
+        literal.append(unit);
+      }
+    }
+    addLiteral(literals, literal);
+    return literals;
+  }
+
+  /**
+   * Returns index of the character after the group starting at the given index, or -1 if the group
+   * is not closed.
+   */
+  private static int skipGroup(String regexp, int start) {
+    char open = regexp.charAt(start);
+    char close = open == '(' ? ')' : open == '[' ? ']' : open == '<' ? '>' : '}';
+    int i = start + 1;
+    while (i < regexp.length()) {
+      char c = regexp.charAt(i);
+      if (c == close) {
+        return i + 1;
+      } else if (c == '\\') {
+        i += 2;
+      } else if (open == '(' && (c == '(' || c == '[' || c == '<' || c == '{')) {
+        i = skipGroup(regexp, i);
+        if (i < 0) {
+          return -1;
+        }
+      } else if (open == '(' && c == '"') {
+        int end = regexp.indexOf('"', i + 1);
+        if (end < 0) {
+          return -1;
+        }
+        i = end + 1;
+      } else {
+        i++;
+      }
+    }
+    return -1;
+  }
+
+  private static void addLiteral(List<String> literals, StringBuilder literal) {
+    if (literal.length() > 0) {
+      literals.add(literal.toString());
+      literal.setLength(0);
+    }
+  }
+
+  private static String escapeWildcard(String text) {
+    StringBuilder escaped = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '*' || c == '?' || c == '\\') {
+        escaped.append('\\');
+      }
+      escaped.append(c);
+    }
+    return escaped.toString();
+  }
+}
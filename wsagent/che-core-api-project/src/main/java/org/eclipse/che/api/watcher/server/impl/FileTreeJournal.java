@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.watcher.server.impl;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Singleton;
+
+/**
+ * Journal of file system changes reported by {@link FileWatcherService}. Collects paths of changed
+ * items and directories which watch keys overflowed, so {@link FileTreeWalker} can process only
+ * them instead of sweeping the whole file tree.
+ */
+@Singleton
+public class FileTreeJournal {
+  private final Set<Path> changed = ConcurrentHashMap.newKeySet();
+  private final Set<Path> overflowed = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Records change of a file system item.
+   *
+   * @param path absolute path of the changed item
+   */
+  void changed(Path path) {
+    changed.add(path);
+  }
+
+  /**
+   * Records overflow of a watched directory, all the subtree of such directory needs to be
+   * rescanned.
+   *
+   * @param dir absolute path of the directory
+   */
+  void overflowed(Path dir) {
+    overflowed.add(dir);
+  }
+
+  /** Returns and forgets paths of all changed items recorded so far. */
+  Set<Path> drainChanged() {
+    return drain(changed);
+  }
+
+  /** Returns and forgets paths of all overflowed directories recorded so far. */
+  Set<Path> drainOverflowed() {
+    return drain(overflowed);
+  }
+
+  /** Forgets all the recorded changes. */
+  void clear() {
+    changed.clear();
+    overflowed.clear();
+  }
+
+  private static Set<Path> drain(Set<Path> paths) {
+    Set<Path> drained = new HashSet<>();
+    for (Iterator<Path> it = paths.iterator(); it.hasNext(); ) {
+      drained.add(it.next());
+      it.remove();
+    }
+    return drained;
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.watcher.server.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Compact snapshot of file system items used by {@link FileTreeWalker}. Maps root relative item
+ * paths to their last modification time and to the number of the sweep the item was last seen in.
+ *
+ * <p>Items are kept in open addressing hash table with linear probing backed by plain arrays, so an
+ * item costs a reference to its path string and two primitive slots instead of a hash map entry, a
+ * {@link java.nio.file.Path} instance and a boxed {@link Long}.
+ *
+ * <p>This class is not thread safe.
+ */
+class FileTreeSnapshot {
+  static final long ABSENT = Long.MIN_VALUE;
+
+  private static final int INITIAL_CAPACITY = 1 << 10;
+
+  private String[] keys;
+  private long[] lastModified;
+  private int[] generations;
+  private int size;
+
+  FileTreeSnapshot() {
+    allocate(INITIAL_CAPACITY);
+  }
+
+  /** Returns the number of items in the snapshot. */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns last modification time of an item or {@link #ABSENT} if there is no such item.
+   *
+   * @param key root relative path of the item
+   */
+  long get(String key) {
+    int index = indexOf(key);
+    return index < 0 ? ABSENT : lastModified[index];
+  }
+
+  /**
+   * Stores last modification time of an item and marks the item as seen in the given sweep.
+   *
+   * @param key root relative path of the item
+   * @param modified last modification time of the item
+   * @param generation number of the sweep
+   * @return previous last modification time or {@link #ABSENT} if the item is new
+   */
+  long put(String key, long modified, int generation) {
+    if ((size + 1) * 4 > keys.length * 3) {
+      resize(keys.length << 1);
+    }
+
+    int mask = keys.length - 1;
+    int index = slot(key, mask);
+    while (keys[index] != null) {
+      if (keys[index].equals(key)) {
+        long previous = lastModified[index];
+        lastModified[index] = modified;
+        generations[index] = generation;
+        return previous;
+      }
+      index = (index + 1) & mask;
+    }
+
+    keys[index] = key;
+    lastModified[index] = modified;
+    generations[index] = generation;
+    size++;
+    return ABSENT;
+  }
+
+  /**
+   * Removes an item.
+   *
+   * @param key root relative path of the item
+   * @return {@code true} if the item was present
+   */
+  boolean remove(String key) {
+    int index = indexOf(key);
+    if (index < 0) {
+      return false;
+    }
+    delete(index);
+    return true;
+  }
+
+  /**
+   * Removes all items which keys match the filter.
+   *
+   * @param filter items filter
+   * @param removed consumer of removed items keys
+   */
+  void removeAll(Predicate<String> filter, Consumer<String> removed) {
+    removeIf(index -> filter.test(keys[index]), removed);
+  }
+
+  /**
+   * Removes all items which keys match the filter and that were not seen in the given sweep.
+   *
+   * @param generation number of the sweep
+   * @param filter items filter
+   * @param removed consumer of removed items keys
+   */
+  void removeStale(int generation, Predicate<String> filter, Consumer<String> removed) {
+    removeIf(index -> generations[index] != generation && filter.test(keys[index]), removed);
+  }
+
+  private void removeIf(Predicate<Integer> condition, Consumer<String> removed) {
+    List<String> matched = new ArrayList<>();
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != null && condition.test(i)) {
+        matched.add(keys[i]);
+      }
+    }
+    for (String key : matched) {
+      remove(key);
+      removed.accept(key);
+    }
+  }
+
+  private int indexOf(String key) {
+    int mask = keys.length - 1;
+    int index = slot(key, mask);
+    while (keys[index] != null) {
+      if (keys[index].equals(key)) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  /** Removes item at the given index shifting back the items of the same probe sequence. */
+  private void delete(int index) {
+    int mask = keys.length - 1;
+    int hole = index;
+    int next = index;
+    while (true) {
+      next = (next + 1) & mask;
+      if (keys[next] == null) {
+        break;
+      }
+      int ideal = slot(keys[next], mask);
+      boolean reachable =
+          hole <= next ? hole < ideal && ideal <= next : hole < ideal || ideal <= next;
+      if (!reachable) {
+        keys[hole] = keys[next];
+        lastModified[hole] = lastModified[next];
+        generations[hole] = generations[next];
+        hole = next;
+      }
+    }
+    keys[hole] = null;
+    size--;
+  }
+
+  private void resize(int capacity) {
+    String[] oldKeys = keys;
+    long[] oldLastModified = lastModified;
+    int[] oldGenerations = generations;
+
+    allocate(capacity);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) {
+        put(oldKeys[i], oldLastModified[i], oldGenerations[i]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new String[capacity];
+    lastModified = new long[capacity];
+    generations = new int[capacity];
+    size = 0;
+  }
+
+  private static int slot(String key, int mask) {
+    int hash = key.hashCode();
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+}
@@ -11,11 +11,12 @@
  */
 package org.eclipse.che.api.watcher.server.impl;
 
+import static java.lang.System.currentTimeMillis;
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
-import static java.nio.file.Files.exists;
+import static java.nio.file.Files.readAttributes;
 import static java.nio.file.Files.walkFileTree;
-import static java.util.stream.Collectors.toSet;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 import com.google.inject.Inject;
 import java.io.IOException;
@@ -26,10 +27,9 @@ import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -41,12 +41,19 @@ import org.slf4j.LoggerFactory;
 /**
  * Walks a file system tree, register addition, update and removal of file system items. On events
  * runs corresponding consumers that can be registered in DI configuration modules.
+ *
+ * <p>By default each walk sweeps the whole file tree. When full sweep period is configured with
+ * positive value walker works in change journal mode: walks between full sweeps process only the
+ * items reported by {@link FileWatcherService} through {@link FileTreeJournal} and rescan the
+ * subtrees of the directories which watch keys overflowed. The whole tree is swept not more often
+ * than once per configured period to catch changes of not watched directories.
  */
 @Singleton
 public class FileTreeWalker {
   private static final Logger LOG = LoggerFactory.getLogger(FileTreeWalker.class);
 
   private final Path root;
+  private final String separator;
 
   private final Set<Consumer<Path>> directoryUpdateConsumers;
   private final Set<Consumer<Path>> directoryCreateConsumers;
@@ -58,10 +65,20 @@ public class FileTreeWalker {
   private final Set<Consumer<Path>> fileDeleteConsumers;
   private final Set<PathMatcher> fileExcludes;
 
-  private final Map<Path, Long> files = new HashMap<>();
-  private final Map<Path, Long> directories = new HashMap<>();
+  private final FileTreeJournal journal;
+  private final long fullSweepPeriodMillis;
+
+  private final FileTreeSnapshot files = new FileTreeSnapshot();
+  private final FileTreeSnapshot directories = new FileTreeSnapshot();
 
   private boolean initialized;
+  private int generation;
+  private long lastFullSweep;
+
+  private volatile long lastSweepDuration;
+  private volatile long lastSweepItems;
+  private volatile long fullSweeps;
+  private volatile long journalSweeps;
 
   @Inject
   public FileTreeWalker(
@@ -73,8 +90,11 @@ public class FileTreeWalker {
       @Named("che.fs.file.update") Set<Consumer<Path>> fileUpdateConsumers,
       @Named("che.fs.file.create") Set<Consumer<Path>> fileCreateConsumers,
       @Named("che.fs.file.delete") Set<Consumer<Path>> fileDeleteConsumers,
-      @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes) {
+      @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes,
+      FileTreeJournal journal,
+      @Named("che.fs.tree_walker.full_sweep_period_sec") long fullSweepPeriod) {
     this.root = Paths.get(pathProvider.get());
+    this.separator = root.getFileSystem().getSeparator();
 
     this.directoryUpdateConsumers = directoryUpdateConsumers;
     this.directoryCreateConsumers = directoryCreateConsumers;
@@ -86,44 +106,21 @@ public class FileTreeWalker {
 
     this.directoryExcludes = directoryExcludes;
     this.fileExcludes = fileExcludes;
+
+    this.journal = journal;
+    this.fullSweepPeriodMillis = SECONDS.toMillis(fullSweepPeriod);
   }
 
   @PostConstruct
   void initialize() {
+    journal.clear();
     try {
-      walkFileTree(
-          root,
-          new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : directoryExcludes) {
-                if (matcher.matches(dir)) {
-                  return SKIP_SUBTREE;
-                }
-              }
-
-              directories.put(dir, attrs.lastModifiedTime().toMillis());
-
-              return CONTINUE;
-            }
-
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : fileExcludes) {
-                if (matcher.matches(file)) {
-                  return CONTINUE;
-                }
-              }
-
-              files.put(file, attrs.lastModifiedTime().toMillis());
-
-              return CONTINUE;
-            }
-          });
+      walkFileTree(root, new SnapshotVisitor(false));
     } catch (IOException e) {
       LOG.error("Error while walking file tree", e);
     }
 
+    lastFullSweep = currentTimeMillis();
     initialized = true;
   }
 
@@ -133,77 +130,212 @@ public class FileTreeWalker {
       return;
     }
 
-    try {
+    long start = currentTimeMillis();
+    if (fullSweepPeriodMillis <= 0 || start - lastFullSweep >= fullSweepPeriodMillis) {
       LOG.debug("Tree walk started");
+      journal.clear();
+      lastFullSweep = start;
+      fullSweeps++;
+      sweep(root);
+    } else {
+      LOG.debug("Journal walk started");
+      journalSweeps++;
+      journal.drainOverflowed().forEach(this::sweep);
+      journal.drainChanged().forEach(this::update);
+    }
 
-      Set<Path> deletedFiles = files.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      fileDeleteConsumers.forEach(deletedFiles::forEach);
-      files.keySet().removeAll(deletedFiles);
-
-      Set<Path> deletedDirectories =
-          directories.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      directoryDeleteConsumers.forEach(deletedDirectories::forEach);
-      directories.keySet().removeAll(deletedDirectories);
-
-      walkFileTree(
-          root,
-          new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
-                throws IOException {
-              for (PathMatcher matcher : directoryExcludes) {
-                if (matcher.matches(dir)) {
-                  return SKIP_SUBTREE;
-                }
-              }
-
-              updateFsTreeAndAcceptConsumables(
-                  directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
-
-              return CONTINUE;
-            }
-
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : fileExcludes) {
-                if (matcher.matches(file)) {
-                  return CONTINUE;
-                }
-              }
-
-              updateFsTreeAndAcceptConsumables(
-                  files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
-
-              return CONTINUE;
-            }
-          });
-      LOG.debug("Tree walk finished");
+    lastSweepDuration = currentTimeMillis() - start;
+    lastSweepItems = files.size() + directories.size();
+    LOG.debug(
+        "Tree walk finished in {} ms, tracking {} files and {} directories",
+        lastSweepDuration,
+        files.size(),
+        directories.size());
+  }
+
+  /** Returns duration in milliseconds of the last walk. */
+  public long getLastSweepDuration() {
+    return lastSweepDuration;
+  }
+
+  /** Returns number of file system items tracked after the last walk. */
+  public long getLastSweepItems() {
+    return lastSweepItems;
+  }
+
+  /** Returns number of walks that swept the whole file tree. */
+  public long getFullSweeps() {
+    return fullSweeps;
+  }
+
+  /** Returns number of walks that processed only the change journal. */
+  public long getJournalSweeps() {
+    return journalSweeps;
+  }
+
+  /** Rescans the subtree of the given directory, items not found anymore are reported deleted. */
+  private void sweep(Path dir) {
+    int current = ++generation;
+    Predicate<String> inSubtree = subtree(toKey(dir));
+    try {
+      walkFileTree(dir, new SnapshotVisitor(true));
     } catch (NoSuchFileException e) {
       LOG.debug(
           "Trying to process a file, however seems like it is already not present: {}",
           e.getMessage());
     } catch (Exception e) {
       LOG.error("Error while walking file tree", e);
+      return;
+    }
+
+    files.removeStale(current, inSubtree, key -> accept(fileDeleteConsumers, key));
+    directories.removeStale(current, inSubtree, key -> accept(directoryDeleteConsumers, key));
+  }
+
+  /** Updates the snapshot with the actual state of the single item reported by the journal. */
+  private void update(Path path) {
+    if (!path.startsWith(root)) {
+      return;
+    }
+
+    String key = toKey(path);
+    BasicFileAttributes attrs;
+    try {
+      attrs = readAttributes(path, BasicFileAttributes.class);
+    } catch (IOException e) {
+      if (files.remove(key)) {
+        accept(fileDeleteConsumers, key);
+      }
+      if (directories.get(key) != FileTreeSnapshot.ABSENT) {
+        Predicate<String> inSubtree = subtree(key);
+        files.removeAll(inSubtree, it -> accept(fileDeleteConsumers, it));
+        directories.removeAll(inSubtree, it -> accept(directoryDeleteConsumers, it));
+      }
+      return;
+    }
+
+    if (isInExcludedDirectory(path)) {
+      return;
+    }
+
+    if (attrs.isDirectory()) {
+      if (isExcluded(directoryExcludes, path)) {
+        return;
+      }
+      if (directories.get(key) == FileTreeSnapshot.ABSENT) {
+        // content of a new directory is not watched yet
+        sweep(path);
+      } else {
+        updateSnapshotAndAcceptConsumables(
+            directories, directoryUpdateConsumers, directoryCreateConsumers, path, attrs);
+      }
+    } else if (!isExcluded(fileExcludes, path)) {
+      updateSnapshotAndAcceptConsumables(
+          files, fileUpdateConsumers, fileCreateConsumers, path, attrs);
     }
   }
 
-  private void updateFsTreeAndAcceptConsumables(
-      Map<Path, Long> items,
+  private void updateSnapshotAndAcceptConsumables(
+      FileTreeSnapshot items,
       Set<Consumer<Path>> updateConsumer,
       Set<Consumer<Path>> createConsumer,
       Path path,
       BasicFileAttributes attrs) {
-    Long lastModifiedActual = attrs.lastModifiedTime().toMillis();
+    long lastModifiedActual = attrs.lastModifiedTime().toMillis();
+    long lastModifiedStored = items.put(toKey(path), lastModifiedActual, generation);
 
-    if (items.containsKey(path)) {
-      Long lastModifiedStored = items.get(path);
-      if (!lastModifiedActual.equals(lastModifiedStored)) {
-        items.put(path, lastModifiedActual);
-        updateConsumer.forEach(it -> it.accept(path));
-      }
-    } else {
-      items.put(path, lastModifiedActual);
+    if (lastModifiedStored == FileTreeSnapshot.ABSENT) {
       createConsumer.forEach(it -> it.accept(path));
+    } else if (lastModifiedActual != lastModifiedStored) {
+      updateConsumer.forEach(it -> it.accept(path));
+    }
+  }
+
+  private void accept(Set<Consumer<Path>> consumers, String key) {
+    Path path = root.resolve(key);
+    consumers.forEach(it -> it.accept(path));
+  }
+
+  private String toKey(Path path) {
+    return root.relativize(path).toString();
+  }
+
+  private Predicate<String> subtree(String key) {
+    if (key.isEmpty()) {
+      return it -> true;
+    }
+    String prefix = key + separator;
+    return it -> it.equals(key) || it.startsWith(prefix);
+  }
+
+  private boolean isInExcludedDirectory(Path path) {
+    for (Path dir = path.getParent(); dir != null && dir.startsWith(root); dir = dir.getParent()) {
+      if (isExcluded(directoryExcludes, dir)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isExcluded(Set<PathMatcher> excludes, Path path) {
+    for (PathMatcher matcher : excludes) {
+      if (matcher.matches(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Puts visited items into the snapshot, if {@code notify} is set runs consumers for created and
+   * updated items.
+   */
+  private class SnapshotVisitor extends SimpleFileVisitor<Path> {
+    private final boolean notify;
+
+    SnapshotVisitor(boolean notify) {
+      this.notify = notify;
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+      if (isExcluded(directoryExcludes, dir)) {
+        return SKIP_SUBTREE;
+      }
+
+      if (notify) {
+        updateSnapshotAndAcceptConsumables(
+            directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
+      } else {
+        directories.put(toKey(dir), attrs.lastModifiedTime().toMillis(), generation);
+      }
+
+      return CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+      if (isExcluded(fileExcludes, file)) {
+        return CONTINUE;
+      }
+
+      if (notify) {
+        updateSnapshotAndAcceptConsumables(
+            files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
+      } else {
+        files.put(toKey(file), attrs.lastModifiedTime().toMillis(), generation);
+      }
+
+      return CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+      if (e instanceof NoSuchFileException && !file.equals(root)) {
+        LOG.debug("Item is already not present: {}", file);
+        return CONTINUE;
+      }
+      throw e;
     }
   }
 }
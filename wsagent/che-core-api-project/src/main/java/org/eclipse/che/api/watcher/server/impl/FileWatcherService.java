@@ -67,6 +67,7 @@ public class FileWatcherService {
 
   private final FileWatcherExcludePatternsRegistry excludePatternsRegistry;
   private final FileWatcherEventHandler handler;
+  private final FileTreeJournal journal;
   private final WatchService service;
   private final Modifier[] eventModifiers;
   private final Kind<?>[] eventKinds;
@@ -77,9 +78,11 @@ public class FileWatcherService {
   public FileWatcherService(
       FileWatcherExcludePatternsRegistry excludePatternsRegistry,
       FileWatcherEventHandler handler,
+      FileTreeJournal journal,
       WatchService service) {
     this.excludePatternsRegistry = excludePatternsRegistry;
     this.handler = handler;
+    this.journal = journal;
     this.service = service;
 
     this.eventModifiers = getWatchEventModifiers();
@@ -283,12 +286,14 @@ public class FileWatcherService {
 
           if (kind == OVERFLOW) {
             LOG.warn("Detected file system events overflowing");
+            journal.overflowed(dir.toAbsolutePath());
             continue;
           }
 
           WatchEvent<Path> ev = cast(event);
           Path item = ev.context();
           Path path = dir.resolve(item).toAbsolutePath();
+          journal.changed(path);
 
           if (excludePatternsRegistry.isExcluded(path)) {
             LOG.debug("Path is within exclude list, skipping...");
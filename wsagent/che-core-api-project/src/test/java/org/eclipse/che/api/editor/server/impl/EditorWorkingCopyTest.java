@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.editor.server.impl;
+
+import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.INSERT;
+import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.REMOVE;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.util.Random;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
+import org.testng.annotations.Test;
+
+/** Tests for {@link EditorWorkingCopy}. */
+public class EditorWorkingCopyTest {
+
+  private static final String CONTENT = "public class A {\n  int a;\n}\n";
+
+  @Test
+  public void shouldInsertText() throws Exception {
+    EditorWorkingCopy workingCopy = new EditorWorkingCopy("path", "project", CONTENT.getBytes());
+
+    workingCopy.applyChanges(insert(25, "\n  int b;"));
+
+    assertEquals(workingCopy.getContentAsString(), "public class A {\n  int a;\n  int b;\n}\n");
+  }
+
+  @Test
+  public void shouldRemoveText() throws Exception {
+    EditorWorkingCopy workingCopy = new EditorWorkingCopy("path", "project", CONTENT.getBytes());
+
+    workingCopy.applyChanges(remove(16, 9));
+
+    assertEquals(workingCopy.getContentAsString(), "public class A {\n}\n");
+  }
+
+  @Test
+  public void shouldReturnSnapshotOfContentAsStream() throws Exception {
+    EditorWorkingCopy workingCopy = new EditorWorkingCopy("path", "project", CONTENT.getBytes());
+    workingCopy.applyChanges(insert(0, "// header\n"));
+
+    InputStream content = workingCopy.getContent();
+    workingCopy.applyChanges(remove(0, 10));
+
+    assertEquals(IOUtils.toString(content), "// header\n" + CONTENT);
+    assertEquals(workingCopy.getContentAsString(), CONTENT);
+  }
+
+  @Test
+  public void shouldKeepOriginalBytesUntilChanged() throws Exception {
+    byte[] bytes = new byte[] {(byte) 0xFF, (byte) 0xFE, 0x00};
+    EditorWorkingCopy workingCopy = new EditorWorkingCopy("path", "project", bytes);
+
+    assertEquals(workingCopy.getContentAsBytes(), bytes);
+    assertEquals(IOUtils.toByteArray(workingCopy.getContent()), bytes);
+  }
+
+  @Test
+  public void shouldProduceTheSameContentAsStringBuilderForEditingSession() throws Exception {
+    Random random = new Random(42);
+    StringBuilder expected = new StringBuilder(CONTENT);
+    EditorWorkingCopy workingCopy = new EditorWorkingCopy("path", "project", CONTENT.getBytes());
+
+    for (int i = 0; i < 5_000; i++) {
+      if (random.nextInt(4) > 0 || expected.length() == 0) {
+        int offset = random.nextInt(expected.length() + 1);
+        String text = Character.toString((char) ('a' + random.nextInt(26)));
+        expected.insert(offset, text);
+        workingCopy.applyChanges(insert(offset, text));
+      } else {
+        int offset = random.nextInt(expected.length());
+        int count = random.nextInt(Math.min(10, expected.length() - offset)) + 1;
+        expected.delete(offset, offset + count);
+        workingCopy.applyChanges(remove(offset, count));
+      }
+    }
+
+    assertEquals(workingCopy.getContentAsString(), expected.toString());
+    assertEquals(IOUtils.toString(workingCopy.getContent()), expected.toString());
+    assertEquals(workingCopy.getContentAsBytes(), expected.toString().getBytes());
+  }
+
+  @Test
+  public void shouldCoalesceTypedCharactersIntoSinglePiece() throws Exception {
+    PieceTable table = new PieceTable(CONTENT);
+
+    for (int i = 0; i < 100; i++) {
+      table.insert(16 + i, "x");
+    }
+
+    assertEquals(table.pieceCount(), 3);
+  }
+
+  @Test
+  public void shouldCompactTableWhenTooManyPieces() throws Exception {
+    PieceTable table = new PieceTable(CONTENT);
+
+    for (int i = 0; i < PieceTable.MAX_PIECES; i++) {
+      table.insert(i * 2, "x");
+    }
+
+    assertTrue(table.pieceCount() <= PieceTable.MAX_PIECES);
+  }
+
+  private EditorChangesDto insert(int offset, String text) {
+    EditorChangesDto changes = mock(EditorChangesDto.class);
+    when(changes.getType()).thenReturn(INSERT);
+    when(changes.getOffset()).thenReturn(offset);
+    when(changes.getText()).thenReturn(text);
+    return changes;
+  }
+
+  private EditorChangesDto remove(int offset, int count) {
+    EditorChangesDto changes = mock(EditorChangesDto.class);
+    when(changes.getType()).thenReturn(REMOVE);
+    when(changes.getOffset()).thenReturn(offset);
+    when(changes.getRemovedCharCount()).thenReturn(count);
+    return changes;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.fs.server.impl;
+
+import static java.util.Collections.emptySet;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.che.api.fs.server.PathTransformer;
+
+/**
+ * Compares time to the first byte and throughput of the streaming parallel export with zipping to a
+ * temporary file, which is how the export worked before. Not executed as a part of the build, run
+ * it manually:
+ *
+ * <pre>
+ * java ... ZipArchiverBenchmark /path/to/project
+ * </pre>
+ */
+public class ZipArchiverBenchmark {
+
+  private static final int ITERATIONS = 3;
+
+  public static void main(String[] args) throws Exception {
+    if (args.length == 0) {
+      System.err.println("Usage: ZipArchiverBenchmark <project directory>");
+      System.exit(1);
+    }
+    Path project = new File(args[0]).getAbsoluteFile().toPath();
+    ZipArchiver zipArchiver = new ZipArchiver(mock(PathTransformer.class), emptySet());
+    try {
+      for (int i = 0; i < ITERATIONS; i++) {
+        measure("temporary file", () -> zipToTemporaryFile(project));
+        measure("streaming", () -> zipArchiver.zip(project));
+      }
+    } finally {
+      zipArchiver.shutdown();
+    }
+  }
+
+  private static void measure(String name, ArchiveSupplier archive) throws Exception {
+    long start = System.nanoTime();
+    long firstByte = 0;
+    long size = 0;
+    byte[] buffer = new byte[64 * 1024];
+    try (InputStream in = archive.get()) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        if (size == 0) {
+          firstByte = System.nanoTime() - start;
+        }
+        size += read;
+      }
+    }
+    long total = System.nanoTime() - start;
+    System.out.printf(
+        "%-15s first byte: %8.2f ms, total: %8.2f ms, size: %6.1f MB, throughput: %6.1f MB/s%n",
+        name, firstByte / 1e6, total / 1e6, size / 1e6, size / 1e6 / (total / 1e9));
+  }
+
+  /** Zips the way the export worked before, to a temporary file with a single thread. */
+  private static InputStream zipToTemporaryFile(Path project) throws IOException {
+    File outFile = Files.createTempFile(project.getFileName().toString(), ".zip").toFile();
+    outFile.deleteOnExit();
+    try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(outFile))) {
+      zip(project, project.toFile(), zos);
+    }
+    return new FileInputStream(outFile);
+  }
+
+  private static void zip(Path zipRoot, File zipInFile, ZipOutputStream zos) throws IOException {
+    if (zipInFile.isDirectory()) {
+      File[] files = zipInFile.listFiles();
+      for (File file : files == null ? new File[0] : files) {
+        zip(zipRoot, file, zos);
+      }
+      return;
+    }
+    try (FileInputStream fis = new FileInputStream(zipInFile)) {
+      zos.putNextEntry(new ZipEntry(zipRoot.relativize(zipInFile.toPath()).toString()));
+      IOUtils.copy(fis, zos);
+    }
+  }
+
+  private interface ArchiveSupplier {
+    InputStream get() throws Exception;
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.fs.server.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ZipArchiver} */
+public class ZipArchiverTest {
+
+  private static final int CHUNK_SIZE = 1024;
+
+  private File rootDir;
+  private File projectDir;
+  private ZipArchiver zipArchiver;
+  private Map<String, byte[]> files;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    rootDir = Files.createTempDir();
+    projectDir = new File(rootDir, "project");
+    zipArchiver = new ZipArchiver(mock(PathTransformer.class), emptySet(), CHUNK_SIZE);
+
+    Random random = new Random(42);
+    byte[] binary = new byte[CHUNK_SIZE * 3 + 17];
+    random.nextBytes(binary);
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      text.append("line ").append(random.nextInt(100)).append('\n');
+    }
+
+    files = new HashMap<>();
+    files.put("README.md", "# Project".getBytes(UTF_8));
+    files.put("empty.txt", new byte[0]);
+    files.put("src/main/Main.java", text.toString().getBytes(UTF_8));
+    files.put("src/main/data.bin", binary);
+    files.put("images/logo.png", binary);
+    for (Map.Entry<String, byte[]> file : files.entrySet()) {
+      File target = new File(projectDir, file.getKey());
+      target.getParentFile().mkdirs();
+      FileUtils.writeByteArrayToFile(target, file.getValue());
+    }
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    zipArchiver.shutdown();
+    FileUtils.deleteDirectory(rootDir);
+  }
+
+  @Test
+  public void shouldZipFilesSplitIntoChunks() throws Exception {
+    Map<String, byte[]> unzipped = new HashMap<>();
+    try (ZipInputStream zis = new ZipInputStream(zipArchiver.zip(projectDir.toPath()))) {
+      ZipEntry entry;
+      while ((entry = zis.getNextEntry()) != null) {
+        unzipped.put(entry.getName(), IOUtils.toByteArray(zis));
+      }
+    }
+
+    assertEquals(unzipped.keySet(), files.keySet());
+    for (Map.Entry<String, byte[]> file : files.entrySet()) {
+      assertEquals(unzipped.get(file.getKey()), file.getValue(), file.getKey());
+    }
+  }
+
+  @Test
+  public void shouldWriteCentralDirectoryAndStoreCompressedFiles() throws Exception {
+    File zip = new File(rootDir, "project.zip");
+    try (InputStream in = zipArchiver.zip(projectDir.toPath())) {
+      FileUtils.copyInputStreamToFile(in, zip);
+    }
+
+    try (ZipFile zipFile = new ZipFile(zip)) {
+      assertEquals(zipFile.size(), files.size());
+      for (Map.Entry<String, byte[]> file : files.entrySet()) {
+        ZipEntry entry = zipFile.getEntry(file.getKey());
+        assertEquals(entry.getSize(), file.getValue().length);
+        assertEquals(IOUtils.toByteArray(zipFile.getInputStream(entry)), file.getValue());
+      }
+      assertEquals(zipFile.getEntry("images/logo.png").getMethod(), ZipEntry.STORED);
+      assertEquals(zipFile.getEntry("src/main/data.bin").getMethod(), ZipEntry.DEFLATED);
+    }
+  }
+
+  @Test
+  public void shouldNotZipExcludedFiles() throws Exception {
+    FileUtils.writeStringToFile(new File(projectDir, ".git/HEAD"), "ref: refs/heads/master");
+    zipArchiver.shutdown();
+    zipArchiver =
+        new ZipArchiver(
+            mock(PathTransformer.class), singleton(new DotGitExcludeMatcher()), CHUNK_SIZE);
+
+    int entries = 0;
+    try (ZipInputStream zis = new ZipInputStream(zipArchiver.zip(projectDir.toPath()))) {
+      ZipEntry entry;
+      while ((entry = zis.getNextEntry()) != null) {
+        assertFalse(entry.getName().startsWith(".git"), entry.getName());
+        entries++;
+      }
+    }
+    assertEquals(entries, files.size());
+  }
+
+  @Test
+  public void shouldCombineChecksumsOfChunks() throws Exception {
+    byte[] first = "first chunk of the file".getBytes(UTF_8);
+    byte[] second = "second chunk of the file".getBytes(UTF_8);
+
+    long combined = ParallelZipWriter.crc32Combine(crc(first), crc(second), second.length);
+
+    byte[] whole = new byte[first.length + second.length];
+    System.arraycopy(first, 0, whole, 0, first.length);
+    System.arraycopy(second, 0, whole, first.length, second.length);
+    assertEquals(combined, crc(whole));
+  }
+
+  private static long crc(byte[] bytes) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return crc.getValue();
+  }
+}
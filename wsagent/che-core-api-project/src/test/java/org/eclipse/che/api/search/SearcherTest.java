@@ -301,6 +301,24 @@ public class SearcherTest {
             ImmutableList.of(new OffsetData("to", 5, 7, 1.0f, 1, TEST_CONTENT[4]))));
   }
 
+  @Test
+  public void shouldFindLinesOfPositionsInFileWithDifferentLineSeparators() throws Exception {
+    // given
+    contentBuilder
+        .createFolder("folder")
+        .createFile("xxx.txt", "first line\r\nsecond match\rthird\nfourth match");
+    searcher.add(contentBuilder.getCurrentFolder());
+    // when
+    // then
+    assertFind(
+        new QueryExpression().setText("match").setIncludePositions(true),
+        new SearchResultEntry(
+            "/folder/xxx.txt",
+            ImmutableList.of(
+                new OffsetData("match", 19, 24, 1.0f, 2, "second match"),
+                new OffsetData("match", 38, 43, 1.0f, 4, "fourth match"))));
+  }
+
   @DataProvider
   public Object[][] searchByName() {
     return new Object[][] {
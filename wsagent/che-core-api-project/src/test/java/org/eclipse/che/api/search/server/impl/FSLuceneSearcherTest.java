@@ -24,6 +24,7 @@ package org.eclipse.che.api.search.server.impl;
 import static com.google.common.collect.Lists.newArrayList;
 import static org.eclipse.che.api.search.SearcherTest.TEST_CONTENT;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import com.google.common.io.Files;
 import java.io.File;
@@ -35,6 +36,7 @@ import org.eclipse.che.api.fs.server.impl.RootAwarePathTransformer;
 import org.eclipse.che.api.project.server.impl.RootDirPathProvider;
 import org.eclipse.che.api.search.SearcherTest.ContentBuilder;
 import org.eclipse.che.api.search.server.QueryExpression;
+import org.eclipse.che.api.search.server.SearchResult;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -85,6 +87,38 @@ public class FSLuceneSearcherTest {
     assertEquals(newArrayList("/folder/zzz.txt"), paths);
   }
 
+  @Test
+  public void shouldSkipUnchangedFilesAndDeleteRemovedFilesOnRestart() throws Exception {
+    // given
+    contentBuilder
+        .createFolder("folder")
+        .createFile("xxx.txt", "first version")
+        .createFile("zzz.txt", TEST_CONTENT[1]);
+    searcher.initialize();
+    searcher.getInitialIndexingLatch().await();
+    searcher.close();
+
+    File unchanged = new File(workspaceStorage, "folder/xxx.txt");
+    long lastModified = unchanged.lastModified();
+    java.nio.file.Files.write(unchanged.toPath(), "other version".getBytes());
+    unchanged.setLastModified(lastModified);
+    new File(workspaceStorage, "folder/zzz.txt").delete();
+
+    // when
+    searcher =
+        new LuceneSearcher(
+            excludePatterns, indexDirectory, new DummyProvider(workspaceStorage), pathTransformer);
+    searcher.initialize();
+    searcher.getInitialIndexingLatch().await();
+
+    // then
+    SearchResult result = searcher.search(new QueryExpression().setText("first"));
+    assertEquals(newArrayList("/folder/xxx.txt"), result.getFilePaths());
+    assertTrue(result.isIndexingComplete());
+    assertEquals(result.getIndexedFiles(), 1);
+    assertTrue(searcher.search(new QueryExpression().setText("think")).getFilePaths().isEmpty());
+  }
+
   @Test
   public void shouldBeAbleToExcludesFilesFromIndexWithFilter() throws Exception {
     // given
@@ -103,6 +137,38 @@ public class FSLuceneSearcherTest {
     assertEquals(newArrayList("/folder/xxx.txt", "/folder/zzz.txt"), paths);
   }
 
+  @Test
+  public void shouldFindSubstringsOfWordsWithTrigramIndex() throws Exception {
+    // given
+    IoUtil.deleteRecursive(indexDirectory);
+    indexDirectory = Files.createTempDir();
+    searcher =
+        new LuceneSearcher(
+            excludePatterns,
+            indexDirectory,
+            new DummyProvider(workspaceStorage),
+            pathTransformer,
+            true);
+    contentBuilder
+        .createFolder("folder")
+        .createFile("xxx.java", "manager.start(workspaceId);")
+        .createFile("zzz.java", "class Manager {}");
+    searcher.add(contentBuilder.getCurrentFolder());
+
+    // when
+    List<String> substringPaths =
+        searcher.search(new QueryExpression().setText("start")).getFilePaths();
+    List<String> wildcardPaths =
+        searcher.search(new QueryExpression().setText("*anag*")).getFilePaths();
+    List<String> regexpPaths =
+        searcher.search(new QueryExpression().setText("/man.*d\\);/")).getFilePaths();
+
+    // then
+    assertEquals(newArrayList("/folder/xxx.java"), substringPaths);
+    assertEquals(newArrayList("/folder/xxx.java", "/folder/zzz.java"), wildcardPaths);
+    assertEquals(newArrayList("/folder/xxx.java"), regexpPaths);
+  }
+
   private static class DummyProvider extends RootDirPathProvider {
 
     public DummyProvider(File file) {
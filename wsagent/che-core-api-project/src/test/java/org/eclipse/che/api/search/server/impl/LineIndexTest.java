@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class LineIndexTest {
+
+  private static final String TEXT = "first\nsecond\r\nthird\rfourth\u2028fifth\n";
+
+  @Test(dataProvider = "offsets")
+  public void shouldFindLineOfOffset(int offset, int lineNumber, String line) {
+    LineIndex lineIndex = LineIndex.of(TEXT);
+
+    assertEquals(lineIndex.getLineNumber(offset), lineNumber);
+    assertEquals(lineIndex.getLine(TEXT, lineNumber), line);
+  }
+
+  @DataProvider
+  public Object[][] offsets() {
+    return new Object[][] {
+      {0, 1, "first"},
+      {5, 1, "first"},
+      {6, 2, "second"},
+      {13, 2, "second"},
+      {14, 3, "third"},
+      {20, 4, "fourth"},
+      {27, 5, "fifth"}
+    };
+  }
+
+  @Test
+  public void shouldReadWrittenLineIndex() {
+    LineIndex lineIndex = LineIndex.fromBytes(LineIndex.of(TEXT).toBytes());
+
+    assertEquals(lineIndex.getTextLength(), TEXT.length());
+    assertEquals(lineIndex.getLineNumber(14), 3);
+    assertEquals(lineIndex.getLine(TEXT, 3), "third");
+  }
+
+  @Test
+  public void shouldIndexTextWithoutLineSeparators() {
+    LineIndex lineIndex = LineIndex.of("single line");
+
+    assertEquals(lineIndex.getLineNumber(7), 1);
+    assertEquals(lineIndex.getLine("single line", 1), "single line");
+  }
+}
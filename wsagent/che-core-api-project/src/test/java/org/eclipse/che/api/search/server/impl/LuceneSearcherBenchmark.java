@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.che.api.fs.server.impl.RootAwarePathTransformer;
+import org.eclipse.che.api.project.server.impl.RootDirPathProvider;
+import org.eclipse.che.api.search.server.QueryExpression;
+import org.eclipse.che.api.search.server.SearchResult;
+import org.eclipse.che.commons.lang.IoUtil;
+
+/**
+ * Compares search latency of the default and the trigram index on a checked out repository. Not
+ * executed as a part of the build, run it manually:
+ *
+ * <pre>
+ * java ... LuceneSearcherBenchmark /path/to/repository [query...]
+ * </pre>
+ */
+public class LuceneSearcherBenchmark {
+
+  private static final int WARM_UP_ITERATIONS = 5;
+  private static final int ITERATIONS = 20;
+
+  public static void main(String[] args) throws Exception {
+    if (args.length == 0) {
+      System.err.println("Usage: LuceneSearcherBenchmark <repository directory> [query...]");
+      System.exit(1);
+    }
+    File root = new File(args[0]).getAbsoluteFile();
+    List<String> queries =
+        args.length > 1
+            ? Arrays.asList(args).subList(1, args.length)
+            : Arrays.asList("manager", "*manager*", "*service*impl*", "/get.*name/", "foo");
+    for (boolean trigramIndex : new boolean[] {false, true}) {
+      File indexDirectory = Files.createTempDir();
+      try {
+        run(root, indexDirectory, trigramIndex, queries);
+      } finally {
+        IoUtil.deleteRecursive(indexDirectory);
+      }
+    }
+  }
+
+  private static void run(
+      File root, File indexDirectory, boolean trigramIndex, List<String> queries) throws Exception {
+    RootDirPathProvider rootProvider = new RootProvider(root);
+    LuceneSearcher searcher =
+        new LuceneSearcher(
+            Collections.emptySet(),
+            indexDirectory,
+            rootProvider,
+            new RootAwarePathTransformer(rootProvider),
+            trigramIndex);
+    long start = System.currentTimeMillis();
+    searcher.initialize();
+    searcher.getInitialIndexingLatch().await();
+    System.out.printf(
+        "trigram index: %s, indexing: %d ms%n", trigramIndex, System.currentTimeMillis() - start);
+
+    for (String text : queries) {
+      QueryExpression query = new QueryExpression().setText(text).setMaxItems(100);
+      for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+        searcher.search(query);
+      }
+      long[] latencies = new long[ITERATIONS];
+      SearchResult result = null;
+      for (int i = 0; i < ITERATIONS; i++) {
+        long queryStart = System.nanoTime();
+        result = searcher.search(query);
+        latencies[i] = System.nanoTime() - queryStart;
+      }
+      Arrays.sort(latencies);
+      System.out.printf(
+          "  %-20s hits: %6d, median: %8.2f ms, max: %8.2f ms%n",
+          text,
+          result.getTotalHits(),
+          latencies[ITERATIONS / 2] / 1e6,
+          latencies[ITERATIONS - 1] / 1e6);
+    }
+  }
+
+  private static class RootProvider extends RootDirPathProvider {
+
+    RootProvider(File root) {
+      this.rootFile = root;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class TrigramQueryParserTest {
+
+  @Test(dataProvider = "regexps")
+  public void shouldFindLiteralsOfRegexp(String regexp, List<String> literals) {
+    assertEquals(TrigramQueryParser.regexpLiterals(regexp), literals);
+  }
+
+  @DataProvider
+  public Object[][] regexps() {
+    return new Object[][] {
+      {"man.*ger", asList("man", "ger")},
+      {"abc+def", asList("abc", "def")},
+      {"ab?cd", asList("a", "cd")},
+      {"(abc)def", asList("def")},
+      {"[abc]def{2}g", asList("de", "g")},
+      {"foo\\(bar\\)", asList("foo(bar)")},
+      {"\"x.y\"z", asList("x.yz")},
+      {"ab(c\\)d)ef", asList("ab", "ef")},
+      {"foo|bar", emptyList()},
+      {"~foo", emptyList()}
+    };
+  }
+
+  @Test
+  public void shouldFindLiteralsOfWildcard() {
+    assertEquals(TrigramQueryParser.wildcardLiterals("*manager*"), asList("manager"));
+    assertEquals(TrigramQueryParser.wildcardLiterals("foo\\*bar?x"), asList("foo*bar", "x"));
+  }
+
+  @Test
+  public void shouldSplitLiteralsIntoTrigrams() {
+    assertEquals(
+        TrigramQueryParser.trigrams(asList("manager", "ab")),
+        ImmutableSet.of("man", "ana", "nag", "age", "ger"));
+  }
+}
@@ -14,6 +14,7 @@ package org.eclipse.che.api.watcher.server.impl;
 import static java.io.File.createTempFile;
 import static java.lang.Thread.sleep;
 import static org.apache.commons.io.FileUtils.write;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -45,6 +46,7 @@ public class FileTreeWalkerTest {
   @Rule public TemporaryFolder rootFolder = new TemporaryFolder();
 
   FileTreeWalker fileTreeWalker;
+  FileTreeJournal journal = new FileTreeJournal();
 
   Set<Consumer<Path>> directoryCreateConsumers = new HashSet<>();
   Set<Consumer<Path>> directoryUpdateConsumers = new HashSet<>();
@@ -76,7 +78,9 @@ public class FileTreeWalkerTest {
             fileUpdateConsumers,
             fileCreateConsumers,
             fileDeleteConsumers,
-            fileExcludes);
+            fileExcludes,
+            journal,
+            0);
   }
 
   @After
@@ -223,6 +227,82 @@ public class FileTreeWalkerTest {
     verify(fileCreatedConsumerMock, never()).accept(file.toPath());
   }
 
+  @Test
+  public void shouldRunFileCreatedConsumerForJournaledFileInJournalMode() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    FileTreeWalker journalTreeWalker = createJournalTreeWalker();
+    journalTreeWalker.initialize();
+
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+    journal.changed(file.toPath());
+
+    journalTreeWalker.walk();
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+    assertEquals(0, journalTreeWalker.getFullSweeps());
+    assertEquals(1, journalTreeWalker.getJournalSweeps());
+  }
+
+  @Test
+  public void shouldNotSweepWholeTreeInJournalMode() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    FileTreeWalker journalTreeWalker = createJournalTreeWalker();
+    journalTreeWalker.initialize();
+
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+
+    journalTreeWalker.walk();
+    verify(fileCreatedConsumerMock, never()).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldRescanOverflowedDirectoryInJournalMode() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    FileTreeWalker journalTreeWalker = createJournalTreeWalker();
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    journalTreeWalker.initialize();
+
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+    journal.overflowed(folder.toPath());
+
+    journalTreeWalker.walk();
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldRunDeleteConsumersForJournaledDirectorySubtree() throws Exception {
+    fileDeleteConsumers.add(fileDeleteConsumerMock);
+    directoryDeleteConsumers.add(directoryDeleteConsumerMock);
+    FileTreeWalker journalTreeWalker = createJournalTreeWalker();
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+    journalTreeWalker.initialize();
+
+    file.delete();
+    folder.delete();
+    journal.changed(folder.toPath());
+
+    journalTreeWalker.walk();
+    verify(fileDeleteConsumerMock).accept(file.toPath());
+    verify(directoryDeleteConsumerMock).accept(folder.toPath());
+  }
+
+  private FileTreeWalker createJournalTreeWalker() {
+    return new FileTreeWalker(
+        new DummyRootProvider(rootFolder.getRoot()),
+        directoryUpdateConsumers,
+        directoryCreateConsumers,
+        directoryDeleteConsumers,
+        directoryExcludes,
+        fileUpdateConsumers,
+        fileCreateConsumers,
+        fileDeleteConsumers,
+        fileExcludes,
+        journal,
+        3600);
+  }
+
   private static class DummyRootProvider extends RootDirPathProvider {
 
     public DummyRootProvider(File folder) {
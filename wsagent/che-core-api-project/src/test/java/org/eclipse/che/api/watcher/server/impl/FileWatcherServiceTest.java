@@ -48,6 +48,7 @@ public class FileWatcherServiceTest {
 
   @Mock FileWatcherEventHandler handler;
   @Mock FileWatcherExcludePatternsRegistry fileWatcherExcludePatternsRegistry;
+  @Mock FileTreeJournal journal;
   WatchService watchService = FileSystems.getDefault().newWatchService();
 
   FileWatcherService service;
@@ -56,7 +57,8 @@ public class FileWatcherServiceTest {
 
   @BeforeClass
   public void setUp() throws Exception {
-    service = new FileWatcherService(fileWatcherExcludePatternsRegistry, handler, watchService);
+    service =
+        new FileWatcherService(fileWatcherExcludePatternsRegistry, handler, journal, watchService);
 
     service.start();
   }
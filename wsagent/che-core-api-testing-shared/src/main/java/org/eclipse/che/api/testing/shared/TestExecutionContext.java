@@ -50,6 +50,16 @@ public interface TestExecutionContext {
 
   TestExecutionContext withDebugModeEnable(Boolean enable);
 
+  void setBatchedMessagesSupported(Boolean supported);
+
+  /**
+   * returns true if the client handles testing messages sent in batches, otherwise messages are
+   * sent one by one
+   */
+  Boolean isBatchedMessagesSupported();
+
+  TestExecutionContext withBatchedMessagesSupported(Boolean supported);
+
   /**
    * returns a list with paths of the test files relative to the project. The list should be
    * initialized when value of {@link ContextType} is {@link ContextType.SET}
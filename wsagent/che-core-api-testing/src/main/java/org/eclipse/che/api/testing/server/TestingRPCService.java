@@ -11,8 +11,12 @@
  */
 package org.eclipse.che.api.testing.server;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
@@ -26,6 +30,7 @@ import org.eclipse.che.api.testing.shared.TestDetectionResult;
 import org.eclipse.che.api.testing.shared.TestExecutionContext;
 import org.eclipse.che.api.testing.shared.TestLaunchResult;
 import org.eclipse.che.api.testing.shared.TestPosition;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.execution.ProcessHandler;
 import org.eclipse.che.dto.server.DtoFactory;
 
@@ -35,6 +40,7 @@ public class TestingRPCService {
 
   private final RequestTransmitter requestTransmitter;
   private final TestFrameworkRegistry frameworkRegistry;
+  private final ScheduledExecutorService batchScheduler;
 
   private String endpoint;
   private TestMessagesOutputTransmitter outputTransmitter;
@@ -44,6 +50,18 @@ public class TestingRPCService {
       RequestTransmitter requestTransmitter, TestFrameworkRegistry frameworkRegistry) {
     this.requestTransmitter = requestTransmitter;
     this.frameworkRegistry = frameworkRegistry;
+    this.batchScheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("TestingMessagesBatcher")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  @PreDestroy
+  private void shutdown() {
+    batchScheduler.shutdownNow();
   }
 
   @Inject
@@ -77,7 +95,11 @@ public class TestingRPCService {
       }
       ProcessHandler processHandler = testRunner.execute(context);
       outputTransmitter =
-          new TestMessagesOutputTransmitter(processHandler, requestTransmitter, endpoint);
+          new TestMessagesOutputTransmitter(
+              processHandler,
+              requestTransmitter,
+              endpoint,
+              Boolean.TRUE.equals(context.isBatchedMessagesSupported()) ? batchScheduler : null);
       if (context.isDebugModeEnable()) {
         testLaunchResult.withDebugPort(testRunner.getDebugPort());
       }
@@ -11,6 +11,11 @@
  */
 package org.eclipse.che.api.testing.server.framework;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.testing.server.messages.ServerTestingMessage;
 import org.eclipse.che.api.testing.server.messages.UncapturedOutputMessage;
@@ -20,19 +25,54 @@ import org.eclipse.che.commons.lang.execution.ProcessHandler;
 import org.eclipse.che.commons.lang.execution.ProcessListener;
 import org.eclipse.che.commons.lang.execution.ProcessOutputType;
 
-/** Process and send testing messages to the client */
+/**
+ * Process and send testing messages to the client.
+ *
+ * <p>Messages are sent one by one, or, when the client supports it, in batches. A batch is sent
+ * when it reaches {@link #MAX_BATCH_SIZE} messages or {@link #MAX_BATCH_LENGTH} characters, or
+ * {@link #BATCH_DELAY_MS} after its first message. Consecutive uncaptured output lines of the same
+ * type, i.e. output printed between two testing messages, are folded into a single message.
+ */
 public class TestMessagesOutputTransmitter {
 
+  static final int MAX_BATCH_SIZE = 500;
+  static final int MAX_BATCH_LENGTH = 64 * 1024;
+  static final long BATCH_DELAY_MS = 200;
+
   private final RequestTransmitter requestTransmitter;
   private final String endpoint;
   private final LineSplitter lineSplitter;
+  private final ScheduledExecutorService batchScheduler;
+  private final List<ServerTestingMessage> batch;
+  private final StringBuilder output;
   private ProcessHandler processHandler;
 
+  private int batchLength;
+  private ProcessOutputType outputType;
+  private ScheduledFuture<?> scheduledBatch;
+
   public TestMessagesOutputTransmitter(
       ProcessHandler processHandler, RequestTransmitter requestTransmitter, String endpoint) {
+    this(processHandler, requestTransmitter, endpoint, null);
+  }
+
+  /**
+   * Creates transmitter which sends messages in batches with the {@link
+   * Constants#TESTING_RPC_BATCH_METHOD_NAME} method, or one by one if the given scheduler is null.
+   *
+   * @param batchScheduler scheduler of the delayed sending of batches
+   */
+  public TestMessagesOutputTransmitter(
+      ProcessHandler processHandler,
+      RequestTransmitter requestTransmitter,
+      String endpoint,
+      ScheduledExecutorService batchScheduler) {
     this.processHandler = processHandler;
     this.requestTransmitter = requestTransmitter;
     this.endpoint = endpoint;
+    this.batchScheduler = batchScheduler;
+    this.batch = new ArrayList<>();
+    this.output = new StringBuilder();
 
     lineSplitter = new LineSplitter(this::processLine);
 
@@ -69,24 +109,25 @@ public class TestMessagesOutputTransmitter {
   }
 
   private void sendOutput(String text, ProcessOutputType outputType) {
-    UncapturedOutputMessage message = new UncapturedOutputMessage(text, outputType);
-    requestTransmitter
-        .newRequest()
-        .endpointId(endpoint)
-        .methodName(Constants.TESTING_RPC_METHOD_NAME)
-        .paramsAsString(message.asJsonString())
-        .sendAndSkipResult();
+    if (batchScheduler == null) {
+      send(new UncapturedOutputMessage(text, outputType));
+      return;
+    }
+    synchronized (batch) {
+      if (this.outputType != outputType) {
+        foldOutput();
+        this.outputType = outputType;
+      }
+      output.append(text);
+      batchLength += text.length();
+      scheduleBatch();
+    }
   }
 
   private boolean processTestingMessage(String line) {
     ServerTestingMessage message = ServerTestingMessage.parse(line.trim());
     if (message != null) {
-      requestTransmitter
-          .newRequest()
-          .endpointId(endpoint)
-          .methodName(Constants.TESTING_RPC_METHOD_NAME)
-          .paramsAsString(message.asJsonString())
-          .sendAndSkipResult();
+      send(message);
       return true;
     }
     return false;
@@ -94,12 +135,8 @@ public class TestMessagesOutputTransmitter {
 
   private void processTestingStopped() {
     lineSplitter.flush();
-    requestTransmitter
-        .newRequest()
-        .endpointId(endpoint)
-        .methodName(Constants.TESTING_RPC_METHOD_NAME)
-        .paramsAsString(ServerTestingMessage.FINISH_TESTING.asJsonString())
-        .sendAndSkipResult();
+    send(ServerTestingMessage.FINISH_TESTING);
+    sendBatch();
   }
 
   private void process(String text, ProcessOutputType outputType) {
@@ -107,12 +144,69 @@ public class TestMessagesOutputTransmitter {
   }
 
   private void processStartTesting() {
-    requestTransmitter
-        .newRequest()
-        .endpointId(endpoint)
-        .methodName(Constants.TESTING_RPC_METHOD_NAME)
-        .paramsAsString(ServerTestingMessage.TESTING_STARTED.asJsonString())
-        .sendAndSkipResult();
+    send(ServerTestingMessage.TESTING_STARTED);
+    sendBatch();
+  }
+
+  private void send(ServerTestingMessage message) {
+    if (batchScheduler == null) {
+      requestTransmitter
+          .newRequest()
+          .endpointId(endpoint)
+          .methodName(Constants.TESTING_RPC_METHOD_NAME)
+          .paramsAsString(message.asJsonString())
+          .sendAndSkipResult();
+      return;
+    }
+    synchronized (batch) {
+      foldOutput();
+      batch.add(message);
+      for (String value : message.getAttributes().values()) {
+        batchLength += value == null ? 0 : value.length();
+      }
+      scheduleBatch();
+    }
+  }
+
+  /** Adds the output collected since the last testing message to the batch. */
+  private void foldOutput() {
+    if (output.length() > 0) {
+      batch.add(new UncapturedOutputMessage(output.toString(), outputType));
+      output.setLength(0);
+    }
+  }
+
+  private void scheduleBatch() {
+    if (batch.size() >= MAX_BATCH_SIZE || batchLength >= MAX_BATCH_LENGTH) {
+      sendBatch();
+    } else if (scheduledBatch == null) {
+      scheduledBatch =
+          batchScheduler.schedule(this::sendBatch, BATCH_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void sendBatch() {
+    if (batchScheduler == null) {
+      return;
+    }
+    synchronized (batch) {
+      if (scheduledBatch != null) {
+        scheduledBatch.cancel(false);
+        scheduledBatch = null;
+      }
+      foldOutput();
+      if (batch.isEmpty()) {
+        return;
+      }
+      requestTransmitter
+          .newRequest()
+          .endpointId(endpoint)
+          .methodName(Constants.TESTING_RPC_BATCH_METHOD_NAME)
+          .paramsAsString(ServerTestingMessage.asJsonString(batch))
+          .sendAndSkipResult();
+      batch.clear();
+      batchLength = 0;
+    }
   }
 
   public void stop() {
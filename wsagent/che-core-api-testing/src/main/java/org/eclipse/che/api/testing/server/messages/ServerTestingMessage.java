@@ -15,10 +15,12 @@ import static org.eclipse.che.api.testing.shared.Constants.ATTRIBUTES;
 import static org.eclipse.che.api.testing.shared.Constants.NAME;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.eclipse.che.api.testing.shared.messages.TestingMessage;
@@ -149,6 +151,19 @@ public class ServerTestingMessage implements TestingMessage {
   }
 
   public String asJsonString() {
+    return GSON.toJson(asJsonObject());
+  }
+
+  /** Returns JSON array of the given messages. */
+  public static String asJsonString(List<? extends ServerTestingMessage> messages) {
+    JsonArray array = new JsonArray();
+    for (ServerTestingMessage message : messages) {
+      array.add(message.asJsonObject());
+    }
+    return GSON.toJson(array);
+  }
+
+  private JsonObject asJsonObject() {
     JsonObject object = new JsonObject();
     object.addProperty(NAME, messageName);
     if (!attributes.isEmpty()) {
@@ -156,7 +171,7 @@ public class ServerTestingMessage implements TestingMessage {
       attributes.forEach(att::addProperty);
       object.add(ATTRIBUTES, att);
     }
-    return GSON.toJson(object);
+    return object;
   }
 
   @Override
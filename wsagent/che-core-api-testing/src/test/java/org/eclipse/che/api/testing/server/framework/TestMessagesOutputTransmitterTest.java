@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.testing.server.framework;
+
+import static org.eclipse.che.api.testing.server.framework.TestMessagesOutputTransmitter.BATCH_DELAY_MS;
+import static org.eclipse.che.api.testing.server.framework.TestMessagesOutputTransmitter.MAX_BATCH_SIZE;
+import static org.eclipse.che.api.testing.shared.Constants.TESTING_RPC_BATCH_METHOD_NAME;
+import static org.eclipse.che.api.testing.shared.Constants.TESTING_RPC_METHOD_NAME;
+import static org.eclipse.che.commons.lang.execution.ProcessOutputType.STDERR;
+import static org.eclipse.che.commons.lang.execution.ProcessOutputType.STDOUT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.EndpointIdConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.MethodNameConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.ParamsConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.SendConfiguratorFromOne;
+import org.eclipse.che.commons.lang.execution.ProcessEvent;
+import org.eclipse.che.commons.lang.execution.ProcessHandler;
+import org.eclipse.che.commons.lang.execution.ProcessListener;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link TestMessagesOutputTransmitter}. */
+@Listeners(MockitoTestNGListener.class)
+public class TestMessagesOutputTransmitterTest {
+
+  private static final String ENDPOINT = "endpoint";
+  private static final String TEST_STARTED =
+      "@@<{\"name\":\"testStarted\", \"attributes\":{\"name\":\"test1\"}}>\n";
+
+  @Mock private ProcessHandler processHandler;
+  @Mock private RequestTransmitter requestTransmitter;
+  @Mock private EndpointIdConfigurator endpointIdConfigurator;
+  @Mock private MethodNameConfigurator methodNameConfigurator;
+  @Mock private ParamsConfigurator paramsConfigurator;
+  @Mock private SendConfiguratorFromOne<String> sendConfigurator;
+  @Mock private ScheduledExecutorService batchScheduler;
+  @Mock private ScheduledFuture<?> scheduledBatch;
+
+  @BeforeMethod
+  public void setUp() {
+    when(requestTransmitter.newRequest()).thenReturn(endpointIdConfigurator);
+    when(endpointIdConfigurator.endpointId(ENDPOINT)).thenReturn(methodNameConfigurator);
+    when(methodNameConfigurator.methodName(anyString())).thenReturn(paramsConfigurator);
+    when(paramsConfigurator.paramsAsString(anyString())).thenReturn(sendConfigurator);
+  }
+
+  @Test
+  public void shouldSendMessagesOneByOneWhenBatchesAreNotSupported() {
+    new TestMessagesOutputTransmitter(processHandler, requestTransmitter, ENDPOINT);
+    ProcessListener listener = captureListener();
+
+    listener.onStart(new ProcessEvent(processHandler));
+    listener.onText(new ProcessEvent(processHandler, "output\n"), STDOUT);
+    listener.onText(new ProcessEvent(processHandler, TEST_STARTED), STDOUT);
+
+    verify(methodNameConfigurator, times(3)).methodName(TESTING_RPC_METHOD_NAME);
+    verify(sendConfigurator, times(3)).sendAndSkipResult();
+  }
+
+  @Test
+  public void shouldFoldOutputBetweenTestingMessagesAndSendBatchAfterDelay() {
+    doReturn(scheduledBatch)
+        .when(batchScheduler)
+        .schedule(any(Runnable.class), eq(BATCH_DELAY_MS), eq(TimeUnit.MILLISECONDS));
+    ProcessListener listener = startBatchingTransmitter();
+
+    listener.onStart(new ProcessEvent(processHandler));
+    listener.onText(new ProcessEvent(processHandler, "first\n"), STDOUT);
+    listener.onText(new ProcessEvent(processHandler, "second\n"), STDOUT);
+    listener.onText(new ProcessEvent(processHandler, "error\n"), STDERR);
+    listener.onText(new ProcessEvent(processHandler, TEST_STARTED), STDOUT);
+    listener.onText(new ProcessEvent(processHandler, "third\n"), STDOUT);
+
+    // the first batch with the start of testing is sent immediately
+    ArgumentCaptor<Runnable> batchCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(batchScheduler, times(2))
+        .schedule(batchCaptor.capture(), eq(BATCH_DELAY_MS), eq(TimeUnit.MILLISECONDS));
+    batchCaptor.getValue().run();
+
+    JsonArray batch = captureBatches(2)[1];
+    assertEquals(batch.size(), 4);
+    assertOutput(batch.get(0).getAsJsonObject(), "first\nsecond\n", "STDOUT");
+    assertOutput(batch.get(1).getAsJsonObject(), "error\n", "STDERR");
+    assertEquals(batch.get(2).getAsJsonObject().get("name").getAsString(), "testStarted");
+    assertOutput(batch.get(3).getAsJsonObject(), "third\n", "STDOUT");
+  }
+
+  @Test
+  public void shouldSendBatchWhenItIsFull() {
+    doReturn(scheduledBatch)
+        .when(batchScheduler)
+        .schedule(any(Runnable.class), eq(BATCH_DELAY_MS), eq(TimeUnit.MILLISECONDS));
+    ProcessListener listener = startBatchingTransmitter();
+
+    for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+      listener.onText(new ProcessEvent(processHandler, TEST_STARTED), STDOUT);
+    }
+
+    assertEquals(captureBatches(1)[0].size(), MAX_BATCH_SIZE);
+    verify(scheduledBatch).cancel(false);
+  }
+
+  @Test
+  public void shouldSendStartAndFinishOfTestingImmediately() {
+    ProcessListener listener = startBatchingTransmitter();
+
+    listener.onStart(new ProcessEvent(processHandler));
+    listener.onProcessTerminated(new ProcessEvent(processHandler, 0));
+
+    JsonArray[] batches = captureBatches(2);
+    assertEquals(batches[0].get(0).getAsJsonObject().get("name").getAsString(), "testingStarted");
+    assertEquals(batches[1].get(0).getAsJsonObject().get("name").getAsString(), "finishTesting");
+  }
+
+  private ProcessListener startBatchingTransmitter() {
+    new TestMessagesOutputTransmitter(processHandler, requestTransmitter, ENDPOINT, batchScheduler);
+    return captureListener();
+  }
+
+  private ProcessListener captureListener() {
+    ArgumentCaptor<ProcessListener> captor = ArgumentCaptor.forClass(ProcessListener.class);
+    verify(processHandler).addProcessListener(captor.capture());
+    return captor.getValue();
+  }
+
+  private JsonArray[] captureBatches(int count) {
+    verify(methodNameConfigurator, times(count)).methodName(TESTING_RPC_BATCH_METHOD_NAME);
+    ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+    verify(paramsConfigurator, times(count)).paramsAsString(captor.capture());
+    JsonArray[] batches = new JsonArray[count];
+    for (int i = 0; i < count; i++) {
+      batches[i] = new JsonParser().parse(captor.getAllValues().get(i)).getAsJsonArray();
+    }
+    return batches;
+  }
+
+  private static void assertOutput(JsonObject message, String output, String outputType) {
+    assertEquals(message.get("name").getAsString(), "uncapturedOutput");
+    JsonObject attributes = message.getAsJsonObject("attributes");
+    assertEquals(attributes.get("output").getAsString(), output);
+    assertEquals(attributes.get("outputType").getAsString(), outputType);
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps opened JGit repositories between connections, so the configuration, references and pack
+ * indexes of a repository are not re-read from disk on each {@link JGitConnectionFactory} call.
+ *
+ * <p>Repositories are reference counted: the cache holds one reference of each cached repository
+ * and each {@link #acquire(File)} adds one more, which is released by {@link Repository#close()}. A
+ * repository is removed from the cache when it is not acquired for the idle timeout or when its
+ * {@code .git/config} or pack files are changed on disk, and it is closed as soon as the last
+ * reference is released.
+ *
+ * <p>The cache also installs shared {@link WindowCacheConfig} used by all the repositories for pack
+ * file access.
+ */
+@Singleton
+public class JGitRepositoryCache {
+  private static final Logger LOG = LoggerFactory.getLogger(JGitRepositoryCache.class);
+
+  private final long idleTimeoutMillis;
+  private final Map<File, Entry> entries = new HashMap<>();
+
+  private final AtomicLong opens = new AtomicLong();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  @Inject
+  public JGitRepositoryCache(
+      @Named("che.git.repository_cache.idle_timeout_sec") long idleTimeout,
+      @Named("che.git.pack.limit_mb") int packedGitLimit,
+      @Named("che.git.pack.open_files") int packedGitOpenFiles) {
+    this.idleTimeoutMillis = SECONDS.toMillis(idleTimeout);
+
+    WindowCacheConfig windowCacheConfig = new WindowCacheConfig();
+    windowCacheConfig.setPackedGitLimit(packedGitLimit * WindowCacheConfig.MB);
+    windowCacheConfig.setPackedGitOpenFiles(packedGitOpenFiles);
+    windowCacheConfig.install();
+  }
+
+  /**
+   * Returns repository of the given working directory. The caller owns one reference of the
+   * returned repository and must {@link Repository#close() close} it when it is not needed any
+   * more.
+   *
+   * @param workDir working directory of the repository
+   * @throws GitException if the repository can not be opened
+   */
+  public Repository acquire(File workDir) throws GitException {
+    File gitDir =
+        new File(workDir.getAbsoluteFile().toPath().normalize().toFile(), Constants.DOT_GIT);
+    if (!new File(gitDir, Constants.CONFIG).isFile()) {
+      // not initialized yet, e.g. repository is going to be created or cloned
+      opens.incrementAndGet();
+      return open(gitDir);
+    }
+
+    Entry stale;
+    synchronized (entries) {
+      Entry entry = entries.get(gitDir);
+      if (entry != null && entry.fingerprint.equals(Fingerprint.of(gitDir))) {
+        entry.lastAccess = System.currentTimeMillis();
+        entry.repository.incrementOpen();
+        hits.incrementAndGet();
+        return entry.repository;
+      }
+      stale = entry;
+      entries.remove(gitDir);
+    }
+
+    if (stale != null) {
+      LOG.debug("Repository {} is changed on disk, reopening it", gitDir);
+      stale.repository.close();
+    }
+
+    misses.incrementAndGet();
+    opens.incrementAndGet();
+    Fingerprint fingerprint = Fingerprint.of(gitDir);
+    Repository repository = open(gitDir);
+    synchronized (entries) {
+      Entry concurrent = entries.get(gitDir);
+      if (concurrent != null && concurrent.fingerprint.equals(fingerprint)) {
+        // opened by another thread at the same time, use the cached one
+        concurrent.repository.incrementOpen();
+        concurrent.lastAccess = System.currentTimeMillis();
+        repository.close();
+        return concurrent.repository;
+      }
+      if (concurrent != null) {
+        concurrent.repository.close();
+      }
+      // one reference is kept by the cache and one is returned to the caller
+      repository.incrementOpen();
+      entries.put(gitDir, new Entry(repository, fingerprint));
+    }
+    return repository;
+  }
+
+  /** Removes repositories that are not acquired for the idle timeout from the cache. */
+  @ScheduleDelay(initialDelay = 60, delay = 60)
+  void evictIdle() {
+    long idleSince = System.currentTimeMillis() - idleTimeoutMillis;
+    synchronized (entries) {
+      for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+        Entry entry = it.next();
+        if (entry.lastAccess < idleSince) {
+          it.remove();
+          entry.repository.close();
+        }
+      }
+    }
+    LOG.debug(
+        "Git repository cache: size {}, opens {}, hits {}, misses {}",
+        size(),
+        getOpens(),
+        getHits(),
+        getMisses());
+  }
+
+  /** Returns number of cached repositories. */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /** Returns number of repositories opened from disk. */
+  public long getOpens() {
+    return opens.get();
+  }
+
+  /** Returns number of requests served by a cached repository. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Returns number of requests that required opening of a repository. */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  @PreDestroy
+  void clear() {
+    synchronized (entries) {
+      entries.values().forEach(entry -> entry.repository.close());
+      entries.clear();
+    }
+  }
+
+  private static Repository open(File gitDir) throws GitException {
+    try {
+      return new FileRepository(gitDir);
+    } catch (IOException e) {
+      throw new GitException(e.getMessage(), e);
+    }
+  }
+
+  private static class Entry {
+    private final Repository repository;
+    private final Fingerprint fingerprint;
+    private long lastAccess;
+
+    private Entry(Repository repository, Fingerprint fingerprint) {
+      this.repository = repository;
+      this.fingerprint = fingerprint;
+      this.lastAccess = System.currentTimeMillis();
+    }
+  }
+
+  /** Modification state of the repository files which are not re-read by JGit automatically. */
+  private static class Fingerprint {
+    private final long configModified;
+    private final long configLength;
+    private final long packsModified;
+
+    private Fingerprint(long configModified, long configLength, long packsModified) {
+      this.configModified = configModified;
+      this.configLength = configLength;
+      this.packsModified = packsModified;
+    }
+
+    private static Fingerprint of(File gitDir) {
+      File config = new File(gitDir, Constants.CONFIG);
+      File packs = new File(gitDir, "objects/pack");
+      return new Fingerprint(config.lastModified(), config.length(), packs.lastModified());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Fingerprint)) {
+        return false;
+      }
+      Fingerprint that = (Fingerprint) obj;
+      return configModified == that.configModified
+          && configLength == that.configLength
+          && packsModified == that.packsModified;
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(configModified) * 31 + Long.hashCode(packsModified);
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.git.CredentialsLoader;
+import org.eclipse.che.api.git.GitChangesDetector;
+import org.eclipse.che.api.git.GitStatusChangedDetector;
+import org.eclipse.che.api.git.GitUserResolver;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.shared.RegisteredProject;
+import org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.api.watcher.server.detectors.FileTrackingOperationEvent;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that the git change detectors release the repositories they get from {@link
+ * JGitRepositoryCache}.
+ */
+public class GitConnectionReleaseTest {
+
+  private File workDir;
+  private JGitRepositoryCache cache;
+  private JGitConnectionFactory connectionFactory;
+  private RequestTransmitter transmitter;
+  private FileWatcherManager manager;
+  private ProjectManager projectManager;
+  private PathTransformer pathTransformer;
+  private EventService eventService;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    workDir = Files.createTempDirectory("connection-release").toFile();
+    Git.init().setDirectory(workDir).call().close();
+    Files.write(workDir.toPath().resolve("file.txt"), "content".getBytes());
+
+    cache = new JGitRepositoryCache(300, 10, 128);
+    eventService = mock(EventService.class);
+    connectionFactory =
+        new JGitConnectionFactory(
+            mock(CredentialsLoader.class),
+            mock(SshKeyProvider.class),
+            eventService,
+            mock(GitUserResolver.class),
+            cache);
+
+    transmitter = mock(RequestTransmitter.class, RETURNS_DEEP_STUBS);
+    manager = mock(FileWatcherManager.class);
+    projectManager = mock(ProjectManager.class);
+    pathTransformer = mock(PathTransformer.class);
+    when(pathTransformer.transform(anyString())).thenReturn(workDir.toPath());
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    cache.clear();
+    IoUtil.deleteRecursive(workDir);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void statusChangedDetectorShouldReleaseRepository() throws Exception {
+    RegisteredProject project = mock(RegisteredProject.class);
+    when(project.getPath()).thenReturn("/project");
+    when(projectManager.getClosest(anyString())).thenReturn(Optional.of(project));
+    RequestHandlerConfigurator configurator =
+        mock(RequestHandlerConfigurator.class, RETURNS_DEEP_STUBS);
+    GitStatusChangedDetector detector =
+        new GitStatusChangedDetector(
+            transmitter, manager, pathTransformer, projectManager, connectionFactory, eventService);
+    detector.configureHandler(configurator);
+    ArgumentCaptor<Consumer<String>> endpointCaptor = ArgumentCaptor.forClass(Consumer.class);
+    verify(configurator.newConfiguration().methodName("track/git-index").noParams().noResult())
+        .withConsumer(endpointCaptor.capture());
+    endpointCaptor.getValue().accept("endpoint");
+    detector.startWatchers();
+    ArgumentCaptor<Consumer<String>> modifyCaptor = ArgumentCaptor.forClass(Consumer.class);
+    verify(manager, atLeastOnce()).registerByMatcher(any(), any(), modifyCaptor.capture(), any());
+    Repository repository = baseline();
+    int useCount = useCount(repository);
+
+    modifyCaptor.getValue().accept("/project/.git/index");
+
+    verify(transmitter, atLeastOnce()).newRequest();
+    assertEquals(useCount(repository), useCount);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void changesDetectorShouldReleaseRepository() throws Exception {
+    when(projectManager.isRegistered(anyString())).thenReturn(true);
+    new GitChangesDetector(
+        transmitter, manager, projectManager, pathTransformer, connectionFactory, eventService);
+    ArgumentCaptor<EventSubscriber> subscriberCaptor =
+        ArgumentCaptor.forClass(EventSubscriber.class);
+    verify(eventService).subscribe(subscriberCaptor.capture());
+    FileTrackingOperationDto operation = mock(FileTrackingOperationDto.class);
+    when(operation.getType()).thenReturn(FileTrackingOperationDto.Type.START);
+    when(operation.getPath()).thenReturn("/project/file.txt");
+    FileTrackingOperationEvent event = mock(FileTrackingOperationEvent.class);
+    when(event.getEndpointId()).thenReturn("endpoint");
+    when(event.getFileTrackingOperation()).thenReturn(operation);
+    subscriberCaptor.getValue().onEvent(event);
+    ArgumentCaptor<Consumer<String>> modifyCaptor = ArgumentCaptor.forClass(Consumer.class);
+    verify(manager).registerByPath(anyString(), any(), modifyCaptor.capture(), any());
+    Repository repository = baseline();
+    int useCount = useCount(repository);
+
+    modifyCaptor.getValue().accept("/project/file.txt");
+
+    verify(transmitter).newRequest();
+    assertEquals(useCount(repository), useCount);
+  }
+
+  /** Returns the cached repository of the work directory, leaving only the cache reference. */
+  private Repository baseline() throws Exception {
+    Repository repository = cache.acquire(workDir);
+    repository.close();
+    return repository;
+  }
+
+  private static int useCount(Repository repository) throws Exception {
+    Field field = Repository.class.getDeclaredField("useCnt");
+    field.setAccessible(true);
+    return ((AtomicInteger) field.get(repository)).get();
+  }
+}
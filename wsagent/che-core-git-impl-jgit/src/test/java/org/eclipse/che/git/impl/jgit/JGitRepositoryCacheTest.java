@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.io.File;
+import java.nio.file.Files;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Test class for {@link JGitRepositoryCache} */
+public class JGitRepositoryCacheTest {
+
+  private File workDir;
+  private JGitRepositoryCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    workDir = Files.createTempDirectory("repository-cache").toFile();
+    Git.init().setDirectory(workDir).call().close();
+    cache = new JGitRepositoryCache(300, 10, 128);
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    cache.clear();
+    IoUtil.deleteRecursive(workDir);
+  }
+
+  @Test
+  public void shouldReuseOpenedRepository() throws Exception {
+    Repository first = cache.acquire(workDir);
+    Repository second = cache.acquire(workDir);
+
+    assertSame(first, second);
+    assertEquals(cache.getOpens(), 1);
+    assertEquals(cache.getMisses(), 1);
+    assertEquals(cache.getHits(), 1);
+    assertEquals(cache.size(), 1);
+  }
+
+  @Test
+  public void shouldReopenRepositoryWhenConfigIsChanged() throws Exception {
+    Repository first = cache.acquire(workDir);
+    StoredConfig config = first.getConfig();
+    config.setString("user", null, "name", "cache test");
+    config.save();
+
+    Repository second = cache.acquire(workDir);
+
+    assertNotSame(first, second);
+    assertEquals(second.getConfig().getString("user", null, "name"), "cache test");
+    assertEquals(cache.getMisses(), 2);
+    assertEquals(cache.size(), 1);
+  }
+
+  @Test
+  public void shouldEvictIdleRepositories() throws Exception {
+    cache = new JGitRepositoryCache(0, 10, 128);
+    Repository first = cache.acquire(workDir);
+    Thread.sleep(10);
+
+    cache.evictIdle();
+
+    assertEquals(cache.size(), 0);
+    assertNotSame(cache.acquire(workDir), first);
+  }
+
+  @Test
+  public void shouldNotCacheRepositoryWhichIsNotInitialized() throws Exception {
+    File emptyDir = Files.createTempDirectory("repository-cache").toFile();
+    try {
+      cache.acquire(emptyDir);
+
+      assertEquals(cache.size(), 0);
+      assertEquals(cache.getOpens(), 1);
+    } finally {
+      IoUtil.deleteRecursive(emptyDir);
+    }
+  }
+}
@@ -94,6 +94,10 @@ public final class Constants {
   public static final String SERVER_STATUS_CHANGED_METHOD = "server/statusChanged";
   public static final String MACHINE_LOG_METHOD = "machine/log";
   public static final String INSTALLER_LOG_METHOD = "installer/log";
+  public static final String MACHINE_LOG_BATCH_METHOD = "machine/log/batch";
+  public static final String INSTALLER_LOG_BATCH_METHOD = "installer/log/batch";
+  public static final String MACHINE_LOG_TAIL_METHOD = "machine/log/tail";
+  public static final String INSTALLER_LOG_TAIL_METHOD = "installer/log/tail";
   public static final String INSTALLER_STATUS_CHANGED_METHOD = "installer/statusChanged";
   public static final String BOOTSTRAPPER_STATUS_CHANGED_METHOD = "bootstrapper/statusChanged";
 
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import java.util.List;
+import org.eclipse.che.dto.shared.DTO;
+
+/** Changes of workspace projects which are applied at once. */
+@DTO
+public interface ProjectsUpdateDto {
+
+  /**
+   * Returns the {@link WorkspaceProjectsDto#getVersion() version} of the projects the changes are
+   * based on, if the projects have been changed since then the update is rejected. When the version
+   * is not set the update is applied unconditionally.
+   */
+  String getVersion();
+
+  void setVersion(String version);
+
+  ProjectsUpdateDto withVersion(String version);
+
+  /** Returns projects which are added, or replace the projects with the same path. */
+  List<ProjectConfigDto> getUpdated();
+
+  void setUpdated(List<ProjectConfigDto> updated);
+
+  ProjectsUpdateDto withUpdated(List<ProjectConfigDto> updated);
+
+  /** Returns paths of the projects which are removed. */
+  List<String> getRemoved();
+
+  void setRemoved(List<String> removed);
+
+  ProjectsUpdateDto withRemoved(List<String> removed);
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import java.util.List;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Projects of a workspace together with their version, the version is used to guard {@link
+ * ProjectsUpdateDto updates} of the projects against concurrent modifications.
+ */
+@DTO
+public interface WorkspaceProjectsDto {
+
+  /** Returns version of the projects, changes each time any of the projects changes. */
+  String getVersion();
+
+  void setVersion(String version);
+
+  WorkspaceProjectsDto withVersion(String version);
+
+  List<ProjectConfigDto> getProjects();
+
+  void setProjects(List<ProjectConfigDto> projects);
+
+  WorkspaceProjectsDto withProjects(List<ProjectConfigDto> projects);
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto.event;
+
+import java.util.List;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.dto.shared.DTO;
+
+/** Defines event format for a batch of installer logs produced by the same machine. */
+@DTO
+public interface InstallerLogBatchEvent {
+
+  /** Returns runtime identity. */
+  RuntimeIdentityDto getRuntimeId();
+
+  void setRuntimeId(RuntimeIdentityDto runtimeId);
+
+  InstallerLogBatchEvent withRuntimeId(RuntimeIdentityDto runtimeId);
+
+  /** Returns the name of the machine that produces the logs. */
+  String getMachineName();
+
+  void setMachineName(String machineName);
+
+  InstallerLogBatchEvent withMachineName(String machineName);
+
+  /** Returns log events in the order they are produced. */
+  List<InstallerLogEvent> getLogs();
+
+  void setLogs(List<InstallerLogEvent> logs);
+
+  InstallerLogBatchEvent withLogs(List<InstallerLogEvent> logs);
+
+  /**
+   * Returns the number of log events of the workspace that were dropped because of the rate limit
+   * since the previous batch.
+   */
+  long getDropped();
+
+  void setDropped(long dropped);
+
+  InstallerLogBatchEvent withDropped(long dropped);
+}
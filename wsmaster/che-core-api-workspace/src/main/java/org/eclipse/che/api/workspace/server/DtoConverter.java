@@ -32,6 +32,7 @@ import org.eclipse.che.api.core.model.workspace.config.Volume;
 import org.eclipse.che.api.core.model.workspace.runtime.Machine;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.core.model.workspace.runtime.Server;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.shared.dto.CommandDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
@@ -78,6 +79,20 @@ public final class DtoConverter {
     return workspaceDto;
   }
 
+  /**
+   * Converts {@link WorkspaceSummary} to {@link WorkspaceDto}, the configuration of the result
+   * contains only the name of the workspace.
+   */
+  public static WorkspaceDto asDto(WorkspaceSummary summary) {
+    return newDto(WorkspaceDto.class)
+        .withId(summary.getId())
+        .withStatus(summary.getStatus())
+        .withNamespace(summary.getNamespace())
+        .withTemporary(summary.isTemporary())
+        .withAttributes(summary.getAttributes())
+        .withConfig(newDto(WorkspaceConfigDto.class).withName(summary.getName()));
+  }
+
   /** Converts {@link WorkspaceConfig} to {@link WorkspaceConfigDto}. */
   public static WorkspaceConfigDto asDto(WorkspaceConfig workspace) {
     List<CommandDto> commands =
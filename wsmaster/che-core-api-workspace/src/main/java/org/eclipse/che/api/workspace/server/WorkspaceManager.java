@@ -42,11 +42,14 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceCreatedEvent;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.commons.subject.Subject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,6 +72,7 @@ public class WorkspaceManager {
   private final AccountManager accountManager;
   private final EventService eventService;
   private final WorkspaceValidator validator;
+  private final StripedLocks modificationLocks = new StripedLocks(16);
 
   @Inject
   public WorkspaceManager(
@@ -215,6 +219,53 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets summaries of the workspaces which user can read.
+   *
+   * <p>Unlike {@link #getWorkspaces(String, boolean, int, long)} does not load configurations of
+   * the workspaces, returned summaries have either {@link WorkspaceStatus#STOPPED} status or status
+   * defined by their runtime instances(if those exist).
+   *
+   * @param user the id of the user
+   * @return the summaries of workspaces or empty list if user can't read any workspace
+   * @throws NullPointerException when {@code user} is null
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getSummaries(String, int, long)}
+   */
+  public Page<WorkspaceSummary> getWorkspaceSummaries(String user, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    final Page<WorkspaceSummary> summaries = workspaceDao.getSummaries(user, maxItems, skipCount);
+    for (WorkspaceSummary summary : summaries.getItems()) {
+      summary.setStatus(runtimes.getStatus(summary.getId()));
+    }
+    return summaries;
+  }
+
+  /**
+   * Gets summaries of the workspaces which have given namespace.
+   *
+   * <p>Unlike {@link #getByNamespace(String, boolean, int, long)} does not load configurations of
+   * the workspaces, returned summaries have either {@link WorkspaceStatus#STOPPED} status or status
+   * defined by their runtime instances(if those exist).
+   *
+   * @param namespace the namespace to find workspaces
+   * @return the summaries of workspaces or empty list if no matches
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getSummariesByNamespace(String, int, long)}
+   */
+  public Page<WorkspaceSummary> getSummariesByNamespace(
+      String namespace, int maxItems, long skipCount) throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    final Page<WorkspaceSummary> summaries =
+        workspaceDao.getSummariesByNamespace(namespace, maxItems, skipCount);
+    for (WorkspaceSummary summary : summaries.getItems()) {
+      summary.setStatus(runtimes.getStatus(summary.getId()));
+    }
+    return summaries;
+  }
+
   /**
    * Updates an existing workspace with a new configuration.
    *
@@ -248,6 +299,30 @@ public class WorkspaceManager {
     return normalizeState(workspaceDao.update(workspace), true);
   }
 
+  /**
+   * Applies the given modification to the current state of the workspace and updates the workspace
+   * with the result. Modifications of the same workspace are applied one at a time, so the
+   * modification may check the state it is based on and reject it with {@link ConflictException}.
+   *
+   * @param id workspace id
+   * @param modification modification of the workspace
+   * @return updated instance of the workspace
+   * @throws NullPointerException when either {@code id} or {@code modification} is null
+   * @throws NotFoundException when workspace with given id doesn't exist
+   * @throws ConflictException when the modification is rejected or any other conflict occurs
+   * @throws ServerException when any other error occurs
+   */
+  public WorkspaceImpl modifyWorkspace(String id, WorkspaceModification modification)
+      throws ConflictException, ServerException, NotFoundException, ValidationException {
+    requireNonNull(id, "Required non-null workspace id");
+    requireNonNull(modification, "Required non-null workspace modification");
+    try (Unlocker ignored = modificationLocks.writeLock(id)) {
+      WorkspaceImpl workspace = workspaceDao.get(id);
+      modification.modify(workspace);
+      return updateWorkspace(id, workspace);
+    }
+  }
+
   /**
    * Removes workspace with specified identifier.
    *
@@ -500,4 +575,16 @@ public class WorkspaceManager {
     }
     return workspaceDao.get(wsName, namespace);
   }
+
+  /** Modification of a workspace applied by {@link #modifyWorkspace}. */
+  public interface WorkspaceModification {
+
+    /**
+     * Modifies the given workspace.
+     *
+     * @param workspace current state of the workspace
+     * @throws ConflictException when the modification can not be applied to the workspace
+     */
+    void modify(WorkspaceImpl workspace) throws ConflictException;
+  }
 }
@@ -13,15 +13,21 @@ package org.eclipse.che.api.workspace.server;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.emptyMap;
+import static java.util.Comparator.comparing;
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static org.eclipse.che.api.workspace.server.DtoConverter.asDto;
 import static org.eclipse.che.api.workspace.shared.Constants.CHE_WORKSPACE_AUTO_START;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -29,9 +35,13 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import io.swagger.annotations.Example;
 import io.swagger.annotations.ExampleProperty;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.ws.rs.Consumes;
@@ -53,7 +63,9 @@ import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.ValidationException;
 import org.eclipse.che.api.core.model.workspace.Workspace;
+import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.config.ServerConfig;
+import org.eclipse.che.api.core.model.workspace.config.SourceStorage;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.workspace.server.model.impl.CommandImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
@@ -66,11 +78,13 @@ import org.eclipse.che.api.workspace.shared.dto.CommandDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.MachineDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
 import org.eclipse.che.api.workspace.shared.dto.RecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.RuntimeDto;
 import org.eclipse.che.api.workspace.shared.dto.ServerDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceProjectsDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
 /**
@@ -229,8 +243,26 @@ public class WorkspaceService extends Service {
           @DefaultValue("30")
           @QueryParam("maxItems")
           Integer maxItems,
-      @ApiParam("Workspace status") @QueryParam("status") String status)
+      @ApiParam("Workspace status") @QueryParam("status") String status,
+      @ApiParam(
+              "Whether to return summaries of the workspaces. "
+                  + "Summary contains only the name of the workspace configuration "
+                  + "and the attributes describing the workspace lifecycle")
+          @DefaultValue("false")
+          @QueryParam("summary")
+          Boolean summary)
       throws ServerException, BadRequestException {
+    if (summary) {
+      return withLinks(
+          workspaceManager
+              .getWorkspaceSummaries(
+                  EnvironmentContext.getCurrent().getSubject().getUserId(), maxItems, skipCount)
+              .getItems()
+              .stream()
+              .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+              .map(DtoConverter::asDto)
+              .collect(toList()));
+    }
     return withLinks(
         workspaceManager
             .getWorkspaces(
@@ -260,8 +292,24 @@ public class WorkspaceService extends Service {
   })
   public List<WorkspaceDto> getByNamespace(
       @ApiParam("Workspace status") @QueryParam("status") String status,
-      @ApiParam("The namespace") @PathParam("namespace") String namespace)
+      @ApiParam("The namespace") @PathParam("namespace") String namespace,
+      @ApiParam(
+              "Whether to return summaries of the workspaces. "
+                  + "Summary contains only the name of the workspace configuration "
+                  + "and the attributes describing the workspace lifecycle")
+          @DefaultValue("false")
+          @QueryParam("summary")
+          Boolean summary)
       throws ServerException, BadRequestException {
+    if (summary) {
+      return withLinks(
+          Pages.stream(
+                  (maxItems, skipCount) ->
+                      workspaceManager.getSummariesByNamespace(namespace, maxItems, skipCount))
+              .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+              .map(DtoConverter::asDto)
+              .collect(toList()));
+    }
     return withLinks(
         Pages.stream(
                 (maxItems, skipCount) ->
@@ -682,6 +730,79 @@ public class WorkspaceService extends Service {
     }
   }
 
+  @GET
+  @Path("/{id}/project")
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Get the workspace projects together with their version",
+    notes = "This operation can be performed only by the workspace owner"
+  )
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The response contains the projects"),
+    @ApiResponse(code = 403, message = "The user does not have access to read the workspace"),
+    @ApiResponse(code = 404, message = "The workspace not found"),
+    @ApiResponse(code = 500, message = "Internal server error occurred")
+  })
+  public WorkspaceProjectsDto getProjects(@ApiParam("The workspace id") @PathParam("id") String id)
+      throws NotFoundException, ServerException {
+    return asProjectsDto(workspaceManager.getWorkspace(id).getConfig().getProjects());
+  }
+
+  @PUT
+  @Path("/{id}/project")
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Add, update and remove the workspace projects at once",
+    notes = "This operation can be performed only by the workspace owner"
+  )
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The projects successfully updated"),
+    @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+    @ApiResponse(code = 403, message = "The user does not have access to update the projects"),
+    @ApiResponse(code = 404, message = "The workspace not found"),
+    @ApiResponse(
+      code = 409,
+      message = "The projects were modified since the version the update is based on"
+    ),
+    @ApiResponse(code = 500, message = "Internal server error occurred")
+  })
+  public WorkspaceProjectsDto updateProjects(
+      @ApiParam("The workspace id") @PathParam("id") String id,
+      @ApiParam(value = "The projects update", required = true) ProjectsUpdateDto update)
+      throws ServerException, BadRequestException, NotFoundException, ConflictException,
+          ForbiddenException {
+    requiredNotNull(update, "Projects update");
+    final Set<String> removed = new HashSet<>(update.getRemoved());
+    for (ProjectConfigDto project : update.getUpdated()) {
+      removed.add(project.getPath());
+    }
+    final WorkspaceImpl updated;
+    try {
+      // the version check and the update are done under the lock of the workspace
+      updated =
+          workspaceManager.modifyWorkspace(
+              id,
+              workspace -> {
+                final List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
+                if (update.getVersion() != null
+                    && !update.getVersion().equals(projectsVersion(projects))) {
+                  throw new ConflictException(
+                      format(
+                          "Projects of workspace '%s' were modified since version '%s'",
+                          id, update.getVersion()));
+                }
+                projects.removeIf(project -> removed.contains(project.getPath()));
+                for (ProjectConfigDto project : update.getUpdated()) {
+                  projects.add(new ProjectConfigImpl(project));
+                }
+              });
+    } catch (ValidationException x) {
+      throw new BadRequestException(x.getMessage());
+    }
+    return asProjectsDto(updated.getConfig().getProjects());
+  }
+
   @GET
   @Path("/settings")
   @Produces(APPLICATION_JSON)
@@ -803,6 +924,42 @@ public class WorkspaceService extends Service {
     }
   }
 
+  private static WorkspaceProjectsDto asProjectsDto(List<? extends ProjectConfig> projects) {
+    return newDto(WorkspaceProjectsDto.class)
+        .withVersion(projectsVersion(projects))
+        .withProjects(projects.stream().map(DtoConverter::asDto).collect(toList()));
+  }
+
+  /**
+   * Returns version of the given projects. The version depends only on the content of the projects,
+   * not on their order or persistent identifiers.
+   */
+  @VisibleForTesting
+  static String projectsVersion(List<? extends ProjectConfig> projects) {
+    final List<ProjectConfig> sorted = new ArrayList<>(projects);
+    sorted.sort(comparing(ProjectConfig::getPath));
+    final Hasher hasher = Hashing.md5().newHasher();
+    for (ProjectConfig project : sorted) {
+      putString(hasher, project.getPath());
+      putString(hasher, project.getName());
+      putString(hasher, project.getType());
+      putString(hasher, project.getDescription());
+      putString(hasher, project.getMixins());
+      putString(hasher, new TreeMap<>(project.getAttributes()));
+      final SourceStorage source = project.getSource();
+      if (source != null) {
+        putString(hasher, source.getType());
+        putString(hasher, source.getLocation());
+        putString(hasher, new TreeMap<>(source.getParameters()));
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  private static void putString(Hasher hasher, Object value) {
+    hasher.putString(String.valueOf(value), UTF_8).putByte((byte) 0);
+  }
+
   private List<WorkspaceDto> withLinks(List<WorkspaceDto> workspaces) throws ServerException {
     for (WorkspaceDto workspace : workspaces) {
       workspace.setLinks(linksGenerator.genLinks(workspace, getServiceContext()));
@@ -11,37 +11,134 @@
  */
 package org.eclipse.che.api.workspace.server.event;
 
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
+import static org.eclipse.che.api.workspace.server.DtoConverter.asDto;
+import static org.eclipse.che.api.workspace.shared.Constants.INSTALLER_LOG_BATCH_METHOD;
 import static org.eclipse.che.api.workspace.shared.Constants.INSTALLER_LOG_METHOD;
+import static org.eclipse.che.api.workspace.shared.Constants.INSTALLER_LOG_TAIL_METHOD;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
-import java.util.Map;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionManager;
+import org.eclipse.che.api.workspace.shared.dto.event.InstallerLogBatchEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.InstallerLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 
 /**
  * Register subscriber on {@link InstallerLogEvent installer log event} for resending this type of
  * event via JSON-RPC to clients.
  *
+ * <p>Besides resending of each event, installer logs are coalesced into {@link
+ * InstallerLogBatchEvent batches} which are resent to the subscribers of the batched logs. The last
+ * logs of the machines of a workspace may be requested by clients that subscribe to the logs of the
+ * running workspace.
+ *
  * @author Anton Korneta
+ * @see LogBatcher
  */
 @Singleton
 public class InstallerLogJsonRpcMessenger {
 
   private final RemoteSubscriptionManager subscriptionManager;
+  private final EventService eventService;
+  private final RequestHandlerConfigurator requestHandlerConfigurator;
+  private final ScheduledExecutorService scheduler;
+  private final LogBatcher<InstallerLogEvent> batcher;
 
   @Inject
-  public InstallerLogJsonRpcMessenger(RemoteSubscriptionManager subscriptionManager) {
+  public InstallerLogJsonRpcMessenger(
+      RemoteSubscriptionManager subscriptionManager,
+      EventService eventService,
+      RequestHandlerConfigurator requestHandlerConfigurator,
+      @Named("che.workspace.logs.batch.flush_delay_ms") long flushDelayMs,
+      @Named("che.workspace.logs.batch.max_size") int maxBatchSize,
+      @Named("che.workspace.logs.rate_limit") int rateLimit,
+      @Named("che.workspace.logs.tail_size") int tailSize) {
     this.subscriptionManager = subscriptionManager;
+    this.eventService = eventService;
+    this.requestHandlerConfigurator = requestHandlerConfigurator;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("InstallerLogBatcher")
+                .build());
+    this.batcher =
+        new LogBatcher<>(
+            InstallerLogEvent::getRuntimeId,
+            InstallerLogEvent::getMachineName,
+            (runtimeId, machineName, logs, dropped) ->
+                eventService.publish(asBatch(runtimeId, machineName, logs, dropped)),
+            scheduler,
+            flushDelayMs,
+            maxBatchSize,
+            rateLimit,
+            tailSize);
   }
 
   @PostConstruct
   private void postConstruct() {
-    subscriptionManager.register(INSTALLER_LOG_METHOD, InstallerLogEvent.class, this::predicate);
+    subscriptionManager.register(
+        INSTALLER_LOG_METHOD,
+        InstallerLogEvent.class,
+        "workspaceId",
+        event -> event.getRuntimeId().getWorkspaceId());
+    subscriptionManager.register(
+        INSTALLER_LOG_BATCH_METHOD,
+        InstallerLogBatchEvent.class,
+        "workspaceId",
+        event -> event.getRuntimeId().getWorkspaceId());
+    eventService.subscribe(batcher::accept, InstallerLogEvent.class);
+    eventService.subscribe(
+        event -> {
+          if (event.getStatus() == STOPPED) {
+            batcher.remove(event.getWorkspaceId());
+          }
+        },
+        WorkspaceStatusEvent.class);
+    requestHandlerConfigurator
+        .newConfiguration()
+        .methodName(INSTALLER_LOG_TAIL_METHOD)
+        .paramsAsString()
+        .resultAsListOfDto(InstallerLogBatchEvent.class)
+        .withFunction(this::getTail);
+  }
+
+  @PreDestroy
+  private void shutdown() {
+    scheduler.shutdown();
+  }
+
+  private List<InstallerLogBatchEvent> getTail(String workspaceId) {
+    return batcher
+        .getTail(workspaceId)
+        .entrySet()
+        .stream()
+        .map(
+            entry ->
+                asBatch(
+                    entry.getValue().get(0).getRuntimeId(), entry.getKey(), entry.getValue(), 0))
+        .collect(toList());
   }
 
-  private boolean predicate(InstallerLogEvent event, Map<String, String> scope) {
-    return event.getRuntimeId().getWorkspaceId().equals(scope.get("workspaceId"));
+  private static InstallerLogBatchEvent asBatch(
+      RuntimeIdentity runtimeId, String machineName, List<InstallerLogEvent> logs, long dropped) {
+    return newDto(InstallerLogBatchEvent.class)
+        .withRuntimeId(asDto(runtimeId))
+        .withMachineName(machineName)
+        .withLogs(logs)
+        .withDropped(dropped);
   }
 }
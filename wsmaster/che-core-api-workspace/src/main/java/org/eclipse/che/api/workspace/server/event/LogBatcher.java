@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+
+/**
+ * Coalesces log events of workspace machines into batches.
+ *
+ * <p>Log events are buffered per workspace machine and passed to the consumer as a single batch
+ * when the buffer reaches the maximum size or when the flush delay passes after the first buffered
+ * event. The number of log events accepted per workspace per second is limited, exceeding events
+ * are dropped and their number is passed to the consumer along with the next batch of the
+ * workspace. The last flushed log events of each machine are kept, so they can be provided to late
+ * subscribers.
+ *
+ * @param <L> type of the log events
+ */
+class LogBatcher<L> {
+
+  /** Consumes batches of log events. */
+  interface BatchConsumer<L> {
+
+    /**
+     * Consumes a batch of log events.
+     *
+     * @param runtimeId identity of the runtime that produces the logs
+     * @param machineName name of the machine that produces the logs
+     * @param logs log events in the order they are produced, never empty
+     * @param dropped number of log events of the workspace dropped since the previous batch
+     */
+    void accept(RuntimeIdentity runtimeId, String machineName, List<L> logs, long dropped);
+  }
+
+  private static final long RATE_LIMIT_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final Function<L, ? extends RuntimeIdentity> runtimeIdOf;
+  private final Function<L, String> machineNameOf;
+  private final BatchConsumer<L> consumer;
+  private final ScheduledExecutorService scheduler;
+  private final long flushDelayMs;
+  private final int maxBatchSize;
+  private final int rateLimit;
+  private final int tailSize;
+  private final Map<String, WorkspaceLogs> workspaces = new ConcurrentHashMap<>();
+
+  /**
+   * Creates log events batcher.
+   *
+   * @param runtimeIdOf provides identity of the runtime that produces a log event
+   * @param machineNameOf provides name of the machine that produces a log event
+   * @param consumer consumer of the batches
+   * @param scheduler executor used for delayed flushing of the batches
+   * @param flushDelayMs maximum time in milliseconds a log event may wait in a batch
+   * @param maxBatchSize maximum number of log events in a batch
+   * @param rateLimit maximum number of log events of a workspace accepted per second
+   * @param tailSize number of the last log events of a machine kept for late subscribers
+   */
+  LogBatcher(
+      Function<L, ? extends RuntimeIdentity> runtimeIdOf,
+      Function<L, String> machineNameOf,
+      BatchConsumer<L> consumer,
+      ScheduledExecutorService scheduler,
+      long flushDelayMs,
+      int maxBatchSize,
+      int rateLimit,
+      int tailSize) {
+    this.runtimeIdOf = runtimeIdOf;
+    this.machineNameOf = machineNameOf;
+    this.consumer = consumer;
+    this.scheduler = scheduler;
+    this.flushDelayMs = flushDelayMs;
+    this.maxBatchSize = maxBatchSize;
+    this.rateLimit = rateLimit;
+    this.tailSize = tailSize;
+  }
+
+  /** Adds the log event to the batch of its machine, unless the rate limit is exceeded. */
+  void accept(L log) {
+    final RuntimeIdentity runtimeId = runtimeIdOf.apply(log);
+    final String workspaceId = runtimeId.getWorkspaceId();
+    final String machineName = machineNameOf.apply(log);
+    final WorkspaceLogs workspaceLogs =
+        workspaces.computeIfAbsent(workspaceId, id -> new WorkspaceLogs());
+    synchronized (workspaceLogs) {
+      if (!workspaceLogs.tryAcquire(System.nanoTime())) {
+        return;
+      }
+      final MachineLogs machineLogs =
+          workspaceLogs.machines.computeIfAbsent(machineName, name -> new MachineLogs());
+      machineLogs.runtimeId = runtimeId;
+      machineLogs.pending.add(log);
+      if (machineLogs.pending.size() >= maxBatchSize) {
+        flush(workspaceLogs, machineName, machineLogs);
+      } else if (machineLogs.flushTask == null) {
+        try {
+          machineLogs.flushTask =
+              scheduler.schedule(
+                  () -> flush(workspaceId, machineName), flushDelayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+          // scheduler is terminated, do not keep the log waiting
+          flush(workspaceLogs, machineName, machineLogs);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the last flushed log events of the machines of the given workspace.
+   *
+   * @param workspaceId workspace id
+   * @return log events grouped by the name of the machine that produced them
+   */
+  Map<String, List<L>> getTail(String workspaceId) {
+    final WorkspaceLogs workspaceLogs = workspaces.get(workspaceId);
+    final Map<String, List<L>> tail = new HashMap<>();
+    if (workspaceLogs != null) {
+      synchronized (workspaceLogs) {
+        workspaceLogs.machines.forEach(
+            (machineName, machineLogs) -> {
+              if (!machineLogs.tail.isEmpty()) {
+                tail.put(machineName, new ArrayList<>(machineLogs.tail));
+              }
+            });
+      }
+    }
+    return tail;
+  }
+
+  /** Flushes buffered log events of the given workspace and forgets about the workspace. */
+  void remove(String workspaceId) {
+    final WorkspaceLogs workspaceLogs = workspaces.remove(workspaceId);
+    if (workspaceLogs != null) {
+      synchronized (workspaceLogs) {
+        workspaceLogs.machines.forEach(
+            (machineName, machineLogs) -> flush(workspaceLogs, machineName, machineLogs));
+      }
+    }
+  }
+
+  private void flush(String workspaceId, String machineName) {
+    final WorkspaceLogs workspaceLogs = workspaces.get(workspaceId);
+    if (workspaceLogs != null) {
+      synchronized (workspaceLogs) {
+        final MachineLogs machineLogs = workspaceLogs.machines.get(machineName);
+        if (machineLogs != null) {
+          flush(workspaceLogs, machineName, machineLogs);
+        }
+      }
+    }
+  }
+
+  /** Must be called while holding the lock of the workspace logs. */
+  private void flush(WorkspaceLogs workspaceLogs, String machineName, MachineLogs machineLogs) {
+    if (machineLogs.flushTask != null) {
+      machineLogs.flushTask.cancel(false);
+      machineLogs.flushTask = null;
+    }
+    if (machineLogs.pending.isEmpty()) {
+      return;
+    }
+    final List<L> batch = machineLogs.pending;
+    machineLogs.pending = new ArrayList<>();
+    for (L log : batch) {
+      if (machineLogs.tail.size() == tailSize) {
+        machineLogs.tail.poll();
+      }
+      if (tailSize > 0) {
+        machineLogs.tail.add(log);
+      }
+    }
+    final long dropped = workspaceLogs.dropped;
+    workspaceLogs.dropped = 0;
+    consumer.accept(machineLogs.runtimeId, machineName, batch, dropped);
+  }
+
+  private class WorkspaceLogs {
+    private final Map<String, MachineLogs> machines = new HashMap<>();
+    private long periodStart;
+    private int accepted;
+    private long dropped;
+
+    private boolean tryAcquire(long now) {
+      if (accepted == 0 || now - periodStart >= RATE_LIMIT_PERIOD_NANOS) {
+        periodStart = now;
+        accepted = 0;
+      }
+      if (accepted >= rateLimit) {
+        dropped++;
+        return false;
+      }
+      accepted++;
+      return true;
+    }
+  }
+
+  private class MachineLogs {
+    private final ArrayDeque<L> tail = new ArrayDeque<>();
+    private List<L> pending = new ArrayList<>();
+    private RuntimeIdentity runtimeId;
+    private ScheduledFuture<?> flushTask;
+  }
+}
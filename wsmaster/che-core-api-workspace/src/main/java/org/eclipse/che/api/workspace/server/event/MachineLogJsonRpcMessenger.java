@@ -11,37 +11,130 @@
  */
 package org.eclipse.che.api.workspace.server.event;
 
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
+import static org.eclipse.che.api.workspace.server.DtoConverter.asDto;
+import static org.eclipse.che.api.workspace.shared.Constants.MACHINE_LOG_BATCH_METHOD;
 import static org.eclipse.che.api.workspace.shared.Constants.MACHINE_LOG_METHOD;
+import static org.eclipse.che.api.workspace.shared.Constants.MACHINE_LOG_TAIL_METHOD;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
-import java.util.Map;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionManager;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogBatchEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 
 /**
  * Register subscriber on {@link MachineLogEvent machine log event} for resending this type of event
  * via JSON-RPC to clients.
  *
+ * <p>Besides resending of each event, machine logs are coalesced into {@link MachineLogBatchEvent
+ * batches} which are resent to the subscribers of the batched logs. The last logs of the machines
+ * of a workspace may be requested by clients that subscribe to the logs of the running workspace.
+ *
  * @author Anton Korneta
+ * @see LogBatcher
  */
 @Singleton
 public class MachineLogJsonRpcMessenger {
 
   private final RemoteSubscriptionManager subscriptionManager;
+  private final EventService eventService;
+  private final RequestHandlerConfigurator requestHandlerConfigurator;
+  private final ScheduledExecutorService scheduler;
+  private final LogBatcher<MachineLogEvent> batcher;
 
   @Inject
-  public MachineLogJsonRpcMessenger(RemoteSubscriptionManager subscriptionManager) {
+  public MachineLogJsonRpcMessenger(
+      RemoteSubscriptionManager subscriptionManager,
+      EventService eventService,
+      RequestHandlerConfigurator requestHandlerConfigurator,
+      @Named("che.workspace.logs.batch.flush_delay_ms") long flushDelayMs,
+      @Named("che.workspace.logs.batch.max_size") int maxBatchSize,
+      @Named("che.workspace.logs.rate_limit") int rateLimit,
+      @Named("che.workspace.logs.tail_size") int tailSize) {
     this.subscriptionManager = subscriptionManager;
+    this.eventService = eventService;
+    this.requestHandlerConfigurator = requestHandlerConfigurator;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("MachineLogBatcher").build());
+    this.batcher =
+        new LogBatcher<>(
+            MachineLogEvent::getRuntimeId,
+            MachineLogEvent::getMachineName,
+            (runtimeId, machineName, logs, dropped) ->
+                eventService.publish(asBatch(runtimeId, machineName, logs, dropped)),
+            scheduler,
+            flushDelayMs,
+            maxBatchSize,
+            rateLimit,
+            tailSize);
   }
 
   @PostConstruct
   private void postConstruct() {
-    subscriptionManager.register(MACHINE_LOG_METHOD, MachineLogEvent.class, this::predicate);
+    subscriptionManager.register(
+        MACHINE_LOG_METHOD,
+        MachineLogEvent.class,
+        "workspaceId",
+        event -> event.getRuntimeId().getWorkspaceId());
+    subscriptionManager.register(
+        MACHINE_LOG_BATCH_METHOD,
+        MachineLogBatchEvent.class,
+        "workspaceId",
+        event -> event.getRuntimeId().getWorkspaceId());
+    eventService.subscribe(batcher::accept, MachineLogEvent.class);
+    eventService.subscribe(
+        event -> {
+          if (event.getStatus() == STOPPED) {
+            batcher.remove(event.getWorkspaceId());
+          }
+        },
+        WorkspaceStatusEvent.class);
+    requestHandlerConfigurator
+        .newConfiguration()
+        .methodName(MACHINE_LOG_TAIL_METHOD)
+        .paramsAsString()
+        .resultAsListOfDto(MachineLogBatchEvent.class)
+        .withFunction(this::getTail);
+  }
+
+  @PreDestroy
+  private void shutdown() {
+    scheduler.shutdown();
+  }
+
+  private List<MachineLogBatchEvent> getTail(String workspaceId) {
+    return batcher
+        .getTail(workspaceId)
+        .entrySet()
+        .stream()
+        .map(
+            entry ->
+                asBatch(
+                    entry.getValue().get(0).getRuntimeId(), entry.getKey(), entry.getValue(), 0))
+        .collect(toList());
   }
 
-  private boolean predicate(MachineLogEvent event, Map<String, String> scope) {
-    return event.getRuntimeId().getWorkspaceId().equals(scope.get("workspaceId"));
+  private static MachineLogBatchEvent asBatch(
+      RuntimeIdentity runtimeId, String machineName, List<MachineLogEvent> logs, long dropped) {
+    return newDto(MachineLogBatchEvent.class)
+        .withRuntimeId(asDto(runtimeId))
+        .withMachineName(machineName)
+        .withLogs(logs)
+        .withDropped(dropped);
   }
 }
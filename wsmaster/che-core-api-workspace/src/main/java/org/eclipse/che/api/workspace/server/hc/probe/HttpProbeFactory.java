@@ -13,6 +13,7 @@ package org.eclipse.che.api.workspace.server.hc.probe;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -27,6 +28,7 @@ public class HttpProbeFactory extends ProbeFactory {
   private final int timeout;
   private final Map<String, String> headers;
   private final HttpProbeConfig probeConfig;
+  private final NonBlockingProbe nonBlockingProbe;
 
   public HttpProbeFactory(
       String workspaceId, String machineName, String serverName, HttpProbeConfig probeConfig)
@@ -41,6 +43,13 @@ public class HttpProbeFactory extends ProbeFactory {
     timeout = (int) TimeUnit.SECONDS.toMillis(probeConfig.getTimeoutSeconds());
     headers = probeConfig.getHeaders();
     this.probeConfig = probeConfig;
+    // HTTPS requires TLS handshake which is left to the blocking probe
+    if ("http".equals(url.getProtocol())) {
+      nonBlockingProbe =
+          new NonBlockingProbe(url.getHost(), getPort(url), createRequest(url, headers), timeout);
+    } else {
+      nonBlockingProbe = null;
+    }
   }
 
   @Override
@@ -52,4 +61,37 @@ public class HttpProbeFactory extends ProbeFactory {
   public HttpProbe get() {
     return new HttpProbe(url, timeout, headers);
   }
+
+  @Override
+  public NonBlockingProbe getNonBlocking() {
+    return nonBlockingProbe;
+  }
+
+  private static int getPort(URL url) {
+    return url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+  }
+
+  /** Creates HTTP request which is equal to the one sent by {@link HttpProbe}. */
+  private static byte[] createRequest(URL url, Map<String, String> headers) {
+    StringBuilder request = new StringBuilder();
+    request
+        .append("GET ")
+        .append(url.getFile().isEmpty() ? "/" : url.getFile())
+        .append(" HTTP/1.1\r\n");
+    request.append("Host: ").append(url.getHost());
+    if (url.getPort() != -1) {
+      request.append(':').append(url.getPort());
+    }
+    request.append("\r\n");
+    if (headers != null) {
+      headers.forEach(
+          (name, value) -> {
+            if (!"Connection".equalsIgnoreCase(name) && !"Host".equalsIgnoreCase(name)) {
+              request.append(name).append(": ").append(value).append("\r\n");
+            }
+          });
+    }
+    request.append("Connection: close\r\n\r\n");
+    return request.toString().getBytes(StandardCharsets.ISO_8859_1);
+  }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+/**
+ * Probe which is performed without blocking a thread, by {@link NonBlockingProbeExecutor}. Connects
+ * to the given host and port, if the request is set then sends it and checks the HTTP status of the
+ * response. The probe is successful when connection is established and, in case of the request, the
+ * response status is 2xx or 3xx.
+ */
+public class NonBlockingProbe {
+
+  private final String host;
+  private final int port;
+  private final byte[] request;
+  private final int timeout;
+
+  /**
+   * Creates probe.
+   *
+   * @param host host to connect to
+   * @param port port to connect to
+   * @param request HTTP request to send or null if only connection should be checked
+   * @param timeout timeout of the probe in milliseconds
+   */
+  public NonBlockingProbe(String host, int port, byte[] request, int timeout) {
+    this.host = host;
+    this.port = port;
+    this.request = request;
+    this.timeout = timeout;
+  }
+
+  public String getHost() {
+    return host;
+  }
+
+  public int getPort() {
+    return port;
+  }
+
+  /** Returns HTTP request to send, or null if only connection should be checked. */
+  public byte[] getRequest() {
+    return request;
+  }
+
+  /** Returns timeout of the probe in milliseconds. */
+  public int getTimeout() {
+    return timeout;
+  }
+}
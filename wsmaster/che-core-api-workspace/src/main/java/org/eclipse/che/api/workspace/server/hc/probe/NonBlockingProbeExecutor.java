@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs {@link NonBlockingProbe non-blocking probes} on a single selector thread, so the number
+ * of probes which are in progress at the same time is not limited by the size of a thread pool and
+ * a hanging server doesn't occupy a thread until the probe times out.
+ */
+class NonBlockingProbeExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(NonBlockingProbeExecutor.class);
+
+  /** Maximum time the selector waits for events, defines precision of the probes timeouts. */
+  private static final long SELECT_TIMEOUT_MILLIS = 100;
+  /** Size of the buffer for the beginning of the response, enough to fit the status code. */
+  private static final int RESPONSE_HEAD_SIZE = 32;
+
+  private static final String HTTP_VERSION_PREFIX = "HTTP/";
+
+  private final Selector selector;
+  private final Queue<Execution> registrations;
+  private final Thread selectorThread;
+
+  private volatile boolean closed;
+  private long lastExpirationCheck;
+
+  NonBlockingProbeExecutor() throws IOException {
+    selector = Selector.open();
+    registrations = new ConcurrentLinkedQueue<>();
+    selectorThread =
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("ServerProbesSelector")
+            .build()
+            .newThread(this::run);
+    selectorThread.start();
+  }
+
+  /**
+   * Starts the given probe.
+   *
+   * @return future which is completed with the result of the probe, it is never completed
+   *     exceptionally
+   */
+  CompletableFuture<Boolean> probe(NonBlockingProbe probe) {
+    Execution execution = new Execution(probe);
+    if (closed) {
+      execution.complete(false);
+      return execution.result;
+    }
+    try {
+      execution.channel = SocketChannel.open();
+      execution.channel.configureBlocking(false);
+      execution.connected =
+          execution.channel.connect(new InetSocketAddress(probe.getHost(), probe.getPort()));
+    } catch (IOException | RuntimeException e) {
+      // unresolved address, unavailable network, etc.
+      execution.complete(false);
+      return execution.result;
+    }
+    registrations.add(execution);
+    selector.wakeup();
+    // selector thread may be stopped concurrently and never take the registration
+    if (closed && registrations.remove(execution)) {
+      execution.complete(false);
+    }
+    return execution.result;
+  }
+
+  /** Stops the selector thread, probes which are in progress are considered failed. */
+  void close() {
+    closed = true;
+    selector.wakeup();
+    try {
+      selectorThread.join(SELECT_TIMEOUT_MILLIS * 10);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    while (!closed) {
+      try {
+        selector.select(SELECT_TIMEOUT_MILLIS);
+      } catch (IOException e) {
+        LOG.error("Probes selector failed. Error: " + e.getMessage(), e);
+      }
+      Execution execution;
+      while ((execution = registrations.poll()) != null) {
+        register(execution);
+      }
+      Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+      while (selected.hasNext()) {
+        SelectionKey key = selected.next();
+        selected.remove();
+        handle(key);
+      }
+      long now = System.currentTimeMillis();
+      // keys are checked not more often than timeouts precision requires
+      if (now - lastExpirationCheck >= SELECT_TIMEOUT_MILLIS) {
+        lastExpirationCheck = now;
+        expire(now);
+      }
+    }
+    Execution execution;
+    while ((execution = registrations.poll()) != null) {
+      execution.complete(false);
+    }
+    for (SelectionKey key : selector.keys()) {
+      ((Execution) key.attachment()).complete(false);
+    }
+    try {
+      selector.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close probes selector. Error: " + e.getMessage());
+    }
+  }
+
+  private void register(Execution execution) {
+    try {
+      if (!execution.connected) {
+        execution.channel.register(selector, SelectionKey.OP_CONNECT, execution);
+      } else if (execution.request != null) {
+        execution.channel.register(selector, SelectionKey.OP_WRITE, execution);
+      } else {
+        execution.complete(true);
+      }
+    } catch (IOException e) {
+      execution.complete(false);
+    }
+  }
+
+  private void handle(SelectionKey key) {
+    Execution execution = (Execution) key.attachment();
+    try {
+      if (key.isConnectable()) {
+        execution.channel.finishConnect();
+        if (execution.request == null) {
+          // TCP probe succeeds as soon as the connection is established
+          execution.complete(true);
+        } else {
+          key.interestOps(SelectionKey.OP_WRITE);
+        }
+      } else if (key.isWritable()) {
+        execution.channel.write(execution.request);
+        if (!execution.request.hasRemaining()) {
+          key.interestOps(SelectionKey.OP_READ);
+        }
+      } else if (key.isReadable()) {
+        int read = execution.channel.read(execution.response);
+        Boolean success = isSuccessful(execution.response);
+        if (success != null) {
+          execution.complete(success);
+        } else if (read < 0 || !execution.response.hasRemaining()) {
+          execution.complete(false);
+        }
+      }
+    } catch (IOException | CancelledKeyException e) {
+      execution.complete(false);
+    }
+  }
+
+  private void expire(long now) {
+    for (SelectionKey key : selector.keys()) {
+      Execution execution = (Execution) key.attachment();
+      if (now >= execution.deadline) {
+        execution.complete(false);
+      }
+    }
+  }
+
+  /**
+   * Returns true if the status line read into the given buffer has code >=200 and <400, false if
+   * the status line is malformed or has other code, or null if the status code is not read yet.
+   */
+  static Boolean isSuccessful(ByteBuffer response) {
+    // "HTTP/1.1 200"
+    int statusEnd = HTTP_VERSION_PREFIX.length() + 7;
+    if (response.position() < statusEnd) {
+      return null;
+    }
+    String statusLine =
+        new String(response.array(), 0, response.position(), StandardCharsets.ISO_8859_1);
+    int codeStart = statusLine.indexOf(' ') + 1;
+    if (!statusLine.startsWith(HTTP_VERSION_PREFIX) || codeStart == 0) {
+      return false;
+    }
+    if (statusLine.length() < codeStart + 3) {
+      return null;
+    }
+    try {
+      int code = Integer.parseInt(statusLine.substring(codeStart, codeStart + 3));
+      return code >= 200 && code < 400;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  /**
+   * State of a single probe execution, once the execution is registered it is accessed by the
+   * selector thread only.
+   */
+  private static class Execution {
+    private final ByteBuffer request;
+    private final ByteBuffer response;
+    private final long deadline;
+    private final CompletableFuture<Boolean> result;
+
+    private SocketChannel channel;
+    private boolean connected;
+
+    Execution(NonBlockingProbe probe) {
+      this.request = probe.getRequest() == null ? null : ByteBuffer.wrap(probe.getRequest());
+      this.response = request == null ? null : ByteBuffer.allocate(RESPONSE_HEAD_SIZE);
+      this.deadline = System.currentTimeMillis() + probe.getTimeout();
+      this.result = new CompletableFuture<>();
+    }
+
+    void complete(boolean success) {
+      if (channel != null) {
+        try {
+          // closing of the channel cancels its key
+          channel.close();
+        } catch (IOException ignored) {
+        }
+      }
+      try {
+        result.complete(success);
+      } catch (RuntimeException e) {
+        // dependent actions may be rejected by a terminated executor
+        LOG.debug("Failed to pass probe result. Error: " + e.getMessage());
+      }
+    }
+  }
+}
@@ -34,6 +34,14 @@ public abstract class ProbeFactory {
   /** Returns an instance of a probe for a server in a workspace */
   public abstract Probe get();
 
+  /**
+   * Returns a probe for a server in a workspace which can be performed without blocking a thread,
+   * or null if the probe can be performed by {@link #get() blocking probe} only.
+   */
+  public NonBlockingProbe getNonBlocking() {
+    return null;
+  }
+
   /** Returns ID of a workspace the probe corresponds to */
   public String getWorkspaceId() {
     return workspaceId;
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Histogram of durations in milliseconds with fixed exponential buckets. */
+public class ProbeHistogram {
+
+  /** Upper bounds of the buckets, the last bucket contains all the greater values. */
+  private static final long[] BOUNDS = {
+    1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000
+  };
+
+  private final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length + 1);
+  private final LongAdder total = new LongAdder();
+
+  /** Records the duration in milliseconds. */
+  public void record(long millis) {
+    int bucket = 0;
+    while (bucket < BOUNDS.length && millis > BOUNDS[bucket]) {
+      bucket++;
+    }
+    counts.incrementAndGet(bucket);
+    total.increment();
+  }
+
+  /** Returns upper bounds of the buckets in milliseconds. */
+  public long[] getBounds() {
+    return BOUNDS.clone();
+  }
+
+  /**
+   * Returns counts of the recorded values per bucket, the array is one element longer than {@link
+   * #getBounds() bounds}, the last element counts values greater than the last bound.
+   */
+  public long[] getCounts() {
+    long[] result = new long[counts.length()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = counts.get(i);
+    }
+    return result;
+  }
+
+  /** Returns the number of recorded values. */
+  public long getTotal() {
+    return total.sum();
+  }
+
+  /**
+   * Returns the upper bound of the bucket containing the given percentile, {@link Long#MAX_VALUE}
+   * when the percentile is greater than the last bound, or 0 if nothing is recorded.
+   *
+   * @param percentile percentile in range (0, 100]
+   */
+  public long getPercentile(double percentile) {
+    long[] snapshot = getCounts();
+    long count = 0;
+    for (long bucketCount : snapshot) {
+      count += bucketCount;
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(count * percentile / 100);
+    long seen = 0;
+    for (int i = 0; i < BOUNDS.length; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return BOUNDS[i];
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public String toString() {
+    return "ProbeHistogram{"
+        + "total="
+        + getTotal()
+        + ", p50="
+        + getPercentile(50)
+        + ", p99="
+        + getPercentile(99)
+        + '}';
+  }
+}
@@ -11,7 +11,10 @@
  */
 package org.eclipse.che.api.workspace.server.hc.probe;
 
+import static java.lang.System.currentTimeMillis;
+
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +24,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -36,6 +40,13 @@ import org.slf4j.LoggerFactory;
 /**
  * Schedules workspace servers probes checks asynchronously.
  *
+ * <p>Probes which support it are performed by {@link NonBlockingProbeExecutor} and don't occupy
+ * threads of the pool while waiting for servers responses, the pool only starts them and processes
+ * their results. Other probes, e.g. HTTPS ones, are performed by the threads of the pool.
+ *
+ * <p>First execution of each probe is shifted by a random part of its period, so probes of
+ * workspaces which are started at the same time don't run simultaneously.
+ *
  * @author Alexander Garagatyi
  * @author Sergii Leshchenko
  */
@@ -44,6 +55,7 @@ public class ProbeScheduler {
   private static final Logger LOG = LoggerFactory.getLogger(ProbeScheduler.class);
 
   private final ScheduledThreadPoolExecutor probesExecutor;
+  private final NonBlockingProbeExecutor nonBlockingExecutor;
   /**
    * Use single thread for a scheduling of tasks interruption by timeout. Single thread can be used
    * since it is supposed that interruption is a very quick call. Separate thread is needed to
@@ -53,15 +65,23 @@ public class ProbeScheduler {
   private final Timer timeouts;
   /** Mapping of workspaceId to a list of futures with probes of a workspace. */
   private final Map<String, List<ScheduledFuture>> probesFutures;
+  /** Delays of the probes executions relative to the time they are scheduled at. */
+  private final ProbeHistogram schedulingLag;
+  /** Durations of the probes executions. */
+  private final ProbeHistogram probeLatency;
 
   @Inject
-  public ProbeScheduler(@Named("che.workspace.probe_pool_size") int probeSchedulerPoolSize) {
+  public ProbeScheduler(@Named("che.workspace.probe_pool_size") int probeSchedulerPoolSize)
+      throws IOException {
     probesExecutor =
         new ScheduledThreadPoolExecutor(
             probeSchedulerPoolSize,
             new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ServerProbes-%s").build());
+    nonBlockingExecutor = new NonBlockingProbeExecutor();
     timeouts = new Timer("ServerProbesTimeouts", true);
     probesFutures = new ConcurrentHashMap<>();
+    schedulingLag = new ProbeHistogram();
+    probeLatency = new ProbeHistogram();
   }
 
   /**
@@ -155,23 +175,37 @@ public class ProbeScheduler {
         probesExecutor.shutdownNow();
         Thread.currentThread().interrupt();
       }
+      nonBlockingExecutor.close();
     }
   }
 
+  /** Returns histogram of delays of the probes executions relative to their scheduled time. */
+  public ProbeHistogram getSchedulingLag() {
+    return schedulingLag;
+  }
+
+  /** Returns histogram of durations of the probes executions. */
+  public ProbeHistogram getProbeLatency() {
+    return probeLatency;
+  }
+
   private void schedule(
       String workspaceId, ProbeFactory probeFactory, Consumer<ProbeResult> probeResultConsumer) {
     ProbeConfig probeConfig = probeFactory.getProbeConfig();
-    Task task = new Task(probeFactory, probeResultConsumer);
+    long periodMillis = TimeUnit.SECONDS.toMillis(probeConfig.getPeriodSeconds());
+    long initialDelayMillis = TimeUnit.SECONDS.toMillis(probeConfig.getInitialDelaySeconds());
+    if (periodMillis > 0) {
+      initialDelayMillis += ThreadLocalRandom.current().nextLong(periodMillis);
+    }
+    Task task = new Task(probeFactory, probeResultConsumer, initialDelayMillis);
     // scheduleWithFixedDelay is used in favor of scheduleAtFixedRate because in case of big amount
     // of scheduled probes start time of tasks may shift and this may lead to a situation when
     // another probeConfig is needed immediately after the previous one is finished which doesn't
     // seem a good thing
     ScheduledFuture scheduledFuture =
         probesExecutor.scheduleWithFixedDelay(
-            task,
-            probeConfig.getInitialDelaySeconds(),
-            probeConfig.getPeriodSeconds(),
-            TimeUnit.SECONDS);
+            task, initialDelayMillis, periodMillis, TimeUnit.MILLISECONDS);
+    task.future = scheduledFuture;
 
     List<ScheduledFuture> workspaceProbes =
         probesFutures.computeIfPresent(
@@ -192,36 +226,87 @@ public class ProbeScheduler {
     private final ProbeFactory probeFactory;
     private final Consumer<ProbeResult> probeResultConsumer;
     private final ProbeConfig probeConfig;
+    private final long periodMillis;
 
     private int failures = 0;
     private int successes = 0;
     private AtomicBoolean cancelled = new AtomicBoolean(false);
+    private volatile ScheduledFuture future;
+    /** Whether a non-blocking probe started by this task hasn't finished yet. */
+    private volatile boolean inProgress;
+    /** Time the next execution of the task is expected at. */
+    private long expectedStart;
 
-    public Task(ProbeFactory probeFactory, Consumer<ProbeResult> probeResultConsumer) {
+    public Task(
+        ProbeFactory probeFactory,
+        Consumer<ProbeResult> probeResultConsumer,
+        long initialDelayMillis) {
       this.probeFactory = probeFactory;
       this.probeConfig = probeFactory.getProbeConfig();
       this.probeResultConsumer = probeResultConsumer;
+      this.periodMillis = TimeUnit.SECONDS.toMillis(probeConfig.getPeriodSeconds());
+      this.expectedStart = currentTimeMillis() + initialDelayMillis;
     }
 
     @Override
     public void run() {
-      if (cancelled.get()) {
+      if (isCancelled()) {
+        return;
+      }
+      // previous probe may still wait for its timeout, executions of a probe must not overlap,
+      // skipped execution is not a scheduling delay, so the lag is counted from the next one
+      if (inProgress) {
+        expectedStart = currentTimeMillis() + periodMillis;
         return;
       }
-      Probe probe = probeFactory.get();
-      timeouts.schedule(
-          new TimeoutProbeTask(probe), TimeUnit.SECONDS.toMillis(probeConfig.getTimeoutSeconds()));
-      boolean success = probe.probe();
+      long start = currentTimeMillis();
+      schedulingLag.record(start - expectedStart);
+      NonBlockingProbe nonBlockingProbe = probeFactory.getNonBlocking();
+      if (nonBlockingProbe != null) {
+        inProgress = true;
+        // result is processed by the pool, so the selector thread is never blocked by consumers
+        nonBlockingExecutor
+            .probe(nonBlockingProbe)
+            .whenCompleteAsync(
+                (success, error) -> {
+                  probeLatency.record(currentTimeMillis() - start);
+                  try {
+                    onResult(Boolean.TRUE.equals(success));
+                  } finally {
+                    inProgress = false;
+                  }
+                },
+                probesExecutor);
+      } else {
+        Probe probe = probeFactory.get();
+        timeouts.schedule(
+            new TimeoutProbeTask(probe),
+            TimeUnit.SECONDS.toMillis(probeConfig.getTimeoutSeconds()));
+        boolean success = probe.probe();
+        probeLatency.record(currentTimeMillis() - start);
+        onResult(success);
+      }
+      // fixed delay is counted from the end of the execution
+      expectedStart = currentTimeMillis() + periodMillis;
+    }
+
+    public void cancel() {
+      cancelled.set(true);
+    }
+
+    private boolean isCancelled() {
+      ScheduledFuture scheduledFuture = future;
+      return cancelled.get() || (scheduledFuture != null && scheduledFuture.isCancelled());
+    }
+
+    private void onResult(boolean success) {
       if (success) {
         // current success increases successes count and clears failures count
         successes++;
         failures = 0;
 
         if (successes >= probeConfig.getSuccessThreshold()) {
-          // TODO make them completable futures? Then we should ensure that
-          // consecutive calls won't use executors thread time but rather use common thread
-          // pool to perform processing of passed probe result
-          if (cancelled.get()) {
+          if (isCancelled()) {
             return;
           }
           // Health check satisfies probeConfig health conditions
@@ -238,7 +323,7 @@ public class ProbeScheduler {
         successes = 0;
 
         if (failures >= probeConfig.getFailureThreshold()) {
-          if (cancelled.get()) {
+          if (isCancelled()) {
             return;
           }
           // Health check satisfies probeConfig failure conditions
@@ -251,10 +336,6 @@ public class ProbeScheduler {
         }
       }
     }
-
-    public void cancel() {
-      cancelled.set(true);
-    }
   }
 
   private class DelayedSchedulingTask implements Runnable {
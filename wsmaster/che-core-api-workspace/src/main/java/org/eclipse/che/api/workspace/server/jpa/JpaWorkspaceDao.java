@@ -18,7 +18,10 @@ import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.Pages.iterate;
 
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
@@ -38,6 +41,7 @@ import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceRemovedEvent;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
@@ -189,6 +193,53 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceSummary> getSummariesByNamespace(
+      String namespace, int maxItems, long skipCount) throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    try {
+      final EntityManager manager = managerProvider.get();
+      final List<WorkspaceSummary> list =
+          manager
+              .createNamedQuery("Workspace.getSummariesByNamespace", WorkspaceSummary.class)
+              .setParameter("namespace", namespace)
+              .setMaxResults(maxItems)
+              .setFirstResult((int) skipCount)
+              .getResultList();
+      fetchSummaryAttributes(manager, list);
+      final long count =
+          manager
+              .createNamedQuery("Workspace.getByNamespaceCount", Long.class)
+              .setParameter("namespace", namespace)
+              .getSingleResult();
+      return new Page<>(list, skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
+  @Override
+  @Transactional
+  public Page<WorkspaceSummary> getSummaries(String userId, int maxItems, long skipCount)
+      throws ServerException {
+    try {
+      final EntityManager manager = managerProvider.get();
+      final List<WorkspaceSummary> list =
+          manager
+              .createNamedQuery("Workspace.getAllSummaries", WorkspaceSummary.class)
+              .setMaxResults(maxItems)
+              .setFirstResult((int) skipCount)
+              .getResultList();
+      fetchSummaryAttributes(manager, list);
+      final long count =
+          manager.createNamedQuery("Workspace.getAllCount", Long.class).getSingleResult();
+      return new Page<>(list, skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public Page<WorkspaceImpl> getWorkspaces(boolean isTemporary, int maxItems, long skipCount)
@@ -221,6 +272,33 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  /**
+   * Fills {@link WorkspaceSummary#SUMMARY_ATTRIBUTES summary attributes} of the given summaries
+   * using a single query for all of them.
+   */
+  public static void fetchSummaryAttributes(
+      EntityManager manager, List<WorkspaceSummary> summaries) {
+    if (summaries.isEmpty()) {
+      return;
+    }
+    final Map<String, WorkspaceSummary> summariesById = new HashMap<>();
+    for (WorkspaceSummary summary : summaries) {
+      summariesById.put(summary.getId(), summary);
+    }
+    final List<Object[]> attributes =
+        manager
+            .createNamedQuery("Workspace.getSummaryAttributes", Object[].class)
+            .setParameter("ids", new ArrayList<>(summariesById.keySet()))
+            .setParameter("names", new ArrayList<>(WorkspaceSummary.SUMMARY_ATTRIBUTES))
+            .getResultList();
+    for (Object[] attribute : attributes) {
+      summariesById
+          .get((String) attribute[0])
+          .getAttributes()
+          .put((String) attribute[1], (String) attribute[2]);
+    }
+  }
+
   @Transactional
   protected void doCreate(WorkspaceImpl workspace) {
     if (workspace.getConfig() != null) {
@@ -25,6 +25,8 @@ import javax.persistence.JoinColumn;
 import javax.persistence.MapKeyColumn;
 import javax.persistence.Table;
 import org.eclipse.che.api.core.model.workspace.config.Command;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 
 /**
  * Data object for {@link Command}.
@@ -49,6 +51,7 @@ public class CommandImpl implements Command {
   @Column(name = "type", nullable = false)
   private String type;
 
+  @BatchFetch(BatchFetchType.IN)
   @ElementCollection(fetch = FetchType.EAGER)
   @CollectionTable(name = "command_attributes", joinColumns = @JoinColumn(name = "command_id"))
   @MapKeyColumn(name = "name")
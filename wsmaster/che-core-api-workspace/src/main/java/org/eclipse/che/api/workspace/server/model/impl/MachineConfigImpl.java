@@ -32,6 +32,8 @@ import javax.persistence.Table;
 import org.eclipse.che.api.core.model.workspace.config.MachineConfig;
 import org.eclipse.che.api.core.model.workspace.config.ServerConfig;
 import org.eclipse.che.api.core.model.workspace.config.Volume;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 
 /** @author Alexander Garagatyi */
 @Entity(name = "ExternalMachine")
@@ -43,6 +45,7 @@ public class MachineConfigImpl implements MachineConfig {
   @Column(name = "id")
   private Long id;
 
+  @BatchFetch(BatchFetchType.IN)
   @ElementCollection(fetch = FetchType.EAGER)
   @CollectionTable(
     name = "externalmachine_installers",
@@ -51,6 +54,7 @@ public class MachineConfigImpl implements MachineConfig {
   @Column(name = "installers")
   private List<String> installers;
 
+  @BatchFetch(BatchFetchType.IN)
   @ElementCollection(fetch = FetchType.EAGER)
   @CollectionTable(
     name = "externalmachine_attributes",
@@ -60,6 +64,7 @@ public class MachineConfigImpl implements MachineConfig {
   @Column(name = "attributes")
   private Map<String, String> attributes;
 
+  @BatchFetch(BatchFetchType.IN)
   @ElementCollection(fetch = FetchType.EAGER)
   @CollectionTable(
     name = "externalmachine_env",
@@ -69,11 +74,13 @@ public class MachineConfigImpl implements MachineConfig {
   @Column(name = "env_value")
   private Map<String, String> env;
 
+  @BatchFetch(BatchFetchType.IN)
   @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
   @JoinColumn(name = "servers_id")
   @MapKeyColumn(name = "servers_key")
   private Map<String, ServerConfigImpl> servers;
 
+  @BatchFetch(BatchFetchType.IN)
   @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
   @JoinColumn(name = "machine_id")
   @MapKeyColumn(name = "name")
@@ -42,6 +42,8 @@ import javax.persistence.Transient;
 import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.config.SourceStorage;
 import org.eclipse.che.api.workspace.shared.ProjectProblemImpl;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 
 /**
  * Data object for {@link ProjectConfig}.
@@ -70,10 +72,12 @@ public class ProjectConfigImpl implements ProjectConfig {
   @Column(name = "description", columnDefinition = "TEXT")
   private String description;
 
+  @BatchFetch(BatchFetchType.IN)
   @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
   @JoinColumn(name = "source_id")
   private SourceStorageImpl source;
 
+  @BatchFetch(BatchFetchType.IN)
   @ElementCollection(fetch = FetchType.EAGER)
   @CollectionTable(
     name = "projectconfig_mixins",
@@ -82,6 +86,7 @@ public class ProjectConfigImpl implements ProjectConfig {
   @Column(name = "mixins")
   private List<String> mixins;
 
+  @BatchFetch(BatchFetchType.IN)
   @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
   @JoinColumn(name = "dbattributes_id")
   @MapKey(name = "name")
@@ -304,6 +309,7 @@ public class ProjectConfigImpl implements ProjectConfig {
     @Column(name = "name")
     private String name;
 
+    @BatchFetch(BatchFetchType.IN)
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(
       name = "projectattribute_values",
@@ -25,6 +25,8 @@ import javax.persistence.JoinColumn;
 import javax.persistence.MapKeyColumn;
 import javax.persistence.Table;
 import org.eclipse.che.api.core.model.workspace.config.ServerConfig;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 
 /** @author Alexander Garagatyi */
 @Entity(name = "ServerConf")
@@ -45,6 +47,7 @@ public class ServerConfigImpl implements ServerConfig {
   @Column(name = "path")
   private String path;
 
+  @BatchFetch(BatchFetchType.IN)
   @ElementCollection(fetch = FetchType.EAGER)
   @CollectionTable(
     name = "serverconf_attributes",
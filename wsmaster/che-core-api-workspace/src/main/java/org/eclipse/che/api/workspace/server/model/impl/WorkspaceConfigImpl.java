@@ -35,6 +35,8 @@ import org.eclipse.che.api.core.model.workspace.config.Command;
 import org.eclipse.che.api.core.model.workspace.config.Environment;
 import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 
 /**
  * Data object for {@link WorkspaceConfig}.
@@ -64,14 +66,17 @@ public class WorkspaceConfigImpl implements WorkspaceConfig {
   @Column(name = "defaultenv", nullable = false)
   private String defaultEnv;
 
+  @BatchFetch(BatchFetchType.IN)
   @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
   @JoinColumn(name = "commands_id")
   private List<CommandImpl> commands;
 
+  @BatchFetch(BatchFetchType.IN)
   @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
   @JoinColumn(name = "projects_id")
   private List<ProjectConfigImpl> projects;
 
+  @BatchFetch(BatchFetchType.IN)
   @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
   @JoinColumn(name = "environments_id")
   @MapKeyColumn(name = "environments_key")
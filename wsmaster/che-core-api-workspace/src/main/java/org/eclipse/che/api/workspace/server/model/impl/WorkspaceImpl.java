@@ -39,6 +39,8 @@ import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 import org.eclipse.persistence.descriptors.DescriptorEvent;
 import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
 
@@ -71,6 +73,28 @@ import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
   @NamedQuery(
     name = "Workspace.getByTemporaryCount",
     query = "SELECT COUNT(w) " + "FROM Workspace w " + "WHERE w.isTemporary = :temporary "
+  ),
+  @NamedQuery(
+    name = "Workspace.getSummariesByNamespace",
+    query =
+        "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary("
+            + "w.id, w.name, w.account.name, w.isTemporary) "
+            + "FROM Workspace w "
+            + "WHERE w.account.name = :namespace "
+  ),
+  @NamedQuery(
+    name = "Workspace.getAllSummaries",
+    query =
+        "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary("
+            + "w.id, w.name, w.account.name, w.isTemporary) "
+            + "FROM Workspace w"
+  ),
+  @NamedQuery(
+    name = "Workspace.getSummaryAttributes",
+    query =
+        "SELECT w.id, KEY(a), VALUE(a) "
+            + "FROM Workspace w JOIN w.attributes a "
+            + "WHERE w.id IN :ids AND KEY(a) IN :names"
   )
 })
 @EntityListeners(WorkspaceImpl.SyncNameOnUpdateAndPersistEventListener.class)
@@ -91,10 +115,12 @@ public class WorkspaceImpl implements Workspace {
   @Column(name = "name")
   private String name;
 
+  @BatchFetch(BatchFetchType.IN)
   @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
   @JoinColumn(name = "config_id")
   private WorkspaceConfigImpl config;
 
+  @BatchFetch(BatchFetchType.IN)
   @ElementCollection(fetch = FetchType.EAGER)
   @CollectionTable(name = "workspace_attributes", joinColumns = @JoinColumn(name = "workspace_id"))
   @MapKeyColumn(name = "attributes_key")
@@ -104,6 +130,7 @@ public class WorkspaceImpl implements Workspace {
   @Column(name = "istemporary")
   private boolean isTemporary;
 
+  @BatchFetch(BatchFetchType.IN)
   @ManyToOne
   @JoinColumn(name = "accountid", nullable = false)
   private AccountImpl account;
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.model.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableSet;
+import static org.eclipse.che.api.workspace.shared.Constants.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.ERROR_MESSAGE_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.STOPPED_ABNORMALLY_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.STOPPED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.UPDATED_ATTRIBUTE_NAME;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.eclipse.che.api.core.model.workspace.Workspace;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+
+/**
+ * Read model of a {@link Workspace} used for listing workspaces. Unlike {@link WorkspaceImpl} it is
+ * not an entity, it is created by a constructor projection so the configuration of the workspace is
+ * never loaded, and it contains only the {@link #SUMMARY_ATTRIBUTES summary attributes}.
+ *
+ * @see WorkspaceImpl
+ */
+public class WorkspaceSummary {
+
+  /** Names of the workspace attributes which are included into the summary. */
+  public static final Set<String> SUMMARY_ATTRIBUTES =
+      unmodifiableSet(
+          new LinkedHashSet<>(
+              asList(
+                  CREATED_ATTRIBUTE_NAME,
+                  UPDATED_ATTRIBUTE_NAME,
+                  STOPPED_ATTRIBUTE_NAME,
+                  STOPPED_ABNORMALLY_ATTRIBUTE_NAME,
+                  ERROR_MESSAGE_ATTRIBUTE_NAME)));
+
+  private final String id;
+  private final String name;
+  private final String namespace;
+  private final boolean isTemporary;
+  private final Map<String, String> attributes;
+  private WorkspaceStatus status;
+
+  public WorkspaceSummary(String id, String name, String namespace, boolean isTemporary) {
+    this.id = id;
+    this.name = name;
+    this.namespace = namespace;
+    this.isTemporary = isTemporary;
+    this.attributes = new HashMap<>();
+  }
+
+  /** Creates summary of the given workspace, used when the workspace is already loaded. */
+  public WorkspaceSummary(Workspace workspace) {
+    this(
+        workspace.getId(),
+        workspace.getConfig() == null ? null : workspace.getConfig().getName(),
+        workspace.getNamespace(),
+        workspace.isTemporary());
+    workspace
+        .getAttributes()
+        .forEach(
+            (key, value) -> {
+              if (SUMMARY_ATTRIBUTES.contains(key)) {
+                attributes.put(key, value);
+              }
+            });
+    this.status = workspace.getStatus();
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  /** Returns the name of the workspace configuration. */
+  public String getName() {
+    return name;
+  }
+
+  public String getNamespace() {
+    return namespace;
+  }
+
+  public boolean isTemporary() {
+    return isTemporary;
+  }
+
+  /** Returns the {@link #SUMMARY_ATTRIBUTES summary attributes} the workspace has. */
+  public Map<String, String> getAttributes() {
+    return attributes;
+  }
+
+  public WorkspaceStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(WorkspaceStatus status) {
+    this.status = status;
+  }
+
+  /**
+   * Returns the time of the last update of the workspace, or the time of its creation if it has
+   * never been updated, or 0 if neither is known.
+   */
+  public long getUpdated() {
+    String updated = attributes.get(UPDATED_ATTRIBUTE_NAME);
+    if (updated == null) {
+      updated = attributes.get(CREATED_ATTRIBUTE_NAME);
+    }
+    if (updated != null) {
+      try {
+        return Long.parseLong(updated);
+      } catch (NumberFormatException ignored) {
+      }
+    }
+    return 0;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof WorkspaceSummary)) {
+      return false;
+    }
+    final WorkspaceSummary that = (WorkspaceSummary) obj;
+    return isTemporary == that.isTemporary
+        && Objects.equals(id, that.id)
+        && Objects.equals(name, that.name)
+        && Objects.equals(namespace, that.namespace)
+        && Objects.equals(attributes, that.attributes)
+        && status == that.status;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, name, namespace, isTemporary, attributes, status);
+  }
+
+  @Override
+  public String toString() {
+    return "WorkspaceSummary{"
+        + "id='"
+        + id
+        + '\''
+        + ", name='"
+        + name
+        + '\''
+        + ", namespace='"
+        + namespace
+        + '\''
+        + ", isTemporary="
+        + isTemporary
+        + ", attributes="
+        + attributes
+        + ", status="
+        + status
+        + '}';
+  }
+}
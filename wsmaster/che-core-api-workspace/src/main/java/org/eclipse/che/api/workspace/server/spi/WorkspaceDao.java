@@ -16,6 +16,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 
 /**
  * Defines data access object contract for {@link WorkspaceImpl}.
@@ -119,6 +120,29 @@ public interface WorkspaceDao {
   Page<WorkspaceImpl> getWorkspaces(String userId, int maxItems, long skipCount)
       throws ServerException;
 
+  /**
+   * Gets summaries of workspaces in given namespace, workspace configurations are not loaded.
+   *
+   * @param namespace workspace namespace
+   * @return summaries of workspaces in given namespace, summaries have no status set
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws ServerException when any other error occurs during workspaces fetching
+   * @see #getByNamespace(String, int, long)
+   */
+  Page<WorkspaceSummary> getSummariesByNamespace(String namespace, int maxItems, long skipCount)
+      throws ServerException;
+
+  /**
+   * Gets summaries of workspaces which user can read, workspace configurations are not loaded.
+   *
+   * @param userId id of user
+   * @return summaries of workspaces which user can read, summaries have no status set
+   * @throws ServerException when any other error occurs during workspaces fetching
+   * @see #getWorkspaces(String, int, long)
+   */
+  Page<WorkspaceSummary> getSummaries(String userId, int maxItems, long skipCount)
+      throws ServerException;
+
   /**
    * Gets workspaces by temporary attribute.
    *
@@ -16,6 +16,8 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
@@ -34,6 +36,7 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -43,12 +46,18 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 import static org.testng.util.Strings.isNullOrEmpty;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
@@ -351,6 +360,60 @@ public class WorkspaceManagerTest {
     assertEquals(updated.getStatus(), STARTING);
   }
 
+  @Test
+  public void modifiesCurrentStateOfWorkspace() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+
+    final WorkspaceImpl updated =
+        workspaceManager.modifyWorkspace(workspace.getId(), ws -> ws.setTemporary(true));
+
+    assertTrue(updated.isTemporary());
+    verify(workspaceDao).update(workspace);
+  }
+
+  @Test
+  public void doesNotUpdateWorkspaceWhenModificationIsRejected() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+
+    try {
+      workspaceManager.modifyWorkspace(
+          workspace.getId(),
+          ws -> {
+            throw new ConflictException("rejected");
+          });
+      fail("Modification must be rejected");
+    } catch (ConflictException expected) {
+      verify(workspaceDao, never()).update(any());
+    }
+  }
+
+  @Test
+  public void appliesModificationsOfSameWorkspaceOneAtATime() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    final AtomicInteger modifying = new AtomicInteger();
+    final AtomicInteger maxModifying = new AtomicInteger();
+    final WorkspaceManager.WorkspaceModification modification =
+        ws -> {
+          maxModifying.accumulateAndGet(modifying.incrementAndGet(), Math::max);
+          LockSupport.parkNanos(MILLISECONDS.toNanos(50));
+          modifying.decrementAndGet();
+        };
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final Future<?> first =
+          executor.submit(() -> workspaceManager.modifyWorkspace(workspace.getId(), modification));
+      final Future<?> second =
+          executor.submit(() -> workspaceManager.modifyWorkspace(workspace.getId(), modification));
+      first.get(5, SECONDS);
+      second.get(5, SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(maxModifying.get(), 1);
+    verify(workspaceDao, times(2)).update(workspace);
+  }
+
   @Test
   public void removesWorkspace() throws Exception {
     final WorkspaceImpl workspace = createAndMockWorkspace();
@@ -18,6 +18,7 @@ import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
 import static org.eclipse.che.api.core.model.workspace.config.MachineConfig.MEMORY_LIMIT_ATTRIBUTE;
 import static org.eclipse.che.api.core.model.workspace.runtime.MachineStatus.RUNNING;
@@ -35,6 +36,8 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 
 import com.google.common.collect.ImmutableMap;
@@ -58,26 +61,31 @@ import org.eclipse.che.api.core.model.workspace.runtime.Server;
 import org.eclipse.che.api.core.model.workspace.runtime.ServerStatus;
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
+import org.eclipse.che.api.workspace.server.WorkspaceManager.WorkspaceModification;
 import org.eclipse.che.api.workspace.server.model.impl.CommandImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.MachineImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.RecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ServerImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 import org.eclipse.che.api.workspace.server.token.MachineTokenProvider;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.api.workspace.shared.dto.CommandDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.MachineDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsUpdateDto;
 import org.eclipse.che.api.workspace.shared.dto.RuntimeDto;
 import org.eclipse.che.api.workspace.shared.dto.ServerDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceProjectsDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -650,6 +658,54 @@ public class WorkspaceServiceTest {
         asList(workspace1, workspace2));
   }
 
+  @Test
+  public void shouldGetWorkspaceSummaries() throws Exception {
+    final WorkspaceSummary summary1 = new WorkspaceSummary(createWorkspace(createConfigDto()));
+    final WorkspaceSummary summary2 =
+        new WorkspaceSummary(createWorkspace(createConfigDto(), STARTING));
+    when(wsManager.getWorkspaceSummaries(eq(USER_ID), anyInt(), anyLong()))
+        .thenReturn(new Page<>(asList(summary1, summary2), 0, 2, 2));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?summary=true&status=starting");
+
+    assertEquals(response.getStatusCode(), 200);
+    final List<WorkspaceDto> workspaces = unwrapDtoList(response, WorkspaceDto.class);
+    assertEquals(
+        workspaces.stream().map(WorkspaceSummary::new).collect(toList()), singletonList(summary2));
+    assertFalse(workspaces.get(0).getLinks().isEmpty());
+    verify(wsManager, never()).getWorkspaces(anyString(), anyBoolean(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldGetWorkspaceSummariesByNamespace() throws Exception {
+    final WorkspaceSummary summary1 = new WorkspaceSummary(createWorkspace(createConfigDto()));
+    final WorkspaceSummary summary2 =
+        new WorkspaceSummary(createWorkspace(createConfigDto(), STARTING));
+    when(wsManager.getSummariesByNamespace(eq(NAMESPACE), anyInt(), anyLong()))
+        .thenReturn(new Page<>(asList(summary1, summary2), 0, 2, 2));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/namespace/" + NAMESPACE + "?summary=true");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, WorkspaceDto.class)
+            .stream()
+            .map(WorkspaceSummary::new)
+            .collect(toList()),
+        asList(summary1, summary2));
+    verify(wsManager, never()).getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong());
+  }
+
   @Test
   public void shouldGetWorkspacesByStatus() throws Exception {
     final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
@@ -1115,6 +1171,97 @@ public class WorkspaceServiceTest {
     verify(wsManager).updateWorkspace(any(), any());
   }
 
+  @Test
+  public void shouldGetProjectsWithVersion() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/" + workspace.getId() + "/project");
+
+    assertEquals(response.getStatusCode(), 200);
+    final WorkspaceProjectsDto projects = unwrapDto(response, WorkspaceProjectsDto.class);
+    assertEquals(
+        projects.getVersion(),
+        WorkspaceService.projectsVersion(workspace.getConfig().getProjects()));
+    assertEquals(
+        projects.getProjects().stream().map(ProjectConfigDto::getPath).collect(toList()),
+        singletonList(createProjectDto().getPath()));
+  }
+
+  @Test
+  public void shouldUpdateProjectsWithSingleWorkspaceUpdate() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    mockModification(workspace);
+    final String version = WorkspaceService.projectsVersion(workspace.getConfig().getProjects());
+    final ProjectConfigDto updated = createProjectDto().withDescription("updated");
+    final ProjectConfigDto added = createProjectDto().withPath("/added");
+    final ProjectConfigDto removed = createProjectDto().withPath("/removed");
+    workspace.getConfig().getProjects().add(new ProjectConfigImpl(removed));
+    final ProjectsUpdateDto update =
+        newDto(ProjectsUpdateDto.class)
+            .withVersion(WorkspaceService.projectsVersion(workspace.getConfig().getProjects()))
+            .withUpdated(asList(updated, added))
+            .withRemoved(singletonList(removed.getPath()));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .contentType("application/json")
+            .body(update)
+            .when()
+            .put(SECURE_PATH + "/workspace/" + workspace.getId() + "/project");
+
+    assertEquals(response.getStatusCode(), 200);
+    final WorkspaceProjectsDto projects = unwrapDto(response, WorkspaceProjectsDto.class);
+    assertEquals(
+        projects.getProjects().stream().map(ProjectConfigImpl::new).collect(toSet()),
+        ImmutableSet.of(new ProjectConfigImpl(updated), new ProjectConfigImpl(added)));
+    assertNotEquals(projects.getVersion(), version);
+    verify(wsManager).modifyWorkspace(eq(workspace.getId()), any());
+  }
+
+  @Test
+  public void shouldRespond409WhenProjectsWereModifiedSinceUpdateVersion() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    mockModification(workspace);
+    final String version = WorkspaceService.projectsVersion(workspace.getConfig().getProjects());
+    workspace.getConfig().getProjects().get(0).setDescription("modified");
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .contentType("application/json")
+            .body(
+                newDto(ProjectsUpdateDto.class)
+                    .withVersion(version)
+                    .withRemoved(singletonList("/project/path")))
+            .when()
+            .put(SECURE_PATH + "/workspace/" + workspace.getId() + "/project");
+
+    assertEquals(response.getStatusCode(), 409);
+    assertEquals(workspace.getConfig().getProjects().size(), 1);
+  }
+
+  @Test
+  public void projectsVersionShouldNotDependOnOrderOfProjects() throws Exception {
+    final ProjectConfigImpl first = new ProjectConfigImpl(createProjectDto());
+    final ProjectConfigImpl second = new ProjectConfigImpl(createProjectDto().withPath("/second"));
+
+    assertEquals(
+        WorkspaceService.projectsVersion(asList(first, second)),
+        WorkspaceService.projectsVersion(asList(second, first)));
+    assertNotEquals(
+        WorkspaceService.projectsVersion(asList(first, second)),
+        WorkspaceService.projectsVersion(singletonList(first)));
+  }
+
   @Test
   public void shouldBeAbleToGetSettings() throws Exception {
     when(wsManager.getSupportedRecipes()).thenReturn(ImmutableSet.of("dockerimage", "dockerfile"));
@@ -1136,6 +1283,16 @@ public class WorkspaceServiceTest {
             Constants.CHE_WORKSPACE_AUTO_START, "true"));
   }
 
+  private void mockModification(WorkspaceImpl workspace) throws Exception {
+    when(wsManager.modifyWorkspace(eq(workspace.getId()), any()))
+        .thenAnswer(
+            inv -> {
+              final WorkspaceModification modification = inv.getArgument(1);
+              modification.modify(workspace);
+              return workspace;
+            });
+  }
+
   private static String unwrapError(Response response) {
     return unwrapDto(response, ServiceError.class).getMessage();
   }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.workspace.server.event.LogBatcher.BatchConsumer;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class LogBatcherTest {
+
+  private static final long FLUSH_DELAY_MS = 50;
+
+  @Mock private BatchConsumer<MachineLogEvent> consumer;
+  @Mock private ScheduledExecutorService scheduler;
+  @Mock private ScheduledFuture<?> flushTask;
+
+  private RuntimeIdentityDto runtimeId;
+
+  @BeforeMethod
+  public void setUp() {
+    runtimeId = newDto(RuntimeIdentityDto.class).withWorkspaceId("ws123").withEnvName("env");
+    doReturn(flushTask).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+  }
+
+  @Test
+  public void shouldFlushBatchWhenItReachesMaxSize() {
+    LogBatcher<MachineLogEvent> batcher = createBatcher(2, 100, 10);
+    MachineLogEvent log1 = log("machine", "line1");
+    MachineLogEvent log2 = log("machine", "line2");
+
+    batcher.accept(log1);
+    batcher.accept(log2);
+
+    verify(consumer).accept(runtimeId, "machine", asList(log1, log2), 0);
+    verify(flushTask).cancel(false);
+  }
+
+  @Test
+  public void shouldFlushBatchAfterDelay() {
+    LogBatcher<MachineLogEvent> batcher = createBatcher(10, 100, 10);
+    MachineLogEvent log1 = log("machine", "line1");
+    MachineLogEvent log2 = log("machine", "line2");
+
+    batcher.accept(log1);
+    batcher.accept(log2);
+    verify(consumer, never()).accept(any(), anyString(), anyList(), anyLong());
+
+    runScheduledFlush();
+
+    verify(consumer).accept(runtimeId, "machine", asList(log1, log2), 0);
+  }
+
+  @Test
+  public void shouldBatchLogsOfDifferentMachinesSeparately() {
+    LogBatcher<MachineLogEvent> batcher = createBatcher(2, 100, 10);
+    MachineLogEvent log1 = log("machine1", "line1");
+    MachineLogEvent log2 = log("machine2", "line2");
+    MachineLogEvent log3 = log("machine1", "line3");
+
+    batcher.accept(log1);
+    batcher.accept(log2);
+    batcher.accept(log3);
+
+    verify(consumer).accept(runtimeId, "machine1", asList(log1, log3), 0);
+    verify(consumer, never()).accept(any(), eq("machine2"), anyList(), anyLong());
+  }
+
+  @Test
+  public void shouldDropLogsExceedingRateLimitAndReportNumberOfDroppedLogs() {
+    LogBatcher<MachineLogEvent> batcher = createBatcher(10, 2, 10);
+    MachineLogEvent log1 = log("machine", "line1");
+    MachineLogEvent log2 = log("machine", "line2");
+
+    batcher.accept(log1);
+    batcher.accept(log2);
+    batcher.accept(log("machine", "line3"));
+    batcher.accept(log("machine", "line4"));
+    runScheduledFlush();
+
+    verify(consumer).accept(runtimeId, "machine", asList(log1, log2), 2);
+  }
+
+  @Test
+  public void shouldKeepTailOfFlushedLogs() {
+    LogBatcher<MachineLogEvent> batcher = createBatcher(1, 100, 2);
+    MachineLogEvent log2 = log("machine", "line2");
+    MachineLogEvent log3 = log("machine", "line3");
+
+    batcher.accept(log("machine", "line1"));
+    batcher.accept(log2);
+    batcher.accept(log3);
+
+    Map<String, List<MachineLogEvent>> tail = batcher.getTail("ws123");
+    assertEquals(tail.size(), 1);
+    assertEquals(tail.get("machine"), asList(log2, log3));
+  }
+
+  @Test
+  public void shouldFlushPendingLogsAndDropTailWhenWorkspaceIsRemoved() {
+    LogBatcher<MachineLogEvent> batcher = createBatcher(10, 100, 10);
+    MachineLogEvent log1 = log("machine", "line1");
+    batcher.accept(log1);
+
+    batcher.remove("ws123");
+
+    verify(consumer).accept(runtimeId, "machine", singletonList(log1), 0);
+    assertTrue(batcher.getTail("ws123").isEmpty());
+  }
+
+  private LogBatcher<MachineLogEvent> createBatcher(int maxBatchSize, int rateLimit, int tailSize) {
+    return new LogBatcher<>(
+        MachineLogEvent::getRuntimeId,
+        MachineLogEvent::getMachineName,
+        consumer,
+        scheduler,
+        FLUSH_DELAY_MS,
+        maxBatchSize,
+        rateLimit,
+        tailSize);
+  }
+
+  private void runScheduledFlush() {
+    ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler).schedule(captor.capture(), eq(FLUSH_DELAY_MS), eq(TimeUnit.MILLISECONDS));
+    captor.getValue().run();
+  }
+
+  private MachineLogEvent log(String machineName, String text) {
+    return newDto(MachineLogEvent.class)
+        .withRuntimeId(runtimeId)
+        .withMachineName(machineName)
+        .withText(text);
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+import static java.util.Collections.singletonMap;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class NonBlockingProbeExecutorTest {
+  private static final String HOST = "127.0.0.1";
+
+  private NonBlockingProbeExecutor executor;
+  private ServerSocket serverSocket;
+  private Thread serverThread;
+  private List<String> receivedRequest;
+  private CountDownLatch releaseResponse;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    executor = new NonBlockingProbeExecutor();
+    serverSocket = new ServerSocket(0, 50, InetAddress.getByName(HOST));
+    receivedRequest = new CopyOnWriteArrayList<>();
+    releaseResponse = new CountDownLatch(1);
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    releaseResponse.countDown();
+    executor.close();
+    serverSocket.close();
+    if (serverThread != null) {
+      serverThread.join(5000);
+    }
+  }
+
+  @Test
+  public void shouldPassHttpProbeWhenServerRespondsWithSuccessfulStatus() throws Exception {
+    respondWith("HTTP/1.1 204 No Content\r\n\r\n");
+
+    assertTrue(probe(httpProbe("/liveness", 5)));
+    assertTrue(receivedRequest.contains("GET /liveness HTTP/1.1"));
+    assertTrue(receivedRequest.contains("Authorization: token"));
+    assertTrue(receivedRequest.contains("Connection: close"));
+  }
+
+  @Test
+  public void shouldPassHttpProbeWhenServerRespondsWithRedirect() throws Exception {
+    respondWith("HTTP/1.0 302 Found\r\nLocation: /login\r\n\r\n");
+
+    assertTrue(probe(httpProbe("/", 5)));
+  }
+
+  @Test
+  public void shouldFailHttpProbeWhenServerRespondsWithErrorStatus() throws Exception {
+    respondWith("HTTP/1.1 503 Service Unavailable\r\n\r\n");
+
+    assertFalse(probe(httpProbe("/", 5)));
+  }
+
+  @Test
+  public void shouldFailHttpProbeWhenServerClosesConnectionWithoutResponse() throws Exception {
+    respondWith("");
+
+    assertFalse(probe(httpProbe("/", 5)));
+  }
+
+  @Test
+  public void shouldFailHttpProbeWhenServerDoesNotRespondInTime() throws Exception {
+    respondWith(null);
+    NonBlockingProbe probe =
+        new NonBlockingProbe(HOST, serverSocket.getLocalPort(), request(), 300);
+
+    long start = System.currentTimeMillis();
+    assertFalse(probe(probe));
+    assertTrue(System.currentTimeMillis() - start < 3000);
+  }
+
+  @Test
+  public void shouldFailProbeWhenConnectionIsRefused() throws Exception {
+    int port = serverSocket.getLocalPort();
+    serverSocket.close();
+
+    assertFalse(probe(new NonBlockingProbe(HOST, port, null, 5000)));
+  }
+
+  @Test
+  public void shouldPassTcpProbeWhenConnectionIsEstablished() throws Exception {
+    assertTrue(probe(new NonBlockingProbe(HOST, serverSocket.getLocalPort(), null, 5000)));
+  }
+
+  @Test
+  public void shouldFailProbesInProgressWhenExecutorIsClosed() throws Exception {
+    respondWith(null);
+    CompletableFuture<Boolean> result =
+        executor.probe(new NonBlockingProbe(HOST, serverSocket.getLocalPort(), request(), 60_000));
+
+    executor.close();
+
+    assertFalse(result.get(5, TimeUnit.SECONDS));
+    assertFalse(probe(new NonBlockingProbe(HOST, serverSocket.getLocalPort(), null, 5000)));
+  }
+
+  @Test
+  public void shouldParseStatusLine() throws Exception {
+    assertNull(NonBlockingProbeExecutor.isSuccessful(read("HTTP/1.1 20")));
+    assertTrue(NonBlockingProbeExecutor.isSuccessful(read("HTTP/1.1 200 OK")));
+    assertTrue(NonBlockingProbeExecutor.isSuccessful(read("HTTP/1.1 399 ")));
+    assertFalse(NonBlockingProbeExecutor.isSuccessful(read("HTTP/1.1 404 Not Found")));
+    assertFalse(NonBlockingProbeExecutor.isSuccessful(read("HTTP/1.1 199 ")));
+    assertFalse(NonBlockingProbeExecutor.isSuccessful(read("SSH-2.0-OpenSSH_7.4")));
+  }
+
+  private boolean probe(NonBlockingProbe probe) throws Exception {
+    return executor.probe(probe).get(10, TimeUnit.SECONDS);
+  }
+
+  private NonBlockingProbe httpProbe(String path, int timeoutSeconds) throws Exception {
+    HttpProbeConfig config =
+        new HttpProbeConfig(
+            serverSocket.getLocalPort(),
+            HOST,
+            "http",
+            path,
+            singletonMap("Authorization", "token"),
+            1,
+            1,
+            timeoutSeconds,
+            1,
+            0);
+    return new HttpProbeFactory("ws", "machine", "server", config).getNonBlocking();
+  }
+
+  private byte[] request() {
+    return ("GET / HTTP/1.1\r\nHost: " + HOST + "\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+  }
+
+  private static ByteBuffer read(String response) {
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    buffer.put(response.getBytes(StandardCharsets.ISO_8859_1));
+    return buffer;
+  }
+
+  /**
+   * Accepts a single connection, reads the request and responds with the given response, or keeps
+   * the connection open without responding if the response is null.
+   */
+  private void respondWith(String response) {
+    serverThread =
+        new Thread(
+            () -> {
+              try (Socket socket = serverSocket.accept()) {
+                BufferedReader reader =
+                    new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null && !line.isEmpty()) {
+                  receivedRequest.add(line);
+                }
+                if (response == null) {
+                  releaseResponse.await();
+                  return;
+                }
+                OutputStream out = socket.getOutputStream();
+                out.write(response.getBytes(StandardCharsets.ISO_8859_1));
+                out.flush();
+              } catch (Exception ignored) {
+              }
+            });
+    serverThread.setDaemon(true);
+    serverThread.start();
+  }
+}
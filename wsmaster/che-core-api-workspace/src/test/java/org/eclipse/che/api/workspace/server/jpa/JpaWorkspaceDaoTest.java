@@ -12,18 +12,23 @@
 package org.eclipse.che.api.workspace.server.jpa;
 
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspace;
+import static org.eclipse.che.api.workspace.shared.Constants.CREATED_ATTRIBUTE_NAME;
 import static org.testng.Assert.assertEquals;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import javax.persistence.EntityManager;
 import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummary;
 import org.eclipse.che.commons.test.tck.TckResourcesCleaner;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.testng.annotations.AfterMethod;
@@ -145,6 +150,63 @@ public class JpaWorkspaceDaoTest {
     assertEquals(result.getConfig().getProjects().get(0).getAttributes().size(), 3);
   }
 
+  @Test
+  public void shouldGetSummariesWithFixedNumberOfStatements() throws Exception {
+    final AccountImpl account = new AccountImpl("accountId", "namespace", "test");
+    final List<WorkspaceImpl> workspaces = persistWorkspaces(account, 5);
+    resetStatementsCount();
+
+    final Page<WorkspaceSummary> summaries =
+        workspaceDao.getSummariesByNamespace(account.getName(), 30, 0);
+
+    // summaries, their attributes and the total count
+    assertEquals(SqlStatementsCounter.getCount(), 3);
+    assertEquals(summaries.getTotalItemsCount(), workspaces.size());
+    assertEquals(
+        new HashSet<>(summaries.getItems()),
+        workspaces.stream().map(WorkspaceSummary::new).collect(toSet()));
+  }
+
+  @Test
+  public void shouldBatchFetchWorkspacesGraphs() throws Exception {
+    final AccountImpl account1 = new AccountImpl("accountId1", "namespace1", "test");
+    final AccountImpl account2 = new AccountImpl("accountId2", "namespace2", "test");
+    persistWorkspaces(account1, 2);
+    persistWorkspaces(account2, 5);
+
+    resetStatementsCount();
+    assertEquals(workspaceDao.getByNamespace(account1.getName(), 30, 0).getItems().size(), 2);
+    final int statementsFor2 = SqlStatementsCounter.getCount();
+
+    resetStatementsCount();
+    assertEquals(workspaceDao.getByNamespace(account2.getName(), 30, 0).getItems().size(), 5);
+    final int statementsFor5 = SqlStatementsCounter.getCount();
+
+    assertEquals(statementsFor5, statementsFor2);
+  }
+
+  private List<WorkspaceImpl> persistWorkspaces(AccountImpl account, int count) {
+    final List<WorkspaceImpl> workspaces = new ArrayList<>();
+    manager.getTransaction().begin();
+    manager.persist(account);
+    for (int i = 0; i < count; i++) {
+      final WorkspaceImpl workspace =
+          createWorkspace(account.getId() + "-ws" + i, account, account.getName() + "-name" + i);
+      workspace.getAttributes().put(CREATED_ATTRIBUTE_NAME, Long.toString(i));
+      workspace.getConfig().getProjects().forEach(ProjectConfigImpl::prePersistAttributes);
+      manager.persist(workspace);
+      workspaces.add(workspace);
+    }
+    manager.getTransaction().commit();
+    return workspaces;
+  }
+
+  private void resetStatementsCount() {
+    manager.getEntityManagerFactory().getCache().evictAll();
+    manager.clear();
+    SqlStatementsCounter.reset();
+  }
+
   private long asLong(String query) {
     return manager.createQuery(query, Long.class).getSingleResult();
   }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.persistence.logging.DefaultSessionLog;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.logging.SessionLogEntry;
+
+/**
+ * EclipseLink session log which counts executed SQL statements instead of logging them, other log
+ * entries are logged as usual. Requires {@link SessionLog#SQL} category to be logged at {@link
+ * SessionLog#FINE} level.
+ */
+public class SqlStatementsCounter extends DefaultSessionLog {
+
+  private static final AtomicInteger COUNT = new AtomicInteger();
+
+  /** Returns the number of statements executed since the last {@link #reset()}. */
+  public static int getCount() {
+    return COUNT.get();
+  }
+
+  public static void reset() {
+    COUNT.set(0);
+  }
+
+  @Override
+  public void log(SessionLogEntry entry) {
+    if (SessionLog.SQL.equals(entry.getNameSpace())) {
+      COUNT.incrementAndGet();
+    } else {
+      super.log(entry);
+    }
+  }
+}
@@ -11,6 +11,9 @@
  */
 package org.eclipse.che.api.workspace.server.jpa;
 
+import static org.eclipse.persistence.config.PersistenceUnitProperties.CATEGORY_LOGGING_LEVEL_;
+import static org.eclipse.persistence.config.PersistenceUnitProperties.LOGGING_LOGGER;
+
 import com.google.inject.TypeLiteral;
 import java.util.Collection;
 import org.eclipse.che.account.spi.AccountImpl;
@@ -39,6 +42,7 @@ import org.eclipse.che.core.db.DBInitializer;
 import org.eclipse.che.core.db.h2.jpa.eclipselink.H2ExceptionHandler;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
 import org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer;
+import org.eclipse.persistence.logging.SessionLog;
 import org.h2.Driver;
 
 /** @author Yevhenii Voevodin */
@@ -68,6 +72,8 @@ public class WorkspaceTckModule extends TckModule {
             .addEntityClass(
                 "org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl$Attribute")
             .setExceptionHandler(H2ExceptionHandler.class)
+            .setProperty(LOGGING_LOGGER, SqlStatementsCounter.class.getName())
+            .setProperty(CATEGORY_LOGGING_LEVEL_ + SessionLog.SQL, SessionLog.FINE_LABEL)
             .build());
     bind(DBInitializer.class).asEagerSingleton();
     bind(SchemaInitializer.class)